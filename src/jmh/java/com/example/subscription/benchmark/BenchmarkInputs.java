@@ -0,0 +1,65 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.domain.valueobject.CourseAverage;
+
+import java.util.Random;
+
+/**
+ * Entradas pré-geradas e determinísticas para os benchmarks.
+ *
+ * <p>Os benchmarks percorrem arrays em vez de usar constantes, evitando que o
+ * JIT dobre o resultado (constant folding) e mede apenas o código do domínio.
+ * O tamanho é potência de 2 para que o índice circular seja um {@code &}.</p>
+ *
+ * @author Rickelme
+ */
+final class BenchmarkInputs {
+
+    static final int SIZE = 1024;
+    static final int MASK = SIZE - 1;
+
+    private static final long SEED = 42L;
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * Médias no intervalo [0, 10] com três casas decimais (exercitam o arredondamento).
+     */
+    static double[] rawAverages() {
+        Random random = new Random(SEED);
+        double[] values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = random.nextInt(10_001) / 1000.0;
+        }
+        return values;
+    }
+
+    /**
+     * Médias já validadas, para benchmarks que recebem {@link CourseAverage}.
+     */
+    static CourseAverage[] courseAverages() {
+        double[] raw = rawAverages();
+        CourseAverage[] values = new CourseAverage[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = CourseAverage.of(raw[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Hashes SHA-256 válidos (64 caracteres hexadecimais).
+     */
+    static String[] sha256Hashes() {
+        Random random = new Random(SEED);
+        String[] values = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            StringBuilder hash = new StringBuilder(64);
+            for (int j = 0; j < 4; j++) {
+                hash.append(String.format("%016x", random.nextLong()));
+            }
+            values[i] = hash.toString();
+        }
+        return values;
+    }
+}
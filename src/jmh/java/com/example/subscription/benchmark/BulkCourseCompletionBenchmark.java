@@ -0,0 +1,56 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.domain.entity.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parte de domínio de um bloco da conclusão em lote
+ * ({@code GamificationService.completeCourses}): para cada estudante, o saldo
+ * é carregado (como na hidratação pelo JPA) e a conclusão é aplicada.
+ *
+ * <p>Uma operação = um bloco de {@value #CHUNK_SIZE} estudantes. Os saldos
+ * iniciais ficam na faixa realista de 0 a 2000 créditos.</p>
+ *
+ * @author Rickelme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkCourseCompletionBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private Student[] students;
+    private int[] loadedCredits;
+    private double[] averages;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7L);
+        students = new Student[CHUNK_SIZE];
+        loadedCredits = new int[CHUNK_SIZE];
+        averages = new double[CHUNK_SIZE];
+        double[] raw = BenchmarkInputs.rawAverages();
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            students[i] = new Student("Aluno " + i);
+            loadedCredits[i] = random.nextInt(2001);
+            averages[i] = raw[i];
+        }
+    }
+
+    @Benchmark
+    public Student[] completeChunk() {
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            Student student = students[i];
+            student.setCredits(loadedCredits[i]);
+            student.completeCourse(averages[i]);
+        }
+        return students;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.domain.valueobject.CertificateHash;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação de {@link CertificateHash}: validação do formato SHA-256.
+ *
+ * @author Rickelme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CertificateHashBenchmark {
+
+    private String[] hashes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        hashes = BenchmarkInputs.sha256Hashes();
+    }
+
+    @Benchmark
+    public CertificateHash of() {
+        return CertificateHash.of(hashes[cursor++ & BenchmarkInputs.MASK], "polygon", "0xabc");
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.domain.valueobject.CourseAverage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação de {@link CourseAverage}: validação e arredondamento para 2 casas.
+ *
+ * @author Rickelme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CourseAverageBenchmark {
+
+    private double[] averages;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        averages = BenchmarkInputs.rawAverages();
+    }
+
+    @Benchmark
+    public CourseAverage of() {
+        return CourseAverage.of(averages[cursor++ & BenchmarkInputs.MASK]);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.domain.strategy.CreditCalculationStrategy;
+import com.example.subscription.domain.strategy.CreditRuleEngine;
+import com.example.subscription.domain.strategy.CreditRules;
+import com.example.subscription.domain.strategy.CreditStrategyFactory;
+import com.example.subscription.domain.strategy.LookupTableCreditStrategy;
+import com.example.subscription.domain.strategy.PremiumCreditStrategy;
+import com.example.subscription.domain.strategy.StandardCreditStrategy;
+import com.example.subscription.domain.valueobject.CourseAverage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de créditos pelas estratégias {@link StandardCreditStrategy} e
+ * {@link PremiumCreditStrategy}, com médias variadas (todos os ramos), e das
+ * versões compiladas em {@link LookupTableCreditStrategy}.
+ *
+ * <p>{@code ruleEngine*} resolve a estratégia a cada chamada pela factory
+ * com regras carregadas no {@link CreditRuleEngine}, como no caminho de
+ * conclusão com regras recarregáveis.</p>
+ *
+ * @author Rickelme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CreditStrategyBenchmark {
+
+    private final CreditCalculationStrategy standard = new StandardCreditStrategy();
+    private final CreditCalculationStrategy premium = new PremiumCreditStrategy();
+    private final CreditCalculationStrategy standardTable = new LookupTableCreditStrategy(standard);
+    private final CreditCalculationStrategy premiumTable = new LookupTableCreditStrategy(premium);
+
+    private CreditStrategyFactory ruleFactory;
+    private CourseAverage[] averages;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        averages = BenchmarkInputs.courseAverages();
+
+        Properties rules = new Properties();
+        rules.setProperty("passing-grade-threshold", "7.0");
+        rules.setProperty("tiers.STANDARD", "7.01=3");
+        rules.setProperty("tiers.PREMIUM", "9.00=5,8.00=4,7.01=3");
+        CreditRuleEngine engine = new CreditRuleEngine();
+        engine.swap(CreditRules.parse("benchmark", rules));
+        ruleFactory = new CreditStrategyFactory(
+            new StandardCreditStrategy(), new PremiumCreditStrategy(), false, engine);
+    }
+
+    @Benchmark
+    public int standard() {
+        return standard.calculateCredits(averages[cursor++ & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public int premium() {
+        return premium.calculateCredits(averages[cursor++ & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public int standardLookupTable() {
+        return standardTable.calculateCredits(averages[cursor++ & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public int premiumLookupTable() {
+        return premiumTable.calculateCredits(averages[cursor++ & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public int ruleEngineStandard() {
+        return ruleFactory.getStrategy(CreditStrategyFactory.StrategyType.STANDARD)
+            .calculateCredits(averages[cursor++ & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public int ruleEnginePremium() {
+        return ruleFactory.getStrategy(CreditStrategyFactory.StrategyType.PREMIUM)
+            .calculateCredits(averages[cursor++ & BenchmarkInputs.MASK]);
+    }
+}
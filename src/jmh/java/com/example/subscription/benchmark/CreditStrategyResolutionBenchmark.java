@@ -0,0 +1,103 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.application.service.CreditStrategyResolver;
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.strategy.CreditStrategyFactory;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.domain.strategy.PremiumCreditStrategy;
+import com.example.subscription.domain.strategy.StandardCreditStrategy;
+import com.example.subscription.domain.valueobject.CourseAverage;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da resolução do plano de créditos por estudante no caminho padrão.
+ *
+ * <ul>
+ *   <li><b>hardcodedRule</b> x <b>entityPlan</b>: conclusão na entidade com a
+ *       regra fixa de {@link Student#completeCourse(CourseAverage)} e com a
+ *       estratégia do plano ({@link CreditStrategyResolver#resolve(Student)})</li>
+ *   <li><b>defaultStrategy</b> x <b>cachedPlan</b>: cálculo do caminho atômico
+ *       com a estratégia padrão fixa e com o plano lido do cache em memória
+ *       ({@link CreditStrategyResolver#resolve(Long)}, sempre acerto)</li>
+ * </ul>
+ *
+ * <p>A factory usa tabelas pré-calculadas, como em produção.</p>
+ *
+ * @author Guilherme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CreditStrategyResolutionBenchmark {
+
+    private static final int STUDENTS = 1024;
+
+    private CreditStrategyFactory factory;
+    private CreditStrategyResolver resolver;
+    private CourseAverage[] averages;
+    private Student student;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        averages = BenchmarkInputs.courseAverages();
+        factory = new CreditStrategyFactory(new StandardCreditStrategy(), new PremiumCreditStrategy(), true);
+        resolver = new CreditStrategyResolver(standardPlanRepository(), factory, 100_000, 3600);
+        for (long id = 0; id < STUDENTS; id++) {
+            resolver.resolveType(id);
+        }
+    }
+
+    /**
+     * Repository mínimo: todo estudante existe com plano STANDARD.
+     */
+    private static StudentRepository standardPlanRepository() {
+        return (StudentRepository) Proxy.newProxyInstance(
+            StudentRepository.class.getClassLoader(),
+            new Class<?>[] {StudentRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findCreditStrategyById")) {
+                    return Optional.of(StrategyType.STANDARD);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    @Setup(Level.Iteration)
+    public void newStudent() {
+        student = new Student("Benchmark");
+    }
+
+    @Benchmark
+    public Student hardcodedRule() {
+        student.completeCourse(averages[cursor++ & BenchmarkInputs.MASK]);
+        return student;
+    }
+
+    @Benchmark
+    public Student entityPlan() {
+        student.completeCourse(averages[cursor++ & BenchmarkInputs.MASK], resolver.resolve(student));
+        return student;
+    }
+
+    @Benchmark
+    public int defaultStrategy() {
+        int i = cursor++;
+        return factory.getDefaultStrategy().calculateCredits(averages[i & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public int cachedPlan() {
+        int i = cursor++;
+        return resolver.resolve((long) (i & (STUDENTS - 1)))
+            .calculateCredits(averages[i & BenchmarkInputs.MASK]);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.domain.valueobject.Credits;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operações imutáveis de {@link Credits} (cada uma cria uma nova instância).
+ *
+ * @author Rickelme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CreditsBenchmark {
+
+    private Credits[] balances;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        balances = new Credits[BenchmarkInputs.SIZE];
+        for (int i = 0; i < BenchmarkInputs.SIZE; i++) {
+            balances[i] = Credits.of(10 + i);
+        }
+    }
+
+    @Benchmark
+    public Credits add() {
+        return balances[cursor++ & BenchmarkInputs.MASK].add(3);
+    }
+
+    @Benchmark
+    public Credits subtract() {
+        return balances[cursor++ & BenchmarkInputs.MASK].subtract(3);
+    }
+}
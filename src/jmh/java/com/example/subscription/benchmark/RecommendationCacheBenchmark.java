@@ -0,0 +1,74 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.application.service.CourseRecommendationService;
+import com.example.subscription.application.service.PromptCoalescer;
+import com.example.subscription.application.service.RecommendationCache;
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Custo de uma recomendação servida pelo {@link RecommendationCache}.
+ *
+ * <p>{@code cacheHit} percorre o caminho completo do service (busca do
+ * estudante, montagem do prompt, hash e consulta), com o repository em
+ * memória; o LLM responde só a chamada de aquecimento e falha se for
+ * chamado de novo.</p>
+ *
+ * @author Rickelme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RecommendationCacheBenchmark {
+
+    private CourseRecommendationService service;
+
+    @Setup
+    public void setUp() {
+        Student student = new Student("Benchmark", 0);
+        student.setId(1L);
+        student.completeCourse(8.0);
+        AtomicBoolean answered = new AtomicBoolean();
+        ChatLanguageModel llm = messages -> {
+            if (answered.getAndSet(true)) {
+                throw new IllegalStateException("LLM called on a cache hit");
+            }
+            return Response.from(AiMessage.from("1. Java Avançado\n2. Spring Boot\n3. Microsserviços"));
+        };
+        RecommendationCache cache = new RecommendationCache(
+            true, 10_000, 3600, "deepseek-coder:6.7b", 0.7, new SimpleMeterRegistry());
+        service = new CourseRecommendationService(repositoryWith(student), llm, null, cache,
+            new PromptCoalescer(true, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        service.recommendCoursesForStudent(1L);
+    }
+
+    private static StudentRepository repositoryWith(Student student) {
+        return (StudentRepository) Proxy.newProxyInstance(
+            StudentRepository.class.getClassLoader(),
+            new Class<?>[] {StudentRepository.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findById")) {
+                    return Optional.of(student);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    @Benchmark
+    public String cacheHit() {
+        return service.recommendCoursesForStudent(1L);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.subscription.benchmark;
+
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.valueobject.CourseAverage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regra de domínio {@link Student#completeCourse} sem persistência.
+ *
+ * <p>O estudante é recriado a cada iteração para que o saldo de créditos
+ * não transborde durante a medição.</p>
+ *
+ * @author Rickelme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StudentBenchmark {
+
+    private CourseAverage[] averages;
+    private double[] rawAverages;
+    private Student student;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        averages = BenchmarkInputs.courseAverages();
+        rawAverages = BenchmarkInputs.rawAverages();
+    }
+
+    @Setup(Level.Iteration)
+    public void newStudent() {
+        student = new Student("Benchmark");
+    }
+
+    @Benchmark
+    public Student completeCourse() {
+        student.completeCourse(averages[cursor++ & BenchmarkInputs.MASK]);
+        return student;
+    }
+
+    /**
+     * Sobrecarga com double: inclui a criação do {@link CourseAverage}.
+     */
+    @Benchmark
+    public Student completeCourseFromDouble() {
+        student.completeCourse(rawAverages[cursor++ & BenchmarkInputs.MASK]);
+        return student;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.subscription.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para requisição de conclusão de cursos em lote.
+ * 
+ * <h2>Clean Architecture - Application Layer:</h2>
+ * <ul>
+ *   <li><b>Request DTO</b>: Lote de pares (estudante, média) enviados pelo LMS</li>
+ *   <li><b>Validação</b>: Estrutura validada com Bean Validation; a média de
+ *       cada item é validada no domínio e reportada por item no resultado</li>
+ * </ul>
+ * 
+ * @author Guilherme
+ * @see CourseCompletionResultDTO Resultado por item
+ * @see CourseCompletionRequestDTO Versão unitária
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lote de conclusões de curso")
+public class CourseCompletionBatchRequestDTO {
+
+    /**
+     * Máximo de itens aceitos por requisição.
+     */
+    public static final int MAX_ITEMS = 100_000;
+
+    @NotEmpty(message = "Completions are required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " completions per request")
+    @Valid
+    @Schema(description = "Conclusões a aplicar, na ordem em que serão processadas")
+    private List<Item> completions;
+
+    /**
+     * Uma conclusão de curso dentro do lote.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Conclusão de curso de um estudante")
+    public static class Item {
+
+        @NotNull(message = "Student ID is required")
+        @Schema(description = "ID do estudante", example = "1")
+        private Long studentId;
+
+        @Schema(description = "Média obtida no curso", example = "8.5", minimum = "0.0", maximum = "10.0")
+        private double average;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.subscription.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um item de conclusão de curso em lote.
+ * 
+ * <h2>Clean Architecture - Application Layer:</h2>
+ * <ul>
+ *   <li><b>Response DTO</b>: Um resultado por item, na ordem da requisição</li>
+ *   <li><b>Falha parcial</b>: Itens inválidos não abortam o lote</li>
+ * </ul>
+ * 
+ * @author Guilherme
+ * @see CourseCompletionBatchRequestDTO Requisição em lote
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da conclusão de curso de um item do lote")
+public class CourseCompletionResultDTO {
+
+    @Schema(description = "ID do estudante", example = "1")
+    private Long studentId;
+
+    @Schema(description = "Situação do item", example = "COMPLETED")
+    private Status status;
+
+    @Schema(description = "Motivo da falha (quando houver)")
+    private String message;
+
+    @Schema(description = "Dados atualizados do estudante (quando concluído)")
+    private StudentDTO student;
+
+    public static CourseCompletionResultDTO completed(StudentDTO student) {
+        return new CourseCompletionResultDTO(student.getId(), Status.COMPLETED, null, student);
+    }
+
+    public static CourseCompletionResultDTO invalidAverage(Long studentId, String message) {
+        return new CourseCompletionResultDTO(studentId, Status.INVALID_AVERAGE, message, null);
+    }
+
+    public static CourseCompletionResultDTO notFound(Long studentId) {
+        return new CourseCompletionResultDTO(studentId, Status.NOT_FOUND, "Student not found: " + studentId, null);
+    }
+
+    /**
+     * Situação de processamento de um item.
+     */
+    public enum Status {
+        COMPLETED,
+        INVALID_AVERAGE,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.subscription.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para requisição de ajuste manual de créditos (bônus ou débito).
+ *
+ * <h2>Validações:</h2>
+ * <ul>
+ *   <li>@Positive - Quantidade maior que zero (o endpoint define o sentido)</li>
+ * </ul>
+ *
+ * @author Guilherme
+ * @see com.example.subscription.domain.valueobject.Credits Validação de saldo no domínio
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Quantidade de créditos a adicionar ou remover")
+public class CreditAdjustmentRequestDTO {
+
+    @Positive(message = "Amount must be greater than zero")
+    @Schema(description = "Quantidade de créditos", example = "5", minimum = "1")
+    private int amount;
+}
@@ -0,0 +1,30 @@
+package com.example.subscription.application.dto;
+
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para requisição de troca do plano de créditos do estudante.
+ *
+ * <h2>Validações:</h2>
+ * <ul>
+ *   <li>@NotNull - Plano obrigatório (STANDARD ou PREMIUM)</li>
+ * </ul>
+ *
+ * @author Guilherme
+ * @see com.example.subscription.domain.strategy.CreditStrategyFactory Estratégia de cada plano
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Plano de créditos aplicado nas conclusões de curso")
+public class CreditStrategyRequestDTO {
+
+    @NotNull(message = "Credit strategy is required")
+    @Schema(description = "Plano de créditos", example = "PREMIUM")
+    private StrategyType creditStrategy;
+}
@@ -0,0 +1,79 @@
+package com.example.subscription.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Situação de um job de recomendação assíncrono.
+ * 
+ * <h2>Ciclo de vida:</h2>
+ * <ul>
+ *   <li><b>PENDING</b>: aceito e aguardando um worker</li>
+ *   <li><b>RUNNING</b>: LLM gerando a recomendação</li>
+ *   <li><b>COMPLETED</b>: {@code recommendations} preenchido</li>
+ *   <li><b>FAILED</b>: {@code error} com o motivo</li>
+ * </ul>
+ * 
+ * <p>Cada transição publica uma nova instância; instâncias já devolvidas
+ * não mudam.</p>
+ * 
+ * @author Rickelme
+ * @see com.example.subscription.application.service.RecommendationJobService
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Job de recomendação de cursos")
+public class RecommendationJobDTO {
+
+    @Schema(description = "ID do job", example = "3f2b8c1e-6a4d-4f7e-9b1a-2c5d8e7f0a11")
+    private String jobId;
+
+    @Schema(description = "ID do estudante", example = "1")
+    private Long studentId;
+
+    @Schema(description = "Situação do job", example = "PENDING")
+    private Status status;
+
+    @Schema(description = "Recomendações geradas (quando concluído)")
+    private String recommendations;
+
+    @Schema(description = "Motivo da falha (quando houver)")
+    private String error;
+
+    @Schema(description = "Momento em que o job foi aceito")
+    private Instant submittedAt;
+
+    @Schema(description = "Momento em que o job terminou (quando houver)")
+    private Instant completedAt;
+
+    public static RecommendationJobDTO pending(String jobId, Long studentId) {
+        return new RecommendationJobDTO(jobId, studentId, Status.PENDING, null, null, Instant.now(), null);
+    }
+
+    public RecommendationJobDTO running() {
+        return new RecommendationJobDTO(jobId, studentId, Status.RUNNING, null, null, submittedAt, null);
+    }
+
+    public RecommendationJobDTO completed(String recommendations) {
+        return new RecommendationJobDTO(jobId, studentId, Status.COMPLETED, recommendations, null, submittedAt, Instant.now());
+    }
+
+    public RecommendationJobDTO failed(String error) {
+        return new RecommendationJobDTO(jobId, studentId, Status.FAILED, null, error, submittedAt, Instant.now());
+    }
+
+    /**
+     * Situação de processamento do job.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
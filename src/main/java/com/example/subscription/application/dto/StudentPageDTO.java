@@ -0,0 +1,37 @@
+package com.example.subscription.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de estudantes obtida por paginação por cursor (keyset).
+ * 
+ * <h2>Clean Architecture - Application Layer:</h2>
+ * <ul>
+ *   <li><b>Resultado de Use Case</b>: Itens da página + cursor da próxima</li>
+ *   <li><b>Cursor opaco</b>: Cliente apenas reenvia {@code nextCursor} em {@code after}</li>
+ * </ul>
+ * 
+ * @author Rickelme
+ * @see StudentDTO Itens da página
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentPageDTO {
+    
+    private List<StudentDTO> students;
+    
+    /**
+     * ID a ser enviado como {@code after} na próxima requisição,
+     * ou null quando esta é a última página.
+     */
+    private Long nextCursor;
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -2,13 +2,20 @@ package com.example.subscription.application.service;
 
 import com.example.subscription.domain.entity.Student;
 import com.example.subscription.infrastructure.repository.StudentRepository;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 /**
  * Application Service para Recomendação de Cursos via IA (LLM).
@@ -33,6 +40,25 @@ import java.util.NoSuchElementException;
  *   <li>Retorna recomendações geradas pela IA</li>
  * </ol>
  * 
+ * <h2>Métricas:</h2>
+ * <p>{@code recommendation.llm.generate} mede cada chamada ao LLM (tags
+ * {@code operation}=recommend|contextual e {@code outcome}), separando o tempo
+ * de inferência do restante da requisição. No streaming,
+ * {@code recommendation.llm.first-token} mede até o primeiro token e
+ * {@code recommendation.llm.stream} até o fim da resposta.</p>
+ * 
+ * <h2>Cache:</h2>
+ * <p>Respostas são reaproveitadas por prompt ({@link RecommendationCache}):
+ * enquanto o perfil do aluno não muda, recarregar o dashboard não chama o
+ * LLM de novo. Pedidos simultâneos com o mesmo prompt compartilham uma
+ * única chamada ({@link PromptCoalescer}), então a carga no modelo acompanha
+ * o número de prompts distintos, não o de requisições.</p>
+ * 
+ * <h2>Streaming:</h2>
+ * <p>{@link #streamRecommendations} usa o {@link StreamingChatLanguageModel} e
+ * repassa cada token assim que o modelo o produz, em vez de esperar a
+ * resposta completa.</p>
+ * 
  * @author Rickelme
  * @see ChatLanguageModel Interface LangChain4J para LLMs
  * @see OllamaConfig Configuração do Ollama
@@ -44,13 +70,25 @@ public class CourseRecommendationService {
 
     private final StudentRepository studentRepository;
     private final ChatLanguageModel chatLanguageModel;
+    private final StreamingChatLanguageModel streamingChatLanguageModel;
+    private final RecommendationCache recommendationCache;
+    private final PromptCoalescer promptCoalescer;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     public CourseRecommendationService(
             StudentRepository studentRepository,
-            ChatLanguageModel chatLanguageModel) {
+            ChatLanguageModel chatLanguageModel,
+            StreamingChatLanguageModel streamingChatLanguageModel,
+            RecommendationCache recommendationCache,
+            PromptCoalescer promptCoalescer,
+            MeterRegistry meterRegistry) {
         this.studentRepository = studentRepository;
         this.chatLanguageModel = chatLanguageModel;
+        this.streamingChatLanguageModel = streamingChatLanguageModel;
+        this.recommendationCache = recommendationCache;
+        this.promptCoalescer = promptCoalescer;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -75,7 +113,7 @@ public class CourseRecommendationService {
         log.debug("Prompt enviado para LLM: {}", prompt);
         
         // 3. Chamar LLM local (Ollama)
-        String recommendation = chatLanguageModel.generate(prompt);
+        String recommendation = generate("recommend", prompt);
         log.info("Recomendação gerada com sucesso para estudante: {}", student.getName());
         
         return recommendation;
@@ -95,7 +133,114 @@ public class CourseRecommendationService {
                 .orElseThrow(() -> new NoSuchElementException("Student not found: " + studentId));
         
         String prompt = buildContextualPrompt(student, context);
-        return chatLanguageModel.generate(prompt);
+        return generate("contextual", prompt);
+    }
+
+    /**
+     * Gera recomendações entregando os tokens ao {@code handler} conforme o
+     * LLM os produz.
+     * 
+     * <p>O estudante é buscado antes de iniciar o streaming, então um ID
+     * inexistente falha aqui; os callbacks do handler rodam na thread do
+     * cliente HTTP do modelo.</p>
+     * 
+     * @param studentId ID do estudante
+     * @param context contexto adicional (opcional)
+     * @param handler recebe cada token, a resposta final ou o erro
+     * @throws NoSuchElementException se estudante não encontrado
+     */
+    public void streamRecommendations(Long studentId, String context, StreamingResponseHandler<AiMessage> handler) {
+        log.info("Gerando recomendações em streaming para estudante ID: {}", studentId);
+        
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new NoSuchElementException("Student not found: " + studentId));
+        
+        String operation = context == null ? "recommend" : "contextual";
+        String prompt = context == null
+                ? buildRecommendationPrompt(student)
+                : buildContextualPrompt(student, context);
+        Optional<String> cached = recommendationCache.get(prompt);
+        if (cached.isPresent()) {
+            handler.onNext(cached.get());
+            handler.onComplete(Response.from(AiMessage.from(cached.get())));
+            return;
+        }
+        streamingChatLanguageModel.generate(prompt, new TimedStreamingHandler(operation, prompt, handler));
+    }
+
+    /**
+     * Repassa os callbacks do modelo medindo o primeiro token e a duração total.
+     */
+    private final class TimedStreamingHandler implements StreamingResponseHandler<AiMessage> {
+
+        private final String operation;
+        private final String prompt;
+        private final StreamingResponseHandler<AiMessage> delegate;
+        private final Timer.Sample sample = Timer.start(meterRegistry);
+        private boolean firstToken = true;
+
+        private TimedStreamingHandler(String operation, String prompt, StreamingResponseHandler<AiMessage> delegate) {
+            this.operation = operation;
+            this.prompt = prompt;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onNext(String token) {
+            if (firstToken) {
+                firstToken = false;
+                sample.stop(meterRegistry.timer("recommendation.llm.first-token", "operation", operation));
+            }
+            delegate.onNext(token);
+        }
+
+        @Override
+        public void onComplete(Response<AiMessage> response) {
+            sample.stop(meterRegistry.timer("recommendation.llm.stream",
+                    "operation", operation, "outcome", "success"));
+            recommendationCache.put(prompt, response.content().text());
+            delegate.onComplete(response);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            sample.stop(meterRegistry.timer("recommendation.llm.stream",
+                    "operation", operation, "outcome", "error"));
+            delegate.onError(error);
+        }
+    }
+
+    /**
+     * Responde do cache ou chama o LLM, uma vez por prompt em andamento.
+     */
+    private String generate(String operation, String prompt) {
+        Optional<String> cached = recommendationCache.get(prompt);
+        if (cached.isPresent()) {
+            log.debug("Recomendação servida do cache ({})", operation);
+            return cached.get();
+        }
+        return promptCoalescer.execute(recommendationCache.key(prompt), () -> callModel(operation, prompt));
+    }
+
+    /**
+     * Chama o LLM medindo a latência da inferência.
+     * 
+     * <p>O resultado entra no cache antes de ser entregue aos waiters, então
+     * não há janela em que um novo pedido não encontre nem o cache nem a
+     * chamada em andamento.</p>
+     */
+    private String callModel(String operation, String prompt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String response = chatLanguageModel.generate(prompt);
+            outcome = "success";
+            recommendationCache.put(prompt, response);
+            return response;
+        } finally {
+            sample.stop(meterRegistry.timer("recommendation.llm.generate",
+                    "operation", operation, "outcome", outcome));
+        }
     }
 
     /**
@@ -0,0 +1,107 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.strategy.CreditCalculationStrategy;
+import com.example.subscription.domain.strategy.CreditStrategyFactory;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+/**
+ * Resolve a estratégia de créditos de cada estudante a partir do seu plano
+ * ({@link Student#getCreditStrategy()}).
+ *
+ * <h2>Cache em memória:</h2>
+ * <p>O caminho atômico de conclusão não carrega a entidade, então o plano é
+ * lido uma vez por estudante ({@link StudentRepository#findCreditStrategyById})
+ * e mantido em um cache Caffeine. Nas conclusões seguintes a resolução não
+ * faz nenhuma ida ao banco.</p>
+ *
+ * <h2>Coerência:</h2>
+ * <ul>
+ *   <li><b>Troca de plano na réplica</b>: {@link #evict(Long)} remove a entrada
+ *       na hora e de novo após o commit</li>
+ *   <li><b>Troca em outra réplica</b>: a entrada expira após
+ *       {@code gamification.credits.plan-cache.expire-after-write-seconds}</li>
+ * </ul>
+ *
+ * @author Guilherme
+ * @see CreditStrategyFactory Estratégias disponíveis por plano
+ */
+@Component
+public class CreditStrategyResolver {
+
+    private final StudentRepository studentRepository;
+    private final CreditStrategyFactory strategyFactory;
+    private final Cache<Long, StrategyType> plans;
+
+    @Autowired
+    public CreditStrategyResolver(
+            StudentRepository studentRepository,
+            CreditStrategyFactory strategyFactory,
+            @Value("${gamification.credits.plan-cache.maximum-size:100000}") long maximumSize,
+            @Value("${gamification.credits.plan-cache.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+        this.studentRepository = studentRepository;
+        this.strategyFactory = strategyFactory;
+        this.plans = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .build();
+    }
+
+    /**
+     * Estratégia do plano do estudante, consultando o banco só na primeira vez.
+     *
+     * @throws NoSuchElementException se estudante não encontrado
+     */
+    public CreditCalculationStrategy resolve(Long studentId) {
+        return strategyFactory.getStrategy(resolveType(studentId));
+    }
+
+    /**
+     * Estratégia do plano de uma entidade já carregada (sem consulta).
+     */
+    public CreditCalculationStrategy resolve(Student student) {
+        return strategyFactory.getStrategy(student.getCreditStrategy());
+    }
+
+    /**
+     * Plano do estudante, consultando o banco só na primeira vez.
+     *
+     * @throws NoSuchElementException se estudante não encontrado
+     */
+    public StrategyType resolveType(Long studentId) {
+        StrategyType cached = plans.getIfPresent(studentId);
+        if (cached != null) {
+            return cached;
+        }
+        StrategyType type = studentRepository.findCreditStrategyById(studentId)
+                .orElseThrow(() -> new NoSuchElementException("Student not found: " + studentId));
+        plans.put(studentId, type);
+        return type;
+    }
+
+    /**
+     * Invalida o plano de um estudante alterado na transação corrente.
+     */
+    public void evict(Long studentId) {
+        plans.invalidate(studentId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    plans.invalidate(studentId);
+                }
+            });
+        }
+    }
+}
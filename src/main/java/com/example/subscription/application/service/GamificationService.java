@@ -1,20 +1,34 @@
 package com.example.subscription.application.service;
 
+import com.example.subscription.application.dto.CourseCompletionBatchRequestDTO;
 import com.example.subscription.application.dto.CourseCompletionRequestDTO;
+import com.example.subscription.application.dto.CourseCompletionResultDTO;
+import com.example.subscription.application.dto.CreditAdjustmentRequestDTO;
 import com.example.subscription.application.dto.StudentDTO;
-import com.example.subscription.domain.constant.BusinessRules;
 import com.example.subscription.domain.entity.Student;
 import com.example.subscription.domain.event.CourseCompletedEvent;
+import com.example.subscription.domain.strategy.CreditRuleEngine;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
 import com.example.subscription.domain.valueobject.CourseAverage;
 import com.example.subscription.infrastructure.messaging.GamificationEventPublisher;
+import com.example.subscription.infrastructure.repository.StudentJdbcRepository;
 import com.example.subscription.infrastructure.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Application Service para Gamificação de Estudantes.
@@ -24,7 +38,7 @@ import java.util.NoSuchElementException;
  *   <li><b>Use Case</b>: Implementa o caso de uso "Completar Curso"</li>
  *   <li><b>Coordenação</b>: Orquestra Repository + Domain Entity</li>
  *   <li><b>Validação</b>: Delega para Value Objects (fail-fast)</li>
- *   <li><b>Transaction</b>: Gerencia transações com @Transactional</li>
+ *   <li><b>Transaction</b>: Cada mutação roda em transação própria via {@link OptimisticRetryExecutor}</li>
  * </ul>
  * 
  * <h2>Fluxo de Execução:</h2>
@@ -34,10 +48,53 @@ import java.util.NoSuchElementException;
  *   <li>Busca Student no Repository</li>
  *   <li>Invoca lógica de domínio: student.completeCourse()</li>
  *   <li>JPA persiste automaticamente (dirty checking)</li>
- *   <li><b>Publica evento para RabbitMQ</b> (Event-Driven Architecture)</li>
+ *   <li>Em conflito de versão, repete a partir do passo 3</li>
+ *   <li><b>Publica evento para RabbitMQ</b> via outbox/após o commit (Event-Driven Architecture)</li>
  *   <li>Retorna DTO com dados atualizados</li>
  * </ol>
  * 
+ * <h2>Concorrência entre réplicas:</h2>
+ * <p>{@link #completeCourse}, {@link #addCredits} e {@link #deductCredits}
+ * dependem do {@code @Version} de Student: escritas concorrentes não se
+ * sobrescrevem, a perdedora é repetida com backoff e jitter
+ * ({@code gamification.retry.*}). Eventos são registrados na mesma transação
+ * da alteração (outbox ou envio após o commit), então uma tentativa
+ * descartada nunca gera evento.</p>
+ * 
+ * <h2>Caminho Atômico:</h2>
+ * <p>Com {@code gamification.atomic-completion.enabled=true} a conclusão
+ * individual não carrega a entidade: os créditos são calculados pela
+ * {@link com.example.subscription.domain.strategy.CreditCalculationStrategy}
+ * do plano do estudante e aplicados por um único {@code UPDATE} relativo
+ * ({@link StudentJdbcRepository#incrementCompletion(Long, int)}), eliminando
+ * a perda de atualizações entre conclusões concorrentes do mesmo estudante.</p>
+ * 
+ * <h2>Plano de créditos:</h2>
+ * <p>Cada estudante tem um {@link StrategyType} (STANDARD, PREMIUM) que define
+ * a estratégia aplicada em todas as formas de conclusão. O
+ * {@link CreditStrategyResolver} mantém o plano em memória, então o caminho
+ * atômico continua com uma única ida ao banco. Faixas e limiar de aprovação
+ * vêm do {@link CreditRuleEngine} quando há regras configuradas.</p>
+ * 
+ * <h2>Conclusão em Lote:</h2>
+ * <p>{@link #completeCourses(List)} processa o lote em blocos
+ * ({@code gamification.batch.chunk-size}), cada um em sua própria transação:
+ * uma única consulta {@code IN} carrega os estudantes do bloco, o flush usa
+ * JDBC batching do Hibernate e os eventos do bloco são publicados juntos.</p>
+ * 
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code gamification.completion} - Latência de {@link #completeCourse}
+ *       (tags {@code mode}=atomic|entity, {@code outcome}=success|error)</li>
+ *   <li>{@code gamification.completion.chunk} - Latência de cada bloco do lote</li>
+ *   <li>{@code gamification.completion.batch.size} - Itens por lote</li>
+ * </ul>
+ * 
+ * <h2>Cache de leitura:</h2>
+ * <p>Toda mutação invalida o estudante no cache de
+ * {@link StudentService#getStudentById(Long)} via {@link StudentCacheInvalidator}
+ * (na transação e de novo após o commit).</p>
+ * 
  * @author Guilherme
  * @see Student#completeCourse(CourseAverage)
  * @see CourseAverage Value Object com validação
@@ -49,14 +106,38 @@ public class GamificationService {
     private static final Logger log = LoggerFactory.getLogger(GamificationService.class);
 
     private final StudentRepository studentRepository;
+    private final StudentJdbcRepository studentJdbcRepository;
+    private final CreditStrategyResolver strategyResolver;
+    private final CreditRuleEngine ruleEngine;
     private final GamificationEventPublisher eventPublisher;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final StudentCacheInvalidator cacheInvalidator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${gamification.batch.chunk-size:500}")
+    private int batchChunkSize = 500;
+
+    @Value("${gamification.atomic-completion.enabled:false}")
+    private boolean atomicCompletionEnabled;
 
     @Autowired
     public GamificationService(
             StudentRepository studentRepository,
-            GamificationEventPublisher eventPublisher) {
+            StudentJdbcRepository studentJdbcRepository,
+            CreditStrategyResolver strategyResolver,
+            CreditRuleEngine ruleEngine,
+            GamificationEventPublisher eventPublisher,
+            OptimisticRetryExecutor retryExecutor,
+            StudentCacheInvalidator cacheInvalidator,
+            MeterRegistry meterRegistry) {
         this.studentRepository = studentRepository;
+        this.studentJdbcRepository = studentJdbcRepository;
+        this.strategyResolver = strategyResolver;
+        this.ruleEngine = ruleEngine;
         this.eventPublisher = eventPublisher;
+        this.retryExecutor = retryExecutor;
+        this.cacheInvalidator = cacheInvalidator;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -70,30 +151,192 @@ public class GamificationService {
      * @return DTO com dados atualizados
      * @throws IllegalArgumentException se média inválida
      * @throws NoSuchElementException se estudante não encontrado
+     * @throws org.springframework.dao.OptimisticLockingFailureException se os conflitos esgotarem as tentativas
      */
-    @Transactional
     public StudentDTO completeCourse(Long studentId, CourseCompletionRequestDTO request) {
-        // 1. Validar entrada (cria Value Object que auto-valida)
-        CourseAverage average = CourseAverage.of(request.getAverage());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            // 1. Validar entrada (cria Value Object que auto-valida)
+            CourseAverage average = CourseAverage.of(request.getAverage());
+            
+            boolean passed = ruleEngine.isPassing(average);
+            
+            Student student = retryExecutor.execute("completeCourse", () -> {
+                // 2-4. Aplicar conclusão (incremento atômico ou entidade + dirty checking)
+                Student updated = atomicCompletionEnabled
+                        ? completeCourseAtomically(studentId, average)
+                        : completeCourseOnEntity(studentId, average);
+                
+                // 5. Publicar evento na mesma transação (outbox ou envio após o commit)
+                publishCourseCompletedEvent(updated, average.getValue(), passed);
+                cacheInvalidator.evict(studentId);
+                return updated;
+            });
+            
+            log.info("Curso completado para estudante: {} (Aprovado: {})", 
+                    student.getName(), passed);
+            outcome = "success";
+            
+            // 6. Retornar DTO
+            return StudentDTO.fromEntity(student);
+        } finally {
+            sample.stop(meterRegistry.timer("gamification.completion",
+                    "mode", atomicCompletionEnabled ? "atomic" : "entity", "outcome", outcome));
+        }
+    }
+
+    /**
+     * Caminho tradicional: carrega a entidade e deixa o dirty checking
+     * persistir o novo estado no commit.
+     */
+    private Student completeCourseOnEntity(Long studentId, CourseAverage average) {
+        Student student = findStudent(studentId);
+        student.completeCourse(average, strategyResolver.resolve(student));
+        return student;
+    }
+
+    /**
+     * Caminho atômico: uma única ida ao banco, sem SELECT prévio.
+     */
+    private Student completeCourseAtomically(Long studentId, CourseAverage average) {
+        int creditDelta = strategyResolver.resolve(studentId).calculateCredits(average);
+        return studentJdbcRepository.incrementCompletion(studentId, creditDelta)
+                .orElseThrow(() -> new NoSuchElementException("Student not found: " + studentId));
+    }
+
+    /**
+     * Adiciona créditos manualmente (bônus, promoções).
+     * 
+     * @param studentId ID do estudante
+     * @param request quantidade a adicionar
+     * @return DTO com dados atualizados
+     * @throws NoSuchElementException se estudante não encontrado
+     */
+    public StudentDTO addCredits(Long studentId, CreditAdjustmentRequestDTO request) {
+        Student student = retryExecutor.execute("addCredits", () -> {
+            Student found = findStudent(studentId);
+            found.addCredits(request.getAmount());
+            cacheInvalidator.evict(studentId);
+            return found;
+        });
         
-        // 2. Buscar estudante
-        Student student = studentRepository.findById(studentId)
+        log.info("Créditos adicionados para estudante: {} (+{})", student.getName(), request.getAmount());
+        return StudentDTO.fromEntity(student);
+    }
+
+    /**
+     * Remove créditos (compra de itens, penalidades).
+     * 
+     * @param studentId ID do estudante
+     * @param request quantidade a remover
+     * @return DTO com dados atualizados
+     * @throws IllegalArgumentException se créditos insuficientes
+     * @throws NoSuchElementException se estudante não encontrado
+     */
+    public StudentDTO deductCredits(Long studentId, CreditAdjustmentRequestDTO request) {
+        Student student = retryExecutor.execute("deductCredits", () -> {
+            Student found = findStudent(studentId);
+            found.deductCredits(request.getAmount());
+            cacheInvalidator.evict(studentId);
+            return found;
+        });
+        
+        log.info("Créditos removidos de estudante: {} (-{})", student.getName(), request.getAmount());
+        return StudentDTO.fromEntity(student);
+    }
+
+    /**
+     * Altera o plano de créditos do estudante.
+     * 
+     * @param studentId ID do estudante
+     * @param creditStrategy novo plano
+     * @return DTO com dados atualizados
+     * @throws NoSuchElementException se estudante não encontrado
+     */
+    public StudentDTO changeCreditStrategy(Long studentId, StrategyType creditStrategy) {
+        Student student = retryExecutor.execute("changeCreditStrategy", () -> {
+            Student found = findStudent(studentId);
+            found.changeCreditStrategy(creditStrategy);
+            strategyResolver.evict(studentId);
+            cacheInvalidator.evict(studentId);
+            return found;
+        });
+        
+        log.info("Plano de créditos alterado para estudante: {} ({})", student.getName(), creditStrategy);
+        return StudentDTO.fromEntity(student);
+    }
+
+    private Student findStudent(Long studentId) {
+        return studentRepository.findById(studentId)
                 .orElseThrow(() -> new NoSuchElementException("Student not found: " + studentId));
+    }
+
+    /**
+     * Completa cursos em lote, retornando um resultado por item.
+     * 
+     * <p>Itens com média inválida ou estudante inexistente são reportados
+     * individualmente e não interrompem o restante do lote. Um mesmo
+     * estudante pode aparecer várias vezes; as conclusões são aplicadas na
+     * ordem recebida.</p>
+     * 
+     * @param items pares (estudante, média)
+     * @return resultados na mesma ordem dos itens
+     */
+    public List<CourseCompletionResultDTO> completeCourses(List<CourseCompletionBatchRequestDTO.Item> items) {
+        List<CourseCompletionResultDTO> results = new ArrayList<>(items.size());
+        meterRegistry.summary("gamification.completion.batch.size").record(items.size());
+        
+        for (int from = 0; from < items.size(); from += batchChunkSize) {
+            List<CourseCompletionBatchRequestDTO.Item> chunk =
+                items.subList(from, Math.min(from + batchChunkSize, items.size()));
+            results.addAll(meterRegistry.timer("gamification.completion.chunk").record(
+                    () -> retryExecutor.execute("completeCourses", () -> completeChunk(chunk))));
+        }
         
-        // 3. Aplicar lógica de negócio (no domínio)
-        student.completeCourse(average);
+        log.info("Lote de conclusões processado: {} itens", items.size());
+        return results;
+    }
+
+    /**
+     * Processa um bloco do lote dentro da transação corrente.
+     */
+    private List<CourseCompletionResultDTO> completeChunk(List<CourseCompletionBatchRequestDTO.Item> chunk) {
+        Set<Long> ids = new HashSet<>();
+        chunk.forEach(item -> ids.add(item.getStudentId()));
         
-        // 4. O @Transactional salva automaticamente (dirty checking do JPA)
+        // 1 consulta IN para o bloco inteiro
+        Map<Long, Student> students = studentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
         
-        // 5. Publicar evento para RabbitMQ (Event-Driven Architecture)
-        boolean passed = average.isAbove(BusinessRules.PASSING_GRADE_THRESHOLD);
-        publishCourseCompletedEvent(student, average.getValue(), passed);
+        List<CourseCompletionResultDTO> results = new ArrayList<>(chunk.size());
+        List<CourseCompletedEvent> events = new ArrayList<>(chunk.size());
         
-        log.info("Curso completado para estudante: {} (Aprovado: {})", 
-                student.getName(), passed);
+        for (CourseCompletionBatchRequestDTO.Item item : chunk) {
+            CourseAverage average;
+            try {
+                average = CourseAverage.of(item.getAverage());
+            } catch (IllegalArgumentException e) {
+                results.add(CourseCompletionResultDTO.invalidAverage(item.getStudentId(), e.getMessage()));
+                continue;
+            }
+            
+            Student student = students.get(item.getStudentId());
+            if (student == null) {
+                results.add(CourseCompletionResultDTO.notFound(item.getStudentId()));
+                continue;
+            }
+            
+            student.completeCourse(average, strategyResolver.resolve(student));
+            boolean passed = ruleEngine.isPassing(average);
+            events.add(buildCourseCompletedEvent(student, average.getValue(), passed));
+            results.add(CourseCompletionResultDTO.completed(StudentDTO.fromEntity(student)));
+        }
         
-        // 6. Retornar DTO
-        return StudentDTO.fromEntity(student);
+        // Dirty checking no commit gera os UPDATEs agrupados (hibernate.jdbc.batch_size)
+        eventPublisher.publishCourseCompletedBatch(events);
+        cacheInvalidator.evict(students.keySet());
+        return results;
     }
 
     /**
@@ -104,7 +347,11 @@ public class GamificationService {
      * @param passed Se foi aprovado
      */
     private void publishCourseCompletedEvent(Student student, double courseAverage, boolean passed) {
-        CourseCompletedEvent event = CourseCompletedEvent.of(
+        eventPublisher.publishCourseCompleted(buildCourseCompletedEvent(student, courseAverage, passed));
+    }
+
+    private CourseCompletedEvent buildCourseCompletedEvent(Student student, double courseAverage, boolean passed) {
+        return CourseCompletedEvent.of(
             student.getId(),
             student.getName(),
             student.getCompletedCourses(),
@@ -112,7 +359,5 @@ public class GamificationService {
             courseAverage,
             passed
         );
-        
-        eventPublisher.publishCourseCompleted(event);
     }
 }
\ No newline at end of file
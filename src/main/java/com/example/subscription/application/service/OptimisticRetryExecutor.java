@@ -0,0 +1,121 @@
+package com.example.subscription.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Executa mutações de Student com retry em conflitos de versão.
+ *
+ * <h2>Optimistic Locking:</h2>
+ * <p>Student possui coluna {@code @Version}; quando duas réplicas alteram o
+ * mesmo estudante, o commit da segunda falha com
+ * {@link OptimisticLockingFailureException} em vez de sobrescrever a primeira.
+ * Cada tentativa roda em uma <b>transação nova</b>, relendo o estado atual.</p>
+ *
+ * <h2>Política de retry:</h2>
+ * <ul>
+ *   <li><b>Tentativas</b>: {@code gamification.retry.max-attempts} (inclui a primeira)</li>
+ *   <li><b>Backoff</b>: exponencial a partir de {@code gamification.retry.initial-backoff-ms},
+ *       limitado por {@code gamification.retry.max-backoff-ms}</li>
+ *   <li><b>Jitter</b>: espera sorteada entre zero e o backoff (full jitter),
+ *       evitando que réplicas em conflito tentem de novo em sincronia</li>
+ * </ul>
+ *
+ * <h2>Métricas (tag {@code operation}):</h2>
+ * <ul>
+ *   <li>{@code gamification.mutations} - Operações executadas</li>
+ *   <li>{@code gamification.optimistic.conflicts} - Conflitos de versão detectados</li>
+ *   <li>{@code gamification.optimistic.exhausted} - Operações que esgotaram as tentativas</li>
+ * </ul>
+ * <p>Taxa de conflito = conflicts / mutations.</p>
+ *
+ * @author Guilherme
+ * @see GamificationService Cliente das mutações
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    @Autowired
+    public OptimisticRetryExecutor(
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${gamification.retry.max-attempts:3}") int maxAttempts,
+            @Value("${gamification.retry.initial-backoff-ms:10}") long initialBackoffMs,
+            @Value("${gamification.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("gamification.retry.max-attempts must be at least 1");
+        }
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    /**
+     * Executa a ação em uma transação, repetindo em conflito de versão.
+     *
+     * @param operation nome da operação (tag das métricas)
+     * @param action mutação; deve reler o estudante a cada chamada
+     * @return resultado da tentativa que conseguiu commitar
+     * @throws OptimisticLockingFailureException se todas as tentativas conflitarem
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        counter("gamification.mutations", operation).increment();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                counter("gamification.optimistic.conflicts", operation).increment();
+
+                if (attempt >= maxAttempts) {
+                    counter("gamification.optimistic.exhausted", operation).increment();
+                    log.warn("Conflito de versão em {}: tentativas esgotadas ({})", operation, maxAttempts);
+                    throw e;
+                }
+
+                log.debug("Conflito de versão em {} (tentativa {}/{})", operation, attempt, maxAttempts);
+                sleepBeforeRetry(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Aguarda o backoff com jitter antes da próxima tentativa.
+     */
+    private void sleepBeforeRetry(int attempt, OptimisticLockingFailureException conflict) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 30));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+}
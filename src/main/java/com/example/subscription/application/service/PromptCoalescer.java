@@ -0,0 +1,121 @@
+package com.example.subscription.application.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: chamadas concorrentes com a mesma chave compartilham uma
+ * única execução.
+ *
+ * <h2>Funcionamento:</h2>
+ * <ul>
+ *   <li><b>Líder</b>: o primeiro chamador de uma chave executa a chamada</li>
+ *   <li><b>Waiters</b>: quem chega enquanto ela está em andamento espera o
+ *       mesmo resultado (ou a mesma exceção) em vez de chamar de novo</li>
+ *   <li><b>Fim</b>: a chave sai do mapa quando a chamada termina; a próxima
+ *       chamada com a mesma chave executa de novo</li>
+ * </ul>
+ *
+ * <p>Com um prompt por turma abrindo o dashboard ao mesmo tempo, o Ollama
+ * recebe uma inferência por prompt distinto, não uma por requisição.</p>
+ *
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code recommendation.llm.coalesced} - chamadas atendidas por uma
+ *       execução já em andamento</li>
+ *   <li>{@code recommendation.llm.waiters} - waiters por chave, registrado ao
+ *       fim de cada execução (distribuição em vez de tag por hash, que teria
+ *       cardinalidade ilimitada)</li>
+ *   <li>{@code recommendation.llm.in-flight} - chaves em execução</li>
+ * </ul>
+ *
+ * <p>Com {@code recommendation.coalescing.enabled=false} (padrão) toda
+ * chamada executa diretamente.</p>
+ *
+ * @author Rickelme
+ * @see CourseRecommendationService
+ */
+@Component
+public class PromptCoalescer {
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final DistributionSummary waitersPerKey;
+
+    @Autowired
+    public PromptCoalescer(
+            @Value("${recommendation.coalescing.enabled:false}") boolean enabled,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+        this.waitersPerKey = DistributionSummary.builder("recommendation.llm.waiters")
+                .description("Chamadas que aguardaram a mesma execução, por chave")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("recommendation.llm.in-flight", Tags.empty(), inFlight);
+    }
+
+    /**
+     * Executa {@code call} ou aguarda a execução em andamento da mesma chave.
+     *
+     * @param key identifica chamadas equivalentes (ex.: hash do prompt)
+     * @param call chamada a executar quando não há outra em andamento
+     * @return resultado da execução compartilhada
+     */
+    public String execute(String key, Supplier<String> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Flight mine = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            existing.waiters.incrementAndGet();
+            meterRegistry.counter("recommendation.llm.coalesced").increment();
+            return await(existing);
+        }
+        try {
+            String result = call.get();
+            mine.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+            waitersPerKey.record(mine.waiters.get());
+        }
+    }
+
+    private static String await(Flight flight) {
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Execução em andamento de uma chave.
+     */
+    private static final class Flight {
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.subscription.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Cache de respostas do LLM por prompt renderizado.
+ *
+ * <h2>Chave:</h2>
+ * <p>SHA-256 de {@code ollama.model-name}, {@code ollama.temperature} e do
+ * prompt. O prompt já contém tudo o que o modelo vê do estudante (nome,
+ * cursos completados, créditos e o contexto opcional), então:</p>
+ * <ul>
+ *   <li><b>Mesmo perfil</b>: mesma chave, resposta servida da memória</li>
+ *   <li><b>Perfil alterado</b>: a chave muda e a entrada antiga deixa de ser
+ *       lida (invalidação automática, sem hook nas escritas); ela sai pelo
+ *       TTL ou pela política de tamanho</li>
+ *   <li><b>Troca de modelo/temperatura</b>: também gera chaves novas</li>
+ * </ul>
+ *
+ * <h2>Caffeine:</h2>
+ * <ul>
+ *   <li><b>Tamanho</b>: {@code recommendation.cache.maximum-size} respostas</li>
+ *   <li><b>TTL</b>: {@code recommendation.cache.expire-after-write-seconds}</li>
+ *   <li><b>Métricas</b>: {@code cache.gets} (hit/miss), {@code cache.size} e
+ *       {@code cache.evictions} com {@code cache=recommendations}</li>
+ * </ul>
+ *
+ * <p>Com {@code recommendation.cache.enabled=false} (padrão) toda consulta é
+ * miss e nada é guardado.</p>
+ *
+ * @author Rickelme
+ * @see CourseRecommendationService
+ */
+@Component
+public class RecommendationCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationCache.class);
+
+    public static final String NAME = "recommendations";
+
+    private final boolean enabled;
+    private final String modelName;
+    private final double temperature;
+    private final Cache<String, String> responses;
+
+    @Autowired
+    public RecommendationCache(
+            @Value("${recommendation.cache.enabled:false}") boolean enabled,
+            @Value("${recommendation.cache.maximum-size:10000}") long maximumSize,
+            @Value("${recommendation.cache.expire-after-write-seconds:3600}") long expireAfterWriteSeconds,
+            @Value("${ollama.model-name:deepseek-coder:6.7b}") String modelName,
+            @Value("${ollama.temperature:0.7}") double temperature,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.modelName = modelName;
+        this.temperature = temperature;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        if (enabled) {
+            log.info("Cache de recomendações habilitado (máximo: {}, TTL: {}s)", maximumSize, expireAfterWriteSeconds);
+            CaffeineCacheMetrics.monitor(meterRegistry, responses, NAME);
+        }
+    }
+
+    /**
+     * Resposta guardada para o prompt, se houver.
+     */
+    public Optional<String> get(String prompt) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(responses.getIfPresent(key(prompt)));
+    }
+
+    /**
+     * Guarda a resposta gerada para o prompt.
+     */
+    public void put(String prompt, String response) {
+        if (enabled) {
+            responses.put(key(prompt), response);
+        }
+    }
+
+    /**
+     * Chave do prompt: SHA-256 (hex) de modelo, temperatura e texto.
+     * Também identifica chamadas equivalentes no {@link PromptCoalescer}.
+     */
+    public String key(String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(modelName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Double.toString(temperature).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
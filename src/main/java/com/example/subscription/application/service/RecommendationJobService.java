@@ -0,0 +1,183 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.application.dto.RecommendationJobDTO;
+import com.example.subscription.config.ThreadingConfig;
+import com.example.subscription.infrastructure.llm.LlmSaturatedException;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jobs assíncronos de recomendação: aceita, enfileira e guarda o resultado.
+ *
+ * <h2>Fluxo:</h2>
+ * <ol>
+ *   <li>{@link #submit} valida o estudante, registra o job como PENDING e o
+ *       entrega ao {@code recommendationJobExecutor}</li>
+ *   <li>Um worker chama o {@link CourseRecommendationService} e publica
+ *       RUNNING e depois COMPLETED ou FAILED</li>
+ *   <li>O cliente consulta {@link #find} até o job terminar</li>
+ * </ol>
+ *
+ * <h2>Backpressure:</h2>
+ * <p>Workers e fila são limitados; com a fila cheia o job é descartado e
+ * {@link RecommendationQueueFullException} vira 429 com {@code Retry-After}.</p>
+ *
+ * <p>Um job já aceito não falha porque o LLM está saturado: o 503 imediato do
+ * {@code AdaptiveConcurrencyLimiter} é para as requisições interativas. O
+ * worker tenta de novo com espera crescente (a partir de
+ * {@code recommendation.jobs.saturation-backoff-ms}, até o
+ * {@code Retry-After} do limitador) e só marca FAILED depois de
+ * {@code recommendation.jobs.saturation-max-wait-ms}.</p>
+ *
+ * <h2>Retenção:</h2>
+ * <p>Jobs ficam em memória (Caffeine) por
+ * {@code recommendation.jobs.retention-seconds} após a última transição. Cada
+ * réplica conhece apenas os próprios jobs.</p>
+ *
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code recommendation.jobs} - contador por {@code outcome}
+ *       (accepted|rejected|completed|failed)</li>
+ *   <li>{@code recommendation.jobs.saturated} - tentativas adiadas por LLM saturado</li>
+ *   <li>{@code recommendation.jobs.queue} - jobs aguardando worker</li>
+ * </ul>
+ *
+ * @author Rickelme
+ * @see ThreadingConfig#recommendationJobExecutor
+ */
+@Service
+public class RecommendationJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationJobService.class);
+
+    private final CourseRecommendationService recommendationService;
+    private final StudentRepository studentRepository;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long retryAfterSeconds;
+    private final long saturationMaxWaitMs;
+    private final long saturationBackoffMs;
+    private final Cache<String, RecommendationJobDTO> jobs;
+
+    @Autowired
+    public RecommendationJobService(
+            CourseRecommendationService recommendationService,
+            StudentRepository studentRepository,
+            @Qualifier(ThreadingConfig.RECOMMENDATION_JOB_EXECUTOR) ThreadPoolTaskExecutor jobExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${recommendation.jobs.retention-seconds:600}") long retentionSeconds,
+            @Value("${recommendation.jobs.retry-after-seconds:5}") long retryAfterSeconds,
+            @Value("${recommendation.jobs.saturation-max-wait-ms:120000}") long saturationMaxWaitMs,
+            @Value("${recommendation.jobs.saturation-backoff-ms:100}") long saturationBackoffMs) {
+        this.recommendationService = recommendationService;
+        this.studentRepository = studentRepository;
+        this.jobExecutor = jobExecutor;
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.saturationMaxWaitMs = saturationMaxWaitMs;
+        this.saturationBackoffMs = saturationBackoffMs;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(retentionSeconds))
+                .build();
+        meterRegistry.gauge("recommendation.jobs.queue", jobExecutor, ThreadPoolTaskExecutor::getQueueSize);
+    }
+
+    /**
+     * Enfileira um job de recomendação.
+     *
+     * @param studentId ID do estudante
+     * @param context contexto adicional (opcional)
+     * @return job no estado PENDING
+     * @throws NoSuchElementException se estudante não encontrado
+     * @throws RecommendationQueueFullException se a fila estiver cheia
+     */
+    public RecommendationJobDTO submit(Long studentId, String context) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new NoSuchElementException("Student not found: " + studentId);
+        }
+        RecommendationJobDTO job = RecommendationJobDTO.pending(UUID.randomUUID().toString(), studentId);
+        jobs.put(job.getJobId(), job);
+        try {
+            jobExecutor.execute(() -> run(job, context));
+        } catch (TaskRejectedException e) {
+            jobs.invalidate(job.getJobId());
+            meterRegistry.counter("recommendation.jobs", "outcome", "rejected").increment();
+            log.warn("Fila de recomendações cheia, job recusado para estudante ID: {}", studentId);
+            throw new RecommendationQueueFullException(jobExecutor.getQueueCapacity(), retryAfterSeconds);
+        }
+        meterRegistry.counter("recommendation.jobs", "outcome", "accepted").increment();
+        log.debug("Job de recomendação {} aceito para estudante ID: {}", job.getJobId(), studentId);
+        return job;
+    }
+
+    /**
+     * Situação atual do job (vazio se desconhecido ou expirado).
+     */
+    public Optional<RecommendationJobDTO> find(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private void run(RecommendationJobDTO job, String context) {
+        jobs.put(job.getJobId(), job.running());
+        try {
+            String recommendations = generateWhenCapacityFrees(job, context);
+            jobs.put(job.getJobId(), job.completed(recommendations));
+            meterRegistry.counter("recommendation.jobs", "outcome", "completed").increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            jobs.put(job.getJobId(), job.failed("Recommendation generation interrupted"));
+            meterRegistry.counter("recommendation.jobs", "outcome", "failed").increment();
+        } catch (NoSuchElementException | LlmSaturatedException e) {
+            jobs.put(job.getJobId(), job.failed(e.getMessage()));
+            meterRegistry.counter("recommendation.jobs", "outcome", "failed").increment();
+        } catch (RuntimeException e) {
+            // Mesmo critério do GlobalExceptionHandler: detalhes internos só no log
+            log.error("Job de recomendação {} falhou: {}", job.getJobId(), e.getMessage());
+            jobs.put(job.getJobId(), job.failed("Recommendation generation failed"));
+            meterRegistry.counter("recommendation.jobs", "outcome", "failed").increment();
+        }
+    }
+
+    /**
+     * Chama o LLM; saturado, espera e tenta de novo até
+     * {@code saturationMaxWaitMs}.
+     *
+     * @throws LlmSaturatedException se o LLM seguir saturado após a espera máxima
+     */
+    private String generateWhenCapacityFrees(RecommendationJobDTO job, String context) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(saturationMaxWaitMs);
+        long backoffMs = saturationBackoffMs;
+        while (true) {
+            try {
+                return context == null
+                        ? recommendationService.recommendCoursesForStudent(job.getStudentId())
+                        : recommendationService.recommendCoursesWithContext(job.getStudentId(), context);
+            } catch (LlmSaturatedException e) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    throw e;
+                }
+                meterRegistry.counter("recommendation.jobs.saturated").increment();
+                log.debug("LLM saturado, job {} tenta de novo em {} ms", job.getJobId(), backoffMs);
+                Thread.sleep(Math.min(backoffMs, remainingMs));
+                backoffMs = Math.min(backoffMs * 2, Math.max(saturationBackoffMs, e.getRetryAfterSeconds() * 1000));
+            }
+        }
+    }
+}
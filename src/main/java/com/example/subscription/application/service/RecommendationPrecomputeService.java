@@ -0,0 +1,243 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.config.ThreadingConfig;
+import com.example.subscription.infrastructure.llm.AdaptiveConcurrencyLimiter;
+import com.example.subscription.infrastructure.llm.LlmSaturatedException;
+import com.example.subscription.infrastructure.recommendation.PrecomputedRecommendation;
+import com.example.subscription.infrastructure.repository.PrecomputedRecommendationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recomendações pré-calculadas fora do caminho da requisição.
+ *
+ * <h2>Problema:</h2>
+ * <p>A recomendação depende só do perfil do estudante, que muda apenas em
+ * {@code GamificationService.completeCourse}; mesmo assim cada
+ * {@code GET /recommendations/students/{id}} chamava o LLM.</p>
+ *
+ * <h2>Fluxo:</h2>
+ * <ol>
+ *   <li>O {@code CourseCompletedEvent} chega pela fila de recomendações e
+ *       {@link #onCourseCompleted} marca a linha do estudante como stale</li>
+ *   <li>A regeneração entra no {@code recommendationPrecomputeExecutor}
+ *       (poucos workers, prioridade mínima, fila limitada); eventos repetidos
+ *       do mesmo estudante ainda na fila viram uma única regeneração</li>
+ *   <li>O worker só chama o LLM com capacidade ociosa (menos da metade do
+ *       limite do {@link AdaptiveConcurrencyLimiter} em uso) e grava o
+ *       resultado; se o limite lotar entre a checagem e a chamada, volta a
+ *       esperar capacidade ociosa em vez de falhar</li>
+ *   <li>{@link #getRecommendation} é uma leitura por chave; sem linha, gera na
+ *       hora e grava (primeiro acesso de um estudante)</li>
+ * </ol>
+ *
+ * <p>Uma linha stale continua sendo servida, com {@code stale=true} e
+ * {@code generatedAt}, até a regeneração terminar. Fila cheia ou falha do
+ * LLM deixam a linha stale; a próxima conclusão agenda de novo.</p>
+ *
+ * <h2>Escritas concorrentes:</h2>
+ * <ul>
+ *   <li><b>Stale</b>: {@code UPDATE} só da coluna, nunca regrava o texto</li>
+ *   <li><b>Regeneração</b>: {@code UPDATE} do texto; sem linha, insere
+ *       (só {@code INSERT}, ver {@link PrecomputedRecommendation#isNew}). Uma
+ *       conclusão que chega durante a geração volta a marcar stale depois
+ *       da gravação</li>
+ *   <li><b>Primeira leitura</b>: só {@code INSERT}; se outra leitura ou um
+ *       worker gravou antes (chave duplicada), devolve o texto gerado sem
+ *       gravar, nunca sobrescreve a linha existente</li>
+ * </ul>
+ *
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code recommendation.precompute} - contador por {@code outcome}
+ *       (scheduled|deduplicated|dropped|completed|failed)</li>
+ *   <li>{@code recommendation.precompute.reads} - leituras por {@code result}
+ *       (fresh|stale|miss)</li>
+ *   <li>{@code recommendation.precompute.queue} - regenerações aguardando worker</li>
+ * </ul>
+ *
+ * <p>Com {@code recommendation.precompute.enabled=false} (padrão) ou
+ * {@code ollama.enabled=false} toda leitura gera a recomendação na hora e os
+ * eventos são ignorados: a resposta do mock não é gravada, senão continuaria
+ * sendo servida como atual depois de o Ollama ser ligado.</p>
+ *
+ * @author Rickelme
+ * @see ThreadingConfig#recommendationPrecomputeExecutor
+ */
+@Service
+public class RecommendationPrecomputeService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationPrecomputeService.class);
+
+    private final CourseRecommendationService recommendationService;
+    private final PrecomputedRecommendationRepository repository;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ThreadPoolTaskExecutor precomputeExecutor;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long idlePollMs;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public RecommendationPrecomputeService(
+            CourseRecommendationService recommendationService,
+            PrecomputedRecommendationRepository repository,
+            AdaptiveConcurrencyLimiter limiter,
+            @Qualifier(ThreadingConfig.RECOMMENDATION_PRECOMPUTE_EXECUTOR) ThreadPoolTaskExecutor precomputeExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${recommendation.precompute.enabled:false}") boolean enabled,
+            @Value("${ollama.enabled:false}") boolean ollamaEnabled,
+            @Value("${recommendation.precompute.idle-poll-ms:500}") long idlePollMs) {
+        this.recommendationService = recommendationService;
+        this.repository = repository;
+        this.limiter = limiter;
+        this.precomputeExecutor = precomputeExecutor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled && ollamaEnabled;
+        this.idlePollMs = idlePollMs;
+        if (enabled && !ollamaEnabled) {
+            log.info("Pré-cálculo de recomendações desligado: Ollama desabilitado neste ambiente");
+        }
+        meterRegistry.gauge("recommendation.precompute.queue", precomputeExecutor, ThreadPoolTaskExecutor::getQueueSize);
+    }
+
+    /**
+     * Recomendação do estudante: a pré-calculada, ou gerada na hora se ainda
+     * não houver.
+     *
+     * @param studentId ID do estudante
+     * @return recomendação com data de geração e indicação de stale
+     * @throws NoSuchElementException se estudante não encontrado
+     */
+    public PrecomputedRecommendation getRecommendation(Long studentId) {
+        if (enabled) {
+            Optional<PrecomputedRecommendation> stored = repository.findById(studentId);
+            if (stored.isPresent()) {
+                read(stored.get().isStale() ? "stale" : "fresh");
+                return stored.get();
+            }
+            read("miss");
+        }
+        PrecomputedRecommendation live = PrecomputedRecommendation.of(studentId,
+                recommendationService.recommendCoursesForStudent(studentId), LocalDateTime.now(), false);
+        if (!enabled) {
+            return live;
+        }
+        try {
+            return repository.save(live);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Recomendação do estudante ID {} gravada por outra requisição", studentId);
+            return live;
+        }
+    }
+
+    /**
+     * Conclusão de curso: marca a recomendação atual como stale e agenda a
+     * regeneração.
+     *
+     * @param studentId ID do estudante
+     */
+    public void onCourseCompleted(Long studentId) {
+        if (!enabled) {
+            return;
+        }
+        // pending antes do UPDATE: o worker que grava em seguida vê a nova conclusão
+        boolean first = pending.add(studentId);
+        repository.markStale(studentId);
+        if (!first) {
+            count("deduplicated");
+            return;
+        }
+        try {
+            precomputeExecutor.execute(() -> regenerate(studentId));
+            count("scheduled");
+        } catch (TaskRejectedException e) {
+            pending.remove(studentId);
+            count("dropped");
+            log.warn("Fila de pré-cálculo cheia, recomendação do estudante ID {} segue stale", studentId);
+        }
+    }
+
+    private void regenerate(Long studentId) {
+        try {
+            awaitIdleCapacity();
+            // A partir daqui uma nova conclusão agenda outra regeneração
+            pending.remove(studentId);
+            String recommendations = generateWhenIdle(studentId);
+            store(studentId, recommendations);
+            if (pending.contains(studentId)) {
+                repository.markStale(studentId);
+            }
+            count("completed");
+            log.debug("Recomendação pré-calculada para estudante ID: {}", studentId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.remove(studentId);
+        } catch (RuntimeException e) {
+            count("failed");
+            log.error("Pré-cálculo da recomendação do estudante ID {} falhou: {}", studentId, e.getMessage());
+        }
+    }
+
+    /**
+     * Atualiza a linha do estudante ou, sem linha, insere.
+     */
+    private void store(Long studentId, String recommendations) {
+        LocalDateTime generatedAt = LocalDateTime.now();
+        if (repository.refresh(studentId, recommendations, generatedAt) > 0) {
+            return;
+        }
+        try {
+            repository.save(PrecomputedRecommendation.of(studentId, recommendations, generatedAt, false));
+        } catch (DataIntegrityViolationException e) {
+            // Inserida por uma primeira leitura no meio tempo
+            repository.refresh(studentId, recommendations, generatedAt);
+        }
+    }
+
+    /**
+     * Chama o LLM; recusada por saturação, espera capacidade ociosa de novo.
+     */
+    private String generateWhenIdle(Long studentId) throws InterruptedException {
+        while (true) {
+            try {
+                return recommendationService.recommendCoursesForStudent(studentId);
+            } catch (LlmSaturatedException e) {
+                log.debug("LLM saturado, pré-cálculo do estudante ID {} aguarda capacidade", studentId);
+                Thread.sleep(idlePollMs);
+                awaitIdleCapacity();
+            }
+        }
+    }
+
+    /**
+     * Cede a vez às requisições interativas enquanto o LLM estiver ocupado.
+     */
+    private void awaitIdleCapacity() throws InterruptedException {
+        while (!limiter.hasIdleCapacity()) {
+            Thread.sleep(idlePollMs);
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("recommendation.precompute", "outcome", outcome).increment();
+    }
+
+    private void read(String result) {
+        meterRegistry.counter("recommendation.precompute.reads", "result", result).increment();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.subscription.application.service;
+
+/**
+ * Fila de jobs de recomendação cheia; o cliente deve tentar mais tarde.
+ *
+ * @author Rickelme
+ * @see RecommendationJobService
+ */
+public class RecommendationQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RecommendationQueueFullException(int queueCapacity, long retryAfterSeconds) {
+        super("Recommendation queue is full (" + queueCapacity + " pending jobs)");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Sugestão de espera para o header {@code Retry-After}.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
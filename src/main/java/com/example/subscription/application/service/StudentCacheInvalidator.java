@@ -0,0 +1,86 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.application.dto.StudentDTO;
+import com.example.subscription.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mantém o cache {@value CacheConfig#STUDENTS} coerente com as escritas.
+ *
+ * <h2>Estratégia:</h2>
+ * <ul>
+ *   <li><b>Alteração</b>: remove a entrada imediatamente e de novo após o commit.
+ *       A segunda remoção descarta o valor antigo que um leitor concorrente
+ *       possa ter recarregado enquanto a transação estava aberta</li>
+ *   <li><b>Criação</b>: grava o DTO somente após o commit, nunca um estudante
+ *       que pode sofrer rollback</li>
+ *   <li><b>Sem transação</b>: aplica na hora</li>
+ * </ul>
+ *
+ * <p>Remover em vez de atualizar nas alterações evita que commits concorrentes
+ * do mesmo estudante gravem versões fora de ordem.</p>
+ *
+ * @author Rickelme
+ * @see CacheConfig Configuração do cache
+ */
+@Component
+public class StudentCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public StudentCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Invalida um estudante alterado.
+     */
+    public void evict(Long studentId) {
+        evict(List.of(studentId));
+    }
+
+    /**
+     * Invalida estudantes alterados na transação corrente.
+     */
+    public void evict(Collection<Long> studentIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.STUDENTS);
+        if (cache == null || studentIds.isEmpty()) {
+            return;
+        }
+        studentIds.forEach(cache::evict);
+        afterCommit(() -> studentIds.forEach(cache::evict));
+    }
+
+    /**
+     * Grava no cache um estudante recém-criado, após o commit.
+     */
+    public void put(StudentDTO student) {
+        Cache cache = cacheManager.getCache(CacheConfig.STUDENTS);
+        if (cache == null) {
+            return;
+        }
+        afterCommit(() -> cache.put(student.getId(), student));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,14 +1,24 @@
 package com.example.subscription.application.service;
 
 import com.example.subscription.application.dto.StudentDTO;
+import com.example.subscription.application.dto.StudentPageDTO;
+import com.example.subscription.config.CacheConfig;
 import com.example.subscription.domain.entity.Student;
+import com.example.subscription.infrastructure.repository.StudentJdbcRepository;
 import com.example.subscription.infrastructure.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -25,7 +35,22 @@ import java.util.stream.Collectors;
  * <h2>Responsabilidades:</h2>
  * <ul>
  *   <li>Listar todos os estudantes</li>
- *   <li>Buscar estudante por ID</li>
+ *   <li>Listar estudantes paginados por cursor (keyset)</li>
+ *   <li>Percorrer todos os estudantes em streaming (memória constante)</li>
+ *   <li>Buscar estudante por ID (read-through cache)</li>
+ * </ul>
+ * 
+ * <h2>Cache:</h2>
+ * <p>{@link #getStudentById(Long)} passa pelo cache {@value CacheConfig#STUDENTS}
+ * ({@code students.cache.*}); escritas o mantêm coerente via
+ * {@link StudentCacheInvalidator} após o commit. O DTO em cache é
+ * compartilhado entre chamadas e não deve ser alterado.</p>
+ * 
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code students.read} - Latência das leituras (tag {@code operation}=all|page|stream|by-id).
+ *       Em by-id só as idas ao banco são medidas; acertos do cache aparecem em {@code cache.gets}</li>
+ *   <li>{@code students.read.rows} - Linhas entregues por streaming</li>
  * </ul>
  * 
  * @author Rickelme
@@ -36,38 +61,107 @@ import java.util.stream.Collectors;
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final StudentJdbcRepository studentJdbcRepository;
+    private final StudentCacheInvalidator cacheInvalidator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${students.page.max-limit:1000}")
+    private int maxPageLimit = 1000;
 
     @Autowired
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(
+            StudentRepository studentRepository,
+            StudentJdbcRepository studentJdbcRepository,
+            StudentCacheInvalidator cacheInvalidator,
+            MeterRegistry meterRegistry) {
         this.studentRepository = studentRepository;
+        this.studentJdbcRepository = studentJdbcRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Lista todos os estudantes
      * 
+     * <p>Materializa a tabela inteira em memória; para tabelas grandes use
+     * {@link #getStudentsPage(Long, int)} ou {@link #streamAllStudents(Consumer)}.</p>
+     * 
      * @return lista de DTOs
      */
     @Transactional(readOnly = true)
     public List<StudentDTO> getAllStudents() {
-        return studentRepository.findAll()
+        return readTimer("all").record(() -> studentRepository.findAll()
                 .stream()
                 .map(StudentDTO::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Lista uma página de estudantes usando paginação por cursor (keyset).
+     * 
+     * <p>Busca uma linha a mais que o tamanho da página apenas para saber se
+     * existe próxima página, evitando um COUNT sobre a tabela.</p>
+     * 
+     * @param after ID do último estudante da página anterior (null = início)
+     * @param limit tamanho da página (limitado a [1, students.page.max-limit])
+     * @return estudantes com ID maior que {@code after}, em ordem crescente de ID
+     */
+    @Transactional(readOnly = true)
+    public StudentPageDTO getStudentsPage(Long after, int limit) {
+        long cursor = after != null ? after : 0L;
+        int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+        
+        List<StudentDTO> students = readTimer("page").record(() -> studentRepository
+                .findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(pageSize + 1))
+                .stream()
+                .map(StudentDTO::fromEntity)
+                .collect(Collectors.toList()));
+        
+        if (students.size() <= pageSize) {
+            return new StudentPageDTO(students, null);
+        }
+        List<StudentDTO> page = students.subList(0, pageSize);
+        return new StudentPageDTO(page, page.get(pageSize - 1).getId());
+    }
+
+    /**
+     * Percorre todos os estudantes via cursor JDBC, entregando um DTO por vez.
+     * 
+     * <p>A transação somente leitura mantém o cursor aberto no banco enquanto
+     * o consumidor escreve cada linha na resposta.</p>
+     * 
+     * @param consumer callback que recebe cada estudante
+     */
+    @Transactional(readOnly = true)
+    public void streamAllStudents(Consumer<StudentDTO> consumer) {
+        AtomicLong rows = new AtomicLong();
+        readTimer("stream").record(() -> studentJdbcRepository.forEachStudent(student -> {
+            consumer.accept(StudentDTO.fromEntity(student));
+            rows.incrementAndGet();
+        }));
+        meterRegistry.summary("students.read.rows", "operation", "stream").record(rows.get());
     }
     
     /**
      * Busca estudante por ID
      * 
+     * <p>Resultados ficam no cache; estudante inexistente não é cacheado.</p>
+     * 
      * @param id ID do estudante
      * @return DTO do estudante
      * @throws NoSuchElementException se não encontrado
      */
+    @Cacheable(cacheNames = CacheConfig.STUDENTS, key = "#id")
     @Transactional(readOnly = true)
     public StudentDTO getStudentById(Long id) {
-        return studentRepository.findById(id)
+        return readTimer("by-id").record(() -> studentRepository.findById(id))
                 .map(StudentDTO::fromEntity)
                 .orElseThrow(() -> new NoSuchElementException("Student not found: " + id));
     }
+    
+    private Timer readTimer(String operation) {
+        return meterRegistry.timer("students.read", "operation", operation);
+    }
 
     /**
      * Cria um novo estudante
@@ -79,6 +173,8 @@ public class StudentService {
     public StudentDTO createStudent(StudentDTO dto) {
         Student student = new Student(dto.getName());
         Student saved = studentRepository.save(student);
-        return StudentDTO.fromEntity(saved);
+        StudentDTO created = StudentDTO.fromEntity(saved);
+        cacheInvalidator.put(created);
+        return created;
     }
 }
\ No newline at end of file
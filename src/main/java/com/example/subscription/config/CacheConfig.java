@@ -0,0 +1,68 @@
+package com.example.subscription.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuração do cache em memória de leituras.
+ *
+ * <h2>Caches:</h2>
+ * <ul>
+ *   <li>{@value #STUDENTS} - {@code StudentDTO} por ID, usado por
+ *       {@code StudentService#getStudentById}</li>
+ * </ul>
+ *
+ * <h2>Caffeine:</h2>
+ * <ul>
+ *   <li><b>Eviction</b>: W-TinyLFU limitado por {@code students.cache.maximum-size}</li>
+ *   <li><b>TTL</b>: {@code students.cache.expire-after-write-seconds}, limite de
+ *       staleness caso uma invalidação se perca</li>
+ *   <li><b>Métricas</b>: {@code recordStats} habilita {@code cache.gets} (hit/miss),
+ *       {@code cache.evictions} e {@code cache.size} no Actuator</li>
+ * </ul>
+ *
+ * <p>Com {@code students.cache.enabled=false} (padrão) um {@link NoOpCacheManager}
+ * mantém o comportamento sem cache.</p>
+ *
+ * @author Rickelme
+ * @see com.example.subscription.application.service.StudentCacheInvalidator Invalidação após o commit
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
+    public static final String STUDENTS = "students";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${students.cache.enabled:false}") boolean enabled,
+            @Value("${students.cache.maximum-size:10000}") long maximumSize,
+            @Value("${students.cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+
+        log.info("Cache de estudantes habilitado (máximo: {}, TTL: {}s)", maximumSize, expireAfterWriteSeconds);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(STUDENTS));
+        return cacheManager;
+    }
+}
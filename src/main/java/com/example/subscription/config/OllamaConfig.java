@@ -1,9 +1,19 @@
 package com.example.subscription.config;
 
+import com.example.subscription.infrastructure.llm.AdaptiveConcurrencyLimiter;
+import com.example.subscription.infrastructure.llm.ConcurrencyLimitedChatLanguageModel;
+import com.example.subscription.infrastructure.llm.ConcurrencyLimitedStreamingChatLanguageModel;
+import com.example.subscription.infrastructure.llm.OllamaEndpoint;
+import com.example.subscription.infrastructure.llm.OllamaEndpointPool;
+import com.example.subscription.infrastructure.llm.RoutingChatLanguageModel;
+import com.example.subscription.infrastructure.llm.RoutingStreamingChatLanguageModel;
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
 import dev.langchain4j.model.ollama.OllamaChatModel;
+import dev.langchain4j.model.ollama.OllamaStreamingChatModel;
 import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +22,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Configuração do LangChain4J com Ollama (LLM Local).
@@ -19,8 +30,15 @@ import java.time.Duration;
  * <h2>Clean Architecture - Infrastructure Layer:</h2>
  * <ul>
  *   <li><b>Adapter</b>: Configura integração com serviço externo (Ollama)</li>
- *   <li><b>Dependency Injection</b>: Fornece ChatLanguageModel como Bean</li>
+ *   <li><b>Dependency Injection</b>: Fornece ChatLanguageModel e
+ *       StreamingChatLanguageModel (tokens via SSE) como Beans</li>
  *   <li><b>Configurável</b>: Parâmetros via application.properties</li>
+ *   <li><b>Vários servidores</b>: {@code ollama.base-urls} (lista separada por
+ *       vírgula) vira um {@link OllamaEndpointPool}; cada chamada vai para o
+ *       servidor saudável com menos requisições em andamento</li>
+ *   <li><b>Limite</b>: os beans do Ollama passam pelo
+ *       {@link AdaptiveConcurrencyLimiter}, compartilhado entre chamadas
+ *       bloqueantes e streaming</li>
  * </ul>
  * 
  * <h2>Requisitos:</h2>
@@ -45,8 +63,14 @@ public class OllamaConfig {
 
     private static final Logger log = LoggerFactory.getLogger(OllamaConfig.class);
 
-    @Value("${ollama.base-url:http://localhost:11434}")
-    private String baseUrl;
+    static final String UNAVAILABLE_MESSAGE = "⚠️ Serviço de IA não disponível neste ambiente. " +
+            "Por favor, tente novamente no ambiente de desenvolvimento com Ollama configurado.";
+
+    @Value("${ollama.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ollama.base-urls:${ollama.base-url:http://localhost:11434}}")
+    private List<String> baseUrls;
 
     @Value("${ollama.model-name:deepseek-coder:6.7b}")
     private String modelName;
@@ -57,24 +81,57 @@ public class OllamaConfig {
     @Value("${ollama.temperature:0.7}")
     private double temperature;
 
+    @Value("${ollama.health.timeout-ms:2000}")
+    private long healthTimeoutMs;
+
+    /**
+     * Pool dos servidores Ollama de {@code ollama.base-urls}.
+     * 
+     * <p>Com ollama.enabled=false o pool fica vazio e
+     * {@code GET /recommendations/health} reporta o serviço como desabilitado.</p>
+     * 
+     * @param meterRegistry registro das métricas por servidor
+     * @return pool com um OllamaChatModel/OllamaStreamingChatModel por URL
+     */
+    @Bean
+    public OllamaEndpointPool ollamaEndpointPool(MeterRegistry meterRegistry) {
+        List<OllamaEndpoint> endpoints = enabled
+                ? baseUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).map(this::ollamaEndpoint).toList()
+                : List.of();
+        return new OllamaEndpointPool(endpoints, Duration.ofMillis(healthTimeoutMs), meterRegistry);
+    }
+
+    private OllamaEndpoint ollamaEndpoint(String baseUrl) {
+        log.info("🤖 Inicializando Ollama: {} @ {}", modelName, baseUrl);
+        return new OllamaEndpoint(baseUrl,
+                OllamaChatModel.builder()
+                        .baseUrl(baseUrl)
+                        .modelName(modelName)
+                        .timeout(Duration.ofSeconds(timeoutSeconds))
+                        .temperature(temperature)
+                        .build(),
+                OllamaStreamingChatModel.builder()
+                        .baseUrl(baseUrl)
+                        .modelName(modelName)
+                        .timeout(Duration.ofSeconds(timeoutSeconds))
+                        .temperature(temperature)
+                        .build());
+    }
+
     /**
      * Bean do ChatLanguageModel para injeção nos Services.
      * 
      * <p>Configurado para usar Ollama rodando localmente com GPU AMD.</p>
      * <p>Só é criado quando ollama.enabled=true</p>
      * 
+     * @param pool servidores Ollama (roteamento por menos requisições em andamento)
+     * @param limiter limite de chamadas simultâneas ao Ollama
      * @return ChatLanguageModel configurado para Ollama
      */
     @Bean
     @ConditionalOnProperty(name = "ollama.enabled", havingValue = "true", matchIfMissing = false)
-    public ChatLanguageModel ollamaChatLanguageModel() {
-        log.info("🤖 Inicializando Ollama ChatLanguageModel: {} @ {}", modelName, baseUrl);
-        return OllamaChatModel.builder()
-                .baseUrl(baseUrl)
-                .modelName(modelName)
-                .timeout(Duration.ofSeconds(timeoutSeconds))
-                .temperature(temperature)
-                .build();
+    public ChatLanguageModel ollamaChatLanguageModel(OllamaEndpointPool pool, AdaptiveConcurrencyLimiter limiter) {
+        return new ConcurrencyLimitedChatLanguageModel(new RoutingChatLanguageModel(pool), limiter);
     }
 
     /**
@@ -88,10 +145,38 @@ public class OllamaConfig {
     @ConditionalOnProperty(name = "ollama.enabled", havingValue = "false", matchIfMissing = true)
     public ChatLanguageModel mockChatLanguageModel() {
         log.info("🤖 Usando Mock ChatLanguageModel (Ollama desabilitado)");
-        return messages -> Response.from(
-            AiMessage.from("⚠️ Serviço de IA não disponível neste ambiente. " +
-                "Por favor, tente novamente no ambiente de desenvolvimento com Ollama configurado.")
-        );
+        return messages -> Response.from(AiMessage.from(UNAVAILABLE_MESSAGE));
+    }
+
+    /**
+     * Bean do StreamingChatLanguageModel: mesmo Ollama, entregando os tokens
+     * à medida que são gerados.
+     * 
+     * @param pool servidores Ollama (roteamento por menos requisições em andamento)
+     * @param limiter limite de chamadas simultâneas ao Ollama
+     * @return StreamingChatLanguageModel configurado para Ollama
+     */
+    @Bean
+    @ConditionalOnProperty(name = "ollama.enabled", havingValue = "true", matchIfMissing = false)
+    public StreamingChatLanguageModel ollamaStreamingChatLanguageModel(OllamaEndpointPool pool,
+                                                                       AdaptiveConcurrencyLimiter limiter) {
+        return new ConcurrencyLimitedStreamingChatLanguageModel(new RoutingStreamingChatLanguageModel(pool), limiter);
+    }
+
+    /**
+     * Bean mock do StreamingChatLanguageModel para ambientes sem Ollama.
+     * 
+     * @return mock que entrega a mensagem padrão palavra por palavra
+     */
+    @Bean
+    @ConditionalOnProperty(name = "ollama.enabled", havingValue = "false", matchIfMissing = true)
+    public StreamingChatLanguageModel mockStreamingChatLanguageModel() {
+        return (messages, handler) -> {
+            for (String token : UNAVAILABLE_MESSAGE.split("(?<= )")) {
+                handler.onNext(token);
+            }
+            handler.onComplete(Response.from(AiMessage.from(UNAVAILABLE_MESSAGE)));
+        };
     }
 }
 
@@ -1,13 +1,19 @@
 package com.example.subscription.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 /**
  * Configuração do RabbitMQ para arquitetura orientada a eventos.
@@ -23,9 +29,36 @@ import org.springframework.context.annotation.Configuration;
  * <pre>
  * Exchange (gamification.events) ─┬─▶ Queue (gamification.course.completed) → Certificados
  *                                 ├─▶ Queue (gamification.notification)     → Notificações
- *                                 └─▶ Queue (gamification.analytics)        → Analytics/BI
+ *                                 ├─▶ Queue (gamification.analytics)        → Analytics/BI
+ *                                 └─▶ Queue (gamification.recommendation)   → Pré-cálculo de recomendações
  * </pre>
  * 
+ * <h2>Mensagem única roteada:</h2>
+ * <p>Além das routing keys por fila, cada fila também é ligada ao padrão
+ * {@code event.course.completed.<resultado>}. Uma única mensagem publicada com
+ * {@code event.course.completed.passed} chega a todas as filas e
+ * {@code event.course.completed.failed} a todas menos notificações.</p>
+ * <pre>
+ * event.course.completed.*      → gamification.course.completed
+ * event.course.completed.passed → gamification.notification
+ * event.course.completed.*      → gamification.analytics
+ * event.course.completed.*      → gamification.recommendation
+ * </pre>
+ * 
+ * <h2>Consumo:</h2>
+ * <p>Cada fila tem sua própria {@link SimpleRabbitListenerContainerFactory},
+ * configurada por {@code rabbitmq.listener.<fila>.*}:</p>
+ * <ul>
+ *   <li><b>concurrency / max-concurrency</b>: consumidores iniciais e máximos
+ *       (o container cria consumidores sob demanda até o máximo)</li>
+ *   <li><b>prefetch</b>: mensagens não confirmadas por consumidor</li>
+ *   <li><b>batch-size</b>: analytics recebe lotes ({@code List}) de até N mensagens</li>
+ * </ul>
+ * <p>Com {@code rabbitmq.listener.virtual-threads=true} os consumidores rodam em
+ * virtual threads (JDK 21+); em JDKs anteriores o container mantém threads de
+ * plataforma e registra um aviso. Sem a propriedade vale o modo global
+ * {@code spring.threads.virtual.enabled} (ver {@link ThreadingConfig}).</p>
+ * 
  * <h2>Caso de Uso:</h2>
  * <p>Quando um aluno completa um curso, o evento é publicado no exchange e
  * distribuído para múltiplas filas, cada uma processando uma tarefa específica.</p>
@@ -36,6 +69,8 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(RabbitMQConfig.class);
+
     // ========== EXCHANGE ==========
     
     @Value("${rabbitmq.exchange.name:gamification.events}")
@@ -51,6 +86,9 @@ public class RabbitMQConfig {
     
     @Value("${rabbitmq.queue.analytics:gamification.analytics}")
     private String analyticsQueue;
+    
+    @Value("${rabbitmq.queue.recommendation:gamification.recommendation}")
+    private String recommendationQueue;
 
     // ========== ROUTING KEYS ==========
     
@@ -62,6 +100,9 @@ public class RabbitMQConfig {
     
     @Value("${rabbitmq.routing-key.analytics:analytics.#}")
     private String analyticsRoutingKey;
+    
+    @Value("${rabbitmq.routing-key.course-completed-event:event.course.completed}")
+    private String courseCompletedEventRoutingKey;
 
     // ========== EXCHANGE BEAN ==========
     
@@ -105,6 +146,16 @@ public class RabbitMQConfig {
                 .withArgument("x-message-ttl", 604800000) // 7 dias TTL
                 .build();
     }
+    
+    /**
+     * Fila para o pré-cálculo de recomendações
+     */
+    @Bean
+    public Queue recommendationQueue() {
+        return QueueBuilder.durable(recommendationQueue)
+                .withArgument("x-message-ttl", 86400000) // 24h TTL
+                .build();
+    }
 
     // ========== BINDINGS ==========
     
@@ -141,6 +192,147 @@ public class RabbitMQConfig {
                 .with(analyticsRoutingKey);
     }
 
+    /**
+     * Binding: Exchange → Queue de recomendações (mesma chave de cursos completados)
+     */
+    @Bean
+    public Binding recommendationBinding(Queue recommendationQueue, TopicExchange gamificationExchange) {
+        return BindingBuilder
+                .bind(recommendationQueue)
+                .to(gamificationExchange)
+                .with(courseCompletedRoutingKey);
+    }
+
+    // ========== BINDINGS - MENSAGEM ÚNICA ==========
+    
+    /**
+     * Binding: toda conclusão (aprovada ou não) → Queue de cursos completados
+     */
+    @Bean
+    public Binding courseCompletedEventBinding(Queue courseCompletedQueue, TopicExchange gamificationExchange) {
+        return BindingBuilder
+                .bind(courseCompletedQueue)
+                .to(gamificationExchange)
+                .with(courseCompletedEventRoutingKey + ".*");
+    }
+    
+    /**
+     * Binding: apenas conclusões aprovadas → Queue de notificações
+     */
+    @Bean
+    public Binding notificationEventBinding(Queue notificationQueue, TopicExchange gamificationExchange) {
+        return BindingBuilder
+                .bind(notificationQueue)
+                .to(gamificationExchange)
+                .with(courseCompletedEventRoutingKey + ".passed");
+    }
+    
+    /**
+     * Binding: toda conclusão → Queue de analytics
+     */
+    @Bean
+    public Binding analyticsEventBinding(Queue analyticsQueue, TopicExchange gamificationExchange) {
+        return BindingBuilder
+                .bind(analyticsQueue)
+                .to(gamificationExchange)
+                .with(courseCompletedEventRoutingKey + ".*");
+    }
+    
+    /**
+     * Binding: toda conclusão → Queue de recomendações
+     */
+    @Bean
+    public Binding recommendationEventBinding(Queue recommendationQueue, TopicExchange gamificationExchange) {
+        return BindingBuilder
+                .bind(recommendationQueue)
+                .to(gamificationExchange)
+                .with(courseCompletedEventRoutingKey + ".*");
+    }
+
+    // ========== LISTENER CONTAINER FACTORIES ==========
+    
+    /**
+     * Factory dos consumidores de conclusão de curso (certificados).
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory courseCompletedListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            Environment environment) {
+        return listenerFactory(configurer, connectionFactory, environment, "course-completed", 2, 8, 50);
+    }
+    
+    /**
+     * Factory dos consumidores de notificação.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory notificationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            Environment environment) {
+        return listenerFactory(configurer, connectionFactory, environment, "notification", 1, 4, 20);
+    }
+    
+    /**
+     * Factory dos consumidores de analytics, com recebimento em lote.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory analyticsListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            Environment environment) {
+        SimpleRabbitListenerContainerFactory factory =
+                listenerFactory(configurer, connectionFactory, environment, "analytics", 1, 4, 250);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(environment.getProperty("rabbitmq.listener.analytics.batch-size", Integer.class, 100));
+        factory.setReceiveTimeout(environment.getProperty("rabbitmq.listener.analytics.receive-timeout-ms", Long.class, 1000L));
+        return factory;
+    }
+    
+    /**
+     * Factory dos consumidores de recomendação (só agendam o pré-cálculo).
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory recommendationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            Environment environment) {
+        return listenerFactory(configurer, connectionFactory, environment, "recommendation", 1, 2, 50);
+    }
+    
+    /**
+     * Monta uma factory a partir de {@code spring.rabbitmq.listener.simple.*}
+     * (via configurer) sobrescrevendo os limites da fila informada.
+     */
+    private SimpleRabbitListenerContainerFactory listenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            Environment environment,
+            String queueKey,
+            int defaultConcurrency,
+            int defaultMaxConcurrency,
+            int defaultPrefetch) {
+        String prefix = "rabbitmq.listener." + queueKey + ".";
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(environment.getProperty(prefix + "concurrency", Integer.class, defaultConcurrency));
+        factory.setMaxConcurrentConsumers(environment.getProperty(prefix + "max-concurrency", Integer.class, defaultMaxConcurrency));
+        factory.setPrefetchCount(environment.getProperty(prefix + "prefetch", Integer.class, defaultPrefetch));
+        
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (environment.getProperty("rabbitmq.listener.virtual-threads", Boolean.class, virtualThreads)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(queueKey + "-listener-");
+            try {
+                executor.setVirtualThreads(true);
+                factory.setTaskExecutor(executor);
+            } catch (UnsupportedOperationException e) {
+                log.warn("Virtual threads indisponíveis nesta JVM; listeners de {} usam threads de plataforma", queueKey);
+            }
+        }
+        return factory;
+    }
+
     // ========== MESSAGE CONVERTER ==========
     
     /**
@@ -156,12 +348,20 @@ public class RabbitMQConfig {
     
     /**
      * Template configurado para envio de mensagens com JSON.
+     * 
+     * <p>Com {@code mandatory}, mensagens sem fila de destino voltam ao
+     * publisher (requer {@code spring.rabbitmq.publisher-returns=true}) e são
+     * marcadas no {@code CorrelationData} antes do confirm.</p>
      */
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(jsonMessageConverter());
         template.setExchange(exchangeName);
+        template.setMandatory(true);
+        template.setReturnsCallback(returned -> log.warn(
+                "Mensagem devolvida pelo broker: exchange={}, routingKey={}, motivo={}",
+                returned.getExchange(), returned.getRoutingKey(), returned.getReplyText()));
         return template;
     }
 }
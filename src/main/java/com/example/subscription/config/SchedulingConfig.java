@@ -0,0 +1,26 @@
+package com.example.subscription.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas agendadas ({@code @Scheduled}).
+ *
+ * <h2>Tarefas:</h2>
+ * <ul>
+ *   <li>{@link com.example.subscription.infrastructure.messaging.OutboxRelay} - Drena a outbox para o RabbitMQ</li>
+ *   <li>{@link com.example.subscription.infrastructure.analytics.AnalyticsAggregator} - Grava rollups de analytics por janela</li>
+ *   <li>{@link com.example.subscription.infrastructure.rules.CreditRuleLoader} - Recarrega as regras de crédito alteradas</li>
+ *   <li>{@link com.example.subscription.infrastructure.llm.OllamaEndpointPool} - Health probe dos servidores Ollama</li>
+ * </ul>
+ *
+ * <p>O Spring Boot cria o scheduler com uma única thread; com
+ * {@code spring.task.scheduling.pool.size} uma tarefa lenta (ex.: lote da
+ * outbox esperando confirms) não atrasa as outras.</p>
+ *
+ * @author Rickelme
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,117 @@
+package com.example.subscription.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Execução das chamadas ao LLM fora das threads do Tomcat.
+ *
+ * <h2>Problema:</h2>
+ * <p>Uma recomendação pode esperar o Ollama por até {@code ollama.timeout-seconds}.
+ * Executada na thread da requisição, cada chamada lenta prende uma thread do
+ * Tomcat e poucas chamadas simultâneas bastam para deixar {@code /students}
+ * sem threads.</p>
+ *
+ * <h2>Modos:</h2>
+ * <ul>
+ *   <li><b>Padrão</b>: o {@link com.example.subscription.presentation.controller.RecommendationController}
+ *       devolve a thread do Tomcat e o LLM roda em um pool dedicado e limitado
+ *       ({@code recommendation.executor.*})</li>
+ *   <li><b>Virtual threads</b> ({@code spring.threads.virtual.enabled=true}, JDK 21+):
+ *       uma virtual thread por recomendação; o mesmo flag faz o Spring Boot
+ *       atender requisições do Tomcat, {@code @Scheduled} e os
+ *       {@code @RabbitListener} em virtual threads</li>
+ * </ul>
+ *
+ * <p>Com o flag ligado em JDK 17 o Spring Boot ignora a opção; aqui o
+ * fallback é o pool de plataforma, com aviso no log.</p>
+ *
+ * <h2>Jobs de recomendação:</h2>
+ * <p>{@code POST /recommendations/students/{id}/jobs} usa um pool próprio,
+ * sempre limitado ({@code recommendation.jobs.workers} e
+ * {@code recommendation.jobs.queue-capacity}): a fila cheia recusa novos jobs
+ * em vez de acumular trabalho que o Ollama não vai conseguir atender.</p>
+ *
+ * <h2>Pré-cálculo de recomendações:</h2>
+ * <p>As regenerações disparadas por conclusões de curso rodam em um pool
+ * pequeno com threads de prioridade mínima
+ * ({@code recommendation.precompute.workers} e
+ * {@code recommendation.precompute.queue-capacity}).</p>
+ *
+ * @author Rickelme
+ * @see com.example.subscription.application.service.CourseRecommendationService
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    public static final String RECOMMENDATION_EXECUTOR = "recommendationExecutor";
+    public static final String RECOMMENDATION_JOB_EXECUTOR = "recommendationJobExecutor";
+    public static final String RECOMMENDATION_PRECOMPUTE_EXECUTOR = "recommendationPrecomputeExecutor";
+
+    /**
+     * Executor das chamadas de recomendação.
+     */
+    @Bean(name = RECOMMENDATION_EXECUTOR)
+    public AsyncTaskExecutor recommendationExecutor(
+            Environment environment,
+            @Value("${recommendation.executor.pool-size:16}") int poolSize,
+            @Value("${recommendation.executor.queue-capacity:100}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Recomendações em virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("recommendation-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("Virtual threads indisponíveis nesta JVM (Java {}); recomendações usam pool de {} threads",
+                    Runtime.version().feature(), poolSize);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("recommendation-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Workers dos jobs de recomendação (fila limitada, recusa quando cheia).
+     */
+    @Bean(name = RECOMMENDATION_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor recommendationJobExecutor(
+            @Value("${recommendation.jobs.workers:4}") int workers,
+            @Value("${recommendation.jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("recommendation-job-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Workers do pré-cálculo de recomendações (baixa prioridade, fila limitada).
+     */
+    @Bean(name = RECOMMENDATION_PRECOMPUTE_EXECUTOR)
+    public ThreadPoolTaskExecutor recommendationPrecomputeExecutor(
+            @Value("${recommendation.precompute.workers:1}") int workers,
+            @Value("${recommendation.precompute.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("recommendation-precompute-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+}
@@ -4,6 +4,12 @@ package com.example.subscription.domain.constant;
  * Constantes de regras de negócio.
  * Centraliza valores que definem o comportamento do domínio.
  * 
+ * <p>As regras de crédito ({@link #PASSING_GRADE_THRESHOLD},
+ * {@link #CREDITS_PER_APPROVED_COURSE}) são apenas os valores padrão: com
+ * {@code gamification.credits.rules.location} configurado valem as regras do
+ * arquivo, recarregadas em runtime pelo
+ * {@link com.example.subscription.domain.strategy.CreditRuleEngine}.</p>
+ * 
  * Princípio: Don't Repeat Yourself (DRY)
  */
 public final class BusinessRules {
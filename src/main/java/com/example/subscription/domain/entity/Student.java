@@ -1,10 +1,16 @@
 package com.example.subscription.domain.entity;
 
 import com.example.subscription.domain.constant.BusinessRules;
+import com.example.subscription.domain.strategy.CreditCalculationStrategy;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
 import com.example.subscription.domain.valueobject.CourseAverage;
 import com.example.subscription.domain.valueobject.Credits;
+import com.example.subscription.domain.valueobject.CreditsType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CompositeType;
+
+import java.util.Objects;
 
 /**
  * Entidade Student - Aggregate Root do domínio.
@@ -15,6 +21,7 @@ import lombok.*;
  *   <li><b>Aggregate Root</b>: Controla acesso aos Value Objects (Credits, CourseAverage)</li>
  *   <li><b>Rich Domain Model</b>: Contém lógica de negócio (não é anêmico)</li>
  *   <li><b>Encapsulamento</b>: Setters protegidos, lógica via métodos de negócio</li>
+ *   <li><b>Consistência</b>: Optimistic locking via {@code @Version}</li>
  * </ul>
  * 
  * <h2>Princípios SOLID aplicados:</h2>
@@ -51,10 +58,34 @@ public class Student {
     @Column(nullable = false)
     private int completedCourses;
 
+    /**
+     * Créditos como embeddable imutável: instâncias de {@link Credits} são
+     * compartilhadas (flyweight) e o Hibernate não pode alterá-las no merge.
+     */
     @Embedded
+    @CompositeType(CreditsType.class)
     @AttributeOverride(name = "amount", column = @Column(name = "credits", nullable = false))
     private Credits credits;
 
+    /**
+     * Plano de créditos do estudante: define a {@link CreditCalculationStrategy}
+     * aplicada nas conclusões de curso. O default cobre linhas antigas quando
+     * o schema é atualizado via ddl-auto=update.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, columnDefinition = "varchar(20) default 'STANDARD'")
+    @Builder.Default
+    private StrategyType creditStrategy = StrategyType.STANDARD;
+
+    /**
+     * Versão para optimistic locking: escritas concorrentes falham no commit
+     * em vez de sobrescrever umas às outras. O default cobre linhas antigas
+     * quando o schema é atualizado via ddl-auto=update.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     // ========== CONSTRUTORES DE NEGÓCIO ==========
     
     /**
@@ -64,6 +95,7 @@ public class Student {
         this.name = name;
         this.completedCourses = 0;
         this.credits = Credits.zero();
+        this.creditStrategy = StrategyType.STANDARD;
     }
     
     /**
@@ -73,6 +105,7 @@ public class Student {
         this.name = name;
         this.completedCourses = 0;
         this.credits = Credits.of(initialCredits);
+        this.creditStrategy = StrategyType.STANDARD;
     }
 
     // ========== MÉTODOS DE NEGÓCIO ==========
@@ -88,6 +121,21 @@ public class Student {
         awardCreditsIfPassed(average);
     }
     
+    /**
+     * Completa um curso com os créditos calculados pela estratégia do plano
+     * do estudante (resolvida pela camada de aplicação).
+     * 
+     * @param average média obtida no curso (Value Object)
+     * @param strategy estratégia correspondente a {@link #getCreditStrategy()}
+     */
+    public void completeCourse(CourseAverage average, CreditCalculationStrategy strategy) {
+        this.completedCourses++;
+        int awarded = strategy.calculateCredits(average);
+        if (awarded > 0) {
+            this.credits = this.credits.add(awarded);
+        }
+    }
+    
     /**
      * Adiciona créditos se o estudante passou no curso.
      * Extraído para reduzir complexidade ciclomática.
@@ -119,6 +167,13 @@ public class Student {
         this.credits = this.credits.subtract(amount);
     }
     
+    /**
+     * Altera o plano de créditos aplicado nas próximas conclusões.
+     */
+    public void changeCreditStrategy(StrategyType creditStrategy) {
+        this.creditStrategy = Objects.requireNonNull(creditStrategy, "creditStrategy");
+    }
+    
     /**
      * Verifica se tem créditos suficientes
      */
@@ -0,0 +1,59 @@
+package com.example.subscription.domain.strategy;
+
+import com.example.subscription.domain.constant.BusinessRules;
+import com.example.subscription.domain.valueobject.CourseAverage;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém o conjunto de {@link CreditRules} vigente e permite trocá-lo em runtime.
+ *
+ * <h2>Copy-on-write:</h2>
+ * <ul>
+ *   <li><b>Leitura</b>: um único {@code get()} volátil, sem lock; a avaliação
+ *       usa o conjunto obtido até o fim, mesmo que uma troca ocorra no meio</li>
+ *   <li><b>Troca</b>: um novo conjunto é compilado por inteiro fora do motor e
+ *       publicado com um {@code set()} atômico; nenhuma thread vê regras pela
+ *       metade</li>
+ * </ul>
+ *
+ * <h2>Sem regras carregadas:</h2>
+ * <p>Enquanto nenhum conjunto for publicado ({@code gamification.credits.rules.location}
+ * vazio), valem as constantes de {@link BusinessRules} e as estratégias
+ * registradas na {@link CreditStrategyFactory}.</p>
+ *
+ * @author Rickelme
+ * @see com.example.subscription.infrastructure.rules.CreditRuleLoader Carrega e recarrega o arquivo de regras
+ */
+@Component
+public class CreditRuleEngine {
+
+    private final AtomicReference<CreditRules> rules = new AtomicReference<>();
+
+    /**
+     * Conjunto vigente, ou {@code null} se nenhum foi carregado.
+     */
+    public CreditRules current() {
+        return rules.get();
+    }
+
+    /**
+     * Publica um novo conjunto de regras.
+     *
+     * @return conjunto substituído, ou {@code null}
+     */
+    public CreditRules swap(CreditRules newRules) {
+        return rules.getAndSet(newRules);
+    }
+
+    /**
+     * Verifica se a média aprova segundo as regras vigentes.
+     */
+    public boolean isPassing(CourseAverage average) {
+        CreditRules current = rules.get();
+        return current != null
+                ? current.isPassing(average)
+                : average.isAbove(BusinessRules.PASSING_GRADE_THRESHOLD);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.subscription.domain.strategy;
+
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.domain.valueobject.CourseAverage;
+
+import java.util.Properties;
+
+/**
+ * Conjunto de regras de crédito compilado e imutável.
+ *
+ * <h2>Formato:</h2>
+ * <pre>
+ * # Média mínima (exclusiva) para aprovação
+ * passing-grade-threshold=7.0
+ * # Faixas de cada plano: mediaMinima=creditos (mínimo inclusivo)
+ * tiers.STANDARD=7.01=3
+ * tiers.PREMIUM=9.00=5,8.00=4,7.01=3
+ * </pre>
+ *
+ * <h2>Compilação:</h2>
+ * <p>Cada plano vira uma {@link LookupTableCreditStrategy} e o limiar de
+ * aprovação é guardado em centésimos: avaliar uma regra é um acesso a array
+ * ou uma comparação de {@code int}. Como nada muda após a construção, uma
+ * instância pode ser lida por qualquer thread sem sincronização.</p>
+ *
+ * @author Rickelme
+ * @see CreditRuleEngine Publica o conjunto vigente
+ */
+public final class CreditRules {
+
+    static final String PASSING_GRADE_THRESHOLD = "passing-grade-threshold";
+    static final String TIERS_PREFIX = "tiers.";
+
+    private final String source;
+    private final int passingThresholdHundredths;
+    private final CreditCalculationStrategy[] strategies;
+
+    private CreditRules(String source, int passingThresholdHundredths, CreditCalculationStrategy[] strategies) {
+        this.source = source;
+        this.passingThresholdHundredths = passingThresholdHundredths;
+        this.strategies = strategies;
+    }
+
+    /**
+     * Compila as regras lidas de um arquivo.
+     *
+     * <p>Todos os planos de {@link StrategyType} são obrigatórios; chaves
+     * desconhecidas são rejeitadas para que um erro de digitação não passe
+     * despercebido.</p>
+     *
+     * @param source origem (exibida em logs)
+     * @param properties conteúdo no formato descrito na classe
+     * @return regras compiladas
+     * @throws IllegalArgumentException se alguma regra estiver ausente ou inválida
+     */
+    public static CreditRules parse(String source, Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.equals(PASSING_GRADE_THRESHOLD) && !isKnownTierKey(key)) {
+                throw new IllegalArgumentException("Unknown credit rule: '" + key + "'");
+            }
+        }
+
+        int threshold = CourseAverage.of(parseThreshold(required(properties, PASSING_GRADE_THRESHOLD)))
+                .getHundredths();
+
+        StrategyType[] types = StrategyType.values();
+        CreditCalculationStrategy[] strategies = new CreditCalculationStrategy[types.length];
+        for (StrategyType type : types) {
+            String tiers = required(properties, TIERS_PREFIX + type.name());
+            strategies[type.ordinal()] = LookupTableCreditStrategy.tiered(type.name() + " (" + source + ")", tiers);
+        }
+        return new CreditRules(source, threshold, strategies);
+    }
+
+    private static boolean isKnownTierKey(String key) {
+        if (!key.startsWith(TIERS_PREFIX)) {
+            return false;
+        }
+        String type = key.substring(TIERS_PREFIX.length());
+        for (StrategyType candidate : StrategyType.values()) {
+            if (candidate.name().equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing credit rule: '" + key + "'");
+        }
+        return value;
+    }
+
+    private static double parseThreshold(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + PASSING_GRADE_THRESHOLD + ": '" + value.trim() + "'", e);
+        }
+    }
+
+    /**
+     * Estratégia compilada do plano.
+     */
+    public CreditCalculationStrategy strategy(StrategyType type) {
+        return strategies[type.ordinal()];
+    }
+
+    /**
+     * Verifica se a média aprova (estritamente acima do limiar).
+     */
+    public boolean isPassing(CourseAverage average) {
+        return average.getHundredths() > passingThresholdHundredths;
+    }
+
+    /**
+     * Origem das regras (ex.: caminho do arquivo).
+     */
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "CreditRules[" + source + ", passing > " + passingThresholdHundredths / 100.0 + "]";
+    }
+}
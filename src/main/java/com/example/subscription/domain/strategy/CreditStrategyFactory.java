@@ -1,10 +1,9 @@
 package com.example.subscription.domain.strategy;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-
 /**
  * Factory para criar e gerenciar estratégias de cálculo de créditos.
  * 
@@ -12,7 +11,7 @@ import java.util.Map;
  * <ul>
  *   <li><b>Factory Pattern</b>: Centraliza criação de objetos Strategy</li>
  *   <li><b>Strategy Pattern</b>: Permite trocar algoritmos em runtime</li>
- *   <li><b>Registry Pattern</b>: Mantém mapa de estratégias disponíveis</li>
+ *   <li><b>Registry Pattern</b>: Mantém registro das estratégias disponíveis</li>
  * </ul>
  * 
  * <h2>Integração com Spring:</h2>
@@ -22,6 +21,17 @@ import java.util.Map;
  *   <li>Fácil de adicionar novas estratégias</li>
  * </ul>
  * 
+ * <h2>Tabelas pré-calculadas:</h2>
+ * <p>Com {@code gamification.credits.lookup-table.enabled=true} cada estratégia
+ * registrada é compilada em uma {@link LookupTableCreditStrategy} na criação
+ * da factory: mesmo resultado, avaliado com um único acesso a array.</p>
+ * 
+ * <h2>Regras configuráveis:</h2>
+ * <p>Quando o {@link CreditRuleEngine} tem um conjunto de {@link CreditRules}
+ * carregado, {@link #getStrategy(StrategyType)} devolve a estratégia desse
+ * conjunto; as estratégias injetadas ficam como fallback. Trocas de regras
+ * valem a partir da próxima resolução, sem reiniciar a aplicação.</p>
+ * 
  * <h2>Uso:</h2>
  * <pre>{@code
  * CreditCalculationStrategy strategy = factory.getStrategy(StrategyType.PREMIUM);
@@ -34,24 +44,45 @@ import java.util.Map;
 @Component
 public class CreditStrategyFactory {
     
-    private final Map<String, CreditCalculationStrategy> strategies;
+    /** Estratégias indexadas por {@link StrategyType#ordinal()}. */
+    private final CreditCalculationStrategy[] strategies = new CreditCalculationStrategy[StrategyType.values().length];
+    
+    private final CreditRuleEngine ruleEngine;
     
     @Autowired
     public CreditStrategyFactory(
             StandardCreditStrategy standardStrategy,
-            PremiumCreditStrategy premiumStrategy) {
+            PremiumCreditStrategy premiumStrategy,
+            @Value("${gamification.credits.lookup-table.enabled:false}") boolean lookupTableEnabled,
+            CreditRuleEngine ruleEngine) {
         
-        this.strategies = Map.of(
-            StrategyType.STANDARD.name(), standardStrategy,
-            StrategyType.PREMIUM.name(), premiumStrategy
-        );
+        this.ruleEngine = ruleEngine;
+        strategies[StrategyType.STANDARD.ordinal()] = compileIfEnabled(standardStrategy, lookupTableEnabled);
+        strategies[StrategyType.PREMIUM.ordinal()] = compileIfEnabled(premiumStrategy, lookupTableEnabled);
+    }
+    
+    /**
+     * Factory sem regras configuráveis (apenas as estratégias injetadas).
+     */
+    public CreditStrategyFactory(
+            StandardCreditStrategy standardStrategy,
+            PremiumCreditStrategy premiumStrategy,
+            boolean lookupTableEnabled) {
+        this(standardStrategy, premiumStrategy, lookupTableEnabled, new CreditRuleEngine());
+    }
+    
+    private static CreditCalculationStrategy compileIfEnabled(
+            CreditCalculationStrategy strategy, boolean lookupTableEnabled) {
+        return lookupTableEnabled ? new LookupTableCreditStrategy(strategy) : strategy;
     }
     
     /**
-     * Retorna a estratégia baseada no tipo
+     * Retorna a estratégia baseada no tipo (acesso direto por ordinal:
+     * resolvida a cada conclusão de curso)
      */
     public CreditCalculationStrategy getStrategy(StrategyType type) {
-        return strategies.get(type.name());
+        CreditRules rules = ruleEngine.current();
+        return rules != null ? rules.strategy(type) : strategies[type.ordinal()];
     }
     
     /**
@@ -66,6 +97,6 @@ public class CreditStrategyFactory {
      */
     public enum StrategyType {
         STANDARD,  // Estratégia padrão (atual do sistema)
-        PREMIUM    // Estratégia premium (futura funcionalidade)
+        PREMIUM    // Estratégia premium (plano do estudante)
     }
 }
\ No newline at end of file
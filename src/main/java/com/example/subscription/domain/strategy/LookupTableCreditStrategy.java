@@ -0,0 +1,110 @@
+package com.example.subscription.domain.strategy;
+
+import com.example.subscription.domain.valueobject.CourseAverage;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Estratégia compilada em tabela: créditos pré-calculados para cada média possível.
+ * 
+ * <h2>Por que uma tabela:</h2>
+ * <p>{@link CourseAverage} é quantizada em centésimos, então só existem 1001
+ * médias (0.00 a 10.00). Na construção a estratégia de origem é avaliada uma
+ * vez para cada uma; depois {@link #calculateCredits(CourseAverage)} é um único
+ * acesso a {@code int[]}, sem cadeias de comparação em double.</p>
+ * 
+ * <h2>Origens:</h2>
+ * <ul>
+ *   <li>{@link #LookupTableCreditStrategy(CreditCalculationStrategy)} - Compila
+ *       qualquer estratégia existente (resultado idêntico ao da origem)</li>
+ *   <li>{@link #tiered(String, String)} - Compila faixas vindas de configuração,
+ *       ex.: {@code "9.00=5,8.00=4,7.01=3"}, sem escrever uma nova classe</li>
+ * </ul>
+ * 
+ * @author Rickelme
+ * @see CreditStrategyFactory Compila as estratégias registradas quando habilitado
+ */
+public final class LookupTableCreditStrategy implements CreditCalculationStrategy {
+    
+    private static final int MAX_HUNDREDTHS = 1000;
+    
+    private final int[] creditsByHundredths;
+    private final String strategyName;
+    
+    /**
+     * Compila a estratégia informada.
+     * 
+     * @param source estratégia avaliada para cada média de 0.00 a 10.00
+     */
+    public LookupTableCreditStrategy(CreditCalculationStrategy source) {
+        this(source.getStrategyName(), compile(source));
+    }
+    
+    private LookupTableCreditStrategy(String strategyName, int[] creditsByHundredths) {
+        this.strategyName = strategyName;
+        this.creditsByHundredths = creditsByHundredths;
+    }
+    
+    private static int[] compile(CreditCalculationStrategy source) {
+        int[] table = new int[MAX_HUNDREDTHS + 1];
+        for (int hundredths = 0; hundredths <= MAX_HUNDREDTHS; hundredths++) {
+            table[hundredths] = source.calculateCredits(CourseAverage.of(hundredths / 100.0));
+        }
+        return table;
+    }
+    
+    /**
+     * Compila uma estratégia por faixas.
+     * 
+     * <p>Cada faixa é {@code mediaMinima=creditos}, com mínimo inclusivo; vale a
+     * faixa de maior mínimo que não ultrapassa a média. Médias abaixo de todas
+     * as faixas recebem 0. Para "acima de 7.0" use {@code 7.01}.</p>
+     * 
+     * @param strategyName nome exibido em logs
+     * @param tiers faixas separadas por vírgula, ex.: {@code "9.00=5,8.00=4,7.01=3"}
+     * @return estratégia compilada
+     * @throws IllegalArgumentException se a especificação for inválida
+     */
+    public static LookupTableCreditStrategy tiered(String strategyName, String tiers) {
+        NavigableMap<Integer, Integer> creditsByMinimum = new TreeMap<>();
+        for (String tier : tiers.split(",")) {
+            String[] parts = tier.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid credit tier: '" + tier.trim() + "'");
+            }
+            int minimum = CourseAverage.of(parseNumber(parts[0], tier)).getHundredths();
+            int credits = (int) parseNumber(parts[1], tier);
+            if (credits < 0) {
+                throw new IllegalArgumentException("Credits must not be negative: '" + tier.trim() + "'");
+            }
+            creditsByMinimum.put(minimum, credits);
+        }
+        
+        int[] table = new int[MAX_HUNDREDTHS + 1];
+        for (int hundredths = 0; hundredths <= MAX_HUNDREDTHS; hundredths++) {
+            Map.Entry<Integer, Integer> tier = creditsByMinimum.floorEntry(hundredths);
+            table[hundredths] = tier != null ? tier.getValue() : 0;
+        }
+        return new LookupTableCreditStrategy(strategyName, table);
+    }
+    
+    private static double parseNumber(String value, String tier) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid credit tier: '" + tier.trim() + "'", e);
+        }
+    }
+    
+    @Override
+    public int calculateCredits(CourseAverage average) {
+        return creditsByHundredths[average.getHundredths()];
+    }
+    
+    @Override
+    public String getStrategyName() {
+        return strategyName;
+    }
+}
@@ -2,13 +2,11 @@ package com.example.subscription.domain.valueobject;
 
 import jakarta.persistence.Embeddable;
 import lombok.AccessLevel;
-import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Objects;
 
 /**
  * Value Object que representa a média de um curso.
@@ -21,6 +19,20 @@ import java.util.Objects;
  *   <li><b>Comparable</b>: Permite ordenação e comparação</li>
  * </ul>
  * 
+ * <h2>Ponto fixo:</h2>
+ * <p>A média é guardada como inteiro de centésimos (0 a 1000). O
+ * arredondamento HALF_UP para 2 casas é feito com aritmética primitiva,
+ * com resultado idêntico a
+ * {@code BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP)},
+ * sem alocar.</p>
+ * 
+ * <h2>Flyweight:</h2>
+ * <p>Só existem 1001 médias possíveis (0.00 a 10.00), todas pré-criadas:
+ * {@link #of(double)} nunca aloca e a identidade de instância não tem
+ * significado (compare com {@code equals}). A classe não está embutida em
+ * nenhuma entidade; se vier a estar, deve ser mapeada como imutável (ver
+ * {@link CreditsType}) para que o Hibernate não altere instâncias compartilhadas.</p>
+ * 
  * <h2>Classificação de Performance:</h2>
  * <ul>
  *   <li>EXCELLENT: >= 9.0</li>
@@ -34,34 +46,50 @@ import java.util.Objects;
  * @see Student#completeCourse(CourseAverage)
  */
 @Embeddable
-@Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class CourseAverage implements Serializable, Comparable<CourseAverage> {
 
-    private static final long serialVersionUID = 1L;
+    /**
+     * 2: forma serializada em centésimos ({@code int hundredths}); a versão 1
+     * guardava {@code double value} e é recusada na desserialização.
+     */
+    private static final long serialVersionUID = 2L;
     private static final double MIN_AVERAGE = 0.0;
     private static final double MAX_AVERAGE = 10.0;
     private static final int SCALE = 2;
+    private static final double HUNDREDTHS_PER_UNIT = 100.0;
+    private static final double THOUSANDTHS_PER_UNIT = 1000.0;
 
-    private double value;
+    private static final int MAX_HUNDREDTHS = 1000;
+    private static final CourseAverage[] CACHE = new CourseAverage[MAX_HUNDREDTHS + 1];
+    private static final PerformanceLevel[] PERFORMANCE_LEVELS = new PerformanceLevel[MAX_HUNDREDTHS + 1];
 
-    private CourseAverage(double value) {
-        validate(value);
-        this.value = roundToTwoDecimals(value);
+    static {
+        for (int i = 0; i <= MAX_HUNDREDTHS; i++) {
+            CACHE[i] = new CourseAverage(i);
+            PERFORMANCE_LEVELS[i] = PerformanceLevel.fromValue(i / HUNDREDTHS_PER_UNIT);
+        }
+    }
+
+    private int hundredths;
+
+    private CourseAverage(int hundredths) {
+        this.hundredths = hundredths;
     }
 
     /**
-     * Factory method para criar média
+     * Factory method para criar média (instância compartilhada)
      */
     public static CourseAverage of(double value) {
-        return new CourseAverage(value);
+        validate(value);
+        return CACHE[toHundredths(value)];
     }
 
     /**
      * Valida se a média está no intervalo permitido
      */
-    private void validate(double value) {
-        if (value < MIN_AVERAGE || value > MAX_AVERAGE) {
+    private static void validate(double value) {
+        if (Double.isNaN(value) || value < MIN_AVERAGE || value > MAX_AVERAGE) {
             throw new IllegalArgumentException(
                 String.format("Average must be a value between %.1f and %.1f.", MIN_AVERAGE, MAX_AVERAGE)
             );
@@ -69,50 +97,87 @@ public class CourseAverage implements Serializable, Comparable<CourseAverage> {
     }
 
     /**
-     * Arredonda para 2 casas decimais
+     * Arredonda para 2 casas decimais (HALF_UP), retornando centésimos.
+     * 
+     * <p>{@code BigDecimal.valueOf} arredonda a representação decimal mais
+     * curta do double ({@link Double#toString}), não o valor binário exato:
+     * {@code 2.675} vira 2.68 embora o double seja 2.67499999... Para
+     * reproduzir isso sem alocar:</p>
+     * <ol>
+     *   <li>Se o valor é exatamente um decimal de até 3 casas (a conversão de
+     *       volta reproduz o mesmo double), aplica HALF_UP em milésimos inteiros;
+     *       empates só existem neste caso</li>
+     *   <li>Caso contrário não há empate: parte do arredondamento em ponto
+     *       flutuante e o corrige comparando com os pontos médios vizinhos,
+     *       comparação exata pois a conversão decimal → double é monotônica</li>
+     * </ol>
      */
-    private double roundToTwoDecimals(double value) {
-        return BigDecimal.valueOf(value)
-            .setScale(SCALE, RoundingMode.HALF_UP)
-            .doubleValue();
+    static int toHundredths(double value) {
+        long thousandths = Math.round(value * THOUSANDTHS_PER_UNIT);
+        if (thousandths / THOUSANDTHS_PER_UNIT == value) {
+            return (int) ((thousandths + 5) / 10);
+        }
+
+        long candidate = Math.round(value * HUNDREDTHS_PER_UNIT);
+        if (value > (2 * candidate + 1) / (2 * HUNDREDTHS_PER_UNIT)) {
+            return (int) (candidate + 1);
+        }
+        if (value < (2 * candidate - 1) / (2 * HUNDREDTHS_PER_UNIT)) {
+            return (int) (candidate - 1);
+        }
+        return (int) candidate;
+    }
+
+    /**
+     * Média arredondada para 2 casas decimais.
+     */
+    public double getValue() {
+        return hundredths / HUNDREDTHS_PER_UNIT;
+    }
+
+    /**
+     * Média em centésimos (0 a 1000), sem conversão para double.
+     */
+    public int getHundredths() {
+        return hundredths;
     }
 
     /**
      * Verifica se a média está acima do limiar (aprovação)
      */
     public boolean isAbove(double threshold) {
-        return this.value > threshold;
+        return getValue() > threshold;
     }
 
     /**
      * Verifica se a média está abaixo do limiar (reprovação)
      */
     public boolean isBelow(double threshold) {
-        return this.value < threshold;
+        return getValue() < threshold;
     }
 
     /**
      * Verifica se a média é exatamente igual ao limiar
      */
     public boolean isExactly(double threshold) {
-        return Double.compare(this.value, threshold) == 0;
+        return Double.compare(getValue(), threshold) == 0;
     }
 
     /**
-     * Retorna a faixa de aproveitamento
+     * Retorna a faixa de aproveitamento (tabela pré-calculada por centésimo)
      */
     public PerformanceLevel getPerformanceLevel() {
-        return PerformanceLevel.fromValue(value);
+        return PERFORMANCE_LEVELS[hundredths];
     }
 
     @Override
     public int compareTo(CourseAverage other) {
-        return Double.compare(this.value, other.value);
+        return Integer.compare(this.hundredths, other.hundredths);
     }
 
     @Override
     public String toString() {
-        return String.format("%." + SCALE + "f", value);
+        return String.format("%." + SCALE + "f", getValue());
     }
 
     @Override
@@ -120,12 +185,24 @@ public class CourseAverage implements Serializable, Comparable<CourseAverage> {
         if (this == o) return true;
         if (!(o instanceof CourseAverage)) return false;
         CourseAverage that = (CourseAverage) o;
-        return Double.compare(that.value, value) == 0;
+        return that.hundredths == hundredths;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Integer.hashCode(hundredths);
+    }
+
+    /**
+     * Desserialização devolve a instância compartilhada.
+     *
+     * @throws InvalidObjectException se os centésimos estiverem fora de 0 a 1000
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (hundredths < 0 || hundredths > MAX_HUNDREDTHS) {
+            throw new InvalidObjectException("Average out of range: " + hundredths + " hundredths");
+        }
+        return CACHE[hundredths];
     }
 
     /**
@@ -156,4 +233,4 @@ public class CourseAverage implements Serializable, Comparable<CourseAverage> {
             return BELOW_AVERAGE;
         }
     }
-}
\ No newline at end of file
+}
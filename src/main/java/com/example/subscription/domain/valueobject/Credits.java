@@ -1,10 +1,7 @@
 package com.example.subscription.domain.valueobject;
 
-import jakarta.persistence.Embeddable;
-import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
 
@@ -16,7 +13,7 @@ import java.io.Serializable;
  *   <li><b>Imutabilidade</b>: Operações retornam novos objetos</li>
  *   <li><b>Auto-validação</b>: Valida no construtor (fail-fast)</li>
  *   <li><b>Sem identidade</b>: Igualdade baseada em valor, não em ID</li>
- *   <li><b>Embeddable</b>: Persistido junto com a Entity (Student)</li>
+ *   <li><b>Embeddable</b>: Persistido junto com a Entity (Student) via {@link CreditsType}</li>
  * </ul>
  * 
  * <h2>Factory Methods:</h2>
@@ -31,18 +28,37 @@ import java.io.Serializable;
  *   <li>{@link #subtract(int)} - Remove créditos (com validação)</li>
  * </ul>
  * 
+ * <h2>Flyweight:</h2>
+ * <p>Assim como {@code Integer.valueOf}, valores de 0 a {@value #CACHE_HIGH}
+ * (a faixa real de saldos) são instâncias pré-criadas e compartilhadas; só
+ * saldos maiores alocam. Por isso a identidade de instância não tem
+ * significado: compare com {@code equals}. Compartilhar é seguro porque o
+ * Hibernate nunca altera uma instância existente: {@link CreditsType} declara
+ * o tipo imutável e hidrata as linhas via {@link #of(int)}.</p>
+ * 
  * @author Guilherme
  * @see Student Entidade que usa este Value Object
  */
-@Embeddable
 @Getter
 @EqualsAndHashCode
-@NoArgsConstructor(access = AccessLevel.PROTECTED) // Para JPA
-public class Credits implements Serializable {
+public final class Credits implements Serializable {
     
     private static final long serialVersionUID = 1L;
     
-    private int amount;
+    /**
+     * Maior valor mantido no cache de instâncias.
+     */
+    static final int CACHE_HIGH = 4095;
+    
+    private static final Credits[] CACHE = new Credits[CACHE_HIGH + 1];
+    
+    static {
+        for (int i = 0; i <= CACHE_HIGH; i++) {
+            CACHE[i] = new Credits(i);
+        }
+    }
+    
+    private final int amount;
     
     private Credits(int amount) {
         validate(amount);
@@ -50,9 +66,12 @@ public class Credits implements Serializable {
     }
     
     /**
-     * Factory method para criar créditos
+     * Factory method para criar créditos (instância compartilhada até {@value #CACHE_HIGH})
      */
     public static Credits of(int amount) {
+        if (amount >= 0 && amount <= CACHE_HIGH) {
+            return CACHE[amount];
+        }
         return new Credits(amount);
     }
     
@@ -60,7 +79,7 @@ public class Credits implements Serializable {
      * Factory method para créditos zero
      */
     public static Credits zero() {
-        return new Credits(0);
+        return CACHE[0];
     }
     
     /**
@@ -76,7 +95,7 @@ public class Credits implements Serializable {
      * Adiciona créditos (retorna novo objeto - imutabilidade)
      */
     public Credits add(int value) {
-        return new Credits(this.amount + value);
+        return of(this.amount + value);
     }
     
     /**
@@ -84,7 +103,7 @@ public class Credits implements Serializable {
      */
     public Credits subtract(int value) {
         validateSufficientCredits(value);
-        return new Credits(this.amount - value);
+        return of(this.amount - value);
     }
     
     /**
@@ -117,4 +136,11 @@ public class Credits implements Serializable {
     public String toString() {
         return String.valueOf(amount) + " credits";
     }
+    
+    /**
+     * Desserialização devolve a instância compartilhada.
+     */
+    private Object readResolve() {
+        return of(amount);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.example.subscription.domain.valueobject;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.ValueAccess;
+import org.hibernate.usertype.CompositeUserType;
+
+import java.io.Serializable;
+
+/**
+ * Mapeamento Hibernate de {@link Credits} como embeddable imutável.
+ *
+ * <h2>Por que não {@code @Embeddable} direto:</h2>
+ * <p>Para embeddables comuns o Hibernate considera a instância mutável e, no
+ * {@code merge}, copia os valores <b>para dentro</b> da instância já
+ * gerenciada. Com {@link Credits} compartilhado (flyweight) isso alteraria o
+ * saldo de todos os estudantes que usam a mesma instância. Aqui:</p>
+ * <ul>
+ *   <li><b>Hidratação</b>: linhas viram {@link Credits#of(int)} (instância do cache)</li>
+ *   <li><b>Merge/cópia</b>: a instância é reaproveitada, nunca alterada</li>
+ *   <li><b>Dirty checking</b>: comparação por valor ({@code equals})</li>
+ * </ul>
+ *
+ * <p>O embeddable de mapeamento mantém a propriedade {@code amount}, então
+ * {@code @AttributeOverride} e JPQL ({@code s.credits.amount}) não mudam.</p>
+ *
+ * @author Guilherme
+ * @see Credits Value Object mapeado
+ */
+public class CreditsType implements CompositeUserType<Credits> {
+
+    /**
+     * Estrutura persistida: uma coluna inteira {@code amount}.
+     */
+    public static class CreditsMapping {
+        int amount;
+    }
+
+    @Override
+    public Object getPropertyValue(Credits component, int property) {
+        return component.getAmount();
+    }
+
+    @Override
+    public Credits instantiate(ValueAccess values, SessionFactoryImplementor sessionFactory) {
+        Integer amount = values.getValue(0, Integer.class);
+        return amount == null ? null : Credits.of(amount);
+    }
+
+    @Override
+    public Class<?> embeddable() {
+        return CreditsMapping.class;
+    }
+
+    @Override
+    public Class<Credits> returnedClass() {
+        return Credits.class;
+    }
+
+    @Override
+    public boolean equals(Credits x, Credits y) {
+        return x == null ? y == null : x.equals(y);
+    }
+
+    @Override
+    public int hashCode(Credits x) {
+        return x.hashCode();
+    }
+
+    @Override
+    public Credits deepCopy(Credits value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(Credits value) {
+        return value;
+    }
+
+    @Override
+    public Credits assemble(Serializable cached, Object owner) {
+        return (Credits) cached;
+    }
+
+    @Override
+    public Credits replace(Credits detached, Credits managed, Object owner) {
+        return detached;
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.subscription.infrastructure.analytics;
+
+import com.example.subscription.domain.event.CourseCompletedEvent;
+import com.example.subscription.infrastructure.repository.AnalyticsRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Agrega eventos de conclusão de curso em janelas de tempo e grava rollups.
+ *
+ * <h2>Por que agregar em memória:</h2>
+ * <p>Em picos (upload de notas) cada evento gerava várias linhas de log e
+ * nenhum dado consultável. Aqui cada lote recebido do RabbitMQ é dobrado em
+ * acumuladores primitivos e o banco recebe apenas uma linha por janela.</p>
+ *
+ * <h2>Acumuladores por janela:</h2>
+ * <ul>
+ *   <li><b>Contadores</b>: eventos, aprovados, soma das médias</li>
+ *   <li><b>Histograma de médias</b>: {@code int[1001]} em centésimos (0.00 a 10.00),
+ *       percentis exatos sem guardar os eventos</li>
+ *   <li><b>Faixas de créditos</b>: 0-9, 10-49, 50-99, 100-499, 500+</li>
+ * </ul>
+ *
+ * <h2>Janelas e flush:</h2>
+ * <p>A janela é definida pelo {@code occurredAt} do evento
+ * ({@code analytics.rollup.window-seconds}). A cada
+ * {@code analytics.rollup.flush-interval-ms} as janelas já encerradas são
+ * gravadas em {@link AnalyticsRollup}; no shutdown todas são gravadas.</p>
+ *
+ * <ul>
+ *   <li><b>Upsert</b>: uma linha por {@code (windowStart, source)}; eventos
+ *       atrasados de uma janela já gravada são somados à linha existente
+ *       (contadores e histograma) e os percentis recalculados</li>
+ *   <li><b>Falha no banco</b>: a janela que não foi gravada volta para a
+ *       memória e entra no próximo flush</li>
+ *   <li><b>Origem</b>: {@code analytics.rollup.source} (padrão: hostname),
+ *       uma linha por réplica; {@link #combine} junta as linhas na leitura</li>
+ * </ul>
+ *
+ * <p>As mensagens são confirmadas ao broker no {@link #accept}: uma queda do
+ * processo entre flushes perde as janelas ainda em memória (no máximo
+ * {@code window-seconds + flush-interval-ms} de eventos).</p>
+ *
+ * @author Rickelme
+ * @see AnalyticsRollup Linha gravada por janela
+ */
+@Component
+public class AnalyticsAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsAggregator.class);
+
+    private final AnalyticsRollupRepository rollupRepository;
+    private final long windowSeconds;
+    private final String source;
+    private final Map<Long, WindowAccumulator> windows = new HashMap<>();
+    private final Object flushLock = new Object();
+
+    @Autowired
+    public AnalyticsAggregator(
+            AnalyticsRollupRepository rollupRepository,
+            @Value("${analytics.rollup.window-seconds:60}") long windowSeconds,
+            @Value("${analytics.rollup.source:${HOSTNAME:local}}") String source) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("analytics.rollup.window-seconds must be positive");
+        }
+        this.rollupRepository = rollupRepository;
+        this.windowSeconds = windowSeconds;
+        this.source = source;
+    }
+
+    /**
+     * Dobra um lote de eventos nos acumuladores das respectivas janelas.
+     *
+     * @param events lote recebido do broker
+     */
+    public synchronized void accept(List<CourseCompletedEvent> events) {
+        for (CourseCompletedEvent event : events) {
+            long windowStart = windowStartOf(event.occurredAt());
+            windows.computeIfAbsent(windowStart, start -> new WindowAccumulator()).add(event);
+        }
+    }
+
+    /**
+     * Grava as janelas encerradas (agendado).
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollup.flush-interval-ms:10000}")
+    public void flush() {
+        flushWindowsEndingBefore(LocalDateTime.now());
+    }
+
+    /**
+     * Grava todas as janelas pendentes, inclusive a corrente.
+     */
+    @PreDestroy
+    public void flushAll() {
+        flushWindowsEndingBefore(LocalDateTime.MAX);
+    }
+
+    /**
+     * Grava as janelas cujo fim é anterior ou igual a {@code now} e as
+     * descarta da memória; as que falharem voltam para a memória.
+     *
+     * @return quantidade de rollups gravados
+     */
+    int flushWindowsEndingBefore(LocalDateTime now) {
+        synchronized (flushLock) {
+            Map<Long, WindowAccumulator> closed = new TreeMap<>();
+            synchronized (this) {
+                Iterator<Map.Entry<Long, WindowAccumulator>> iterator = windows.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Long, WindowAccumulator> entry = iterator.next();
+                    if (!toDateTime(entry.getKey() + windowSeconds).isAfter(now)) {
+                        closed.put(entry.getKey(), entry.getValue());
+                        iterator.remove();
+                    }
+                }
+            }
+            int written = 0;
+            Iterator<Map.Entry<Long, WindowAccumulator>> iterator = closed.entrySet().iterator();
+            try {
+                while (iterator.hasNext()) {
+                    Map.Entry<Long, WindowAccumulator> entry = iterator.next();
+                    upsert(entry.getKey(), entry.getValue());
+                    iterator.remove();
+                    written++;
+                }
+            } catch (RuntimeException e) {
+                restore(closed);
+                log.error("Analytics: falha ao gravar rollups, {} janelas devolvidas à memória: {}",
+                        closed.size(), e.getMessage());
+            }
+            if (written > 0) {
+                log.info("Analytics: {} rollups gravados", written);
+            }
+            return written;
+        }
+    }
+
+    /**
+     * Soma a janela à linha já gravada por esta origem, se houver.
+     */
+    private void upsert(long windowStartEpoch, WindowAccumulator window) {
+        LocalDateTime windowStart = toDateTime(windowStartEpoch);
+        Optional<AnalyticsRollup> existing = rollupRepository.findByWindowStartAndSource(windowStart, source);
+        WindowAccumulator merged = existing.map(WindowAccumulator::from).orElseGet(WindowAccumulator::new);
+        merged.merge(window);
+        rollupRepository.save(merged.toRollup(existing.map(AnalyticsRollup::getId).orElse(null),
+                windowStart, toDateTime(windowStartEpoch + windowSeconds), source));
+    }
+
+    private synchronized void restore(Map<Long, WindowAccumulator> failed) {
+        failed.forEach((windowStart, window) -> windows.merge(windowStart, window, (current, unsaved) -> {
+            current.merge(unsaved);
+            return current;
+        }));
+    }
+
+    /**
+     * Junta rollups da mesma janela gravados por origens diferentes,
+     * recalculando os percentis a partir dos histogramas.
+     *
+     * @param rollups linhas de uma mesma janela (não vazio)
+     * @return rollup combinado, sem ID e com {@code source="*"}
+     */
+    public static AnalyticsRollup combine(List<AnalyticsRollup> rollups) {
+        if (rollups.isEmpty()) {
+            throw new IllegalArgumentException("rollups must not be empty");
+        }
+        WindowAccumulator combined = new WindowAccumulator();
+        rollups.forEach(rollup -> combined.merge(WindowAccumulator.from(rollup)));
+        AnalyticsRollup first = rollups.get(0);
+        return combined.toRollup(null, first.getWindowStart(), first.getWindowEnd(), "*");
+    }
+
+    /**
+     * Quantidade de janelas ainda em memória.
+     */
+    public synchronized int getPendingWindows() {
+        return windows.size();
+    }
+
+    private long windowStartOf(LocalDateTime occurredAt) {
+        long epochSecond = occurredAt.atZone(ZoneId.systemDefault()).toEpochSecond();
+        return Math.floorDiv(epochSecond, windowSeconds) * windowSeconds;
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+
+    /**
+     * Acumuladores primitivos de uma janela.
+     */
+    static final class WindowAccumulator {
+
+        private static final int HUNDREDTHS = 1000;
+        private static final int[] CREDIT_BOUNDS = {10, 50, 100, 500};
+
+        private final int[] averageHistogram = new int[HUNDREDTHS + 1];
+        private final long[] creditBuckets = new long[CREDIT_BOUNDS.length + 1];
+        private long count;
+        private long passed;
+        private double sumAverage;
+
+        void add(CourseCompletedEvent event) {
+            count++;
+            if (event.passed()) {
+                passed++;
+            }
+            sumAverage += event.courseAverage();
+            int hundredths = (int) Math.round(event.courseAverage() * 100);
+            averageHistogram[Math.max(0, Math.min(HUNDREDTHS, hundredths))]++;
+            creditBuckets[creditBucket(event.currentCredits())]++;
+        }
+
+        void merge(WindowAccumulator other) {
+            count += other.count;
+            passed += other.passed;
+            sumAverage += other.sumAverage;
+            for (int i = 0; i <= HUNDREDTHS; i++) {
+                averageHistogram[i] += other.averageHistogram[i];
+            }
+            for (int i = 0; i < creditBuckets.length; i++) {
+                creditBuckets[i] += other.creditBuckets[i];
+            }
+        }
+
+        /**
+         * Reconstrói os acumuladores de um rollup gravado.
+         */
+        static WindowAccumulator from(AnalyticsRollup rollup) {
+            WindowAccumulator window = new WindowAccumulator();
+            window.count = rollup.getEventCount();
+            window.passed = rollup.getPassedCount();
+            window.sumAverage = rollup.getSumAverage();
+            ByteBuffer.wrap(rollup.getAverageHistogram()).asIntBuffer().get(window.averageHistogram);
+            window.creditBuckets[0] = rollup.getCredits0To9();
+            window.creditBuckets[1] = rollup.getCredits10To49();
+            window.creditBuckets[2] = rollup.getCredits50To99();
+            window.creditBuckets[3] = rollup.getCredits100To499();
+            window.creditBuckets[4] = rollup.getCredits500Plus();
+            return window;
+        }
+
+        private static int creditBucket(int credits) {
+            int bucket = 0;
+            while (bucket < CREDIT_BOUNDS.length && credits >= CREDIT_BOUNDS[bucket]) {
+                bucket++;
+            }
+            return bucket;
+        }
+
+        /**
+         * Percentil pelo método nearest-rank sobre o histograma.
+         */
+        double percentile(double p) {
+            long rank = Math.max(1, (long) Math.ceil(p * count));
+            long seen = 0;
+            for (int i = 0; i <= HUNDREDTHS; i++) {
+                seen += averageHistogram[i];
+                if (seen >= rank) {
+                    return i / 100.0;
+                }
+            }
+            return 0.0;
+        }
+
+        AnalyticsRollup toRollup(Long id, LocalDateTime windowStart, LocalDateTime windowEnd, String source) {
+            ByteBuffer histogram = ByteBuffer.allocate(Integer.BYTES * averageHistogram.length);
+            histogram.asIntBuffer().put(averageHistogram);
+            return AnalyticsRollup.builder()
+                .id(id)
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .source(source)
+                .eventCount(count)
+                .passedCount(passed)
+                .approvalRate(count == 0 ? 0.0 : (double) passed / count)
+                .sumAverage(sumAverage)
+                .meanAverage(count == 0 ? 0.0 : sumAverage / count)
+                .p50Average(percentile(0.50))
+                .p90Average(percentile(0.90))
+                .p99Average(percentile(0.99))
+                .credits0To9(creditBuckets[0])
+                .credits10To49(creditBuckets[1])
+                .credits50To99(creditBuckets[2])
+                .credits100To499(creditBuckets[3])
+                .credits500Plus(creditBuckets[4])
+                .averageHistogram(histogram.array())
+                .build();
+        }
+    }
+}
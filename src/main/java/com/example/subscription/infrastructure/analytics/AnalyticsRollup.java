@@ -0,0 +1,103 @@
+package com.example.subscription.infrastructure.analytics;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agregado de analytics de uma janela de tempo (rollup).
+ *
+ * <h2>Conteúdo por janela:</h2>
+ * <ul>
+ *   <li><b>Aprovação</b>: total de eventos, aprovados e taxa</li>
+ *   <li><b>Médias</b>: média aritmética e percentis 50/90/99 das notas</li>
+ *   <li><b>Créditos</b>: distribuição dos créditos atuais em faixas fixas</li>
+ * </ul>
+ *
+ * <h2>Uma linha por janela e origem:</h2>
+ * <p>{@code (windowStart, source)} é único: cada réplica ({@code source})
+ * grava a própria linha e eventos atrasados que chegam depois do flush são
+ * somados a ela. O histograma das médias (centésimos, 0.00 a 10.00) é
+ * persistido para que os percentis de várias origens possam ser recalculados
+ * na leitura ({@link AnalyticsAggregator#combine}); percentis prontos não se
+ * somam.</p>
+ *
+ * @author Rickelme
+ * @see AnalyticsAggregator Produz os rollups
+ */
+@Entity
+@Table(name = "tb_analytics_rollup",
+       indexes = @Index(name = "idx_rollup_window", columnList = "windowStart"),
+       uniqueConstraints = @UniqueConstraint(name = "uk_rollup_window_source", columnNames = {"windowStart", "source"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // Para JPA
+@AllArgsConstructor(access = AccessLevel.PRIVATE)  // Para Builder
+@Builder
+@ToString
+public class AnalyticsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Column(nullable = false, length = 100)
+    private String source;
+
+    @Column(nullable = false)
+    private long eventCount;
+
+    @Column(nullable = false)
+    private long passedCount;
+
+    @Column(nullable = false)
+    private double approvalRate;
+
+    @Column(nullable = false)
+    private double sumAverage;
+
+    @Column(nullable = false)
+    private double meanAverage;
+
+    @Column(nullable = false)
+    private double p50Average;
+
+    @Column(nullable = false)
+    private double p90Average;
+
+    @Column(nullable = false)
+    private double p99Average;
+
+    @Column(nullable = false)
+    private long credits0To9;
+
+    @Column(nullable = false)
+    private long credits10To49;
+
+    @Column(nullable = false)
+    private long credits50To99;
+
+    @Column(nullable = false)
+    private long credits100To499;
+
+    @Column(nullable = false)
+    private long credits500Plus;
+
+    /**
+     * Contagem por centésimo de média ({@code int[1001]}, big-endian).
+     */
+    @Column(nullable = false, length = 4004)
+    @ToString.Exclude
+    private byte[] averageHistogram;
+}
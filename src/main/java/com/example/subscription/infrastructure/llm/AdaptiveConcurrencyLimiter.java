@@ -0,0 +1,191 @@
+package com.example.subscription.infrastructure.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limite adaptativo (AIMD) de chamadas simultâneas ao Ollama.
+ *
+ * <h2>Problema:</h2>
+ * <p>Sem limite, um pico de recomendações enfileira tudo dentro do Ollama:
+ * cada chamada espera as anteriores e todas acabam no
+ * {@code ollama.timeout-seconds}. Recusar na entrada mantém a latência de quem
+ * foi aceito dentro do esperado.</p>
+ *
+ * <h2>AIMD:</h2>
+ * <ul>
+ *   <li><b>Aumento aditivo</b>: chamada concluída abaixo de
+ *       {@code latency-threshold-seconds} com o limite em uso (ao menos metade
+ *       ocupada) soma 1 ao limite; em streams a latência é o tempo até o
+ *       primeiro token</li>
+ *   <li><b>Redução multiplicativa</b>: chamada lenta ou com erro multiplica o
+ *       limite por {@code backoff-ratio}</li>
+ *   <li><b>Faixa</b>: entre {@code min-limit} e {@code max-limit}</li>
+ * </ul>
+ *
+ * <p>Com o limite ocupado, {@link #acquire} lança
+ * {@link LlmSaturatedException} imediatamente (503 na API) em vez de esperar.
+ * Jobs e pré-cálculo, que rodam em background, tratam a exceção esperando e
+ * tentando de novo, sem falhar o trabalho já aceito.</p>
+ *
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code recommendation.llm.limiter.limit} - limite atual</li>
+ *   <li>{@code recommendation.llm.limiter.in-flight} - chamadas em andamento</li>
+ *   <li>{@code recommendation.llm.limiter.rejected} - chamadas recusadas</li>
+ * </ul>
+ *
+ * <p>Com {@code recommendation.llm.limiter.enabled=false} (padrão) nenhuma
+ * chamada é recusada e o limite não se ajusta.</p>
+ *
+ * @author Rickelme
+ * @see ConcurrencyLimitedChatLanguageModel
+ * @see ConcurrencyLimitedStreamingChatLanguageModel
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Duration latencyThreshold;
+    private final long retryAfterSeconds;
+    private final Counter rejected;
+
+    private int limit;
+    private int inFlight;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(
+            @Value("${recommendation.llm.limiter.enabled:false}") boolean enabled,
+            @Value("${recommendation.llm.limiter.initial-limit:4}") int initialLimit,
+            @Value("${recommendation.llm.limiter.min-limit:1}") int minLimit,
+            @Value("${recommendation.llm.limiter.max-limit:32}") int maxLimit,
+            @Value("${recommendation.llm.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${recommendation.llm.limiter.latency-threshold-seconds:30}") long latencyThresholdSeconds,
+            @Value("${recommendation.llm.limiter.retry-after-seconds:2}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limiter bounds: min=" + minLimit
+                    + ", initial=" + initialLimit + ", max=" + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1: " + backoffRatio);
+        }
+        this.enabled = enabled;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThreshold = Duration.ofSeconds(latencyThresholdSeconds);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejected = meterRegistry.counter("recommendation.llm.limiter.rejected");
+        meterRegistry.gauge("recommendation.llm.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("recommendation.llm.limiter.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight);
+        if (enabled) {
+            log.info("Limite adaptativo do LLM habilitado (inicial: {}, faixa: {}-{}, latência alvo: {}s)",
+                    initialLimit, minLimit, maxLimit, latencyThresholdSeconds);
+        }
+    }
+
+    /**
+     * Reserva uma vaga para uma chamada ao LLM.
+     *
+     * @return vaga a ser liberada com {@link Permit#release} ou {@link Permit#drop}
+     * @throws LlmSaturatedException se o limite estiver ocupado
+     */
+    public synchronized Permit acquire() {
+        if (enabled && inFlight >= limit) {
+            rejected.increment();
+            log.debug("Chamada ao LLM recusada: {} em andamento, limite {}", inFlight, limit);
+            throw new LlmSaturatedException(limit, retryAfterSeconds);
+        }
+        inFlight++;
+        return new Permit();
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Menos da metade do limite em uso: sobra espaço para trabalho de baixa
+     * prioridade sem disputar com as requisições interativas. Desabilitado,
+     * não há limite para comparar e a resposta é sempre {@code true}.
+     */
+    public synchronized boolean hasIdleCapacity() {
+        return !enabled || inFlight * 2 < limit;
+    }
+
+    private synchronized void onSuccess(Duration latency) {
+        int inFlightAtCompletion = inFlight--;
+        if (!enabled) {
+            return;
+        }
+        if (latency.compareTo(latencyThreshold) > 0) {
+            decrease();
+        } else if (inFlightAtCompletion * 2 >= limit && limit < maxLimit) {
+            limit++;
+            log.debug("Limite do LLM aumentado para {}", limit);
+        }
+    }
+
+    private synchronized void onDropped() {
+        inFlight--;
+        if (enabled) {
+            decrease();
+        }
+    }
+
+    private void decrease() {
+        int decreased = Math.max(minLimit, (int) (limit * backoffRatio));
+        if (decreased != limit) {
+            limit = decreased;
+            log.debug("Limite do LLM reduzido para {}", limit);
+        }
+    }
+
+    /**
+     * Vaga reservada por {@link #acquire}; liberar uma única vez.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        /**
+         * Chamada concluída; a latência decide se o limite sobe ou desce.
+         */
+        public void release(Duration latency) {
+            if (released.compareAndSet(false, true)) {
+                onSuccess(latency);
+            }
+        }
+
+        /**
+         * Chamada falhou (timeout, conexão recusada...); o limite desce.
+         */
+        public void drop() {
+            if (released.compareAndSet(false, true)) {
+                onDropped();
+            }
+        }
+    }
+}
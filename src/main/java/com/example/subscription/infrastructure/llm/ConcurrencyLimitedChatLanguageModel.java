@@ -0,0 +1,48 @@
+package com.example.subscription.infrastructure.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link ChatLanguageModel} que passa pelo {@link AdaptiveConcurrencyLimiter}
+ * antes de chamar o modelo.
+ *
+ * @author Rickelme
+ * @see com.example.subscription.config.OllamaConfig
+ */
+public class ConcurrencyLimitedChatLanguageModel implements ChatLanguageModel {
+
+    private final ChatLanguageModel delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedChatLanguageModel(ChatLanguageModel delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    /**
+     * @throws LlmSaturatedException se o limite estiver ocupado
+     */
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Response<AiMessage> response = delegate.generate(messages);
+            success = true;
+            return response;
+        } finally {
+            if (success) {
+                permit.release(Duration.ofNanos(System.nanoTime() - start));
+            } else {
+                permit.drop();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.subscription.infrastructure.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link StreamingChatLanguageModel} que passa pelo
+ * {@link AdaptiveConcurrencyLimiter}: a vaga é reservada antes do primeiro
+ * token e liberada no fim (ou erro) do stream.
+ *
+ * <p>A latência informada ao limiter é o tempo até o primeiro token: é ele
+ * que cresce quando o Ollama está sobrecarregado. A duração total depende do
+ * tamanho da resposta e faria uma resposta longa, mas saudável, reduzir o
+ * limite.</p>
+ *
+ * @author Rickelme
+ * @see com.example.subscription.config.OllamaConfig
+ */
+public class ConcurrencyLimitedStreamingChatLanguageModel implements StreamingChatLanguageModel {
+
+    private final StreamingChatLanguageModel delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedStreamingChatLanguageModel(StreamingChatLanguageModel delegate,
+                                                        AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    /**
+     * @throws LlmSaturatedException se o limite estiver ocupado (antes de
+     *         qualquer callback do {@code handler})
+     */
+    @Override
+    public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        long start = System.nanoTime();
+        AtomicLong firstTokenAt = new AtomicLong();
+        try {
+            delegate.generate(messages, new StreamingResponseHandler<>() {
+                @Override
+                public void onNext(String token) {
+                    firstTokenAt.compareAndSet(0, System.nanoTime());
+                    handler.onNext(token);
+                }
+
+                @Override
+                public void onComplete(Response<AiMessage> response) {
+                    // Sem tokens (resposta vazia) vale a duração total
+                    long firstToken = firstTokenAt.get() != 0 ? firstTokenAt.get() : System.nanoTime();
+                    permit.release(Duration.ofNanos(firstToken - start));
+                    handler.onComplete(response);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    permit.drop();
+                    handler.onError(error);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            permit.drop();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.subscription.infrastructure.llm;
+
+/**
+ * Limite de chamadas simultâneas ao LLM atingido; o cliente deve tentar mais tarde.
+ *
+ * @author Rickelme
+ * @see AdaptiveConcurrencyLimiter
+ */
+public class LlmSaturatedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LlmSaturatedException(int limit, long retryAfterSeconds) {
+        super("LLM is saturated (" + limit + " calls in flight)");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Sugestão de espera para o header {@code Retry-After}.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
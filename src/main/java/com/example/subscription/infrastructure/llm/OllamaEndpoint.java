@@ -0,0 +1,72 @@
+package com.example.subscription.infrastructure.llm;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Um servidor Ollama do {@link OllamaEndpointPool}: modelos apontados para
+ * {@code baseUrl}, requisições em andamento e o último resultado do health probe.
+ *
+ * @author Rickelme
+ */
+public class OllamaEndpoint {
+
+    private final String baseUrl;
+    private final ChatLanguageModel chatModel;
+    private final StreamingChatLanguageModel streamingModel;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile Instant lastProbeAt;
+
+    public OllamaEndpoint(String baseUrl, ChatLanguageModel chatModel, StreamingChatLanguageModel streamingModel) {
+        this.baseUrl = baseUrl;
+        this.chatModel = chatModel;
+        this.streamingModel = streamingModel;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public ChatLanguageModel getChatModel() {
+        return chatModel;
+    }
+
+    public StreamingChatLanguageModel getStreamingModel() {
+        return streamingModel;
+    }
+
+    /**
+     * Requisições roteadas para este servidor e ainda não concluídas.
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Resultado do último health probe (verdadeiro até o primeiro probe).
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public Instant getLastProbeAt() {
+        return lastProbeAt;
+    }
+
+    void markProbed(boolean healthy, Instant at) {
+        this.healthy = healthy;
+        this.lastProbeAt = at;
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+}
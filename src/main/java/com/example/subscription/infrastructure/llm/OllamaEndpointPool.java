@@ -0,0 +1,170 @@
+package com.example.subscription.infrastructure.llm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de servidores Ollama ({@code ollama.base-urls}) com roteamento por
+ * menor número de requisições em andamento.
+ *
+ * <h2>Roteamento:</h2>
+ * <ul>
+ *   <li><b>Least outstanding</b>: cada chamada vai para o servidor saudável
+ *       com menos requisições em andamento; empates alternam entre eles</li>
+ *   <li><b>Ejeção</b>: servidor que falha no health probe sai do roteamento
+ *       até passar de novo</li>
+ *   <li><b>Todos fora</b>: o pool volta a usar todos os servidores em vez de
+ *       recusar tudo (o probe pode estar errado; a chamada falha de qualquer
+ *       forma se o Ollama estiver mesmo fora)</li>
+ * </ul>
+ *
+ * <h2>Health probe:</h2>
+ * <p>{@code GET {baseUrl}/api/tags} a cada {@code ollama.health.interval-ms},
+ * com timeout de {@code ollama.health.timeout-ms}. O resultado fica guardado
+ * em cada {@link OllamaEndpoint}; o roteamento e
+ * {@code GET /recommendations/health} leem o último resultado sem chamar o
+ * Ollama.</p>
+ *
+ * <h2>Métricas (tag {@code endpoint}):</h2>
+ * <ul>
+ *   <li>{@code recommendation.llm.endpoint} - latência por {@code outcome}</li>
+ *   <li>{@code recommendation.llm.endpoint.outstanding} - requisições em andamento</li>
+ *   <li>{@code recommendation.llm.endpoint.healthy} - 1 saudável, 0 ejetado</li>
+ * </ul>
+ *
+ * @author Rickelme
+ * @see RoutingChatLanguageModel
+ * @see RoutingStreamingChatLanguageModel
+ */
+public class OllamaEndpointPool {
+
+    private static final Logger log = LoggerFactory.getLogger(OllamaEndpointPool.class);
+
+    private final List<OllamaEndpoint> endpoints;
+    private final Duration probeTimeout;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    public OllamaEndpointPool(List<OllamaEndpoint> endpoints, Duration probeTimeout, MeterRegistry meterRegistry) {
+        this.endpoints = List.copyOf(endpoints);
+        this.probeTimeout = probeTimeout;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(probeTimeout).build();
+        for (OllamaEndpoint endpoint : this.endpoints) {
+            Tags tags = Tags.of("endpoint", endpoint.getBaseUrl());
+            meterRegistry.gauge("recommendation.llm.endpoint.outstanding", tags, endpoint, OllamaEndpoint::getOutstanding);
+            meterRegistry.gauge("recommendation.llm.endpoint.healthy", tags, endpoint, e -> e.isHealthy() ? 1 : 0);
+        }
+    }
+
+    public List<OllamaEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Há ao menos um servidor saudável.
+     */
+    public boolean isAvailable() {
+        return endpoints.stream().anyMatch(OllamaEndpoint::isHealthy);
+    }
+
+    /**
+     * Escolhe o servidor da próxima chamada e o marca como ocupado.
+     *
+     * @return servidor a ser liberado com {@link #release}
+     * @throws NoSuchElementException se o pool não tiver servidores
+     */
+    public OllamaEndpoint acquire() {
+        if (endpoints.isEmpty()) {
+            throw new NoSuchElementException("No Ollama endpoints configured");
+        }
+        List<OllamaEndpoint> candidates = endpoints.stream().filter(OllamaEndpoint::isHealthy).toList();
+        if (candidates.isEmpty()) {
+            log.debug("Nenhum Ollama saudável, roteando entre todos os {} servidores", endpoints.size());
+            candidates = endpoints;
+        }
+        int start = Math.floorMod(nextStart.getAndIncrement(), candidates.size());
+        OllamaEndpoint selected = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            OllamaEndpoint candidate = candidates.get((start + i) % candidates.size());
+            if (selected == null || candidate.getOutstanding() < selected.getOutstanding()) {
+                selected = candidate;
+            }
+        }
+        selected.begin();
+        return selected;
+    }
+
+    /**
+     * Libera o servidor e registra a latência da chamada.
+     */
+    public void release(OllamaEndpoint endpoint, long durationNanos, boolean success) {
+        endpoint.end();
+        Timer.builder("recommendation.llm.endpoint")
+                .tags("endpoint", endpoint.getBaseUrl(), "outcome", success ? "success" : "error")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Dispara o health probe sem esperar as respostas (agendado).
+     *
+     * <p>O scheduler é compartilhado com o relay da outbox e os demais
+     * {@code @Scheduled}; os resultados são aplicados nas threads do
+     * {@link HttpClient}.</p>
+     */
+    @Scheduled(fixedDelayString = "${ollama.health.interval-ms:10000}")
+    public void probe() {
+        probeAll();
+    }
+
+    /**
+     * Health probe de todos os servidores, em paralelo.
+     *
+     * @return concluído quando todos os servidores responderem ou expirarem
+     */
+    public CompletableFuture<Void> probeAll() {
+        List<CompletableFuture<Void>> probes = endpoints.stream()
+                .map(endpoint -> httpClient.sendAsync(probeRequest(endpoint), HttpResponse.BodyHandlers.discarding())
+                        .handle((response, error) -> {
+                            update(endpoint, error == null && response.statusCode() / 100 == 2);
+                            return (Void) null;
+                        }))
+                .toList();
+        return CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new));
+    }
+
+    private HttpRequest probeRequest(OllamaEndpoint endpoint) {
+        return HttpRequest.newBuilder(URI.create(endpoint.getBaseUrl().replaceAll("/+$", "") + "/api/tags"))
+                .timeout(probeTimeout)
+                .GET()
+                .build();
+    }
+
+    private void update(OllamaEndpoint endpoint, boolean healthy) {
+        boolean wasHealthy = endpoint.isHealthy();
+        endpoint.markProbed(healthy, Instant.now());
+        if (wasHealthy && !healthy) {
+            log.warn("Ollama {} falhou no health probe e saiu do roteamento", endpoint.getBaseUrl());
+        } else if (!wasHealthy && healthy) {
+            log.info("Ollama {} voltou ao roteamento", endpoint.getBaseUrl());
+        }
+    }
+}
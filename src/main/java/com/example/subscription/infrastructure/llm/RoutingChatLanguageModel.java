@@ -0,0 +1,38 @@
+package com.example.subscription.infrastructure.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+
+/**
+ * {@link ChatLanguageModel} que encaminha cada chamada ao servidor escolhido
+ * pelo {@link OllamaEndpointPool}.
+ *
+ * @author Rickelme
+ * @see com.example.subscription.config.OllamaConfig
+ */
+public class RoutingChatLanguageModel implements ChatLanguageModel {
+
+    private final OllamaEndpointPool pool;
+
+    public RoutingChatLanguageModel(OllamaEndpointPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        OllamaEndpoint endpoint = pool.acquire();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Response<AiMessage> response = endpoint.getChatModel().generate(messages);
+            success = true;
+            return response;
+        } finally {
+            pool.release(endpoint, System.nanoTime() - start, success);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.subscription.infrastructure.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link StreamingChatLanguageModel} que encaminha cada stream ao servidor
+ * escolhido pelo {@link OllamaEndpointPool}; o servidor conta como ocupado
+ * até o fim (ou erro) do stream.
+ *
+ * @author Rickelme
+ * @see com.example.subscription.config.OllamaConfig
+ */
+public class RoutingStreamingChatLanguageModel implements StreamingChatLanguageModel {
+
+    private final OllamaEndpointPool pool;
+
+    public RoutingStreamingChatLanguageModel(OllamaEndpointPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+        OllamaEndpoint endpoint = pool.acquire();
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable success = () -> {
+            if (released.compareAndSet(false, true)) {
+                pool.release(endpoint, System.nanoTime() - start, true);
+            }
+        };
+        Runnable failure = () -> {
+            if (released.compareAndSet(false, true)) {
+                pool.release(endpoint, System.nanoTime() - start, false);
+            }
+        };
+        try {
+            endpoint.getStreamingModel().generate(messages, new StreamingResponseHandler<>() {
+                @Override
+                public void onNext(String token) {
+                    handler.onNext(token);
+                }
+
+                @Override
+                public void onComplete(Response<AiMessage> response) {
+                    success.run();
+                    handler.onComplete(response);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    failure.run();
+                    handler.onError(error);
+                }
+            });
+        } catch (RuntimeException e) {
+            failure.run();
+            throw e;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.subscription.infrastructure.messaging;
 
+import com.example.subscription.application.service.RecommendationPrecomputeService;
 import com.example.subscription.domain.event.CourseCompletedEvent;
+import com.example.subscription.infrastructure.analytics.AnalyticsAggregator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Consumer de eventos de gamificação do RabbitMQ.
  * 
@@ -21,6 +28,7 @@ import org.springframework.stereotype.Component;
  *   <li><b>course.completed</b>: Gerar certificados, atualizar progresso</li>
  *   <li><b>notification</b>: Enviar emails, push notifications</li>
  *   <li><b>analytics</b>: Registrar métricas, alimentar dashboards</li>
+ *   <li><b>recommendation</b>: Agendar o pré-cálculo da recomendação do estudante</li>
  * </ul>
  * 
  * <h2>Arquitetura Publisher/Consumer:</h2>
@@ -36,12 +44,24 @@ import org.springframework.stereotype.Component;
  *   │course.completed│  │notification  │    │analytics     │
  *   └───────┬──────┘    └──────┬───────┘    └──────┬───────┘
  *           ▼                  ▼                   ▼
- *   processCourseCompleted()  processNotification() processAnalytics()
+ *   processCourseCompleted()  processNotification() processAnalyticsBatch()
  *           │                  │                   │
  *           ▼                  ▼                   ▼
- *     Gerar Certificado   Enviar Email        Dashboard BI
+ *     Gerar Certificado   Enviar Email      Rollups por janela
  * </pre>
  * 
+ * <h2>Containers:</h2>
+ * <p>Cada fila usa sua própria factory (concorrência, prefetch e lote
+ * configuráveis em {@code RabbitMQConfig}); analytics recebe mensagens em lote
+ * e as agrega em memória via {@link AnalyticsAggregator}.</p>
+ * 
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code gamification.consumer.handle} - Latência de cada handler
+ *       (tags {@code listener}=course-completed|notification|analytics|recommendation, {@code outcome})</li>
+ *   <li>{@code gamification.consumer.batch.size} - Eventos por lote de analytics</li>
+ * </ul>
+ * 
  * @author Rickelme
  * @see CourseCompletedEvent Evento de domínio consumido
  * @see GamificationEventPublisher Publicador de eventos
@@ -51,6 +71,19 @@ public class GamificationEventConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(GamificationEventConsumer.class);
 
+    private final AnalyticsAggregator analyticsAggregator;
+    private final RecommendationPrecomputeService recommendationPrecomputeService;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public GamificationEventConsumer(AnalyticsAggregator analyticsAggregator,
+                                     RecommendationPrecomputeService recommendationPrecomputeService,
+                                     MeterRegistry meterRegistry) {
+        this.analyticsAggregator = analyticsAggregator;
+        this.recommendationPrecomputeService = recommendationPrecomputeService;
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Processa eventos de conclusão de curso.
      * 
@@ -63,8 +96,15 @@ public class GamificationEventConsumer {
      * 
      * @param event Evento de conclusão de curso
      */
-    @RabbitListener(queues = "${rabbitmq.queue.course-completed:gamification.course.completed}")
+    @RabbitListener(
+        queues = "${rabbitmq.queue.course-completed:gamification.course.completed}",
+        containerFactory = "courseCompletedListenerFactory"
+    )
     public void processCourseCompleted(CourseCompletedEvent event) {
+        handle("course-completed", () -> logCourseCompleted(event));
+    }
+
+    private void logCourseCompleted(CourseCompletedEvent event) {
         log.info("═══════════════════════════════════════════════════════════");
         log.info("📚 EVENTO RECEBIDO: Curso Completado");
         log.info("═══════════════════════════════════════════════════════════");
@@ -103,8 +143,15 @@ public class GamificationEventConsumer {
      * 
      * @param event Evento de conclusão de curso
      */
-    @RabbitListener(queues = "${rabbitmq.queue.notification:gamification.notification}")
+    @RabbitListener(
+        queues = "${rabbitmq.queue.notification:gamification.notification}",
+        containerFactory = "notificationListenerFactory"
+    )
     public void processNotification(CourseCompletedEvent event) {
+        handle("notification", () -> notifyStudent(event));
+    }
+
+    private void notifyStudent(CourseCompletedEvent event) {
         log.info("📧 NOTIFICAÇÃO: Enviando congratulações para {}", event.studentName());
         log.info("   → Email: Parabéns pela conclusão do curso!");
         log.info("   → Média obtida: {}", event.courseAverage());
@@ -118,29 +165,63 @@ public class GamificationEventConsumer {
     }
 
     /**
-     * Processa eventos para analytics e BI.
-     * 
-     * <p>Responsável por:</p>
-     * <ul>
-     *   <li>Registrar métricas de conclusão</li>
-     *   <li>Alimentar dashboards de BI</li>
-     *   <li>Calcular estatísticas de gamificação</li>
-     * </ul>
+     * Processa um evento isolado de analytics.
      * 
      * @param event Evento de conclusão de curso
+     * @see #processAnalyticsBatch(List)
      */
-    @RabbitListener(queues = "${rabbitmq.queue.analytics:gamification.analytics}")
     public void processAnalytics(CourseCompletedEvent event) {
-        log.info("📈 ANALYTICS: Registrando métricas");
-        log.info("   → Student ID: {}", event.studentId());
-        log.info("   → Courses: {}", event.completedCourses());
-        log.info("   → Credits: {}", event.currentCredits());
-        log.info("   → Average: {}", event.courseAverage());
-        log.info("   → Passed: {}", event.passed());
-        log.info("   → Timestamp: {}", event.occurredAt());
-        
-        // TODO: Implementar integração com sistema de BI (Elasticsearch, InfluxDB, etc.)
-        // TODO: Calcular métricas agregadas (média geral, taxa de aprovação, etc.)
+        processAnalyticsBatch(List.of(event));
     }
-}
 
+    /**
+     * Recebe eventos de analytics em lote (até {@code rabbitmq.listener.analytics.batch-size}).
+     * 
+     * <p>O lote é dobrado nos agregados da janela corrente (taxa de aprovação,
+     * média, percentis, distribuição de créditos); a gravação acontece
+     * periodicamente, uma linha por janela, e não por mensagem.</p>
+     * 
+     * @param events Eventos recebidos no lote
+     */
+    @RabbitListener(
+        queues = "${rabbitmq.queue.analytics:gamification.analytics}",
+        containerFactory = "analyticsListenerFactory"
+    )
+    public void processAnalyticsBatch(List<CourseCompletedEvent> events) {
+        meterRegistry.summary("gamification.consumer.batch.size", "listener", "analytics").record(events.size());
+        handle("analytics", () -> analyticsAggregator.accept(events));
+        log.debug("Analytics: lote de {} eventos agregado", events.size());
+    }
+
+    /**
+     * Agenda a regeneração da recomendação do estudante.
+     * 
+     * <p>O handler só marca a recomendação atual como stale e enfileira o
+     * pré-cálculo; a chamada ao LLM acontece no pool de baixa prioridade.</p>
+     * 
+     * @param event Evento de conclusão de curso
+     * @see RecommendationPrecomputeService
+     */
+    @RabbitListener(
+        queues = "${rabbitmq.queue.recommendation:gamification.recommendation}",
+        containerFactory = "recommendationListenerFactory"
+    )
+    public void processRecommendation(CourseCompletedEvent event) {
+        handle("recommendation", () -> recommendationPrecomputeService.onCourseCompleted(event.studentId()));
+    }
+
+    /**
+     * Executa um handler medindo sua latência; exceções seguem para o container.
+     */
+    private void handle(String listener, Runnable handler) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            handler.run();
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("gamification.consumer.handle",
+                    "listener", listener, "outcome", outcome));
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.example.subscription.infrastructure.messaging;
 
 import com.example.subscription.domain.event.CourseCompletedEvent;
+import com.example.subscription.infrastructure.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Publisher de eventos de gamificação para RabbitMQ.
@@ -36,16 +48,47 @@ import org.springframework.stereotype.Component;
  *   Queue Queue Queue    Queue
  * </pre>
  * 
+ * <h2>Modos de entrega:</h2>
+ * <ul>
+ *   <li><b>Outbox</b> ({@code gamification.outbox.enabled=true}): as mensagens
+ *       são gravadas em {@link OutboxEvent} na transação do chamador e enviadas
+ *       pelo {@link OutboxRelay}. A requisição não espera o broker e nenhum
+ *       evento se perde em falha do RabbitMQ.</li>
+ *   <li><b>Direto</b>: envio via RabbitTemplate. Dentro de uma transação o
+ *       envio é adiado para depois do commit, sem segurar locks de linha
+ *       enquanto o broker responde. Com {@code gamification.confirms.enabled=true}
+ *       cada mensagem é rastreada pelo {@link PublisherConfirmTracker}
+ *       (nacks reenviados); sem confirms, falhas são apenas logadas.</li>
+ * </ul>
+ * 
+ * <h2>Mensagem única:</h2>
+ * <p>Com {@code gamification.events.single-message.enabled=true} o evento é
+ * serializado uma vez e enviado uma vez com
+ * {@code event.course.completed.passed|failed}; os bindings do exchange
+ * entregam a cópia a cada fila, em vez de três envios por evento.</p>
+ * 
+ * <h2>Métricas:</h2>
+ * <p>{@code gamification.publisher.send} mede cada envio ao broker por
+ * {@code routing.key} e {@code outcome}; com confirms a medição (e a latência
+ * até o ack) fica no {@link PublisherConfirmTracker}.</p>
+ * 
  * @author Rickelme
  * @see CourseCompletedEvent Evento de domínio publicado
  * @see RabbitMQConfig Configuração de filas e exchange
+ * @see OutboxRelay Relay da outbox
  */
 @Component
 public class GamificationEventPublisher {
 
     private static final Logger log = LoggerFactory.getLogger(GamificationEventPublisher.class);
 
+    private static final String NOTIFICATION_ROUTING_KEY = "notification.course.completed";
+    private static final String ANALYTICS_ROUTING_KEY = "analytics.gamification";
+
     private final RabbitTemplate rabbitTemplate;
+    private final OutboxEventRepository outboxRepository;
+    private final PublisherConfirmTracker confirmTracker;
+    private final MeterRegistry meterRegistry;
 
     @Value("${rabbitmq.exchange.name:gamification.events}")
     private String exchangeName;
@@ -53,16 +96,36 @@ public class GamificationEventPublisher {
     @Value("${rabbitmq.routing-key.course-completed:course.completed}")
     private String courseCompletedRoutingKey;
 
+    @Value("${rabbitmq.routing-key.course-completed-event:event.course.completed}")
+    private String courseCompletedEventRoutingKey;
+
+    @Value("${gamification.events.single-message.enabled:false}")
+    private boolean singleMessageEnabled;
+
+    @Value("${gamification.outbox.enabled:false}")
+    private boolean outboxEnabled;
+
+    @Value("${gamification.confirms.enabled:false}")
+    private boolean confirmsEnabled;
+
     @Autowired
-    public GamificationEventPublisher(RabbitTemplate rabbitTemplate) {
+    public GamificationEventPublisher(
+            RabbitTemplate rabbitTemplate,
+            OutboxEventRepository outboxRepository,
+            PublisherConfirmTracker confirmTracker,
+            MeterRegistry meterRegistry) {
         this.rabbitTemplate = rabbitTemplate;
+        this.outboxRepository = outboxRepository;
+        this.confirmTracker = confirmTracker;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Publica evento de conclusão de curso.
      * 
      * <p>O evento é enviado para o exchange e roteado para múltiplas filas
-     * baseado nas routing keys configuradas.</p>
+     * baseado nas routing keys configuradas. Deve ser chamado dentro da
+     * transação que alterou o estudante.</p>
      * 
      * @param event Evento de conclusão de curso
      */
@@ -70,23 +133,158 @@ public class GamificationEventPublisher {
         log.info("Publicando evento de conclusão de curso para estudante: {} (ID: {})", 
                 event.studentName(), event.studentId());
         
+        if (outboxEnabled) {
+            outboxRepository.saveAll(toOutboxEvents(event));
+            return;
+        }
+        afterCommit(() -> publish(rabbitTemplate, event));
+    }
+
+    /**
+     * Publica um lote de eventos de conclusão de curso.
+     * 
+     * <p>Todos os envios do lote reutilizam o mesmo canal AMQP
+     * ({@link RabbitTemplate#invoke}), evitando obter/devolver um canal do
+     * cache a cada mensagem. Cada evento segue o mesmo roteamento de
+     * {@link #publishCourseCompleted(CourseCompletedEvent)}.</p>
+     * 
+     * @param events Eventos de conclusão de curso
+     */
+    public void publishCourseCompletedBatch(List<CourseCompletedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        log.info("Publicando lote de {} eventos de conclusão de curso", events.size());
+        
+        if (outboxEnabled) {
+            List<OutboxEvent> rows = new ArrayList<>();
+            events.forEach(event -> rows.addAll(toOutboxEvents(event)));
+            outboxRepository.saveAll(rows);
+            return;
+        }
+        afterCommit(() -> publishBatch(events));
+    }
+
+    private void publishBatch(List<CourseCompletedEvent> events) {
+        try {
+            rabbitTemplate.invoke(operations -> {
+                events.forEach(event -> publish(operations, event));
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Erro ao publicar lote de eventos de conclusão de curso: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executa o envio após o commit da transação corrente, ou imediatamente
+     * se não houver transação. Tentativas revertidas nunca publicam.
+     */
+    private void afterCommit(Runnable send) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send.run();
+            }
+        });
+    }
+
+    /**
+     * Converte o evento nas mesmas mensagens do envio direto, já serializadas.
+     */
+    private List<OutboxEvent> toOutboxEvents(CourseCompletedEvent event) {
+        Message message = toMessage(event);
+        List<String> routingKeys = routingKeysFor(event);
+        List<OutboxEvent> rows = new ArrayList<>(routingKeys.size());
+        for (String routingKey : routingKeys) {
+            rows.add(OutboxEvent.of(exchangeName, routingKey, message));
+        }
+        return rows;
+    }
+
+    /**
+     * Routing keys de um evento: a chave única roteada, ou
+     * course.completed, notificação (se aprovado) e analytics.
+     */
+    private List<String> routingKeysFor(CourseCompletedEvent event) {
+        if (singleMessageEnabled) {
+            return List.of(singleRoutingKey(event));
+        }
+        List<String> routingKeys = new ArrayList<>(3);
+        routingKeys.add(courseCompletedRoutingKey);
+        if (event.passed()) {
+            routingKeys.add(NOTIFICATION_ROUTING_KEY);
+        }
+        routingKeys.add(ANALYTICS_ROUTING_KEY);
+        return routingKeys;
+    }
+
+    private String singleRoutingKey(CourseCompletedEvent event) {
+        return courseCompletedEventRoutingKey + (event.passed() ? ".passed" : ".failed");
+    }
+
+    /**
+     * Serializa o evento uma única vez com o conversor do template.
+     */
+    private Message toMessage(CourseCompletedEvent event) {
+        MessageConverter converter = rabbitTemplate.getMessageConverter();
+        return converter.toMessage(event, new MessageProperties());
+    }
+
+    /**
+     * Envia com publisher confirms: todas as mensagens do evento seguem sem
+     * esperar ack; nacks são reenviados pelo {@link PublisherConfirmTracker}.
+     */
+    private void publishWithConfirms(RabbitOperations operations, CourseCompletedEvent event) {
+        try {
+            Message message = toMessage(event);
+            for (String routingKey : routingKeysFor(event)) {
+                confirmTracker.send(operations, exchangeName, routingKey, message)
+                    .thenAccept(acked -> {
+                        if (!acked) {
+                            log.error("Evento não confirmado pelo broker: estudante {} ({})",
+                                    event.studentId(), routingKey);
+                        }
+                    });
+            }
+        } catch (Exception e) {
+            log.error("Erro ao publicar evento de conclusão de curso: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Envia o evento para course.completed, notificação (se aprovado) e analytics.
+     */
+    private void publish(RabbitOperations operations, CourseCompletedEvent event) {
+        if (confirmsEnabled) {
+            publishWithConfirms(operations, event);
+            return;
+        }
+        if (singleMessageEnabled) {
+            publishSingleMessage(operations, event);
+            return;
+        }
         try {
             // Publica no exchange principal com routing key específica
-            rabbitTemplate.convertAndSend(
+            timedSend(courseCompletedRoutingKey, () -> operations.convertAndSend(
                 exchangeName,
                 courseCompletedRoutingKey,
                 event
-            );
+            ));
             
             log.debug("Evento publicado com sucesso: {}", event);
             
             // Publica também para notificações se for aprovado
             if (event.passed()) {
-                publishNotification(event);
+                publishNotification(operations, event);
             }
             
             // Publica para analytics (todos os eventos)
-            publishAnalytics(event);
+            publishAnalytics(operations, event);
             
         } catch (Exception e) {
             log.error("Erro ao publicar evento de conclusão de curso: {}", e.getMessage(), e);
@@ -94,16 +292,30 @@ public class GamificationEventPublisher {
         }
     }
 
+    /**
+     * Envia uma única mensagem; o exchange replica para as filas interessadas.
+     */
+    private void publishSingleMessage(RabbitOperations operations, CourseCompletedEvent event) {
+        try {
+            String routingKey = singleRoutingKey(event);
+            Message message = toMessage(event);
+            timedSend(routingKey, () -> operations.send(exchangeName, routingKey, message));
+            log.debug("Evento publicado com sucesso: {}", event);
+        } catch (Exception e) {
+            log.error("Erro ao publicar evento de conclusão de curso: {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * Publica evento para fila de notificações.
      */
-    private void publishNotification(CourseCompletedEvent event) {
+    private void publishNotification(RabbitOperations operations, CourseCompletedEvent event) {
         try {
-            rabbitTemplate.convertAndSend(
+            timedSend(NOTIFICATION_ROUTING_KEY, () -> operations.convertAndSend(
                 exchangeName,
-                "notification.course.completed",
+                NOTIFICATION_ROUTING_KEY,
                 event
-            );
+            ));
             log.debug("Notificação publicada para estudante: {}", event.studentName());
         } catch (Exception e) {
             log.warn("Falha ao publicar notificação: {}", e.getMessage());
@@ -113,17 +325,31 @@ public class GamificationEventPublisher {
     /**
      * Publica evento para fila de analytics.
      */
-    private void publishAnalytics(CourseCompletedEvent event) {
+    private void publishAnalytics(RabbitOperations operations, CourseCompletedEvent event) {
         try {
-            rabbitTemplate.convertAndSend(
+            timedSend(ANALYTICS_ROUTING_KEY, () -> operations.convertAndSend(
                 exchangeName,
-                "analytics.gamification",
+                ANALYTICS_ROUTING_KEY,
                 event
-            );
+            ));
             log.debug("Analytics publicado para estudante: {}", event.studentName());
         } catch (Exception e) {
             log.warn("Falha ao publicar analytics: {}", e.getMessage());
         }
     }
-}
 
+    /**
+     * Executa um envio direto medindo a latência por routing key.
+     */
+    private void timedSend(String routingKey, Runnable send) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            send.run();
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("gamification.publisher.send",
+                    "routing.key", routingKey, "outcome", outcome));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.subscription.infrastructure.messaging;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Mensagem pendente de publicação (Transactional Outbox).
+ *
+ * <h2>Transactional Outbox:</h2>
+ * <ul>
+ *   <li><b>Mesma transação</b>: Gravada junto com a alteração do Student;
+ *       ou ambos commitam, ou nenhum</li>
+ *   <li><b>Pronta para envio</b>: Guarda exchange, routing key e corpo já
+ *       serializado pelo {@code MessageConverter}</li>
+ *   <li><b>Removida após confirmação</b>: O {@link OutboxRelay} apaga a linha
+ *       somente depois do ack do broker</li>
+ *   <li><b>Estacionada após recusas</b>: Depois de
+ *       {@code gamification.outbox.max-attempts} recusas do broker (nack ou
+ *       mensagem sem rota) a linha recebe {@code parkedAt} e deixa de ser
+ *       reenviada; fica na tabela para análise e reprocessamento manual</li>
+ * </ul>
+ *
+ * @author Rickelme
+ * @see OutboxRelay Envia as mensagens pendentes
+ * @see GamificationEventPublisher Grava as mensagens
+ */
+@Entity
+@Table(name = "tb_outbox_event")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // Para JPA
+@ToString(exclude = "payload")
+public class OutboxEvent {
+
+    /**
+     * Header de tipo usado pelo {@code Jackson2JsonMessageConverter}.
+     */
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String exchange;
+
+    @Column(nullable = false, length = 100)
+    private String routingKey;
+
+    @Column(length = 255)
+    private String payloadType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column
+    private LocalDateTime parkedAt;
+
+    /**
+     * Cria a linha a partir de uma mensagem AMQP já convertida.
+     */
+    public static OutboxEvent of(String exchange, String routingKey, Message message) {
+        OutboxEvent event = new OutboxEvent();
+        event.exchange = exchange;
+        event.routingKey = routingKey;
+        event.payloadType = (String) message.getMessageProperties().getHeaders().get(TYPE_ID_HEADER);
+        event.payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        event.createdAt = LocalDateTime.now();
+        event.attempts = 0;
+        return event;
+    }
+
+    /**
+     * Reconstrói a mensagem AMQP equivalente à produzida pelo conversor JSON.
+     */
+    public Message toMessage() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageProperties.DEFAULT_DELIVERY_MODE);
+        if (payloadType != null) {
+            properties.setHeader(TYPE_ID_HEADER, payloadType);
+        }
+        return new Message(payload.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    /**
+     * Registra uma recusa do broker (nack ou mensagem sem rota).
+     *
+     * @return total de recusas da linha
+     */
+    public int registerFailedAttempt() {
+        return ++this.attempts;
+    }
+
+    /**
+     * Tira a linha do relay (dead letter na própria tabela).
+     */
+    public void park() {
+        this.parkedAt = LocalDateTime.now();
+    }
+
+    public boolean isParked() {
+        return parkedAt != null;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.subscription.infrastructure.messaging;
+
+import com.example.subscription.infrastructure.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relay da outbox: drena mensagens pendentes para o RabbitMQ em lotes.
+ *
+ * <h2>Fluxo de um lote:</h2>
+ * <ol>
+ *   <li>Trava até {@code gamification.outbox.batch-size} linhas ({@code SKIP LOCKED})</li>
+ *   <li>Envia todas sem esperar ack individual (pipelining via {@link PublisherConfirmTracker})</li>
+ *   <li>Aguarda os publisher confirms do lote, já incluindo reenvios de nacks
+ *       ({@code gamification.outbox.confirm-timeout-ms})</li>
+ *   <li>Apaga as linhas confirmadas; nacks e timeouts ficam para o próximo ciclo</li>
+ * </ol>
+ *
+ * <h2>Limites:</h2>
+ * <ul>
+ *   <li><b>Recusas</b>: cada nack (após os reenvios do tracker) ou mensagem
+ *       sem rota conta uma tentativa; com {@code gamification.outbox.max-attempts}
+ *       a linha é estacionada ({@link OutboxEvent#park}) e sai do relay.
+ *       Broker fora do ar e timeouts não contam: uma queda não estaciona a
+ *       outbox inteira</li>
+ *   <li><b>Lotes por ciclo</b>: no máximo {@code gamification.outbox.max-batches-per-run}
+ *       lotes por execução, para não segurar a thread do scheduler (cada lote
+ *       pode esperar até {@code confirm-timeout-ms}); o restante fica para o
+ *       próximo ciclo</li>
+ * </ul>
+ *
+ * <h2>Garantia de entrega:</h2>
+ * <p>At-least-once: uma linha só sai da outbox depois do ack do broker.
+ * Uma queda entre o ack e o commit reenvia a mensagem, por isso consumidores
+ * devem ser idempotentes. Sem {@code spring.rabbitmq.publisher-confirm-type=correlated}
+ * o envio sem exceção é tratado como confirmado.</p>
+ *
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code gamification.outbox.parked} - Linhas estacionadas após {@code max-attempts} recusas</li>
+ * </ul>
+ *
+ * @see PublisherConfirmTracker Rastreamento dos confirms
+ *
+ * @author Rickelme
+ * @see OutboxEvent Linha da outbox
+ * @see GamificationEventPublisher Grava as mensagens na outbox
+ */
+@Component
+@ConditionalOnProperty(name = "gamification.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final PublisherConfirmTracker confirmTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final int maxAttempts;
+    private final int maxBatchesPerRun;
+    private final Counter parked;
+
+    @Autowired
+    public OutboxRelay(
+            OutboxEventRepository outboxRepository,
+            PublisherConfirmTracker confirmTracker,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${gamification.outbox.batch-size:100}") int batchSize,
+            @Value("${gamification.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+            @Value("${gamification.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${gamification.outbox.max-batches-per-run:10}") int maxBatchesPerRun) {
+        this.outboxRepository = outboxRepository;
+        this.confirmTracker = confirmTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.parked = meterRegistry.counter("gamification.outbox.parked");
+    }
+
+    /**
+     * Drena a outbox enquanto houver lotes cheios totalmente confirmados,
+     * até {@code max-batches-per-run} lotes.
+     */
+    @Scheduled(fixedDelayString = "${gamification.outbox.relay-interval-ms:200}")
+    public void relay() {
+        int relayed;
+        int batches = 0;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (relayed == batchSize && ++batches < maxBatchesPerRun);
+    }
+
+    /**
+     * Envia um lote dentro da transação corrente.
+     *
+     * @return quantidade de mensagens confirmadas (e removidas)
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = outboxRepository.findByParkedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Boolean>> confirms = new ArrayList<>(batch.size());
+        try {
+            for (OutboxEvent event : batch) {
+                confirms.add(confirmTracker.send(event.getExchange(), event.getRoutingKey(), event.toMessage()));
+            }
+        } catch (AmqpException e) {
+            log.warn("Broker indisponível ao drenar outbox: {}", e.getMessage());
+        }
+
+        List<OutboxEvent> confirmed = new ArrayList<>(confirms.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            Boolean outcome = i < confirms.size() ? outcome(confirms.get(i), deadline) : null;
+            if (Boolean.TRUE.equals(outcome)) {
+                confirmed.add(event);
+            } else if (Boolean.FALSE.equals(outcome) && event.registerFailedAttempt() >= maxAttempts) {
+                event.park();
+                parked.increment();
+                log.error("Outbox: mensagem {} (routingKey={}) estacionada após {} recusas do broker",
+                        event.getId(), event.getRoutingKey(), event.getAttempts());
+            }
+        }
+
+        outboxRepository.deleteAllInBatch(confirmed);
+        if (confirmed.size() < batch.size()) {
+            log.warn("Outbox: {} de {} mensagens sem confirmação, serão reenviadas",
+                    batch.size() - confirmed.size(), batch.size());
+        } else {
+            log.debug("Outbox: {} mensagens confirmadas", confirmed.size());
+        }
+        return confirmed.size();
+    }
+
+    /**
+     * Aguarda o confirm do broker até o prazo do lote.
+     *
+     * @return {@code true} (ack), {@code false} (recusa do broker) ou
+     *         {@code null} se não houve resposta
+     */
+    private Boolean outcome(CompletableFuture<Boolean> confirm, long deadlineNanos) {
+        try {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            return confirm.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.subscription.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envio com publisher confirms assíncronos (correlated).
+ *
+ * <h2>Pipelining:</h2>
+ * <p>Cada envio recebe um {@link CorrelationData} e retorna imediatamente um
+ * {@link CompletableFuture}; o chamador dispara muitos envios e só então
+ * aguarda os acks, em vez de esperar o broker mensagem a mensagem.</p>
+ *
+ * <h2>Resultado de cada mensagem:</h2>
+ * <ul>
+ *   <li><b>Ack</b>: future completa com {@code true}</li>
+ *   <li><b>Nack</b>: reenviada até {@code gamification.confirms.max-resends} vezes;
+ *       esgotadas as tentativas, completa com {@code false}</li>
+ *   <li><b>Returned</b> (sem fila de destino, {@code mandatory}): completa com
+ *       {@code false} sem reenvio, pois o roteamento não mudaria</li>
+ *   <li><b>Confirms desabilitados</b>: envio sem exceção conta como ack</li>
+ * </ul>
+ *
+ * <h2>Métricas:</h2>
+ * <ul>
+ *   <li>{@code gamification.publisher.in-flight} - Mensagens aguardando confirm (gauge)</li>
+ *   <li>{@code gamification.publisher.confirmed} - Acks recebidos</li>
+ *   <li>{@code gamification.publisher.nacked} - Nacks recebidos</li>
+ *   <li>{@code gamification.publisher.resent} - Reenvios após nack</li>
+ *   <li>{@code gamification.publisher.returned} - Mensagens sem rota</li>
+ *   <li>{@code gamification.publisher.send} - Latência do envio por {@code routing.key}</li>
+ *   <li>{@code gamification.publisher.confirm} - Latência do envio até o confirm por
+ *       {@code routing.key} e {@code result} (ack, nack, returned)</li>
+ * </ul>
+ *
+ * <p>Reenvios rodam em thread própria: o confirm chega na thread da conexão
+ * AMQP, onde publicar de novo pode causar deadlock.</p>
+ *
+ * @author Rickelme
+ * @see OutboxRelay Aguarda os confirms antes de remover linhas da outbox
+ * @see GamificationEventPublisher Envio direto com confirms
+ */
+@Component
+public class PublisherConfirmTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(PublisherConfirmTracker.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxResends;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter confirmed;
+    private final Counter nacked;
+    private final Counter resent;
+    private final Counter returned;
+    private final ExecutorService resendExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "publisher-confirm-resend");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public PublisherConfirmTracker(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${gamification.confirms.max-resends:3}") int maxResends) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxResends = maxResends;
+        meterRegistry.gauge("gamification.publisher.in-flight", inFlight);
+        this.confirmed = meterRegistry.counter("gamification.publisher.confirmed");
+        this.nacked = meterRegistry.counter("gamification.publisher.nacked");
+        this.resent = meterRegistry.counter("gamification.publisher.resent");
+        this.returned = meterRegistry.counter("gamification.publisher.returned");
+    }
+
+    /**
+     * Envia pelo RabbitTemplate e rastreia o confirm.
+     *
+     * @return future com {@code true} se o broker confirmou a mensagem
+     */
+    public CompletableFuture<Boolean> send(String exchange, String routingKey, Message message) {
+        return send(rabbitTemplate, exchange, routingKey, message);
+    }
+
+    /**
+     * Envia pelas operações informadas (ex.: canal dedicado de
+     * {@link RabbitTemplate#invoke}) e rastreia o confirm.
+     *
+     * @return future com {@code true} se o broker confirmou a mensagem
+     * @throws org.springframework.amqp.AmqpException se o envio falhar de imediato
+     */
+    public CompletableFuture<Boolean> send(RabbitOperations operations, String exchange,
+                                           String routingKey, Message message) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        attempt(operations, exchange, routingKey, message, 0, result);
+        return result;
+    }
+
+    /**
+     * Quantidade de mensagens aguardando confirm.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void attempt(RabbitOperations operations, String exchange, String routingKey,
+                         Message message, int resends, CompletableFuture<Boolean> result) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            timedSend(sample, routingKey, () -> operations.send(exchange, routingKey, message));
+            result.complete(true);
+            return;
+        }
+
+        CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+        inFlight.incrementAndGet();
+        try {
+            timedSend(sample, routingKey, () -> operations.send(exchange, routingKey, message, correlation));
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+
+        correlation.getFuture().whenComplete((confirm, error) -> {
+            inFlight.decrementAndGet();
+            if (error == null && confirm.isAck() && correlation.getReturned() == null) {
+                stopConfirm(sample, routingKey, "ack");
+                confirmed.increment();
+                result.complete(true);
+            } else if (correlation.getReturned() != null) {
+                stopConfirm(sample, routingKey, "returned");
+                returned.increment();
+                log.warn("Mensagem sem rota: exchange={}, routingKey={}", exchange, routingKey);
+                result.complete(false);
+            } else {
+                stopConfirm(sample, routingKey, "nack");
+                nacked.increment();
+                resendOrFail(exchange, routingKey, message, resends, result,
+                        error != null ? error.getMessage() : confirm.getReason());
+            }
+        });
+    }
+
+    private void timedSend(Timer.Sample sample, String routingKey, Runnable send) {
+        String outcome = "error";
+        try {
+            send.run();
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("gamification.publisher.send",
+                    "routing.key", routingKey, "outcome", outcome));
+        }
+    }
+
+    private void stopConfirm(Timer.Sample sample, String routingKey, String result) {
+        sample.stop(meterRegistry.timer("gamification.publisher.confirm",
+                "routing.key", routingKey, "result", result));
+    }
+
+    private void resendOrFail(String exchange, String routingKey, Message message,
+                              int resends, CompletableFuture<Boolean> result, String reason) {
+        if (resends >= maxResends) {
+            log.error("Mensagem não confirmada após {} reenvios: routingKey={}, motivo={}",
+                    resends, routingKey, reason);
+            result.complete(false);
+            return;
+        }
+        log.warn("Nack do broker (routingKey={}, motivo={}), reenviando", routingKey, reason);
+        resent.increment();
+        resendExecutor.execute(() -> {
+            try {
+                attempt(rabbitTemplate, exchange, routingKey, message, resends + 1, result);
+            } catch (RuntimeException e) {
+                log.error("Falha ao reenviar mensagem: {}", e.getMessage());
+                result.complete(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        resendExecutor.shutdownNow();
+    }
+}
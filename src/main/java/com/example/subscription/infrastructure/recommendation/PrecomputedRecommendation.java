@@ -0,0 +1,96 @@
+package com.example.subscription.infrastructure.recommendation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recomendação pré-calculada de um estudante (uma linha por estudante).
+ *
+ * <h2>Ciclo de vida:</h2>
+ * <ul>
+ *   <li><b>Gerada</b>: em background após a conclusão de um curso, ou na
+ *       primeira leitura de um estudante ainda sem linha</li>
+ *   <li><b>Stale</b>: marcada ao chegar uma nova conclusão; continua sendo
+ *       servida até a regeneração terminar</li>
+ * </ul>
+ *
+ * <p>Uma instância criada por {@link #of} é sempre nova ({@link #isNew}):
+ * {@code save} faz {@code persist} (só {@code INSERT}) em vez de
+ * {@code merge}, que com o ID atribuído leria a linha e a sobrescreveria
+ * com um texto possivelmente mais antigo. Linha já existente vira
+ * {@code DataIntegrityViolationException}; alterações passam pelos
+ * {@code UPDATE} do repository.</p>
+ *
+ * @author Rickelme
+ * @see com.example.subscription.application.service.RecommendationPrecomputeService
+ */
+@Entity
+@Table(name = "tb_precomputed_recommendation")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // Para JPA
+@ToString
+public class PrecomputedRecommendation implements Persistable<Long> {
+
+    @Id
+    private Long studentId;
+
+    @Column(nullable = false, length = 20000)
+    private String recommendations;
+
+    @Column(nullable = false)
+    private LocalDateTime generatedAt;
+
+    @Column(nullable = false)
+    private boolean stale;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean newRow = true;
+
+    private PrecomputedRecommendation(Long studentId, String recommendations, LocalDateTime generatedAt, boolean stale) {
+        this.studentId = studentId;
+        this.recommendations = recommendations;
+        this.generatedAt = generatedAt;
+        this.stale = stale;
+    }
+
+    /**
+     * Factory method para uma recomendação recém-gerada.
+     *
+     * @param stale se o perfil já mudou de novo durante a geração
+     * @see com.example.subscription.infrastructure.repository.PrecomputedRecommendationRepository#markStale
+     */
+    public static PrecomputedRecommendation of(Long studentId, String recommendations,
+                                               LocalDateTime generatedAt, boolean stale) {
+        return new PrecomputedRecommendation(studentId, recommendations, generatedAt, stale);
+    }
+
+    @Override
+    public Long getId() {
+        return studentId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PrePersist
+    void markPersisted() {
+        this.newRow = false;
+    }
+}
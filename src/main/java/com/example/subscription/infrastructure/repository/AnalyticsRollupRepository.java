@@ -0,0 +1,26 @@
+package com.example.subscription.infrastructure.repository;
+
+import com.example.subscription.infrastructure.analytics.AnalyticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository dos rollups de analytics por janela de tempo.
+ */
+@Repository
+public interface AnalyticsRollupRepository extends JpaRepository<AnalyticsRollup, Long> {
+
+    /**
+     * Rollups cujas janelas começam no intervalo informado, em ordem cronológica.
+     */
+    List<AnalyticsRollup> findByWindowStartBetweenOrderByWindowStartAsc(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Rollup já gravado por uma origem para a janela (eventos atrasados são somados a ele).
+     */
+    Optional<AnalyticsRollup> findByWindowStartAndSource(LocalDateTime windowStart, String source);
+}
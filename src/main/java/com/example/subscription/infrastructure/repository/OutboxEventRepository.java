@@ -0,0 +1,30 @@
+package com.example.subscription.infrastructure.repository;
+
+import com.example.subscription.infrastructure.messaging.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository da tabela de outbox (mensagens pendentes de publicação).
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Próximo lote a enviar, na ordem de gravação (linhas estacionadas ficam de fora).
+     *
+     * <p>As linhas ficam travadas até o fim da transação do relay. O lock
+     * timeout {@code -2} gera {@code FOR UPDATE SKIP LOCKED} no PostgreSQL:
+     * várias réplicas drenam a outbox em paralelo sem pegar as mesmas linhas.</p>
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxEvent> findByParkedAtIsNullOrderByIdAsc(Limit limit);
+}
@@ -0,0 +1,45 @@
+package com.example.subscription.infrastructure.repository;
+
+import com.example.subscription.infrastructure.recommendation.PrecomputedRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository das recomendações pré-calculadas, por ID do estudante.
+ *
+ * <p>As alterações de linhas existentes são {@code UPDATE} diretos: um
+ * {@code save} da entidade lida antes regravaria o texto antigo por cima de
+ * uma regeneração concluída no meio tempo.</p>
+ */
+@Repository
+public interface PrecomputedRecommendationRepository extends JpaRepository<PrecomputedRecommendation, Long> {
+
+    /**
+     * Marca a recomendação do estudante como stale, sem tocar no texto.
+     *
+     * @return linhas alteradas (0 se o estudante ainda não tem recomendação)
+     */
+    @Modifying
+    @Transactional
+    @Query("update PrecomputedRecommendation p set p.stale = true where p.studentId = :studentId")
+    int markStale(@Param("studentId") Long studentId);
+
+    /**
+     * Substitui o texto de uma recomendação existente e a marca como atual.
+     *
+     * @return linhas alteradas (0 se o estudante ainda não tem recomendação)
+     */
+    @Modifying
+    @Transactional
+    @Query("update PrecomputedRecommendation p set p.recommendations = :recommendations, "
+            + "p.generatedAt = :generatedAt, p.stale = false where p.studentId = :studentId")
+    int refresh(@Param("studentId") Long studentId,
+                @Param("recommendations") String recommendations,
+                @Param("generatedAt") LocalDateTime generatedAt);
+}
@@ -0,0 +1,145 @@
+package com.example.subscription.infrastructure.repository;
+
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.domain.valueobject.Credits;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Repository JDBC para operações em volume e incrementos atômicos sobre Student.
+ *
+ * <h2>Clean Architecture - Infrastructure Layer:</h2>
+ * <ul>
+ *   <li><b>Complemento</b>: Cobre casos onde o {@link StudentRepository} (JPA)
+ *       materializaria a tabela inteira no persistence context</li>
+ *   <li><b>Cursor JDBC</b>: Lê linha a linha com fetch size limitado</li>
+ * </ul>
+ *
+ * <h2>Memória constante:</h2>
+ * <p>Cada linha é entregue ao callback e descartada em seguida; nenhuma
+ * entidade fica gerenciada pelo Hibernate. No PostgreSQL o driver só usa
+ * cursor de servidor dentro de uma transação (autocommit desligado), por isso
+ * o chamador deve estar em um contexto {@code @Transactional}.</p>
+ *
+ * <h2>Incremento atômico:</h2>
+ * <p>{@link #incrementCompletion(Long, int)} aplica a conclusão de curso em um
+ * único {@code UPDATE} relativo ({@code coluna = coluna + ?}), sem
+ * read-modify-write em Java: conclusões concorrentes do mesmo estudante não
+ * perdem atualizações e o lock de linha dura apenas o próprio comando. A linha
+ * atualizada volta na mesma ida ao banco. A coluna {@code version} também é
+ * incrementada, invalidando entidades carregadas por escritores JPA
+ * concorrentes (optimistic locking):</p>
+ * <ul>
+ *   <li><b>PostgreSQL</b>: {@code UPDATE ... RETURNING}</li>
+ *   <li><b>H2</b>: {@code SELECT ... FROM FINAL TABLE (UPDATE ...)}</li>
+ *   <li><b>Demais bancos</b>: {@code UPDATE} seguido de {@code SELECT} na mesma transação</li>
+ * </ul>
+ *
+ * @author Rickelme
+ * @see StudentRepository Repository JPA principal
+ */
+@Repository
+public class StudentJdbcRepository {
+
+    private static final String SELECT_ALL_ORDERED =
+        "SELECT id, name, completed_courses, credits, credit_strategy FROM tb_student ORDER BY id";
+
+    private static final String INCREMENT_COMPLETION =
+        "UPDATE tb_student SET completed_courses = completed_courses + 1, credits = credits + ?, "
+            + "version = version + 1 WHERE id = ?";
+
+    private static final String INCREMENT_COMPLETION_RETURNING =
+        INCREMENT_COMPLETION + " RETURNING id, name, completed_courses, credits, credit_strategy";
+
+    private static final String INCREMENT_COMPLETION_FINAL_TABLE =
+        "SELECT id, name, completed_courses, credits, credit_strategy FROM FINAL TABLE (" + INCREMENT_COMPLETION + ")";
+
+    private static final String SELECT_BY_ID =
+        "SELECT id, name, completed_courses, credits, credit_strategy FROM tb_student WHERE id = ?";
+
+    private static final RowMapper<Student> STUDENT_ROW_MAPPER = (rs, rowNum) -> Student.builder()
+        .id(rs.getLong("id"))
+        .name(rs.getString("name"))
+        .completedCourses(rs.getInt("completed_courses"))
+        .credits(Credits.of(rs.getInt("credits")))
+        .creditStrategy(StrategyType.valueOf(rs.getString("credit_strategy")))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String incrementCompletionSql;
+
+    @Autowired
+    public StudentJdbcRepository(
+            DataSource dataSource,
+            @Value("${students.stream.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.incrementCompletionSql = resolveIncrementCompletionSql(dataSource);
+    }
+
+    /**
+     * Escolhe a forma de "UPDATE com retorno" suportada pelo banco.
+     *
+     * @return SQL de uma ida ao banco, ou {@code null} para UPDATE + SELECT
+     */
+    private static String resolveIncrementCompletionSql(DataSource dataSource) {
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            return null;
+        }
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            return INCREMENT_COMPLETION_RETURNING;
+        }
+        if ("H2".equalsIgnoreCase(product)) {
+            return INCREMENT_COMPLETION_FINAL_TABLE;
+        }
+        return null;
+    }
+
+    /**
+     * Registra a conclusão de um curso diretamente no banco.
+     *
+     * <p>Não passa pelo persistence context: uma instância de Student já
+     * carregada na mesma transação fica desatualizada.</p>
+     *
+     * @param studentId ID do estudante
+     * @param creditDelta créditos a somar (calculados pela estratégia)
+     * @return estado da linha após o incremento, ou vazio se o ID não existe
+     */
+    public Optional<Student> incrementCompletion(Long studentId, int creditDelta) {
+        if (incrementCompletionSql != null) {
+            List<Student> updated = jdbcTemplate.query(
+                incrementCompletionSql, STUDENT_ROW_MAPPER, creditDelta, studentId);
+            return updated.stream().findFirst();
+        }
+        if (jdbcTemplate.update(INCREMENT_COMPLETION, creditDelta, studentId) == 0) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(SELECT_BY_ID, STUDENT_ROW_MAPPER, studentId).stream().findFirst();
+    }
+
+    /**
+     * Percorre todos os estudantes em ordem de ID via cursor JDBC.
+     *
+     * @param consumer callback invocado para cada linha lida
+     */
+    public void forEachStudent(Consumer<Student> consumer) {
+        jdbcTemplate.query(SELECT_ALL_ORDERED, rs -> {
+            consumer.accept(STUDENT_ROW_MAPPER.mapRow(rs, 0));
+        });
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.subscription.infrastructure.repository;
 
 import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -39,4 +41,19 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     @Query("SELECT COUNT(s) FROM Student s WHERE s.credits.amount >= :minCredits")
     long countStudentsWithMinimumCredits(@Param("minCredits") int minCredits);
-}
\ No newline at end of file
+    
+    /**
+     * Paginação por cursor (keyset): estudantes com ID maior que o cursor,
+     * em ordem crescente de ID.
+     * 
+     * <p>Diferente de OFFSET, o custo não cresce com a profundidade da página:
+     * o banco posiciona direto no índice da PK a partir de {@code after}.</p>
+     */
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+    
+    /**
+     * Plano de créditos do estudante, sem carregar a entidade.
+     */
+    @Query("SELECT s.creditStrategy FROM Student s WHERE s.id = :id")
+    Optional<StrategyType> findCreditStrategyById(@Param("id") Long id);
+}
@@ -0,0 +1,142 @@
+package com.example.subscription.infrastructure.rules;
+
+import com.example.subscription.domain.strategy.CreditRuleEngine;
+import com.example.subscription.domain.strategy.CreditRules;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * Carrega as regras de crédito de um arquivo e as recarrega quando ele muda.
+ *
+ * <h2>Ciclo de vida:</h2>
+ * <ul>
+ *   <li><b>Startup</b>: lê {@code gamification.credits.rules.location}
+ *       (ex.: {@code file:/etc/subscription/credit-rules.properties}); regras
+ *       inválidas impedem a subida, como qualquer configuração inválida</li>
+ *   <li><b>Recarga</b>: a cada {@code gamification.credits.rules.reload-interval-ms}
+ *       o conteúdo é relido e, se diferente do último aplicado, compilado e
+ *       publicado no {@link CreditRuleEngine}</li>
+ *   <li><b>Falha na recarga</b>: arquivo ilegível ou regras inválidas são
+ *       registrados em ERROR uma única vez por falha distinta (mesmo conteúdo
+ *       ou mesmo erro de leitura) e em DEBUG nas tentativas seguintes; as
+ *       regras vigentes continuam valendo</li>
+ * </ul>
+ *
+ * <p>Sem {@code location} configurado o loader não faz nada e valem as
+ * estratégias padrão. Cada réplica observa o próprio arquivo, então uma
+ * promoção é aplicada trocando o arquivo (ex.: ConfigMap montado), sem
+ * redeploy.</p>
+ *
+ * @author Rickelme
+ * @see CreditRules Formato do arquivo
+ */
+@Component
+public class CreditRuleLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditRuleLoader.class);
+
+    private final CreditRuleEngine ruleEngine;
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private String appliedContent;
+    private String lastFailure;
+
+    @Autowired
+    public CreditRuleLoader(
+            CreditRuleEngine ruleEngine,
+            ResourceLoader resourceLoader,
+            @Value("${gamification.credits.rules.location:}") String location) {
+        this.ruleEngine = ruleEngine;
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    /**
+     * Carga inicial.
+     *
+     * @throws IllegalArgumentException se as regras forem inválidas
+     * @throws UncheckedIOException se o arquivo não puder ser lido
+     */
+    @PostConstruct
+    public void load() {
+        if (location.isBlank()) {
+            return;
+        }
+        apply(read());
+    }
+
+    /**
+     * Relê o arquivo e publica as regras se o conteúdo mudou.
+     *
+     * @return {@code true} se um novo conjunto foi publicado
+     */
+    @Scheduled(fixedDelayString = "${gamification.credits.rules.reload-interval-ms:5000}")
+    public synchronized boolean reloadIfChanged() {
+        if (location.isBlank()) {
+            return false;
+        }
+        String content = null;
+        try {
+            content = read();
+            if (content.equals(appliedContent)) {
+                lastFailure = null;
+                return false;
+            }
+            apply(content);
+            lastFailure = null;
+            return true;
+        } catch (RuntimeException e) {
+            logFailure(content != null ? "content:" + content.hashCode() : "read:" + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Registra a falha em ERROR só na primeira vez que ela aparece; o mesmo
+     * arquivo quebrado é relido a cada intervalo e repetiria o log sem parar.
+     */
+    private void logFailure(String failure, RuntimeException e) {
+        if (failure.equals(lastFailure)) {
+            log.debug("Regras de crédito ainda inválidas ({}): {}", location, e.getMessage());
+            return;
+        }
+        lastFailure = failure;
+        log.error("Regras de crédito não recarregadas ({}), mantendo {}: {}",
+                location, ruleEngine.current(), e.getMessage());
+    }
+
+    private synchronized void apply(String content) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(content));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CreditRules rules = CreditRules.parse(location, properties);
+        ruleEngine.swap(rules);
+        appliedContent = content;
+        log.info("Regras de crédito aplicadas: {}", rules);
+    }
+
+    private String read() {
+        Resource resource = resourceLoader.getResource(location);
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read credit rules from " + location, e);
+        }
+    }
+}
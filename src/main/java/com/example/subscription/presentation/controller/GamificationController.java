@@ -1,6 +1,10 @@
 package com.example.subscription.presentation.controller;
 
+import com.example.subscription.application.dto.CourseCompletionBatchRequestDTO;
 import com.example.subscription.application.dto.CourseCompletionRequestDTO;
+import com.example.subscription.application.dto.CourseCompletionResultDTO;
+import com.example.subscription.application.dto.CreditAdjustmentRequestDTO;
+import com.example.subscription.application.dto.CreditStrategyRequestDTO;
 import com.example.subscription.application.dto.StudentDTO;
 import com.example.subscription.application.service.GamificationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +16,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller REST para funcionalidades de Gamificação.
  * 
@@ -25,6 +31,10 @@ import org.springframework.web.bind.annotation.*;
  * <h2>Endpoint:</h2>
  * <ul>
  *   <li>POST /gamification/students/{id}/complete-course - Completa curso e aplica gamificação</li>
+ *   <li>POST /gamification/course-completions/batch - Completa cursos em lote (resultado por item)</li>
+ *   <li>POST /gamification/students/{id}/credits - Adiciona créditos (bônus)</li>
+ *   <li>POST /gamification/students/{id}/credits/deduct - Remove créditos</li>
+ *   <li>PUT /gamification/students/{id}/credit-strategy - Altera o plano de créditos</li>
  * </ul>
  * 
  * <h2>Fluxo de Dados:</h2>
@@ -64,4 +74,62 @@ public class GamificationController {
         StudentDTO updatedStudent = gamificationService.completeCourse(id, request);
         return ResponseEntity.ok(updatedStudent);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/course-completions/batch")
+    @Operation(summary = "Completar cursos em lote", description = "Registra conclusões de curso em lote e retorna o resultado de cada item")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado (ver status de cada item)"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, grande demais ou item sem studentId")
+    })
+    public ResponseEntity<List<CourseCompletionResultDTO>> completeCourses(
+            @Valid @RequestBody CourseCompletionBatchRequestDTO request) {
+        
+        List<CourseCompletionResultDTO> results = gamificationService.completeCourses(request.getCompletions());
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping("/students/{id}/credits")
+    @Operation(summary = "Adicionar créditos", description = "Adiciona créditos manualmente (bônus, promoções)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Créditos adicionados"),
+        @ApiResponse(responseCode = "400", description = "Quantidade inválida"),
+        @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Conflito de concorrência persistente")
+    })
+    public ResponseEntity<StudentDTO> addCredits(
+            @PathVariable Long id,
+            @Valid @RequestBody CreditAdjustmentRequestDTO request) {
+        
+        return ResponseEntity.ok(gamificationService.addCredits(id, request));
+    }
+
+    @PostMapping("/students/{id}/credits/deduct")
+    @Operation(summary = "Remover créditos", description = "Remove créditos (compra de itens, penalidades)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Créditos removidos"),
+        @ApiResponse(responseCode = "400", description = "Quantidade inválida ou créditos insuficientes"),
+        @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Conflito de concorrência persistente")
+    })
+    public ResponseEntity<StudentDTO> deductCredits(
+            @PathVariable Long id,
+            @Valid @RequestBody CreditAdjustmentRequestDTO request) {
+        
+        return ResponseEntity.ok(gamificationService.deductCredits(id, request));
+    }
+
+    @PutMapping("/students/{id}/credit-strategy")
+    @Operation(summary = "Alterar plano de créditos", description = "Define a estratégia de créditos (STANDARD, PREMIUM) das próximas conclusões")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Plano alterado"),
+        @ApiResponse(responseCode = "400", description = "Plano ausente"),
+        @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Conflito de concorrência persistente")
+    })
+    public ResponseEntity<StudentDTO> changeCreditStrategy(
+            @PathVariable Long id,
+            @Valid @RequestBody CreditStrategyRequestDTO request) {
+        
+        return ResponseEntity.ok(gamificationService.changeCreditStrategy(id, request.getCreditStrategy()));
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.subscription.presentation.controller;
 
+import com.example.subscription.application.service.RecommendationQueueFullException;
+import com.example.subscription.infrastructure.llm.LlmSaturatedException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,6 +34,10 @@ import java.util.stream.Collectors;
  *   <tr><td>IllegalArgumentException</td><td>400 Bad Request</td></tr>
  *   <tr><td>NoSuchElementException</td><td>404 Not Found</td></tr>
  *   <tr><td>MethodArgumentNotValidException</td><td>400 Validation Error</td></tr>
+ *   <tr><td>OptimisticLockingFailureException</td><td>409 Conflict</td></tr>
+ *   <tr><td>TaskRejectedException</td><td>503 Service Unavailable</td></tr>
+ *   <tr><td>RecommendationQueueFullException</td><td>429 Too Many Requests (com Retry-After)</td></tr>
+ *   <tr><td>LlmSaturatedException</td><td>503 Service Unavailable (com Retry-After)</td></tr>
  *   <tr><td>Exception (genérica)</td><td>500 Internal Server Error</td></tr>
  * </table>
  * 
@@ -79,6 +89,50 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLocking(OptimisticLockingFailureException ex) {
+        return buildErrorResponse(
+            HttpStatus.CONFLICT,
+            "Conflict",
+            "Resource was modified concurrently, please retry"
+        );
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskRejected(TaskRejectedException ex) {
+        return buildErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Service Unavailable",
+            "Server is busy, please retry later"
+        );
+    }
+
+    @ExceptionHandler(RecommendationQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleQueueFull(RecommendationQueueFullException ex) {
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS,
+            "Too Many Requests",
+            ex.getMessage()
+        );
+        return ResponseEntity.status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response.getBody());
+    }
+
+    @ExceptionHandler(LlmSaturatedException.class)
+    public ResponseEntity<Map<String, Object>> handleLlmSaturated(LlmSaturatedException ex) {
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Service Unavailable",
+            "Recommendation service is at capacity, please retry later"
+        );
+        return ResponseEntity.status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         return buildErrorResponse(
@@ -97,6 +151,7 @@ public class GlobalExceptionHandler {
         body.put("error", error);
         body.put("message", message);
         
-        return ResponseEntity.status(status).body(body);
+        // Content-Type explícito: o erro sai em JSON mesmo para clientes SSE (Accept: text/event-stream)
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
\ No newline at end of file
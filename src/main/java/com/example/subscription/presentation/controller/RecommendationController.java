@@ -1,14 +1,37 @@
 package com.example.subscription.presentation.controller;
 
+import com.example.subscription.application.dto.RecommendationJobDTO;
 import com.example.subscription.application.service.CourseRecommendationService;
+import com.example.subscription.application.service.RecommendationJobService;
+import com.example.subscription.application.service.RecommendationPrecomputeService;
+import com.example.subscription.config.ThreadingConfig;
+import com.example.subscription.infrastructure.llm.OllamaEndpointPool;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.output.Response;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller REST para Recomendações de Cursos via IA.
@@ -24,6 +47,10 @@ import org.springframework.web.bind.annotation.*;
  * <ul>
  *   <li>GET /recommendations/students/{id} - Recomendações básicas</li>
  *   <li>POST /recommendations/students/{id} - Recomendações com contexto</li>
+ *   <li>GET /recommendations/students/{id}/stream - Tokens via Server-Sent Events</li>
+ *   <li>POST /recommendations/students/{id}/jobs - Enfileira um job (202)</li>
+ *   <li>GET /recommendations/jobs/{jobId} - Situação/resultado do job</li>
+ *   <li>GET /recommendations/health - Último health probe dos servidores Ollama</li>
  * </ul>
  * 
  * <h2>Tecnologias:</h2>
@@ -33,19 +60,48 @@ import org.springframework.web.bind.annotation.*;
  *   <li>ROCm - Aceleração GPU AMD</li>
  * </ul>
  * 
+ * <h2>Execução assíncrona:</h2>
+ * <p>As recomendações rodam no {@code recommendationExecutor} e a thread do
+ * Tomcat é liberada enquanto o LLM responde, então chamadas lentas não
+ * consomem as threads que atendem o restante da API. Os endpoints de job
+ * também não mantêm a conexão aberta: respondem 202 na hora e o cliente
+ * consulta o resultado depois.</p>
+ * 
+ * <h2>Limite de chamadas:</h2>
+ * <p>Com o Ollama saturado o
+ * {@link com.example.subscription.infrastructure.llm.AdaptiveConcurrencyLimiter}
+ * recusa a chamada na hora e a resposta é 503 com {@code Retry-After}, em vez
+ * de esperar na fila do modelo até o timeout.</p>
+ * 
  * @author Rickelme
  * @see CourseRecommendationService Service que processa recomendações
+ * @see ThreadingConfig Executor das recomendações
  */
 @RestController
 @RequestMapping("/recommendations")
 @Tag(name = "AI Recommendations", description = "Endpoints para recomendações de cursos usando IA (Ollama/LangChain4J)")
 public class RecommendationController {
 
+    private static final Logger log = LoggerFactory.getLogger(RecommendationController.class);
+
     private final CourseRecommendationService recommendationService;
+    private final RecommendationPrecomputeService precomputeService;
+    private final RecommendationJobService jobService;
+    private final AsyncTaskExecutor recommendationExecutor;
+    private final OllamaEndpointPool ollamaEndpointPool;
 
     @Autowired
-    public RecommendationController(CourseRecommendationService recommendationService) {
+    public RecommendationController(
+            CourseRecommendationService recommendationService,
+            RecommendationPrecomputeService precomputeService,
+            RecommendationJobService jobService,
+            @Qualifier(ThreadingConfig.RECOMMENDATION_EXECUTOR) AsyncTaskExecutor recommendationExecutor,
+            OllamaEndpointPool ollamaEndpointPool) {
         this.recommendationService = recommendationService;
+        this.precomputeService = precomputeService;
+        this.jobService = jobService;
+        this.recommendationExecutor = recommendationExecutor;
+        this.ollamaEndpointPool = ollamaEndpointPool;
     }
 
     /**
@@ -53,6 +109,11 @@ public class RecommendationController {
      * 
      * <p>Utiliza LLM local (Ollama) para analisar o perfil do aluno
      * e sugerir próximos cursos relevantes.</p>
+     * 
+     * <p>Com o pré-cálculo habilitado a resposta vem do
+     * {@link RecommendationPrecomputeService} (leitura por chave);
+     * {@code generatedAt} e {@code stale} indicam se ela já reflete o
+     * perfil atual.</p>
      */
     @GetMapping("/students/{id}")
     @Operation(
@@ -62,14 +123,16 @@ public class RecommendationController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Recomendações geradas com sucesso"),
         @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
-        @ApiResponse(responseCode = "503", description = "Serviço de IA indisponível (Ollama offline)")
+        @ApiResponse(responseCode = "503", description = "Serviço de IA indisponível (Ollama offline, fila cheia ou limite de chamadas atingido)")
     })
-    public ResponseEntity<RecommendationResponse> getRecommendations(
+    public CompletableFuture<ResponseEntity<RecommendationResponse>> getRecommendations(
             @Parameter(description = "ID do estudante") 
             @PathVariable Long id) {
         
-        String recommendations = recommendationService.recommendCoursesForStudent(id);
-        return ResponseEntity.ok(new RecommendationResponse(id, recommendations));
+        return CompletableFuture.supplyAsync(
+                () -> precomputeService.getRecommendation(id), recommendationExecutor)
+            .thenApply(recommendation -> ResponseEntity.ok(new RecommendationResponse(id,
+                recommendation.getRecommendations(), recommendation.getGeneratedAt(), recommendation.isStale())));
     }
 
     /**
@@ -86,39 +149,231 @@ public class RecommendationController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Recomendações geradas com sucesso"),
         @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
-        @ApiResponse(responseCode = "503", description = "Serviço de IA indisponível (Ollama offline)")
+        @ApiResponse(responseCode = "503", description = "Serviço de IA indisponível (Ollama offline, fila cheia ou limite de chamadas atingido)")
     })
-    public ResponseEntity<RecommendationResponse> getRecommendationsWithContext(
+    public CompletableFuture<ResponseEntity<RecommendationResponse>> getRecommendationsWithContext(
             @Parameter(description = "ID do estudante") 
             @PathVariable Long id,
             @Parameter(description = "Contexto/interesse do aluno")
             @RequestBody ContextRequest request) {
         
-        String recommendations = recommendationService.recommendCoursesWithContext(id, request.context());
-        return ResponseEntity.ok(new RecommendationResponse(id, recommendations));
+        return CompletableFuture.supplyAsync(
+                () -> recommendationService.recommendCoursesWithContext(id, request.context()), recommendationExecutor)
+            .thenApply(recommendations -> ResponseEntity.ok(new RecommendationResponse(id, recommendations)));
+    }
+
+    /**
+     * Gera recomendações enviando os tokens por Server-Sent Events.
+     * 
+     * <h2>Eventos:</h2>
+     * <ul>
+     *   <li><b>token</b>: {@code {"token": "..."}} a cada trecho gerado</li>
+     *   <li><b>done</b>: {@link RecommendationResponse} com o texto completo</li>
+     *   <li><b>error</b>: falha na geração (a conexão é encerrada em seguida)</li>
+     * </ul>
+     * 
+     * <p>O primeiro token chega ao cliente assim que o LLM o produz, sem
+     * esperar a resposta inteira.</p>
+     */
+    @GetMapping(value = "/students/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Recomendar cursos (streaming)",
+        description = "Envia os tokens da recomendação via SSE conforme o LLM os gera"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream de eventos token/done/error"),
+        @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
+        @ApiResponse(responseCode = "503", description = "Limite de chamadas ao Ollama atingido (ver Retry-After)")
+    })
+    public SseEmitter streamRecommendations(
+            @Parameter(description = "ID do estudante")
+            @PathVariable Long id,
+            @Parameter(description = "Contexto/interesse do aluno (opcional)")
+            @RequestParam(required = false) String context) {
+        
+        SseEmitter emitter = new SseEmitter();
+        recommendationService.streamRecommendations(id, context, new SseTokenHandler(id, emitter));
+        return emitter;
+    }
+
+    /**
+     * Enfileira a geração de recomendações e responde sem esperar o LLM.
+     * 
+     * <p>O corpo é opcional; com {@code context} o job usa o prompt
+     * contextualizado. O header {@code Location} aponta para o job.</p>
+     */
+    @PostMapping("/students/{id}/jobs")
+    @Operation(
+        summary = "Enfileirar recomendação",
+        description = "Cria um job assíncrono de recomendação e retorna 202 com o ID do job"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job aceito"),
+        @ApiResponse(responseCode = "404", description = "Estudante não encontrado"),
+        @ApiResponse(responseCode = "429", description = "Fila de recomendações cheia (ver Retry-After)")
+    })
+    public ResponseEntity<RecommendationJobDTO> submitRecommendationJob(
+            @Parameter(description = "ID do estudante")
+            @PathVariable Long id,
+            @Parameter(description = "Contexto/interesse do aluno (opcional)")
+            @RequestBody(required = false) ContextRequest request) {
+        
+        RecommendationJobDTO job = jobService.submit(id, request == null ? null : request.context());
+        return ResponseEntity.accepted()
+            .location(URI.create("/recommendations/jobs/" + job.getJobId()))
+            .body(job);
+    }
+
+    /**
+     * Consulta um job de recomendação.
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Consultar job", description = "Retorna a situação e, quando concluído, o resultado do job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Situação do job"),
+        @ApiResponse(responseCode = "404", description = "Job inexistente ou expirado")
+    })
+    public ResponseEntity<RecommendationJobDTO> getRecommendationJob(
+            @Parameter(description = "ID do job")
+            @PathVariable String jobId) {
+        
+        return jobService.find(jobId)
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> new NoSuchElementException("Recommendation job not found: " + jobId));
     }
 
     /**
      * Verifica se o serviço de IA está disponível.
      * 
-     * <p>Nota: Este endpoint retorna um status simples. Para verificação real
-     * do Ollama, seria necessário fazer uma chamada ao serviço.</p>
+     * <p>Lê o último health probe de cada servidor do
+     * {@link OllamaEndpointPool} (sem chamar o Ollama): UP com ao menos um
+     * servidor saudável, DOWN com todos ejetados e DISABLED com
+     * ollama.enabled=false. DISABLED responde 200: sem Ollama o serviço usa o
+     * mock de propósito (staging) e não está fora do ar.</p>
      */
     @GetMapping("/health")
     @Operation(summary = "Health check da IA", description = "Verifica se o Ollama está respondendo")
-    public ResponseEntity<String> healthCheck() {
-        // Retorna status simples - verificação real do Ollama requer integração
-        return ResponseEntity.ok("Ollama service is available");
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ao menos um servidor Ollama saudável, ou Ollama desabilitado"),
+        @ApiResponse(responseCode = "503", description = "Nenhum servidor Ollama saudável")
+    })
+    public ResponseEntity<HealthResponse> healthCheck() {
+        List<EndpointHealth> endpoints = ollamaEndpointPool.getEndpoints().stream()
+            .map(endpoint -> new EndpointHealth(endpoint.getBaseUrl(), endpoint.isHealthy(),
+                endpoint.getOutstanding(), endpoint.getLastProbeAt()))
+            .toList();
+        if (endpoints.isEmpty()) {
+            return ResponseEntity.ok(new HealthResponse("DISABLED", endpoints));
+        }
+        if (!ollamaEndpointPool.isAvailable()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new HealthResponse("DOWN", endpoints));
+        }
+        return ResponseEntity.ok(new HealthResponse("UP", endpoints));
+    }
+
+    /**
+     * Converte os callbacks do modelo em eventos SSE.
+     * 
+     * <p>Se o cliente desconectar, os tokens seguintes são descartados.</p>
+     */
+    private static final class SseTokenHandler implements StreamingResponseHandler<AiMessage> {
+
+        private final Long studentId;
+        private final SseEmitter emitter;
+        private volatile boolean closed;
+
+        private SseTokenHandler(Long studentId, SseEmitter emitter) {
+            this.studentId = studentId;
+            this.emitter = emitter;
+            emitter.onCompletion(() -> closed = true);
+            emitter.onTimeout(() -> closed = true);
+            emitter.onError(error -> closed = true);
+        }
+
+        @Override
+        public void onNext(String token) {
+            send(SseEmitter.event().name("token").data(new TokenEvent(token), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void onComplete(Response<AiMessage> response) {
+            String recommendations = response.content().text();
+            if (send(SseEmitter.event().name("done")
+                    .data(new RecommendationResponse(studentId, recommendations), MediaType.APPLICATION_JSON))) {
+                emitter.complete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            log.error("Streaming de recomendações falhou para estudante ID {}: {}", studentId, error.getMessage());
+            if (send(SseEmitter.event().name("error").data("Recommendation generation failed"))) {
+                emitter.complete();
+            }
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return false;
+            }
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                log.debug("Cliente desconectou do streaming do estudante ID {}", studentId);
+                return false;
+            }
+        }
     }
 
     // ========== DTOs internos ==========
 
     /**
      * Response DTO para recomendações.
+     * 
+     * <p>{@code generatedAt} é o momento em que o LLM gerou o texto e
+     * {@code stale} indica que o perfil do estudante mudou depois disso (a
+     * regeneração está pendente).</p>
      */
     public record RecommendationResponse(
         Long studentId,
-        String recommendations
+        String recommendations,
+        LocalDateTime generatedAt,
+        boolean stale
+    ) {
+
+        /**
+         * Recomendação gerada agora.
+         */
+        public RecommendationResponse(Long studentId, String recommendations) {
+            this(studentId, recommendations, LocalDateTime.now(), false);
+        }
+    }
+
+    /**
+     * Evento SSE com um trecho da resposta.
+     */
+    public record TokenEvent(
+        String token
+    ) {}
+
+    /**
+     * Situação dos servidores Ollama.
+     */
+    public record HealthResponse(
+        String status,
+        List<EndpointHealth> endpoints
+    ) {}
+
+    /**
+     * Último health probe de um servidor Ollama.
+     */
+    public record EndpointHealth(
+        String baseUrl,
+        boolean healthy,
+        int outstanding,
+        Instant lastProbeAt
     ) {}
 
     /**
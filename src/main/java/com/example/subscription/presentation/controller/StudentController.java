@@ -1,15 +1,22 @@
 package com.example.subscription.presentation.controller;
 
 import com.example.subscription.application.dto.StudentDTO;
+import com.example.subscription.application.dto.StudentPageDTO;
 import com.example.subscription.application.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -24,10 +31,19 @@ import java.util.List;
  * 
  * <h2>Endpoints:</h2>
  * <ul>
- *   <li>GET /students - Lista todos os estudantes</li>
+ *   <li>GET /students - Lista todos os estudantes (compatível com clientes antigos)</li>
+ *   <li>GET /students?after={id}&limit={n} - Lista estudantes paginados por cursor</li>
+ *   <li>GET /students/stream - Exporta todos os estudantes em NDJSON (streaming)</li>
  *   <li>GET /students/{id} - Busca estudante por ID</li>
  * </ul>
  * 
+ * <h2>Paginação por cursor:</h2>
+ * <p>A resposta é uma lista JSON; quando houver próxima página, o header
+ * {@value #NEXT_CURSOR_HEADER} traz o valor a ser enviado em {@code after}.
+ * A paginação só é aplicada quando {@code after} ou {@code limit} é
+ * informado ({@code limit} padrão {@value #DEFAULT_PAGE_LIMIT}); sem nenhum
+ * dos dois a lista completa é retornada, como antes.</p>
+ * 
  * @author Rickelme
  * @see StudentService Service layer que processa a lógica
  */
@@ -37,19 +53,53 @@ import java.util.List;
 @Tag(name = "Students", description = "Endpoints para gerenciamento de estudantes")
 public class StudentController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int DEFAULT_PAGE_LIMIT = 100;
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ObjectMapper objectMapper) {
         this.studentService = studentService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    @Operation(summary = "Listar estudantes", description = "Retorna todos os estudantes cadastrados")
+    @Operation(summary = "Listar estudantes",
+            description = "Retorna todos os estudantes ou, com after/limit, uma página (paginação por cursor)")
     @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
-    public ResponseEntity<List<StudentDTO>> getStudents() {
-        List<StudentDTO> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<List<StudentDTO>> getStudents(
+            @Parameter(description = "ID do último estudante da página anterior")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamanho da página (padrão " + DEFAULT_PAGE_LIMIT + " quando after é informado)")
+            @RequestParam(required = false) Integer limit) {
+        
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(studentService.getAllStudents());
+        }
+        StudentPageDTO page = studentService.getStudentsPage(after, limit != null ? limit : DEFAULT_PAGE_LIMIT);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getStudents());
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar estudantes", description = "Transmite todos os estudantes em NDJSON, um por linha")
+    @ApiResponse(responseCode = "200", description = "Streaming iniciado")
+    public ResponseEntity<StreamingResponseBody> streamStudents() {
+        StreamingResponseBody body = out -> studentService.streamAllStudents(student -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(student));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
     }
     
     @GetMapping("/{id}")
@@ -2,7 +2,12 @@ package com.example.subscription.application.service;
 
 import com.example.subscription.domain.entity.Student;
 import com.example.subscription.infrastructure.repository.StudentRepository;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,10 +16,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -34,6 +47,9 @@ import static org.mockito.Mockito.*;
  *   <li>Tratamento de estudante não encontrado</li>
  *   <li>Construção correta de prompts</li>
  *   <li>Integração com ChatLanguageModel (mockado)</li>
+ *   <li>Streaming de tokens com StreamingChatLanguageModel (mockado)</li>
+ *   <li>Cache de respostas por prompt e invalidação por mudança de perfil</li>
+ *   <li>Uma chamada ao LLM para prompts idênticos simultâneos</li>
  * </ul>
  */
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +62,18 @@ class CourseRecommendationServiceTest {
     @Mock
     private ChatLanguageModel chatLanguageModel;
 
+    @Mock
+    private StreamingChatLanguageModel streamingChatLanguageModel;
+
+    @Mock
+    private RecommendationCache recommendationCache;
+
+    @Spy
+    private PromptCoalescer promptCoalescer = new PromptCoalescer(false, new SimpleMeterRegistry());
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private CourseRecommendationService recommendationService;
 
@@ -81,6 +109,22 @@ class CourseRecommendationServiceTest {
             assertThat(result).isEqualTo(expectedRecommendation);
             verify(studentRepository).findById(1L);
             verify(chatLanguageModel).generate(anyString());
+            assertThat(meterRegistry.get("recommendation.llm.generate")
+                .tags("operation", "recommend", "outcome", "success").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should record failed LLM call")
+        void shouldRecordFailedLlmCall() {
+            // Given
+            when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+            when(chatLanguageModel.generate(anyString())).thenThrow(new RuntimeException("Ollama offline"));
+
+            // When / Then
+            assertThatThrownBy(() -> recommendationService.recommendCoursesForStudent(1L))
+                .hasMessage("Ollama offline");
+            assertThat(meterRegistry.get("recommendation.llm.generate")
+                .tags("operation", "recommend", "outcome", "error").timer().count()).isEqualTo(1);
         }
 
         @Test
@@ -357,5 +401,261 @@ class CourseRecommendationServiceTest {
             verify(chatLanguageModel, never()).generate(anyString());
         }
     }
-}
 
+    @Nested
+    @DisplayName("streamRecommendations")
+    class StreamRecommendations {
+
+        /**
+         * Handler que só acumula os callbacks.
+         */
+        private final List<String> tokens = new ArrayList<>();
+        private final List<Response<AiMessage>> completions = new ArrayList<>();
+        private final List<Throwable> errors = new ArrayList<>();
+        private final StreamingResponseHandler<AiMessage> handler = new StreamingResponseHandler<>() {
+            @Override
+            public void onNext(String token) {
+                tokens.add(token);
+            }
+
+            @Override
+            public void onComplete(Response<AiMessage> response) {
+                completions.add(response);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                errors.add(error);
+            }
+        };
+
+        @SuppressWarnings("unchecked")
+        private void streamTokens(String... parts) {
+            doAnswer(invocation -> {
+                StreamingResponseHandler<AiMessage> modelHandler = invocation.getArgument(1);
+                for (String part : parts) {
+                    modelHandler.onNext(part);
+                }
+                modelHandler.onComplete(Response.from(AiMessage.from(String.join("", parts))));
+                return null;
+            }).when(streamingChatLanguageModel).generate(anyString(), any(StreamingResponseHandler.class));
+        }
+
+        @Test
+        @DisplayName("Should forward each token and the final response")
+        void shouldForwardTokens() {
+            // Given
+            when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+            streamTokens("1. Java", " Avançado");
+
+            // When
+            recommendationService.streamRecommendations(1L, null, handler);
+
+            // Then
+            assertThat(tokens).containsExactly("1. Java", " Avançado");
+            assertThat(completions).singleElement()
+                    .satisfies(response -> assertThat(response.content().text()).isEqualTo("1. Java Avançado"));
+            assertThat(meterRegistry.get("recommendation.llm.first-token").tag("operation", "recommend").timer().count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("recommendation.llm.stream").tag("outcome", "success").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should use the contextual prompt when a context is given")
+        @SuppressWarnings("unchecked")
+        void shouldUseContextualPrompt() {
+            // Given
+            when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+            streamTokens("ok");
+            ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+
+            // When
+            recommendationService.streamRecommendations(1L, "Backend com Java", handler);
+
+            // Then
+            verify(streamingChatLanguageModel).generate(prompt.capture(), any(StreamingResponseHandler.class));
+            assertThat(prompt.getValue()).contains("Backend com Java");
+            assertThat(meterRegistry.get("recommendation.llm.stream").tag("operation", "contextual").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should forward model errors and record the error outcome")
+        @SuppressWarnings("unchecked")
+        void shouldForwardErrors() {
+            // Given
+            when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+            RuntimeException failure = new RuntimeException("Ollama offline");
+            doAnswer(invocation -> {
+                invocation.<StreamingResponseHandler<AiMessage>>getArgument(1).onError(failure);
+                return null;
+            }).when(streamingChatLanguageModel).generate(anyString(), any(StreamingResponseHandler.class));
+
+            // When
+            recommendationService.streamRecommendations(1L, null, handler);
+
+            // Then
+            assertThat(errors).containsExactly(failure);
+            assertThat(tokens).isEmpty();
+            assertThat(meterRegistry.get("recommendation.llm.stream").tag("outcome", "error").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should fail before streaming when student not found")
+        void shouldFailBeforeStreamingWhenStudentNotFound() {
+            // Given
+            when(studentRepository.findById(999L)).thenReturn(Optional.empty());
+
+            // When / Then
+            assertThatThrownBy(() -> recommendationService.streamRecommendations(999L, null, handler))
+                    .isInstanceOf(NoSuchElementException.class);
+            verifyNoInteractions(streamingChatLanguageModel);
+        }
+    }
+
+    @Nested
+    @DisplayName("Recommendation Cache")
+    class RecommendationCaching {
+
+        private CourseRecommendationService cachedService;
+
+        @BeforeEach
+        void setUp() {
+            RecommendationCache cache = new RecommendationCache(true, 100, 60, "llama3:8b", 0.7, meterRegistry);
+            cachedService = new CourseRecommendationService(studentRepository, chatLanguageModel,
+                    streamingChatLanguageModel, cache, new PromptCoalescer(true, meterRegistry), meterRegistry);
+            when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        }
+
+        @Test
+        @DisplayName("Should call the LLM once for repeated requests with the same profile")
+        void shouldServeRepeatedRequestsFromCache() {
+            // Given
+            when(chatLanguageModel.generate(anyString())).thenReturn("1. Java");
+
+            // When
+            String first = cachedService.recommendCoursesForStudent(1L);
+            String second = cachedService.recommendCoursesForStudent(1L);
+
+            // Then
+            assertThat(second).isEqualTo(first).isEqualTo("1. Java");
+            verify(chatLanguageModel, times(1)).generate(anyString());
+        }
+
+        @Test
+        @DisplayName("Should call the LLM again after the student profile changes")
+        void shouldMissAfterProfileChange() {
+            // Given
+            when(chatLanguageModel.generate(anyString())).thenReturn("1. Java", "1. Kotlin");
+            cachedService.recommendCoursesForStudent(1L);
+
+            // When
+            testStudent.completeCourse(9.0);
+            String afterChange = cachedService.recommendCoursesForStudent(1L);
+
+            // Then
+            assertThat(afterChange).isEqualTo("1. Kotlin");
+            verify(chatLanguageModel, times(2)).generate(anyString());
+        }
+
+        @Test
+        @DisplayName("Should keep contextual prompts apart from the basic prompt")
+        void shouldKeyContextualPromptsSeparately() {
+            // Given
+            when(chatLanguageModel.generate(anyString())).thenReturn("basic", "backend");
+
+            // When
+            cachedService.recommendCoursesForStudent(1L);
+            String contextual = cachedService.recommendCoursesWithContext(1L, "backend");
+
+            // Then
+            assertThat(contextual).isEqualTo("backend");
+            assertThat(cachedService.recommendCoursesWithContext(1L, "backend")).isEqualTo("backend");
+            verify(chatLanguageModel, times(2)).generate(anyString());
+        }
+
+        @Test
+        @DisplayName("Should not cache failed generations")
+        void shouldNotCacheFailures() {
+            // Given
+            when(chatLanguageModel.generate(anyString()))
+                    .thenThrow(new RuntimeException("Ollama offline"))
+                    .thenReturn("1. Java");
+
+            // When
+            assertThatThrownBy(() -> cachedService.recommendCoursesForStudent(1L)).isInstanceOf(RuntimeException.class);
+
+            // Then
+            assertThat(cachedService.recommendCoursesForStudent(1L)).isEqualTo("1. Java");
+        }
+
+        @Test
+        @DisplayName("Should send concurrent identical prompts to the LLM once")
+        void shouldCoalesceConcurrentIdenticalPrompts() throws Exception {
+            // Given
+            CountDownLatch release = new CountDownLatch(1);
+            when(chatLanguageModel.generate(anyString())).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return "1. Java";
+            });
+            ExecutorService dashboard = Executors.newFixedThreadPool(5);
+            try {
+                List<Future<String>> pages = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    pages.add(dashboard.submit(() -> cachedService.recommendCoursesForStudent(1L)));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (meterRegistry.counter("recommendation.llm.coalesced").count() < 4 && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+
+                // When
+                release.countDown();
+
+                // Then
+                for (Future<String> page : pages) {
+                    assertThat(page.get(5, TimeUnit.SECONDS)).isEqualTo("1. Java");
+                }
+                verify(chatLanguageModel, times(1)).generate(anyString());
+            } finally {
+                release.countDown();
+                dashboard.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should share entries between the blocking and streaming paths")
+        void shouldServeStreamingFromCache() {
+            // Given
+            when(chatLanguageModel.generate(anyString())).thenReturn("1. Java");
+            cachedService.recommendCoursesForStudent(1L);
+            List<String> tokens = new ArrayList<>();
+            List<Response<AiMessage>> completions = new ArrayList<>();
+
+            // When
+            cachedService.streamRecommendations(1L, null, new StreamingResponseHandler<>() {
+                @Override
+                public void onNext(String token) {
+                    tokens.add(token);
+                }
+
+                @Override
+                public void onComplete(Response<AiMessage> response) {
+                    completions.add(response);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    throw new AssertionError(error);
+                }
+            });
+
+            // Then
+            assertThat(tokens).containsExactly("1. Java");
+            assertThat(completions).hasSize(1);
+            verifyNoInteractions(streamingChatLanguageModel);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.strategy.CreditStrategyFactory;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.domain.strategy.PremiumCreditStrategy;
+import com.example.subscription.domain.strategy.StandardCreditStrategy;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Credit Strategy Resolver Tests")
+class CreditStrategyResolverTest {
+
+    @Mock
+    private StudentRepository repository;
+
+    private CreditStrategyResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        CreditStrategyFactory factory = new CreditStrategyFactory(
+            new StandardCreditStrategy(), new PremiumCreditStrategy(), false);
+        resolver = new CreditStrategyResolver(repository, factory, 1000, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should query the plan once and serve later lookups from memory")
+    void shouldCachePlanAfterFirstLookup() {
+        when(repository.findCreditStrategyById(1L)).thenReturn(Optional.of(StrategyType.PREMIUM));
+
+        assertThat(resolver.resolve(1L)).isInstanceOf(PremiumCreditStrategy.class);
+        assertThat(resolver.resolve(1L)).isInstanceOf(PremiumCreditStrategy.class);
+        assertThat(resolver.resolveType(1L)).isEqualTo(StrategyType.PREMIUM);
+
+        verify(repository, times(1)).findCreditStrategyById(1L);
+    }
+
+    @Test
+    @DisplayName("Should resolve loaded entity without querying")
+    void shouldResolveEntityWithoutQuery() {
+        Student student = new Student("Ana");
+        student.changeCreditStrategy(StrategyType.PREMIUM);
+
+        assertThat(resolver.resolve(student)).isInstanceOf(PremiumCreditStrategy.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should throw when student does not exist")
+    void shouldThrowWhenStudentNotFound() {
+        when(repository.findCreditStrategyById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> resolver.resolve(99L))
+            .isInstanceOf(NoSuchElementException.class)
+            .hasMessageContaining("99");
+    }
+
+    @Test
+    @DisplayName("Should reload plan after eviction")
+    void shouldReloadAfterEvict() {
+        when(repository.findCreditStrategyById(1L))
+            .thenReturn(Optional.of(StrategyType.STANDARD))
+            .thenReturn(Optional.of(StrategyType.PREMIUM));
+
+        assertThat(resolver.resolveType(1L)).isEqualTo(StrategyType.STANDARD);
+        resolver.evict(1L);
+
+        assertThat(resolver.resolveType(1L)).isEqualTo(StrategyType.PREMIUM);
+    }
+
+    @Test
+    @DisplayName("Should evict again after commit")
+    void shouldEvictAgainAfterCommit() {
+        when(repository.findCreditStrategyById(1L))
+            .thenReturn(Optional.of(StrategyType.STANDARD))
+            .thenReturn(Optional.of(StrategyType.PREMIUM));
+        TransactionSynchronizationManager.initSynchronization();
+
+        resolver.evict(1L);
+        // Leitor concorrente recarrega o plano antigo antes do commit
+        assertThat(resolver.resolveType(1L)).isEqualTo(StrategyType.STANDARD);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(resolver.resolveType(1L)).isEqualTo(StrategyType.PREMIUM);
+        verify(repository, times(2)).findCreditStrategyById(1L);
+    }
+}
@@ -1,24 +1,42 @@
 package com.example.subscription.application.service;
 
+import com.example.subscription.application.dto.CourseCompletionBatchRequestDTO;
 import com.example.subscription.application.dto.CourseCompletionRequestDTO;
+import com.example.subscription.application.dto.CourseCompletionResultDTO;
+import com.example.subscription.application.dto.CreditAdjustmentRequestDTO;
 import com.example.subscription.application.dto.StudentDTO;
 import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.strategy.CreditRuleEngine;
+import com.example.subscription.domain.strategy.CreditRules;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.domain.strategy.PremiumCreditStrategy;
+import com.example.subscription.domain.strategy.StandardCreditStrategy;
 import com.example.subscription.domain.event.CourseCompletedEvent;
 import com.example.subscription.infrastructure.messaging.GamificationEventPublisher;
+import com.example.subscription.infrastructure.repository.StudentJdbcRepository;
 import com.example.subscription.infrastructure.repository.StudentRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,6 +47,7 @@ import static org.mockito.Mockito.*;
  * <ul>
  *   <li><b>StudentRepository</b>: Isola da persistência</li>
  *   <li><b>GamificationEventPublisher</b>: Isola do RabbitMQ</li>
+ *   <li><b>OptimisticRetryExecutor</b>: Executa a ação diretamente (sem banco nem retry)</li>
  * </ul>
  */
 @ExtendWith(MockitoExtension.class)
@@ -38,12 +57,37 @@ class GamificationServiceTest {
     @Mock
     private StudentRepository repository;
 
+    @Mock
+    private StudentJdbcRepository jdbcRepository;
+
+    @Mock
+    private CreditStrategyResolver strategyResolver;
+
+    @Spy
+    private CreditRuleEngine ruleEngine = new CreditRuleEngine();
+
     @Mock
     private GamificationEventPublisher eventPublisher;
 
+    @Mock
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Mock
+    private StudentCacheInvalidator cacheInvalidator;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private GamificationService service;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(retryExecutor.execute(anyString(), any()))
+            .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        lenient().when(strategyResolver.resolve(any(Student.class))).thenReturn(new StandardCreditStrategy());
+    }
+
     @Test
     @DisplayName("Should complete course and award credits when average > 7.0")
     void shouldAwardCreditsForPassingGrade() {
@@ -61,6 +105,8 @@ class GamificationServiceTest {
         assertThat(result.getCredits()).isEqualTo(5); // 2 + 3
         assertThat(result.getCompletedCourses()).isEqualTo(1);
         verify(repository, times(1)).findById(1L);
+        assertThat(meterRegistry.get("gamification.completion")
+            .tags("mode", "entity", "outcome", "success").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -151,6 +197,8 @@ class GamificationServiceTest {
             
         // Verifica que o findById foi chamado
         verify(repository, times(1)).findById(999L);
+        assertThat(meterRegistry.get("gamification.completion")
+            .tags("mode", "entity", "outcome", "error").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -194,6 +242,22 @@ class GamificationServiceTest {
         verify(eventPublisher, times(1)).publishCourseCompleted(any(CourseCompletedEvent.class));
     }
 
+    @Test
+    @DisplayName("Should invalidate cached student when course is completed")
+    void shouldInvalidateCacheWhenCourseCompleted() {
+        // Given
+        when(repository.findById(1L)).thenReturn(Optional.of(new Student("Eva", 0)));
+
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(8.0);
+
+        // When
+        service.completeCourse(1L, request);
+
+        // Then
+        verify(cacheInvalidator).evict(1L);
+    }
+
     @Test
     @DisplayName("Should publish event with correct data")
     void shouldPublishEventWithCorrectData() {
@@ -218,4 +282,311 @@ class GamificationServiceTest {
         assertThat(capturedEvent.courseAverage()).isEqualTo(9.5);
         assertThat(capturedEvent.passed()).isTrue(); // 9.5 > 7.0
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should use the configured passing threshold for the event")
+    void shouldUseConfiguredPassingThreshold() {
+        // Given
+        Properties rules = new Properties();
+        rules.setProperty("passing-grade-threshold", "9.0");
+        rules.setProperty("tiers.STANDARD", "9.01=3");
+        rules.setProperty("tiers.PREMIUM", "9.01=5");
+        ruleEngine.swap(CreditRules.parse("test", rules));
+        when(repository.findById(42L)).thenReturn(Optional.of(studentWithId("Frank", 5, 42L)));
+
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(8.5);
+
+        // When
+        service.completeCourse(42L, request);
+
+        // Then
+        var captor = org.mockito.ArgumentCaptor.forClass(CourseCompletedEvent.class);
+        verify(eventPublisher).publishCourseCompleted(captor.capture());
+        assertThat(captor.getValue().passed()).isFalse();
+    }
+
+    // ========== CONCLUSÃO EM LOTE ==========
+
+    private Student studentWithId(String name, int credits, Long id) {
+        Student student = new Student(name, credits);
+        student.setId(id);
+        return student;
+    }
+
+    @Test
+    @DisplayName("Should complete batch loading students with a single IN query")
+    @SuppressWarnings("unchecked")
+    void shouldCompleteBatchWithSingleQuery() {
+        // Given
+        Student ana = studentWithId("Ana", 0, 1L);
+        Student bob = studentWithId("Bob", 2, 2L);
+        when(repository.findAllById(any())).thenReturn(List.of(ana, bob));
+
+        List<CourseCompletionBatchRequestDTO.Item> items = List.of(
+            new CourseCompletionBatchRequestDTO.Item(1L, 8.0),
+            new CourseCompletionBatchRequestDTO.Item(2L, 5.0),
+            new CourseCompletionBatchRequestDTO.Item(1L, 9.0)
+        );
+
+        // When
+        List<CourseCompletionResultDTO> results = service.completeCourses(items);
+
+        // Then
+        assertThat(results).extracting(CourseCompletionResultDTO::getStatus)
+            .containsOnly(CourseCompletionResultDTO.Status.COMPLETED);
+        assertThat(results).extracting(CourseCompletionResultDTO::getStudentId).containsExactly(1L, 2L, 1L);
+        assertThat(ana.getCompletedCourses()).isEqualTo(2);
+        assertThat(ana.getCredits()).isEqualTo(6);
+        assertThat(bob.getCredits()).isEqualTo(2);
+        verify(repository, times(1)).findAllById(any());
+        verify(repository, never()).findById(any());
+
+        var captor = org.mockito.ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publishCourseCompletedBatch(captor.capture());
+        assertThat(captor.getValue()).hasSize(3);
+        verify(cacheInvalidator).evict(java.util.Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should report invalid average and missing student per item")
+    void shouldReportPerItemFailures() {
+        // Given
+        Student ana = studentWithId("Ana", 0, 1L);
+        when(repository.findAllById(any())).thenReturn(List.of(ana));
+
+        List<CourseCompletionBatchRequestDTO.Item> items = List.of(
+            new CourseCompletionBatchRequestDTO.Item(1L, 11.0),
+            new CourseCompletionBatchRequestDTO.Item(99L, 8.0),
+            new CourseCompletionBatchRequestDTO.Item(1L, 8.0)
+        );
+
+        // When
+        List<CourseCompletionResultDTO> results = service.completeCourses(items);
+
+        // Then
+        assertThat(results).extracting(CourseCompletionResultDTO::getStatus).containsExactly(
+            CourseCompletionResultDTO.Status.INVALID_AVERAGE,
+            CourseCompletionResultDTO.Status.NOT_FOUND,
+            CourseCompletionResultDTO.Status.COMPLETED
+        );
+        assertThat(results.get(0).getMessage()).isEqualTo("Average must be a value between 0.0 and 10.0.");
+        assertThat(results.get(1).getMessage()).isEqualTo("Student not found: 99");
+        assertThat(results.get(2).getStudent().getCredits()).isEqualTo(3);
+        assertThat(ana.getCompletedCourses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should split batch into chunks, one transaction each")
+    void shouldSplitBatchIntoChunks() {
+        // Given
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+        when(repository.findAllById(any())).thenReturn(List.of());
+
+        List<CourseCompletionBatchRequestDTO.Item> items = List.of(
+            new CourseCompletionBatchRequestDTO.Item(1L, 8.0),
+            new CourseCompletionBatchRequestDTO.Item(2L, 8.0),
+            new CourseCompletionBatchRequestDTO.Item(3L, 8.0),
+            new CourseCompletionBatchRequestDTO.Item(4L, 8.0),
+            new CourseCompletionBatchRequestDTO.Item(5L, 8.0)
+        );
+
+        // When
+        List<CourseCompletionResultDTO> results = service.completeCourses(items);
+
+        // Then
+        assertThat(results).hasSize(5);
+        verify(retryExecutor, times(3)).execute(eq("completeCourses"), any());
+        verify(repository, times(3)).findAllById(any());
+        verify(eventPublisher, times(3)).publishCourseCompletedBatch(List.of());
+    }
+
+    // ========== CAMINHO ATÔMICO ==========
+
+    @Test
+    @DisplayName("Should complete course with a single atomic UPDATE when enabled")
+    void shouldCompleteCourseAtomically() {
+        // Given
+        ReflectionTestUtils.setField(service, "atomicCompletionEnabled", true);
+        when(strategyResolver.resolve(1L)).thenReturn(new StandardCreditStrategy());
+        Student updated = studentWithId("Ana", 5, 1L);
+        updated.completeCourse(5.0);
+        when(jdbcRepository.incrementCompletion(1L, 3)).thenReturn(Optional.of(updated));
+
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(8.5);
+
+        // When
+        StudentDTO result = service.completeCourse(1L, request);
+
+        // Then
+        assertThat(result.getCredits()).isEqualTo(5);
+        assertThat(result.getCompletedCourses()).isEqualTo(1);
+        verify(jdbcRepository).incrementCompletion(1L, 3);
+        verify(repository, never()).findById(any());
+        verify(eventPublisher).publishCourseCompleted(any());
+    }
+
+    @Test
+    @DisplayName("Should use zero credit delta for failing grade on atomic path")
+    void shouldUseZeroDeltaForFailingGradeAtomically() {
+        // Given
+        ReflectionTestUtils.setField(service, "atomicCompletionEnabled", true);
+        when(strategyResolver.resolve(1L)).thenReturn(new StandardCreditStrategy());
+        when(jdbcRepository.incrementCompletion(1L, 0)).thenReturn(Optional.of(studentWithId("Bob", 0, 1L)));
+
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(7.0);
+
+        // When
+        service.completeCourse(1L, request);
+
+        // Then
+        verify(jdbcRepository).incrementCompletion(1L, 0);
+    }
+
+    @Test
+    @DisplayName("Should throw when student not found on atomic path")
+    void shouldThrowWhenStudentNotFoundAtomically() {
+        // Given
+        ReflectionTestUtils.setField(service, "atomicCompletionEnabled", true);
+        when(strategyResolver.resolve(99L)).thenReturn(new StandardCreditStrategy());
+        when(jdbcRepository.incrementCompletion(99L, 3)).thenReturn(Optional.empty());
+
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(9.0);
+
+        // When / Then
+        assertThatThrownBy(() -> service.completeCourse(99L, request))
+            .isInstanceOf(NoSuchElementException.class)
+            .hasMessageContaining("99");
+        verify(eventPublisher, never()).publishCourseCompleted(any());
+    }
+
+    // ========== PLANO DE CRÉDITOS ==========
+
+    @Test
+    @DisplayName("Should apply the student's credit strategy on entity path")
+    void shouldApplyStudentStrategyOnEntityPath() {
+        // Given
+        Student student = new Student("Ana", 0);
+        student.changeCreditStrategy(StrategyType.PREMIUM);
+        when(repository.findById(1L)).thenReturn(Optional.of(student));
+        when(strategyResolver.resolve(student)).thenReturn(new PremiumCreditStrategy());
+
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(9.5);
+
+        // When
+        StudentDTO result = service.completeCourse(1L, request);
+
+        // Then
+        assertThat(result.getCredits()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should apply the resolved credit strategy on atomic path")
+    void shouldApplyResolvedStrategyAtomically() {
+        // Given
+        ReflectionTestUtils.setField(service, "atomicCompletionEnabled", true);
+        when(strategyResolver.resolve(1L)).thenReturn(new PremiumCreditStrategy());
+        when(jdbcRepository.incrementCompletion(1L, 4)).thenReturn(Optional.of(studentWithId("Ana", 4, 1L)));
+
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(8.5);
+
+        // When
+        service.completeCourse(1L, request);
+
+        // Then
+        verify(jdbcRepository).incrementCompletion(1L, 4);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should change credit strategy and evict cached plan")
+    void shouldChangeCreditStrategy() {
+        // Given
+        Student student = new Student("Ana", 0);
+        when(repository.findById(1L)).thenReturn(Optional.of(student));
+
+        // When
+        service.changeCreditStrategy(1L, StrategyType.PREMIUM);
+
+        // Then
+        assertThat(student.getCreditStrategy()).isEqualTo(StrategyType.PREMIUM);
+        verify(retryExecutor).execute(eq("changeCreditStrategy"), any());
+        verify(strategyResolver).evict(1L);
+        verify(cacheInvalidator).evict(1L);
+    }
+
+    // ========== AJUSTE DE CRÉDITOS ==========
+
+    @Test
+    @DisplayName("Should add credits through retry executor")
+    void shouldAddCredits() {
+        // Given
+        when(repository.findById(1L)).thenReturn(Optional.of(new Student("Ana", 2)));
+
+        // When
+        StudentDTO result = service.addCredits(1L, new CreditAdjustmentRequestDTO(5));
+
+        // Then
+        assertThat(result.getCredits()).isEqualTo(7);
+        verify(retryExecutor).execute(eq("addCredits"), any());
+        verify(cacheInvalidator).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should deduct credits through retry executor")
+    void shouldDeductCredits() {
+        // Given
+        when(repository.findById(1L)).thenReturn(Optional.of(new Student("Ana", 10)));
+
+        // When
+        StudentDTO result = service.deductCredits(1L, new CreditAdjustmentRequestDTO(4));
+
+        // Then
+        assertThat(result.getCredits()).isEqualTo(6);
+        verify(retryExecutor).execute(eq("deductCredits"), any());
+        verify(cacheInvalidator).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject deduction above balance")
+    void shouldRejectDeductionAboveBalance() {
+        // Given
+        when(repository.findById(1L)).thenReturn(Optional.of(new Student("Ana", 1)));
+
+        // When / Then
+        assertThatThrownBy(() -> service.deductCredits(1L, new CreditAdjustmentRequestDTO(4)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Insufficient credits");
+    }
+
+    @Test
+    @DisplayName("Should throw when adjusting credits of unknown student")
+    void shouldThrowWhenAdjustingUnknownStudent() {
+        // Given
+        when(repository.findById(99L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> service.addCredits(99L, new CreditAdjustmentRequestDTO(1)))
+            .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("Should not publish event when retries are exhausted")
+    void shouldNotPublishWhenRetriesExhausted() {
+        // Given
+        doThrow(new org.springframework.orm.ObjectOptimisticLockingFailureException(Student.class, 1L))
+            .when(retryExecutor).execute(anyString(), any());
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(9.0);
+
+        // When / Then
+        assertThatThrownBy(() -> service.completeCourse(1L, request))
+            .isInstanceOf(org.springframework.dao.OptimisticLockingFailureException.class);
+        verify(eventPublisher, never()).publishCourseCompleted(any());
+    }
+}
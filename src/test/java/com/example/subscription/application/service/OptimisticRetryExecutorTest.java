@@ -0,0 +1,119 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.domain.entity.Student;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Teste UNITÁRIO do OptimisticRetryExecutor.
+ * O TransactionTemplate é mockado para executar o callback diretamente.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Optimistic Retry Executor Unit Tests")
+class OptimisticRetryExecutorTest {
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryExecutor executor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new OptimisticRetryExecutor(transactionTemplate, meterRegistry, 3, 1, 2);
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private double count(String name) {
+        var counter = meterRegistry.find(name).tag("operation", "op").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static OptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(Student.class, 1L);
+    }
+
+    @Test
+    @DisplayName("Should return result on first attempt without conflicts")
+    void shouldReturnOnFirstAttempt() {
+        // When
+        String result = executor.execute("op", () -> "ok");
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        verify(transactionTemplate, times(1)).execute(any());
+        assertThat(count("gamification.mutations")).isEqualTo(1);
+        assertThat(count("gamification.optimistic.conflicts")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should retry in a new transaction after a version conflict")
+    void shouldRetryAfterConflict() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String result = executor.execute("op", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw conflict();
+            }
+            return "ok";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        verify(transactionTemplate, times(3)).execute(any());
+        assertThat(count("gamification.optimistic.conflicts")).isEqualTo(2);
+        assertThat(count("gamification.optimistic.exhausted")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rethrow conflict when attempts are exhausted")
+    void shouldRethrowWhenExhausted() {
+        // When / Then
+        assertThatThrownBy(() -> executor.execute("op", () -> {
+            throw conflict();
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(transactionTemplate, times(3)).execute(any());
+        assertThat(count("gamification.optimistic.conflicts")).isEqualTo(3);
+        assertThat(count("gamification.optimistic.exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not retry on non-conflict exceptions")
+    void shouldNotRetryOnOtherExceptions() {
+        // When / Then
+        assertThatThrownBy(() -> executor.execute("op", () -> {
+            throw new IllegalArgumentException("invalid");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        verify(transactionTemplate, times(1)).execute(any());
+        assertThat(count("gamification.optimistic.conflicts")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject less than one attempt")
+    void shouldRejectInvalidMaxAttempts() {
+        assertThatThrownBy(() -> new OptimisticRetryExecutor(transactionTemplate, meterRegistry, 0, 1, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.subscription.application.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para o PromptCoalescer.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ */
+@DisplayName("PromptCoalescer Unit Tests - @Rickelme")
+class PromptCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PromptCoalescer coalescer = new PromptCoalescer(true, meterRegistry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    /**
+     * Chamada lenta que só termina quando o teste libera.
+     */
+    private Supplier<String> slowCall(String result) {
+        return () -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        };
+    }
+
+    private void awaitWaiters(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("recommendation.llm.coalesced").count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight call among concurrent callers with the same key")
+    void shouldShareInFlightCall() throws Exception {
+        // Given
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> coalescer.execute("prompt", slowCall("1. Java"))));
+        }
+        awaitWaiters(CALLERS - 1);
+        assertThat(meterRegistry.get("recommendation.llm.in-flight").gauge().value()).isEqualTo(1.0);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("1. Java");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("recommendation.llm.coalesced").count()).isEqualTo(CALLERS - 1);
+        DistributionSummary waiters = meterRegistry.get("recommendation.llm.waiters").summary();
+        assertThat(waiters.count()).isEqualTo(1);
+        assertThat(waiters.max()).isEqualTo(CALLERS - 1);
+        assertThat(meterRegistry.get("recommendation.llm.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run one call per distinct key")
+    void shouldRunOneCallPerDistinctKey() throws Exception {
+        // Given
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            String key = "prompt-" + (i % 2);
+            results.add(callers.submit(() -> coalescer.execute(key, slowCall(key))));
+        }
+        awaitWaiters(CALLERS - 2);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (int i = 0; i < CALLERS; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("prompt-" + (i % 2));
+        }
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader's failure to every waiter")
+    void shouldPropagateFailureToWaiters() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        Supplier<String> failing = () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Ollama offline");
+        };
+        Future<String> leader = callers.submit(() -> coalescer.execute("prompt", failing));
+        started.await(5, TimeUnit.SECONDS);
+        Future<String> waiter = callers.submit(() -> coalescer.execute("prompt", slowCall("unused")));
+        awaitWaiters(1);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (Future<String> result : List.of(leader, waiter)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("Ollama offline");
+        }
+        assertThat(calls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should call again once the previous call has finished")
+    void shouldNotCacheCompletedCalls() {
+        release.countDown();
+
+        coalescer.execute("prompt", slowCall("first"));
+
+        assertThat(coalescer.execute("prompt", slowCall("second"))).isEqualTo("second");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should execute every call directly when disabled")
+    void shouldBypassWhenDisabled() throws Exception {
+        // Given
+        PromptCoalescer disabled = new PromptCoalescer(false, new SimpleMeterRegistry());
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(callers.submit(() -> disabled.execute("prompt", slowCall("x"))));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // When
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("x");
+        }
+        assertThat(calls.get()).isEqualTo(3);
+    }
+}
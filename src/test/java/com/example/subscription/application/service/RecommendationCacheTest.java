@@ -0,0 +1,82 @@
+package com.example.subscription.application.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para o RecommendationCache.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ */
+@DisplayName("RecommendationCache Unit Tests - @Rickelme")
+class RecommendationCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RecommendationCache cache(boolean enabled, long expireAfterWriteSeconds, String model, double temperature) {
+        return new RecommendationCache(enabled, 100, expireAfterWriteSeconds, model, temperature, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should return the stored response for the same prompt")
+    void shouldReturnStoredResponse() {
+        RecommendationCache cache = cache(true, 60, "llama3:8b", 0.7);
+
+        cache.put("prompt A", "1. Java");
+
+        assertThat(cache.get("prompt A")).contains("1. Java");
+        assertThat(cache.get("prompt B")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should derive different keys for different prompts, models and temperatures")
+    void shouldKeyByPromptModelAndTemperature() {
+        String key = cache(true, 60, "llama3:8b", 0.7).key("prompt");
+
+        assertThat(key).hasSize(64).isEqualTo(cache(true, 60, "llama3:8b", 0.7).key("prompt"));
+        assertThat(cache(true, 60, "llama3:8b", 0.7).key("prompt 2")).isNotEqualTo(key);
+        assertThat(cache(true, 60, "mistral:7b", 0.7).key("prompt")).isNotEqualTo(key);
+        assertThat(cache(true, 60, "llama3:8b", 0.2).key("prompt")).isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("Should not store anything when disabled")
+    void shouldBypassWhenDisabled() {
+        RecommendationCache cache = cache(false, 60, "llama3:8b", 0.7);
+
+        cache.put("prompt", "1. Java");
+
+        assertThat(cache.get("prompt")).isEmpty();
+        assertThat(meterRegistry.find("cache.gets").meters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void shouldExpireAfterTtl() {
+        RecommendationCache cache = cache(true, 0, "llama3:8b", 0.7);
+
+        cache.put("prompt", "1. Java");
+
+        assertThat(cache.get("prompt")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should publish hit and miss counts for hit-rate dashboards")
+    void shouldPublishHitMissMetrics() {
+        RecommendationCache cache = cache(true, 60, "llama3:8b", 0.7);
+        cache.put("prompt", "1. Java");
+
+        cache.get("prompt");
+        cache.get("prompt");
+        cache.get("other");
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", RecommendationCache.NAME, "result", "hit")
+            .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", RecommendationCache.NAME, "result", "miss")
+            .functionCounter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.application.dto.RecommendationJobDTO;
+import com.example.subscription.application.dto.RecommendationJobDTO.Status;
+import com.example.subscription.infrastructure.llm.AdaptiveConcurrencyLimiter;
+import com.example.subscription.infrastructure.llm.LlmSaturatedException;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o RecommendationJobService.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ */
+@DisplayName("RecommendationJobService Unit Tests - @Rickelme")
+class RecommendationJobServiceTest {
+
+    private final CourseRecommendationService recommendationService = mock(CourseRecommendationService.class);
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch llmRelease = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor jobExecutor;
+    private RecommendationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobExecutor = new ThreadPoolTaskExecutor();
+        jobExecutor.setCorePoolSize(1);
+        jobExecutor.setMaxPoolSize(1);
+        jobExecutor.setQueueCapacity(1);
+        jobExecutor.initialize();
+        jobService = new RecommendationJobService(
+            recommendationService, studentRepository, jobExecutor, meterRegistry, 600, 7, 300, 10);
+        when(studentRepository.existsById(1L)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        llmRelease.countDown();
+        jobExecutor.shutdown();
+    }
+
+    private RecommendationJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        RecommendationJobDTO job = jobService.find(jobId).orElseThrow();
+        while ((job.getStatus() == Status.PENDING || job.getStatus() == Status.RUNNING) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = jobService.find(jobId).orElseThrow();
+        }
+        return job;
+    }
+
+    private void blockLlm() {
+        when(recommendationService.recommendCoursesForStudent(1L)).thenAnswer(invocation -> {
+            llmRelease.await(5, TimeUnit.SECONDS);
+            return "ok";
+        });
+    }
+
+    @Test
+    @DisplayName("Should accept a job as PENDING and store the recommendations when done")
+    void shouldCompleteJob() throws Exception {
+        // Given
+        when(recommendationService.recommendCoursesForStudent(1L)).thenReturn("1. Java Avançado");
+
+        // When
+        RecommendationJobDTO submitted = jobService.submit(1L, null);
+
+        // Then
+        assertThat(submitted.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(submitted.getJobId()).isNotBlank();
+        RecommendationJobDTO finished = awaitFinished(submitted.getJobId());
+        assertThat(finished.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(finished.getRecommendations()).isEqualTo("1. Java Avançado");
+        assertThat(finished.getCompletedAt()).isNotNull();
+        assertThat(meterRegistry.counter("recommendation.jobs", "outcome", "accepted").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("recommendation.jobs", "outcome", "completed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should use the contextual prompt when a context is given")
+    void shouldUseContextualPrompt() throws Exception {
+        // Given
+        when(recommendationService.recommendCoursesWithContext(1L, "backend")).thenReturn("Spring");
+
+        // When
+        RecommendationJobDTO finished = awaitFinished(jobService.submit(1L, "backend").getJobId());
+
+        // Then
+        assertThat(finished.getRecommendations()).isEqualTo("Spring");
+        verify(recommendationService).recommendCoursesWithContext(1L, "backend");
+    }
+
+    @Test
+    @DisplayName("Should reject jobs for unknown students without enqueuing")
+    void shouldRejectUnknownStudent() {
+        assertThatThrownBy(() -> jobService.submit(99L, null))
+            .isInstanceOf(NoSuchElementException.class)
+            .hasMessageContaining("99");
+        verifyNoInteractions(recommendationService);
+    }
+
+    @Test
+    @DisplayName("Should mark the job FAILED without exposing internal errors")
+    void shouldMarkJobFailed() throws Exception {
+        // Given
+        when(recommendationService.recommendCoursesForStudent(1L))
+            .thenThrow(new RuntimeException("connection refused: localhost:11434"));
+
+        // When
+        RecommendationJobDTO finished = awaitFinished(jobService.submit(1L, null).getJobId());
+
+        // Then
+        assertThat(finished.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(finished.getError()).isEqualTo("Recommendation generation failed");
+        assertThat(meterRegistry.counter("recommendation.jobs", "outcome", "failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the not-found message when the student disappears before the job runs")
+    void shouldReportStudentRemovedBeforeRun() throws Exception {
+        // Given
+        when(recommendationService.recommendCoursesForStudent(1L))
+            .thenThrow(new NoSuchElementException("Student not found: 1"));
+
+        // When
+        RecommendationJobDTO finished = awaitFinished(jobService.submit(1L, null).getJobId());
+
+        // Then
+        assertThat(finished.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(finished.getError()).isEqualTo("Student not found: 1");
+    }
+
+    @Test
+    @DisplayName("Should tell the client the LLM stayed saturated past the maximum wait")
+    void shouldReportSaturatedLlm() throws Exception {
+        // Given
+        when(recommendationService.recommendCoursesForStudent(1L))
+            .thenThrow(new LlmSaturatedException(4, 2));
+
+        // When
+        RecommendationJobDTO finished = awaitFinished(jobService.submit(1L, null).getJobId());
+
+        // Then
+        assertThat(finished.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(finished.getError()).isEqualTo("LLM is saturated (4 calls in flight)");
+        assertThat(meterRegistry.counter("recommendation.jobs.saturated").count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should complete a job submitted while the limiter is saturated once capacity frees")
+    void shouldWaitForLimiterCapacity() throws Exception {
+        // Given - limite 1 ocupado por uma requisição interativa
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            true, 1, 1, 1, 0.9, 30, 2, new SimpleMeterRegistry());
+        AdaptiveConcurrencyLimiter.Permit interactive = limiter.acquire();
+        when(recommendationService.recommendCoursesForStudent(1L)).thenAnswer(invocation -> {
+            limiter.acquire().release(Duration.ZERO);
+            return "1. Java Avançado";
+        });
+        RecommendationJobService waitingJobs = new RecommendationJobService(
+            recommendationService, studentRepository, jobExecutor, meterRegistry, 600, 7, 5000, 10);
+
+        // When
+        String jobId = waitingJobs.submit(1L, null).getJobId();
+        Thread.sleep(100);
+
+        // Then - aguardando vaga, não FAILED
+        assertThat(waitingJobs.find(jobId).orElseThrow().getStatus()).isEqualTo(Status.RUNNING);
+        assertThat(meterRegistry.counter("recommendation.jobs.saturated").count()).isPositive();
+
+        interactive.release(Duration.ZERO);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waitingJobs.find(jobId).orElseThrow().getStatus() == Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        RecommendationJobDTO finished = waitingJobs.find(jobId).orElseThrow();
+        assertThat(finished.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(finished.getRecommendations()).isEqualTo("1. Java Avançado");
+    }
+
+    @Test
+    @DisplayName("Should refuse jobs with 429 semantics when workers and queue are full")
+    void shouldRefuseWhenQueueIsFull() throws Exception {
+        // Given - 1 worker ocupado e 1 job na fila
+        blockLlm();
+        RecommendationJobDTO running = jobService.submit(1L, null);
+        RecommendationJobDTO queued = jobService.submit(1L, null);
+
+        // When / Then
+        assertThatThrownBy(() -> jobService.submit(1L, null))
+            .isInstanceOf(RecommendationQueueFullException.class)
+            .satisfies(e -> assertThat(((RecommendationQueueFullException) e).getRetryAfterSeconds()).isEqualTo(7));
+        assertThat(meterRegistry.counter("recommendation.jobs", "outcome", "rejected").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recommendation.jobs.queue").gauge().value()).isEqualTo(1.0);
+
+        llmRelease.countDown();
+        assertThat(awaitFinished(running.getJobId()).getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(awaitFinished(queued.getJobId()).getStatus()).isEqualTo(Status.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown job ids")
+    void shouldReturnEmptyForUnknownJob() {
+        assertThat(jobService.find("missing")).isEmpty();
+    }
+}
@@ -0,0 +1,393 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.infrastructure.llm.AdaptiveConcurrencyLimiter;
+import com.example.subscription.infrastructure.llm.LlmSaturatedException;
+import com.example.subscription.infrastructure.recommendation.PrecomputedRecommendation;
+import com.example.subscription.infrastructure.repository.PrecomputedRecommendationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o RecommendationPrecomputeService.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ */
+@DisplayName("RecommendationPrecomputeService Unit Tests - @Rickelme")
+class RecommendationPrecomputeServiceTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final CourseRecommendationService recommendationService = mock(CourseRecommendationService.class);
+    private final PrecomputedRecommendationRepository repository = mock(PrecomputedRecommendationRepository.class);
+    private final AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Long, PrecomputedRecommendation> rows = new ConcurrentHashMap<>();
+    private final CountDownLatch llmRelease = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor precomputeExecutor;
+    private RecommendationPrecomputeService precomputeService;
+
+    @BeforeEach
+    void setUp() {
+        precomputeExecutor = new ThreadPoolTaskExecutor();
+        precomputeExecutor.setCorePoolSize(1);
+        precomputeExecutor.setMaxPoolSize(1);
+        precomputeExecutor.setQueueCapacity(1);
+        precomputeExecutor.initialize();
+        precomputeService = service(true, true);
+        when(repository.findById(anyLong()))
+            .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+        when(repository.save(any(PrecomputedRecommendation.class))).thenAnswer(invocation -> {
+            PrecomputedRecommendation row = invocation.getArgument(0);
+            rows.put(row.getStudentId(), row);
+            return row;
+        });
+        when(repository.markStale(anyLong())).thenAnswer(invocation -> {
+            PrecomputedRecommendation row = rows.get(invocation.<Long>getArgument(0));
+            if (row == null) {
+                return 0;
+            }
+            rows.put(row.getStudentId(),
+                PrecomputedRecommendation.of(row.getStudentId(), row.getRecommendations(), row.getGeneratedAt(), true));
+            return 1;
+        });
+        when(repository.refresh(anyLong(), anyString(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            Long studentId = invocation.getArgument(0);
+            if (!rows.containsKey(studentId)) {
+                return 0;
+            }
+            rows.put(studentId, PrecomputedRecommendation.of(studentId, invocation.getArgument(1),
+                invocation.getArgument(2), false));
+            return 1;
+        });
+        when(limiter.hasIdleCapacity()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        llmRelease.countDown();
+        precomputeExecutor.shutdown();
+    }
+
+    private RecommendationPrecomputeService service(boolean enabled, boolean ollamaEnabled) {
+        return new RecommendationPrecomputeService(
+            recommendationService, repository, limiter, precomputeExecutor, meterRegistry, enabled, ollamaEnabled, 10);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("recommendation.precompute", "outcome", outcome).count();
+    }
+
+    private double reads(String result) {
+        return meterRegistry.counter("recommendation.precompute.reads", "result", result).count();
+    }
+
+    private void blockLlm(Long studentId) {
+        when(recommendationService.recommendCoursesForStudent(studentId)).thenAnswer(invocation -> {
+            llmRelease.await(5, TimeUnit.SECONDS);
+            return "nova";
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should serve a stored recommendation without calling the LLM")
+    void shouldServeStoredRecommendation() {
+        // Given
+        rows.put(1L, PrecomputedRecommendation.of(1L, "Spring Boot Avançado", GENERATED_AT, false));
+
+        // When
+        PrecomputedRecommendation recommendation = precomputeService.getRecommendation(1L);
+
+        // Then
+        assertThat(recommendation.getRecommendations()).isEqualTo("Spring Boot Avançado");
+        assertThat(recommendation.getGeneratedAt()).isEqualTo(GENERATED_AT);
+        assertThat(recommendation.isStale()).isFalse();
+        verifyNoInteractions(recommendationService);
+        assertThat(reads("fresh")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep serving a stale recommendation while regeneration is pending")
+    void shouldServeStaleRecommendation() {
+        // Given
+        rows.put(1L, PrecomputedRecommendation.of(1L, "antiga", GENERATED_AT, true));
+
+        // When
+        PrecomputedRecommendation recommendation = precomputeService.getRecommendation(1L);
+
+        // Then
+        assertThat(recommendation.isStale()).isTrue();
+        assertThat(recommendation.getRecommendations()).isEqualTo("antiga");
+        verifyNoInteractions(recommendationService);
+        assertThat(reads("stale")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should generate and store the recommendation on the first read")
+    void shouldGenerateOnMiss() {
+        // Given
+        when(recommendationService.recommendCoursesForStudent(1L)).thenReturn("primeira");
+
+        // When
+        PrecomputedRecommendation recommendation = precomputeService.getRecommendation(1L);
+
+        // Then
+        assertThat(recommendation.getRecommendations()).isEqualTo("primeira");
+        assertThat(recommendation.isStale()).isFalse();
+        assertThat(rows).containsKey(1L);
+        assertThat(reads("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should propagate unknown students on a miss without storing anything")
+    void shouldPropagateUnknownStudent() {
+        // Given
+        when(recommendationService.recommendCoursesForStudent(99L))
+            .thenThrow(new NoSuchElementException("Student not found: 99"));
+
+        // When/Then
+        assertThatThrownBy(() -> precomputeService.getRecommendation(99L))
+            .isInstanceOf(NoSuchElementException.class);
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should generate live and ignore events when disabled")
+    void shouldGenerateLiveWhenDisabled() {
+        // Given
+        RecommendationPrecomputeService disabled = service(false, true);
+        when(recommendationService.recommendCoursesForStudent(1L)).thenReturn("ao vivo");
+
+        // When
+        PrecomputedRecommendation recommendation = disabled.getRecommendation(1L);
+        disabled.onCourseCompleted(1L);
+
+        // Then
+        assertThat(recommendation.getRecommendations()).isEqualTo("ao vivo");
+        assertThat(recommendation.isStale()).isFalse();
+        verifyNoInteractions(repository);
+        verify(recommendationService, times(1)).recommendCoursesForStudent(1L);
+    }
+
+    @Test
+    @DisplayName("Should not store the mock answer when Ollama is disabled")
+    void shouldNotPersistWhenOllamaIsDisabled() {
+        // Given
+        RecommendationPrecomputeService withoutOllama = service(true, false);
+        when(recommendationService.recommendCoursesForStudent(1L)).thenReturn("Serviço de IA não disponível");
+
+        // When
+        PrecomputedRecommendation recommendation = withoutOllama.getRecommendation(1L);
+        withoutOllama.onCourseCompleted(1L);
+
+        // Then
+        assertThat(recommendation.getRecommendations()).isEqualTo("Serviço de IA não disponível");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should return the generated text when a concurrent first read stored the row first")
+    void shouldTolerateConcurrentFirstRead() {
+        // Given
+        when(recommendationService.recommendCoursesForStudent(1L)).thenReturn("primeira");
+        when(repository.save(any(PrecomputedRecommendation.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        PrecomputedRecommendation recommendation = precomputeService.getRecommendation(1L);
+
+        // Then
+        assertThat(recommendation.getRecommendations()).isEqualTo("primeira");
+        assertThat(recommendation.isStale()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should update the row a first read inserted while the worker was generating")
+    void shouldUpdateRowInsertedDuringRegeneration() throws Exception {
+        // Given - o insert do worker colide com a linha gravada pela primeira leitura
+        when(recommendationService.recommendCoursesForStudent(1L)).thenReturn("nova");
+        when(repository.save(any(PrecomputedRecommendation.class))).thenAnswer(invocation -> {
+            rows.put(1L, PrecomputedRecommendation.of(1L, "da leitura", GENERATED_AT, false));
+            throw new DataIntegrityViolationException("duplicate key");
+        });
+
+        // When
+        precomputeService.onCourseCompleted(1L);
+
+        // Then
+        await(() -> count("completed") == 1);
+        assertThat(rows.get(1L).getRecommendations()).isEqualTo("nova");
+    }
+
+    @Test
+    @DisplayName("Should wait for capacity instead of failing when the limiter fills up before the call")
+    void shouldRetryWhenLlmIsSaturated() throws Exception {
+        // Given - requisições interativas ocupam o limite entre a checagem e a chamada
+        rows.put(1L, PrecomputedRecommendation.of(1L, "antiga", GENERATED_AT, false));
+        when(recommendationService.recommendCoursesForStudent(1L))
+            .thenThrow(new LlmSaturatedException(4, 2))
+            .thenReturn("nova");
+
+        // When
+        precomputeService.onCourseCompleted(1L);
+
+        // Then
+        await(() -> count("completed") == 1);
+        assertThat(count("failed")).isZero();
+        assertThat(rows.get(1L).getRecommendations()).isEqualTo("nova");
+        assertThat(rows.get(1L).isStale()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should mark the row stale again when a completion arrives during regeneration")
+    void shouldRemarkStaleWhenCompletionArrivesDuringRegeneration() throws Exception {
+        // Given
+        rows.put(1L, PrecomputedRecommendation.of(1L, "antiga", GENERATED_AT, false));
+        blockLlm(1L);
+        precomputeService.onCourseCompleted(1L);
+        verify(recommendationService, timeout(5000)).recommendCoursesForStudent(1L);
+
+        // When - nova conclusão enquanto o LLM gera a partir do perfil anterior
+        precomputeService.onCourseCompleted(1L);
+        llmRelease.countDown();
+
+        // Then - duas conclusões e a remarcação após a gravação do primeiro worker;
+        // a segunda regeneração (agendada pela nova conclusão) deixa a linha atual
+        await(() -> count("completed") == 2);
+        verify(repository, times(3)).markStale(1L);
+        assertThat(rows.get(1L).isStale()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should mark the stored row stale and replace it with a fresh one")
+    void shouldMarkStaleAndRegenerate() throws Exception {
+        // Given
+        rows.put(1L, PrecomputedRecommendation.of(1L, "antiga", GENERATED_AT, false));
+        blockLlm(1L);
+
+        // When
+        precomputeService.onCourseCompleted(1L);
+
+        // Then - stale até a regeneração terminar
+        assertThat(precomputeService.getRecommendation(1L).isStale()).isTrue();
+        assertThat(precomputeService.getRecommendation(1L).getRecommendations()).isEqualTo("antiga");
+
+        llmRelease.countDown();
+        await(() -> !rows.get(1L).isStale());
+        assertThat(rows.get(1L).getRecommendations()).isEqualTo("nova");
+        assertThat(rows.get(1L).getGeneratedAt()).isAfter(GENERATED_AT);
+        assertThat(count("scheduled")).isEqualTo(1);
+        await(() -> count("completed") == 1);
+    }
+
+    @Test
+    @DisplayName("Should fold repeated completions still waiting in the queue into one regeneration")
+    void shouldDeduplicateQueuedCompletions() throws Exception {
+        // Given - o único worker está ocupado com o estudante 1
+        blockLlm(1L);
+        when(recommendationService.recommendCoursesForStudent(2L)).thenReturn("nova");
+        precomputeService.onCourseCompleted(1L);
+        verify(recommendationService, timeout(5000)).recommendCoursesForStudent(1L);
+
+        // When
+        precomputeService.onCourseCompleted(2L);
+        precomputeService.onCourseCompleted(2L);
+        precomputeService.onCourseCompleted(2L);
+
+        // Then
+        assertThat(count("deduplicated")).isEqualTo(2);
+        llmRelease.countDown();
+        await(() -> count("completed") == 2);
+        verify(recommendationService, times(1)).recommendCoursesForStudent(2L);
+    }
+
+    @Test
+    @DisplayName("Should leave the row stale when the queue is full")
+    void shouldDropWhenQueueIsFull() throws Exception {
+        // Given - worker ocupado e fila (capacidade 1) cheia
+        blockLlm(1L);
+        precomputeService.onCourseCompleted(1L);
+        verify(recommendationService, timeout(5000)).recommendCoursesForStudent(1L);
+        precomputeService.onCourseCompleted(2L);
+        rows.put(3L, PrecomputedRecommendation.of(3L, "antiga", GENERATED_AT, false));
+
+        // When
+        precomputeService.onCourseCompleted(3L);
+
+        // Then
+        assertThat(count("dropped")).isEqualTo(1);
+        assertThat(rows.get(3L).isStale()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should wait for idle LLM capacity before regenerating")
+    void shouldWaitForIdleCapacity() throws Exception {
+        // Given
+        AtomicBoolean idle = new AtomicBoolean(false);
+        when(limiter.hasIdleCapacity()).thenAnswer(invocation -> idle.get());
+        when(recommendationService.recommendCoursesForStudent(1L)).thenReturn("nova");
+
+        // When
+        precomputeService.onCourseCompleted(1L);
+        Thread.sleep(100);
+
+        // Then
+        verify(recommendationService, never()).recommendCoursesForStudent(1L);
+        idle.set(true);
+        await(() -> rows.containsKey(1L));
+        assertThat(rows.get(1L).getRecommendations()).isEqualTo("nova");
+    }
+
+    @Test
+    @DisplayName("Should keep the stale row when regeneration fails")
+    void shouldKeepStaleRowOnFailure() throws Exception {
+        // Given
+        rows.put(1L, PrecomputedRecommendation.of(1L, "antiga", GENERATED_AT, false));
+        when(recommendationService.recommendCoursesForStudent(1L)).thenThrow(new RuntimeException("Ollama offline"));
+
+        // When
+        precomputeService.onCourseCompleted(1L);
+
+        // Then
+        await(() -> count("failed") == 1);
+        assertThat(rows.get(1L).isStale()).isTrue();
+        assertThat(rows.get(1L).getRecommendations()).isEqualTo("antiga");
+    }
+}
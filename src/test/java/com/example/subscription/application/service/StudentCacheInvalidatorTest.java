@@ -0,0 +1,127 @@
+package com.example.subscription.application.service;
+
+import com.example.subscription.application.dto.StudentDTO;
+import com.example.subscription.config.CacheConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Testes unitários do StudentCacheInvalidator.
+ *
+ * <h2>Cenários testados:</h2>
+ * <ul>
+ *   <li>Remoção imediata e após o commit</li>
+ *   <li>Gravação de estudante criado somente após o commit</li>
+ *   <li>Execução imediata sem transação</li>
+ * </ul>
+ */
+@DisplayName("StudentCacheInvalidator Tests")
+class StudentCacheInvalidatorTest {
+
+    private Cache cache;
+    private StudentCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.STUDENTS);
+        cache = cacheManager.getCache(CacheConfig.STUDENTS);
+        invalidator = new StudentCacheInvalidator(cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    @Test
+    @DisplayName("Should evict immediately when no transaction is active")
+    void shouldEvictWithoutTransaction() {
+        // Given
+        cache.put(1L, new StudentDTO(1L, "Ana", 0, 0));
+
+        // When
+        invalidator.evict(1L);
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict again after commit, dropping values reloaded mid-transaction")
+    void shouldEvictAgainAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1L, new StudentDTO(1L, "Ana", 0, 0));
+
+        // When
+        invalidator.evict(1L);
+        cache.put(1L, new StudentDTO(1L, "Ana", 0, 0)); // leitor concorrente recarrega valor antigo
+        commit();
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should put created student only after commit")
+    void shouldPutCreatedStudentAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        StudentDTO created = new StudentDTO(7L, "Bia", 0, 0);
+
+        // When
+        invalidator.put(created);
+
+        // Then
+        assertThat(cache.get(7L)).isNull();
+        commit();
+        assertThat(cache.get(7L, StudentDTO.class)).isEqualTo(created);
+    }
+
+    @Test
+    @DisplayName("Should evict several students at once")
+    void shouldEvictSeveralStudents() {
+        // Given
+        cache.put(1L, new StudentDTO(1L, "Ana", 0, 0));
+        cache.put(2L, new StudentDTO(2L, "Bob", 0, 0));
+
+        // When
+        invalidator.evict(List.of(1L, 2L));
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should be harmless with caching disabled")
+    void shouldBeHarmlessWithNoOpCache() {
+        // Given
+        StudentCacheInvalidator noOp = new StudentCacheInvalidator(new NoOpCacheManager());
+
+        // When/Then
+        assertThatCode(() -> {
+            noOp.evict(1L);
+            noOp.put(new StudentDTO(1L, "Ana", 0, 0));
+        }).doesNotThrowAnyException();
+    }
+}
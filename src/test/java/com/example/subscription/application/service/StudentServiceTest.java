@@ -1,23 +1,32 @@
 package com.example.subscription.application.service;
 
 import com.example.subscription.application.dto.StudentDTO;
+import com.example.subscription.application.dto.StudentPageDTO;
 import com.example.subscription.domain.entity.Student;
+import com.example.subscription.infrastructure.repository.StudentJdbcRepository;
 import com.example.subscription.infrastructure.repository.StudentRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,6 +37,15 @@ class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private StudentJdbcRepository studentJdbcRepository;
+
+    @Mock
+    private StudentCacheInvalidator cacheInvalidator;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private StudentService studentService;
 
@@ -80,6 +98,7 @@ class StudentServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(studentId);
         assertThat(result.getName()).isEqualTo("Carla");
+        assertThat(meterRegistry.get("students.read").tag("operation", "by-id").timer().count()).isEqualTo(1);
     }
     
     @Test
@@ -119,5 +138,82 @@ class StudentServiceTest {
         assertThat(result.getCompletedCourses()).isEqualTo(0);
         assertThat(result.getCredits()).isEqualTo(0);
         verify(studentRepository).save(any(Student.class));
+        verify(cacheInvalidator).put(result);
+    }
+
+    @Test
+    @DisplayName("Should return first page with next cursor when more rows exist")
+    void whenGetStudentsPage_shouldReturnNextCursorIfMoreRows() {
+        // Arrange - limit 2, repositório devolve 3 (uma a mais)
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+            .thenReturn(List.of(studentWithId(1L), studentWithId(2L), studentWithId(3L)));
+
+        // Act
+        StudentPageDTO page = studentService.getStudentsPage(null, 2);
+
+        // Assert
+        assertThat(page.getStudents()).extracting(StudentDTO::getId).containsExactly(1L, 2L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should return last page without next cursor")
+    void whenGetStudentsPage_shouldReturnNoCursorOnLastPage() {
+        // Arrange
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+            .thenReturn(List.of(studentWithId(3L)));
+
+        // Act
+        StudentPageDTO page = studentService.getStudentsPage(2L, 2);
+
+        // Assert
+        assertThat(page.getStudents()).extracting(StudentDTO::getId).containsExactly(3L);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should clamp page size to [1, max-limit]")
+    void whenGetStudentsPage_shouldClampLimit() {
+        // Arrange
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+            .thenReturn(List.of());
+
+        // Act
+        studentService.getStudentsPage(null, 1_000_000);
+        studentService.getStudentsPage(null, 0);
+
+        // Assert - max-limit padrão é 1000 (+1 para detectar próxima página)
+        verify(studentRepository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1001));
+        verify(studentRepository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2));
+    }
+
+    @Test
+    @DisplayName("Should stream every student as DTO")
+    @SuppressWarnings("unchecked")
+    void whenStreamAllStudents_shouldDeliverEachStudentAsDTO() {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<Student> consumer = invocation.getArgument(0);
+            consumer.accept(studentWithId(1L));
+            consumer.accept(studentWithId(2L));
+            return null;
+        }).when(studentJdbcRepository).forEachStudent(any(Consumer.class));
+
+        // Act
+        List<StudentDTO> received = new ArrayList<>();
+        studentService.streamAllStudents(received::add);
+
+        // Assert
+        assertThat(received).extracting(StudentDTO::getId).containsExactly(1L, 2L);
+        assertThat(meterRegistry.get("students.read").tag("operation", "stream").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("students.read.rows").summary().totalAmount()).isEqualTo(2);
+    }
+
+    private Student studentWithId(Long id) {
+        Student student = new Student("Aluno " + id);
+        student.setId(id);
+        return student;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.example.subscription.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheConfig Tests")
+class CacheConfigTest {
+
+    private final CacheConfig cacheConfig = new CacheConfig();
+
+    @Test
+    @DisplayName("Should fall back to no-op cache manager when disabled")
+    void shouldUseNoOpWhenDisabled() {
+        CacheManager cacheManager = cacheConfig.cacheManager(false, 100, 60);
+
+        assertThat(cacheManager).isInstanceOf(NoOpCacheManager.class);
+    }
+
+    @Test
+    @DisplayName("Should create bounded Caffeine cache with stats when enabled")
+    void shouldCreateCaffeineCacheWhenEnabled() {
+        CacheManager cacheManager = cacheConfig.cacheManager(true, 100, 60);
+
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.STUDENTS);
+        assertThat(cache).isNotNull();
+        assertThat(cache.getNativeCache().policy().eviction()).hasValueSatisfying(
+            eviction -> assertThat(eviction.getMaximum()).isEqualTo(100));
+        assertThat(cache.getNativeCache().policy().isRecordingStats()).isTrue();
+        assertThat(cacheManager.getCacheNames()).containsExactly(CacheConfig.STUDENTS);
+    }
+}
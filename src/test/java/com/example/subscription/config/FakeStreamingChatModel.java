@@ -0,0 +1,48 @@
+package com.example.subscription.config;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Modelo de streaming local para testes: entrega tokens fixos em uma thread
+ * própria (como o cliente HTTP do Ollama), com pausa entre eles.
+ *
+ * <p>O primeiro token sai imediatamente; a resposta completa leva
+ * {@code (tokens - 1) * interval}.</p>
+ */
+public class FakeStreamingChatModel implements StreamingChatLanguageModel {
+
+    private final List<String> tokens;
+    private final Duration interval;
+
+    public FakeStreamingChatModel(List<String> tokens, Duration interval) {
+        this.tokens = List.copyOf(tokens);
+        this.interval = interval;
+    }
+
+    @Override
+    public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+        Thread thread = new Thread(() -> {
+            try {
+                for (int i = 0; i < tokens.size(); i++) {
+                    if (i > 0) {
+                        Thread.sleep(interval.toMillis());
+                    }
+                    handler.onNext(tokens.get(i));
+                }
+                handler.onComplete(Response.from(AiMessage.from(String.join("", tokens))));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                handler.onError(e);
+            }
+        }, "fake-llm-stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -1,7 +1,18 @@
 package com.example.subscription.config;
 
+import com.example.subscription.infrastructure.llm.AdaptiveConcurrencyLimiter;
+import com.example.subscription.infrastructure.llm.ConcurrencyLimitedChatLanguageModel;
+import com.example.subscription.infrastructure.llm.ConcurrencyLimitedStreamingChatLanguageModel;
+import com.example.subscription.infrastructure.llm.OllamaEndpoint;
+import com.example.subscription.infrastructure.llm.OllamaEndpointPool;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
 import dev.langchain4j.model.ollama.OllamaChatModel;
+import dev.langchain4j.model.ollama.OllamaStreamingChatModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -11,6 +22,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 /**
@@ -23,6 +37,9 @@ import static org.assertj.core.api.Assertions.*;
  * <ul>
  *   <li>Criação do bean ChatLanguageModel (mock em test profile)</li>
  *   <li>Criação do bean OllamaChatModel (quando habilitado)</li>
+ *   <li>Beans de streaming (OllamaStreamingChatModel e mock)</li>
+ *   <li>Beans do Ollama atrás do limite adaptativo</li>
+ *   <li>Pool com um servidor por URL de ollama.base-urls</li>
  *   <li>Configuração condicional via application.properties</li>
  *   <li>Validação da anotação @Configuration</li>
  * </ul>
@@ -39,6 +56,9 @@ class OllamaConfigTest {
     @Autowired
     private OllamaConfig ollamaConfig;
 
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
     @Nested
     @DisplayName("Configuration Class")
     class ConfigurationClass {
@@ -82,49 +102,132 @@ class OllamaConfigTest {
         }
     }
 
+    /**
+     * Configuração com ollama.enabled=true, sem contexto Spring.
+     */
+    private static OllamaConfig enabledConfig(List<String> baseUrls, String modelName) {
+        OllamaConfig config = new OllamaConfig();
+        ReflectionTestUtils.setField(config, "enabled", true);
+        ReflectionTestUtils.setField(config, "baseUrls", baseUrls);
+        ReflectionTestUtils.setField(config, "modelName", modelName);
+        ReflectionTestUtils.setField(config, "timeoutSeconds", 30);
+        ReflectionTestUtils.setField(config, "temperature", 0.5);
+        ReflectionTestUtils.setField(config, "healthTimeoutMs", 500L);
+        return config;
+    }
+
     @Nested
     @DisplayName("Ollama ChatLanguageModel Bean (when enabled)")
     class OllamaChatLanguageModelBean {
 
         @Test
-        @DisplayName("Should create OllamaChatModel when ollamaChatLanguageModel is called")
+        @DisplayName("Should route through the endpoint pool behind the concurrency limiter")
         void shouldCreateOllamaChatModelWhenCalled() {
-            // Criar uma nova instância para testar o método diretamente
-            OllamaConfig config = new OllamaConfig();
-            
-            // Configurar os campos via reflection
-            ReflectionTestUtils.setField(config, "baseUrl", "http://localhost:11434");
-            ReflectionTestUtils.setField(config, "modelName", "test-model");
-            ReflectionTestUtils.setField(config, "timeoutSeconds", 30);
-            ReflectionTestUtils.setField(config, "temperature", 0.5);
+            // Given
+            OllamaConfig config = enabledConfig(List.of("http://localhost:11434"), "test-model");
+            OllamaEndpointPool pool = config.ollamaEndpointPool(new SimpleMeterRegistry());
             
             // When
-            ChatLanguageModel model = config.ollamaChatLanguageModel();
+            ChatLanguageModel model = config.ollamaChatLanguageModel(pool, limiter);
             
             // Then
             assertThat(model).isNotNull();
-            assertThat(model).isInstanceOf(OllamaChatModel.class);
+            assertThat(model).isInstanceOf(ConcurrencyLimitedChatLanguageModel.class);
         }
 
         @Test
         @DisplayName("Should configure model with provided values")
         void shouldConfigureModelWithProvidedValues() {
-            // Criar uma nova instância para testar o método diretamente
-            OllamaConfig config = new OllamaConfig();
-            
-            // Configurar os campos via reflection
-            ReflectionTestUtils.setField(config, "baseUrl", "http://custom-url:11434");
-            ReflectionTestUtils.setField(config, "modelName", "llama3:8b");
-            ReflectionTestUtils.setField(config, "timeoutSeconds", 60);
-            ReflectionTestUtils.setField(config, "temperature", 0.8);
+            // Given
+            OllamaConfig config = enabledConfig(List.of("http://custom-url:11434"), "llama3:8b");
             
             // When
-            ChatLanguageModel model = config.ollamaChatLanguageModel();
+            OllamaEndpointPool pool = config.ollamaEndpointPool(new SimpleMeterRegistry());
             
             // Then
-            assertThat(model).isNotNull();
-            // O modelo é criado sem erros com as configurações fornecidas
-            assertThat(model.toString()).isNotBlank();
+            assertThat(pool.getEndpoints()).singleElement().satisfies(endpoint -> {
+                assertThat(endpoint.getBaseUrl()).isEqualTo("http://custom-url:11434");
+                assertThat(endpoint.getChatModel()).isInstanceOf(OllamaChatModel.class);
+                assertThat(endpoint.getStreamingModel()).isInstanceOf(OllamaStreamingChatModel.class);
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("Ollama Endpoint Pool Bean")
+    class OllamaEndpointPoolBean {
+
+        @Autowired
+        private OllamaEndpointPool pool;
+
+        @Test
+        @DisplayName("Should create one endpoint per base URL")
+        void shouldCreateOneEndpointPerBaseUrl() {
+            // Given
+            OllamaConfig config = enabledConfig(List.of("http://ia-1:11434", " http://ia-2:11434 ", ""), "test-model");
+
+            // When
+            OllamaEndpointPool created = config.ollamaEndpointPool(new SimpleMeterRegistry());
+
+            // Then
+            assertThat(created.getEndpoints())
+                .extracting(OllamaEndpoint::getBaseUrl)
+                .containsExactly("http://ia-1:11434", "http://ia-2:11434");
+        }
+
+        @Test
+        @DisplayName("Should leave the pool empty in test profile (ollama.enabled=false)")
+        void shouldBeEmptyWhenDisabled() {
+            assertThat(pool.getEndpoints()).isEmpty();
+            assertThat(pool.isAvailable()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("StreamingChatLanguageModel Beans")
+    class StreamingChatLanguageModelBeans {
+
+        @Test
+        @DisplayName("Should route streams through the endpoint pool behind the concurrency limiter")
+        void shouldCreateOllamaStreamingChatModel() {
+            OllamaConfig config = enabledConfig(List.of("http://localhost:11434"), "test-model");
+            OllamaEndpointPool pool = config.ollamaEndpointPool(new SimpleMeterRegistry());
+
+            assertThat(config.ollamaStreamingChatLanguageModel(pool, limiter))
+                .isInstanceOf(ConcurrencyLimitedStreamingChatLanguageModel.class);
+        }
+
+        @Test
+        @DisplayName("Mock should stream the warning message word by word")
+        void mockShouldStreamWarningMessage() {
+            // Given
+            StreamingChatLanguageModel model = ollamaConfig.mockStreamingChatLanguageModel();
+            List<String> tokens = new ArrayList<>();
+            List<Response<AiMessage>> completions = new ArrayList<>();
+
+            // When
+            model.generate("test", new StreamingResponseHandler<AiMessage>() {
+                @Override
+                public void onNext(String token) {
+                    tokens.add(token);
+                }
+
+                @Override
+                public void onComplete(Response<AiMessage> response) {
+                    completions.add(response);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    fail("unexpected error", error);
+                }
+            });
+
+            // Then
+            assertThat(tokens).hasSizeGreaterThan(1);
+            assertThat(String.join("", tokens)).isEqualTo(OllamaConfig.UNAVAILABLE_MESSAGE);
+            assertThat(completions).singleElement()
+                .satisfies(response -> assertThat(response.content().text()).contains("Serviço de IA não disponível"));
         }
     }
 
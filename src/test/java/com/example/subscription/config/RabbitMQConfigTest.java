@@ -6,16 +6,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 /**
  * Testes unitários para a configuração do RabbitMQ.
@@ -26,7 +32,7 @@ import static org.assertj.core.api.Assertions.*;
  * <h2>Cenários testados:</h2>
  * <ul>
  *   <li>Criação do TopicExchange</li>
- *   <li>Criação das filas (course-completed, notification, analytics)</li>
+ *   <li>Criação das filas (course-completed, notification, analytics, recommendation)</li>
  *   <li>Bindings entre exchange e filas</li>
  *   <li>MessageConverter JSON</li>
  *   <li>RabbitTemplate configurado</li>
@@ -105,6 +111,9 @@ class RabbitMQConfigTest {
         @Autowired
         private Queue analyticsQueue;
 
+        @Autowired
+        private Queue recommendationQueue;
+
         @Test
         @DisplayName("Should create courseCompletedQueue bean")
         void shouldCreateCourseCompletedQueueBean() {
@@ -126,6 +135,14 @@ class RabbitMQConfigTest {
             assertThat(analyticsQueue.isDurable()).isTrue();
         }
 
+        @Test
+        @DisplayName("Should create recommendationQueue bean with 24h TTL")
+        void shouldCreateRecommendationQueueBean() {
+            assertThat(recommendationQueue.getName()).isEqualTo("gamification.recommendation");
+            assertThat(recommendationQueue.isDurable()).isTrue();
+            assertThat(recommendationQueue.getArguments().get("x-message-ttl")).isEqualTo(86400000);
+        }
+
         @Test
         @DisplayName("Should have TTL configured on queues")
         void shouldHaveTtlConfiguredOnQueues() {
@@ -195,6 +212,141 @@ class RabbitMQConfigTest {
         }
     }
 
+    @Nested
+    @DisplayName("Listener Container Factories")
+    class ListenerContainerFactories {
+
+        @Autowired
+        private SimpleRabbitListenerContainerFactory courseCompletedListenerFactory;
+
+        @Autowired
+        private SimpleRabbitListenerContainerFactory notificationListenerFactory;
+
+        @Autowired
+        private SimpleRabbitListenerContainerFactory analyticsListenerFactory;
+
+        @Autowired
+        private SimpleRabbitListenerContainerFactory recommendationListenerFactory;
+
+        @Autowired
+        private MessageConverter jsonMessageConverter;
+
+        @Test
+        @DisplayName("Should apply per-queue concurrency and prefetch defaults")
+        void shouldApplyPerQueueDefaults() {
+            assertThat(ReflectionTestUtils.getField(courseCompletedListenerFactory, "concurrentConsumers")).isEqualTo(2);
+            assertThat(ReflectionTestUtils.getField(courseCompletedListenerFactory, "maxConcurrentConsumers")).isEqualTo(8);
+            assertThat(ReflectionTestUtils.getField(courseCompletedListenerFactory, "prefetchCount")).isEqualTo(50);
+            assertThat(ReflectionTestUtils.getField(notificationListenerFactory, "maxConcurrentConsumers")).isEqualTo(4);
+            assertThat(ReflectionTestUtils.getField(analyticsListenerFactory, "prefetchCount")).isEqualTo(250);
+            assertThat(ReflectionTestUtils.getField(recommendationListenerFactory, "maxConcurrentConsumers")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should receive analytics in batches")
+        void shouldReceiveAnalyticsInBatches() {
+            assertThat(ReflectionTestUtils.getField(analyticsListenerFactory, "batchListener")).isEqualTo(true);
+            assertThat(ReflectionTestUtils.getField(analyticsListenerFactory, "consumerBatchEnabled")).isEqualTo(true);
+            assertThat(ReflectionTestUtils.getField(analyticsListenerFactory, "batchSize")).isEqualTo(100);
+            assertThat(ReflectionTestUtils.getField(courseCompletedListenerFactory, "batchListener")).isEqualTo(false);
+        }
+
+        @Test
+        @DisplayName("Should use the JSON message converter")
+        void shouldUseJsonMessageConverter() {
+            assertThat(ReflectionTestUtils.getField(courseCompletedListenerFactory, "messageConverter"))
+                .isSameAs(jsonMessageConverter);
+        }
+
+        @Test
+        @DisplayName("Should read limits from rabbitmq.listener.<queue>.* properties")
+        void shouldReadLimitsFromProperties() {
+            // Given
+            MockEnvironment environment = new MockEnvironment()
+                .withProperty("rabbitmq.listener.notification.concurrency", "3")
+                .withProperty("rabbitmq.listener.notification.max-concurrency", "12")
+                .withProperty("rabbitmq.listener.notification.prefetch", "5")
+                .withProperty("rabbitmq.listener.virtual-threads", "true");
+
+            // When - em JDK < 21 o pedido de virtual threads é ignorado com aviso
+            SimpleRabbitListenerContainerFactory factory = new RabbitMQConfig().notificationListenerFactory(
+                mock(SimpleRabbitListenerContainerFactoryConfigurer.class), mock(ConnectionFactory.class), environment);
+
+            // Then
+            assertThat(ReflectionTestUtils.getField(factory, "concurrentConsumers")).isEqualTo(3);
+            assertThat(ReflectionTestUtils.getField(factory, "maxConcurrentConsumers")).isEqualTo(12);
+            assertThat(ReflectionTestUtils.getField(factory, "prefetchCount")).isEqualTo(5);
+            if (Runtime.version().feature() >= 21) {
+                assertThat(ReflectionTestUtils.getField(factory, "taskExecutor")).isNotNull();
+            }
+        }
+
+        @Test
+        @DisplayName("Should follow spring.threads.virtual.enabled when the listener flag is absent")
+        void shouldFollowGlobalVirtualThreadsFlag() {
+            // Given
+            MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true");
+
+            // When
+            SimpleRabbitListenerContainerFactory factory = new RabbitMQConfig().notificationListenerFactory(
+                mock(SimpleRabbitListenerContainerFactoryConfigurer.class), mock(ConnectionFactory.class), environment);
+
+            // Then
+            Object taskExecutor = ReflectionTestUtils.getField(factory, "taskExecutor");
+            if (Runtime.version().feature() >= 21) {
+                assertThat(taskExecutor).isNotNull();
+            } else {
+                assertThat(taskExecutor).isNull();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Single Routed Message Bindings")
+    class SingleRoutedMessageBindings {
+
+        @Autowired
+        private Binding courseCompletedEventBinding;
+
+        @Autowired
+        private Binding notificationEventBinding;
+
+        @Autowired
+        private Binding analyticsEventBinding;
+
+        @Autowired
+        private Binding recommendationEventBinding;
+
+        @Autowired
+        private Binding recommendationBinding;
+
+        @Test
+        @DisplayName("Should route every completion to course-completed and analytics queues")
+        void shouldRouteEveryCompletion() {
+            assertThat(courseCompletedEventBinding.getDestination()).isEqualTo("gamification.course.completed");
+            assertThat(courseCompletedEventBinding.getRoutingKey()).isEqualTo("event.course.completed.*");
+            assertThat(analyticsEventBinding.getDestination()).isEqualTo("gamification.analytics");
+            assertThat(analyticsEventBinding.getRoutingKey()).isEqualTo("event.course.completed.*");
+        }
+
+        @Test
+        @DisplayName("Should route only passed completions to notification queue")
+        void shouldRouteOnlyPassedToNotification() {
+            assertThat(notificationEventBinding.getDestination()).isEqualTo("gamification.notification");
+            assertThat(notificationEventBinding.getRoutingKey()).isEqualTo("event.course.completed.passed");
+        }
+
+        @Test
+        @DisplayName("Should route every completion, legacy or single-message, to recommendation queue")
+        void shouldRouteEveryCompletionToRecommendation() {
+            assertThat(recommendationEventBinding.getDestination()).isEqualTo("gamification.recommendation");
+            assertThat(recommendationEventBinding.getRoutingKey()).isEqualTo("event.course.completed.*");
+            assertThat(recommendationBinding.getDestination()).isEqualTo("gamification.recommendation");
+            assertThat(recommendationBinding.getRoutingKey()).isEqualTo("course.completed");
+        }
+    }
+
     @Nested
     @DisplayName("Message Converter Configuration")
     class MessageConverterConfiguration {
@@ -254,9 +406,11 @@ class RabbitMQConfigTest {
             assertThat(applicationContext.containsBean("courseCompletedQueue")).isTrue();
             assertThat(applicationContext.containsBean("notificationQueue")).isTrue();
             assertThat(applicationContext.containsBean("analyticsQueue")).isTrue();
+            assertThat(applicationContext.containsBean("recommendationQueue")).isTrue();
             assertThat(applicationContext.containsBean("courseCompletedBinding")).isTrue();
             assertThat(applicationContext.containsBean("notificationBinding")).isTrue();
             assertThat(applicationContext.containsBean("analyticsBinding")).isTrue();
+            assertThat(applicationContext.containsBean("recommendationBinding")).isTrue();
             assertThat(applicationContext.containsBean("jsonMessageConverter")).isTrue();
             assertThat(applicationContext.containsBean("rabbitTemplate")).isTrue();
         }
@@ -0,0 +1,88 @@
+package com.example.subscription.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para o executor das recomendações.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ */
+@DisplayName("ThreadingConfig Unit Tests - @Rickelme")
+class ThreadingConfigTest {
+
+    private final ThreadingConfig config = new ThreadingConfig();
+
+    @Test
+    @DisplayName("Should use a bounded platform pool by default")
+    void shouldUseBoundedPoolByDefault() {
+        AsyncTaskExecutor executor = config.recommendationExecutor(new MockEnvironment(), 4, 10);
+
+        assertThat(executor).isInstanceOf(ThreadPoolTaskExecutor.class);
+        ThreadPoolTaskExecutor pool = (ThreadPoolTaskExecutor) executor;
+        assertThat(pool.getMaxPoolSize()).isEqualTo(4);
+        assertThat(pool.getQueueCapacity()).isEqualTo(10);
+        assertThat(pool.getThreadNamePrefix()).isEqualTo("recommendation-");
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("Should fall back to the platform pool when virtual threads are requested before JDK 21")
+    void shouldFallBackBeforeJdk21() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.threads.virtual.enabled", "true");
+
+        assertThat(config.recommendationExecutor(environment, 4, 10)).isInstanceOf(ThreadPoolTaskExecutor.class);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Should run each recommendation on a virtual thread on JDK 21+")
+    void shouldUseVirtualThreadsOnJdk21() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.threads.virtual.enabled", "true");
+
+        AsyncTaskExecutor executor = config.recommendationExecutor(environment, 4, 10);
+
+        assertThat(executor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+        Future<String> thread = executor.submit(() -> Thread.currentThread().toString());
+        assertThat(thread.get()).contains("VirtualThread");
+    }
+
+    @Test
+    @DisplayName("Should bound recommendation job workers and queue")
+    void shouldBoundJobExecutor() {
+        ThreadPoolTaskExecutor executor = config.recommendationJobExecutor(2, 5);
+
+        assertThat(executor.getCorePoolSize()).isEqualTo(2);
+        assertThat(executor.getMaxPoolSize()).isEqualTo(2);
+        assertThat(executor.getQueueCapacity()).isEqualTo(5);
+        assertThat(executor.getThreadNamePrefix()).isEqualTo("recommendation-job-");
+    }
+
+    @Test
+    @DisplayName("Should run precompute workers at minimum priority with a bounded queue")
+    void shouldRunPrecomputeAtMinimumPriority() throws Exception {
+        ThreadPoolTaskExecutor executor = config.recommendationPrecomputeExecutor(1, 7);
+        executor.initialize();
+        try {
+            assertThat(executor.getMaxPoolSize()).isEqualTo(1);
+            assertThat(executor.getQueueCapacity()).isEqualTo(7);
+            Future<Integer> priority = executor.submit(() -> Thread.currentThread().getPriority());
+            assertThat(priority.get()).isEqualTo(Thread.MIN_PRIORITY);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
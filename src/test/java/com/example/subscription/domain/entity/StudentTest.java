@@ -1,5 +1,8 @@
 package com.example.subscription.domain.entity;
 
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.domain.strategy.PremiumCreditStrategy;
+import com.example.subscription.domain.valueobject.CourseAverage;
 import com.example.subscription.domain.valueobject.Credits;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -208,4 +211,35 @@ class StudentTest {
         assertThat(toString).isNotNull();
         assertThat(toString).contains("Test Student");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should default to STANDARD credit strategy")
+    void shouldDefaultToStandardCreditStrategy() {
+        assertThat(new Student("Test").getCreditStrategy()).isEqualTo(StrategyType.STANDARD);
+        assertThat(new Student("Test", 5).getCreditStrategy()).isEqualTo(StrategyType.STANDARD);
+        assertThat(Student.builder().name("Test").build().getCreditStrategy()).isEqualTo(StrategyType.STANDARD);
+    }
+
+    @Test
+    @DisplayName("Should complete course with the given credit strategy")
+    void shouldCompleteCourseWithGivenStrategy() {
+        Student student = new Student("Test", 1);
+        student.changeCreditStrategy(StrategyType.PREMIUM);
+
+        student.completeCourse(CourseAverage.of(9.5), new PremiumCreditStrategy());
+        student.completeCourse(CourseAverage.of(6.0), new PremiumCreditStrategy());
+
+        assertThat(student.getCreditStrategy()).isEqualTo(StrategyType.PREMIUM);
+        assertThat(student.getCompletedCourses()).isEqualTo(2);
+        assertThat(student.getCredits()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should reject null credit strategy")
+    void shouldRejectNullCreditStrategy() {
+        Student student = new Student("Test");
+
+        assertThatThrownBy(() -> student.changeCreditStrategy(null))
+            .isInstanceOf(NullPointerException.class);
+    }
+}
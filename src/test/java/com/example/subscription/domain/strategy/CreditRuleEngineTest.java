@@ -0,0 +1,46 @@
+package com.example.subscription.domain.strategy;
+
+import com.example.subscription.domain.valueobject.CourseAverage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CreditRuleEngine Tests")
+class CreditRuleEngineTest {
+
+    private static CreditRules rulesWithThreshold(String threshold) {
+        Properties properties = new Properties();
+        properties.setProperty("passing-grade-threshold", threshold);
+        properties.setProperty("tiers.STANDARD", "7.01=3");
+        properties.setProperty("tiers.PREMIUM", "7.01=3");
+        return CreditRules.parse("threshold " + threshold, properties);
+    }
+
+    @Test
+    @DisplayName("Should fall back to BusinessRules without loaded rules")
+    void shouldFallBackWithoutRules() {
+        CreditRuleEngine engine = new CreditRuleEngine();
+
+        assertThat(engine.current()).isNull();
+        assertThat(engine.isPassing(CourseAverage.of(7.01))).isTrue();
+        assertThat(engine.isPassing(CourseAverage.of(7.0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should swap rules atomically and return the previous set")
+    void shouldSwapRules() {
+        CreditRuleEngine engine = new CreditRuleEngine();
+        CreditRules first = rulesWithThreshold("5.0");
+        CreditRules second = rulesWithThreshold("9.0");
+
+        assertThat(engine.swap(first)).isNull();
+        assertThat(engine.isPassing(CourseAverage.of(6.0))).isTrue();
+
+        assertThat(engine.swap(second)).isSameAs(first);
+        assertThat(engine.current()).isSameAs(second);
+        assertThat(engine.isPassing(CourseAverage.of(6.0))).isFalse();
+    }
+}
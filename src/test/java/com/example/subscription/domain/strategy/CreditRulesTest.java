@@ -0,0 +1,104 @@
+package com.example.subscription.domain.strategy;
+
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.domain.valueobject.CourseAverage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CreditRules Tests")
+class CreditRulesTest {
+
+    private static Properties rules(String threshold, String standard, String premium) {
+        Properties properties = new Properties();
+        if (threshold != null) {
+            properties.setProperty("passing-grade-threshold", threshold);
+        }
+        if (standard != null) {
+            properties.setProperty("tiers.STANDARD", standard);
+        }
+        if (premium != null) {
+            properties.setProperty("tiers.PREMIUM", premium);
+        }
+        return properties;
+    }
+
+    @Test
+    @DisplayName("Should compile tiers and threshold")
+    void shouldCompileTiersAndThreshold() {
+        CreditRules rules = CreditRules.parse("test", rules("8.0", "8.01=4", "9.50=10,8.01=6"));
+
+        assertThat(rules.strategy(StrategyType.STANDARD).calculateCredits(CourseAverage.of(8.5))).isEqualTo(4);
+        assertThat(rules.strategy(StrategyType.PREMIUM).calculateCredits(CourseAverage.of(9.5))).isEqualTo(10);
+        assertThat(rules.strategy(StrategyType.PREMIUM).calculateCredits(CourseAverage.of(8.0))).isZero();
+        assertThat(rules.isPassing(CourseAverage.of(8.01))).isTrue();
+        assertThat(rules.isPassing(CourseAverage.of(8.0))).isFalse();
+        assertThat(rules.getSource()).isEqualTo("test");
+        assertThat(rules.toString()).contains("test", "8.0");
+    }
+
+    @Test
+    @DisplayName("Shipped rules file should match the built-in strategies")
+    void shippedRulesShouldMatchBuiltInStrategies() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/credit-rules.properties")) {
+            properties.load(in);
+        }
+        CreditRules rules = CreditRules.parse("classpath", properties);
+        CreditRuleEngine defaults = new CreditRuleEngine();
+
+        for (int hundredths = 0; hundredths <= 1000; hundredths++) {
+            CourseAverage average = CourseAverage.of(hundredths / 100.0);
+            assertThat(rules.strategy(StrategyType.STANDARD).calculateCredits(average))
+                .isEqualTo(new StandardCreditStrategy().calculateCredits(average));
+            assertThat(rules.strategy(StrategyType.PREMIUM).calculateCredits(average))
+                .isEqualTo(new PremiumCreditStrategy().calculateCredits(average));
+            assertThat(rules.isPassing(average)).isEqualTo(defaults.isPassing(average));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject missing rules")
+    void shouldRejectMissingRules() {
+        assertThatThrownBy(() -> CreditRules.parse("test", rules(null, "7.01=3", "7.01=3")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("passing-grade-threshold");
+        assertThatThrownBy(() -> CreditRules.parse("test", rules("7.0", "7.01=3", " ")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("tiers.PREMIUM");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown keys")
+    void shouldRejectUnknownKeys() {
+        Properties properties = rules("7.0", "7.01=3", "7.01=3");
+        properties.setProperty("tiers.GOLD", "7.01=9");
+
+        assertThatThrownBy(() -> CreditRules.parse("test", properties))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("tiers.GOLD");
+
+        Properties typo = rules("7.0", "7.01=3", "7.01=3");
+        typo.setProperty("passing-threshold", "6.0");
+        assertThatThrownBy(() -> CreditRules.parse("test", typo))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("passing-threshold");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid values")
+    void shouldRejectInvalidValues() {
+        assertThatThrownBy(() -> CreditRules.parse("test", rules("abc", "7.01=3", "7.01=3")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("abc");
+        assertThatThrownBy(() -> CreditRules.parse("test", rules("11", "7.01=3", "7.01=3")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CreditRules.parse("test", rules("7.0", "7.01=-1", "7.01=3")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
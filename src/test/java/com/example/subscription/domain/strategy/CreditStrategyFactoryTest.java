@@ -1,10 +1,13 @@
 package com.example.subscription.domain.strategy;
 
+import com.example.subscription.domain.valueobject.CourseAverage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.Properties;
+
 import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest
@@ -120,4 +123,38 @@ class CreditStrategyFactoryTest {
         assertThat(standard).isEqualTo(CreditStrategyFactory.StrategyType.STANDARD);
         assertThat(premium).isEqualTo(CreditStrategyFactory.StrategyType.PREMIUM);
     }
+
+    @Test
+    @DisplayName("Should compile strategies into lookup tables when enabled")
+    void shouldCompileStrategiesWhenEnabled() {
+        CreditStrategyFactory compiled = new CreditStrategyFactory(
+            new StandardCreditStrategy(), new PremiumCreditStrategy(), true);
+
+        CreditCalculationStrategy premium = compiled.getStrategy(CreditStrategyFactory.StrategyType.PREMIUM);
+
+        assertThat(premium).isInstanceOf(LookupTableCreditStrategy.class);
+        assertThat(premium.getStrategyName()).isEqualTo("Premium Credit Strategy");
+        assertThat(premium.calculateCredits(CourseAverage.of(8.5)))
+            .isEqualTo(4);
+        assertThat(compiled.getDefaultStrategy()).isInstanceOf(LookupTableCreditStrategy.class);
+    }
+
+    @Test
+    @DisplayName("Should serve strategies from loaded credit rules")
+    void shouldServeStrategiesFromLoadedRules() {
+        CreditRuleEngine engine = new CreditRuleEngine();
+        CreditStrategyFactory configurable = new CreditStrategyFactory(
+            new StandardCreditStrategy(), new PremiumCreditStrategy(), false, engine);
+        assertThat(configurable.getDefaultStrategy()).isInstanceOf(StandardCreditStrategy.class);
+
+        Properties rules = new Properties();
+        rules.setProperty("passing-grade-threshold", "7.0");
+        rules.setProperty("tiers.STANDARD", "7.01=6");
+        rules.setProperty("tiers.PREMIUM", "7.01=10");
+        engine.swap(CreditRules.parse("promo", rules));
+
+        assertThat(configurable.getDefaultStrategy().calculateCredits(CourseAverage.of(8.0))).isEqualTo(6);
+        assertThat(configurable.getStrategy(CreditStrategyFactory.StrategyType.PREMIUM)
+            .calculateCredits(CourseAverage.of(8.0))).isEqualTo(10);
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.subscription.domain.strategy;
+
+import com.example.subscription.domain.valueobject.CourseAverage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LookupTableCreditStrategy Tests")
+class LookupTableCreditStrategyTest {
+
+    private static void assertSameAsSourceForEveryAverage(CreditCalculationStrategy source) {
+        LookupTableCreditStrategy compiled = new LookupTableCreditStrategy(source);
+        for (int hundredths = 0; hundredths <= 1000; hundredths++) {
+            CourseAverage average = CourseAverage.of(hundredths / 100.0);
+            assertThat(compiled.calculateCredits(average))
+                .as("average %s", average)
+                .isEqualTo(source.calculateCredits(average));
+        }
+    }
+
+    @Test
+    @DisplayName("Should match StandardCreditStrategy for every possible average")
+    void shouldMatchStandardStrategy() {
+        assertSameAsSourceForEveryAverage(new StandardCreditStrategy());
+    }
+
+    @Test
+    @DisplayName("Should match PremiumCreditStrategy for every possible average")
+    void shouldMatchPremiumStrategy() {
+        assertSameAsSourceForEveryAverage(new PremiumCreditStrategy());
+    }
+
+    @Test
+    @DisplayName("Should keep the source strategy name")
+    void shouldKeepSourceName() {
+        assertThat(new LookupTableCreditStrategy(new PremiumCreditStrategy()).getStrategyName())
+            .isEqualTo("Premium Credit Strategy");
+    }
+
+    @Test
+    @DisplayName("Should compile tiered configuration equivalent to Premium strategy")
+    void shouldCompileTiersEquivalentToPremium() {
+        LookupTableCreditStrategy tiered = LookupTableCreditStrategy.tiered("Premium", "9.00=5, 8.00=4, 7.01=3");
+        PremiumCreditStrategy premium = new PremiumCreditStrategy();
+
+        for (int hundredths = 0; hundredths <= 1000; hundredths++) {
+            CourseAverage average = CourseAverage.of(hundredths / 100.0);
+            assertThat(tiered.calculateCredits(average)).as("average %s", average)
+                .isEqualTo(premium.calculateCredits(average));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0.0, 0", "5.99, 0", "6.0, 1", "9.99, 1", "10.0, 2"})
+    @DisplayName("Should apply the highest tier not above the average")
+    void shouldApplyHighestMatchingTier(double average, int expected) {
+        LookupTableCreditStrategy tiered = LookupTableCreditStrategy.tiered("Custom", "10=2,6=1");
+
+        assertThat(tiered.calculateCredits(CourseAverage.of(average))).isEqualTo(expected);
+        assertThat(tiered.getStrategyName()).isEqualTo("Custom");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "7.0", "7.0=", "abc=3", "7.0=x", "11.0=3", "7.0=-1"})
+    @DisplayName("Should reject invalid tier specifications")
+    void shouldRejectInvalidTiers(String tiers) {
+        assertThatThrownBy(() -> LookupTableCreditStrategy.tiered("Invalid", tiers))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
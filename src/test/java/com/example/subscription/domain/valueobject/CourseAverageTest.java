@@ -5,6 +5,19 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -344,4 +357,157 @@ class CourseAverageTest {
                     .isEqualTo(CourseAverage.PerformanceLevel.BELOW_AVERAGE);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Fixed-point rounding equivalence with BigDecimal HALF_UP")
+    class FixedPointRoundingTests {
+
+        private static final int RANDOM_SAMPLES = 2_000_000;
+
+        /**
+         * Implementação de referência (anterior ao ponto fixo).
+         */
+        private double reference(double value) {
+            return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+        }
+
+        private void assertEquivalent(double value) {
+            double expected = reference(value);
+            double actual = CourseAverage.of(value).getValue();
+            if (Double.compare(expected, actual) != 0) {
+                fail("Rounding mismatch for %s (%s): expected %s but was %s",
+                        value, Double.doubleToRawLongBits(value), expected, actual);
+            }
+        }
+
+        @Test
+        @DisplayName("Should match for every decimal with up to 4 places in [0, 10]")
+        void shouldMatchForEveryShortDecimal() {
+            for (int tenThousandths = 0; tenThousandths <= 100_000; tenThousandths++) {
+                assertEquivalent(tenThousandths / 10_000.0);
+            }
+        }
+
+        @Test
+        @DisplayName("Should match for the doubles adjacent to every rounding tie")
+        void shouldMatchAroundEveryTie() {
+            for (int thousandths = 5; thousandths < 10_000; thousandths += 10) {
+                double tie = thousandths / 1000.0;
+                assertEquivalent(tie);
+                double below = tie;
+                double above = tie;
+                for (int step = 0; step < 4; step++) {
+                    below = Math.nextDown(below);
+                    above = Math.nextUp(above);
+                    assertEquivalent(below);
+                    if (above <= 10.0) {
+                        assertEquivalent(above);
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should match for random doubles in [0, 10]")
+        void shouldMatchForRandomDoubles() {
+            SplittableRandom random = new SplittableRandom(2024);
+            for (int i = 0; i < RANDOM_SAMPLES; i++) {
+                assertEquivalent(random.nextDouble(0.0, 10.0));
+            }
+        }
+
+        @Test
+        @DisplayName("Should match for tiny values and extremes")
+        void shouldMatchForTinyValuesAndExtremes() {
+            double[] values = {0.0, -0.0, Double.MIN_VALUE, 1e-300, 1e-10, 0.004999999999999999,
+                0.005, 0.0049999, 9.995, 9.994999999999999, Math.nextDown(10.0), 10.0};
+            for (double value : values) {
+                assertEquivalent(value);
+            }
+        }
+
+        @Test
+        @DisplayName("Should expose value as integer hundredths")
+        void shouldExposeHundredths() {
+            assertThat(CourseAverage.of(2.675).getHundredths()).isEqualTo(268);
+            assertThat(CourseAverage.of(7.0).getHundredths()).isEqualTo(700);
+            assertThat(CourseAverage.of(10.0).getHundredths()).isEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("Should return shared instance for each rounded value")
+        void shouldReturnSharedInstance() {
+            assertThat(CourseAverage.of(8.456)).isSameAs(CourseAverage.of(8.46));
+            assertThat(CourseAverage.of(0.0)).isSameAs(CourseAverage.of(0.004));
+            assertThat(CourseAverage.of(10.0)).isNotSameAs(CourseAverage.of(9.99));
+        }
+
+        @Test
+        @DisplayName("Should resolve performance level from table for every average")
+        void shouldResolvePerformanceLevelFromTable() {
+            for (int hundredths = 0; hundredths <= 1000; hundredths++) {
+                double value = hundredths / 100.0;
+                assertThat(CourseAverage.of(value).getPerformanceLevel())
+                        .as("average %s", value)
+                        .isEqualTo(CourseAverage.PerformanceLevel.fromValue(value));
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject NaN")
+        void shouldRejectNaN() {
+            assertThatThrownBy(() -> CourseAverage.of(Double.NaN))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Average must be a value between 0.0 and 10.0.");
+        }
+    }
+
+    @Nested
+    @DisplayName("Serialization")
+    class SerializationTests {
+
+        private byte[] serialize(Object value) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(value);
+            }
+            return bytes.toByteArray();
+        }
+
+        private Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return in.readObject();
+            }
+        }
+
+        @Test
+        @DisplayName("Should deserialize to the shared instance")
+        void shouldDeserializeToSharedInstance() throws Exception {
+            CourseAverage average = CourseAverage.of(8.75);
+
+            assertThat(deserialize(serialize(average))).isSameAs(average);
+        }
+
+        @Test
+        @DisplayName("Should use a new serialVersionUID for the hundredths form")
+        void shouldBumpSerialVersionUid() {
+            assertThat(ObjectStreamClass.lookup(CourseAverage.class).getSerialVersionUID()).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("Should reject a serialized average out of range")
+        void shouldRejectOutOfRangeStream() throws Exception {
+            // Given - instância fora do cache com centésimos inválidos
+            Constructor<CourseAverage> constructor = CourseAverage.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            CourseAverage tampered = constructor.newInstance();
+            ReflectionTestUtils.setField(tampered, "hundredths", 1001);
+            byte[] bytes = serialize(tampered);
+
+            // When / Then
+            assertThatThrownBy(() -> deserialize(bytes))
+                    .isInstanceOf(InvalidObjectException.class)
+                    .hasMessageContaining("1001");
+        }
+    }
+}
@@ -3,6 +3,11 @@ package com.example.subscription.domain.valueobject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("Credits Value Object Tests")
@@ -129,4 +134,37 @@ class CreditsTest {
         assertThat(credits.hasAtLeast(10)).isTrue();
         assertThat(credits.hasAtLeast(11)).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should share instances for the cached range")
+    void shouldShareInstancesForCachedRange() {
+        assertThat(Credits.of(0)).isSameAs(Credits.zero());
+        assertThat(Credits.of(42)).isSameAs(Credits.of(42));
+        assertThat(Credits.of(Credits.CACHE_HIGH)).isSameAs(Credits.of(Credits.CACHE_HIGH));
+        assertThat(Credits.of(40).add(2)).isSameAs(Credits.of(42));
+        assertThat(Credits.of(45).subtract(3)).isSameAs(Credits.of(42));
+    }
+
+    @Test
+    @DisplayName("Should allocate new instances above the cached range")
+    void shouldAllocateAboveCachedRange() {
+        Credits large = Credits.of(Credits.CACHE_HIGH + 1);
+
+        assertThat(large).isNotSameAs(Credits.of(Credits.CACHE_HIGH + 1));
+        assertThat(large).isEqualTo(Credits.of(Credits.CACHE_HIGH + 1));
+        assertThat(Credits.of(Credits.CACHE_HIGH).add(1).getAmount()).isEqualTo(Credits.CACHE_HIGH + 1);
+    }
+
+    @Test
+    @DisplayName("Should resolve to shared instance on deserialization")
+    void shouldResolveSharedInstanceOnDeserialization() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(Credits.of(7));
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readObject()).isSameAs(Credits.of(7));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.subscription.infrastructure.analytics;
+
+import com.example.subscription.domain.event.CourseCompletedEvent;
+import com.example.subscription.infrastructure.repository.AnalyticsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do AnalyticsAggregator.
+ *
+ * <h2>Cenários testados:</h2>
+ * <ul>
+ *   <li>Taxa de aprovação, média e percentis por janela</li>
+ *   <li>Distribuição de créditos por faixa</li>
+ *   <li>Separação dos eventos por janela de tempo</li>
+ *   <li>Flush apenas das janelas encerradas</li>
+ *   <li>Janelas devolvidas à memória quando a gravação falha</li>
+ *   <li>Upsert de eventos atrasados e combinação de origens</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalyticsAggregator Tests")
+class AnalyticsAggregatorTest {
+
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Mock
+    private AnalyticsRollupRepository rollupRepository;
+
+    private AnalyticsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new AnalyticsAggregator(rollupRepository, 60, "replica-a");
+    }
+
+    private static CourseCompletedEvent event(LocalDateTime occurredAt, double average, int credits) {
+        return new CourseCompletedEvent(1L, "Aluno", 1, credits, average, average >= 6.0,
+                occurredAt, "COURSE_COMPLETED");
+    }
+
+    private List<AnalyticsRollup> savedRollups() {
+        ArgumentCaptor<AnalyticsRollup> captor = ArgumentCaptor.forClass(AnalyticsRollup.class);
+        verify(rollupRepository, atLeastOnce()).save(captor.capture());
+        List<AnalyticsRollup> rollups = new ArrayList<>(captor.getAllValues());
+        rollups.sort(Comparator.comparing(AnalyticsRollup::getWindowStart));
+        return rollups;
+    }
+
+    @Test
+    @DisplayName("Should compute approval rate, mean and percentiles of a window")
+    void shouldComputeApprovalRateMeanAndPercentiles() {
+        // Given - médias 0.1, 0.2, ..., 10.0 (100 eventos)
+        List<CourseCompletedEvent> events = IntStream.rangeClosed(1, 100)
+            .mapToObj(i -> event(WINDOW_START.plusSeconds(i % 60), i / 10.0, 0))
+            .toList();
+
+        // When
+        aggregator.accept(events);
+        aggregator.flushWindowsEndingBefore(WINDOW_START.plusMinutes(1));
+
+        // Then
+        AnalyticsRollup rollup = savedRollups().get(0);
+        assertThat(rollup.getWindowStart()).isEqualTo(WINDOW_START);
+        assertThat(rollup.getWindowEnd()).isEqualTo(WINDOW_START.plusMinutes(1));
+        assertThat(rollup.getEventCount()).isEqualTo(100);
+        assertThat(rollup.getPassedCount()).isEqualTo(41);
+        assertThat(rollup.getApprovalRate()).isEqualTo(0.41);
+        assertThat(rollup.getMeanAverage()).isCloseTo(5.05, within(1e-9));
+        assertThat(rollup.getP50Average()).isEqualTo(5.0);
+        assertThat(rollup.getP90Average()).isEqualTo(9.0);
+        assertThat(rollup.getP99Average()).isEqualTo(9.9);
+    }
+
+    @Test
+    @DisplayName("Should bucket current credits into fixed ranges")
+    void shouldBucketCredits() {
+        // Given
+        aggregator.accept(List.of(
+            event(WINDOW_START, 7.0, 0),
+            event(WINDOW_START, 7.0, 9),
+            event(WINDOW_START, 7.0, 10),
+            event(WINDOW_START, 7.0, 99),
+            event(WINDOW_START, 7.0, 100),
+            event(WINDOW_START, 7.0, 500),
+            event(WINDOW_START, 7.0, 10_000)));
+
+        // When
+        aggregator.flushAll();
+
+        // Then
+        AnalyticsRollup rollup = savedRollups().get(0);
+        assertThat(rollup.getCredits0To9()).isEqualTo(2);
+        assertThat(rollup.getCredits10To49()).isEqualTo(1);
+        assertThat(rollup.getCredits50To99()).isEqualTo(1);
+        assertThat(rollup.getCredits100To499()).isEqualTo(1);
+        assertThat(rollup.getCredits500Plus()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep events of different windows apart")
+    void shouldSplitEventsByWindow() {
+        // Given
+        aggregator.accept(List.of(
+            event(WINDOW_START.plusSeconds(59), 8.0, 0),
+            event(WINDOW_START.plusSeconds(60), 4.0, 0),
+            event(WINDOW_START.plusSeconds(61), 6.0, 0)));
+
+        // When
+        int flushed = aggregator.flushWindowsEndingBefore(WINDOW_START.plusMinutes(2));
+
+        // Then
+        assertThat(flushed).isEqualTo(2);
+        List<AnalyticsRollup> rollups = savedRollups();
+        assertThat(rollups).extracting(AnalyticsRollup::getEventCount).containsExactly(1L, 2L);
+        assertThat(rollups.get(1).getWindowStart()).isEqualTo(WINDOW_START.plusMinutes(1));
+        assertThat(rollups.get(1).getMeanAverage()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the open window in memory until it ends")
+    void shouldKeepOpenWindowPending() {
+        // Given
+        aggregator.accept(List.of(
+            event(WINDOW_START, 8.0, 0),
+            event(WINDOW_START.plusMinutes(1), 8.0, 0)));
+
+        // When
+        int flushed = aggregator.flushWindowsEndingBefore(WINDOW_START.plusSeconds(90));
+
+        // Then
+        assertThat(flushed).isEqualTo(1);
+        assertThat(aggregator.getPendingWindows()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing was aggregated")
+    void shouldNotWriteWhenEmpty() {
+        // When
+        aggregator.flush();
+
+        // Then
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should keep windows in memory when the database write fails")
+    void shouldRestoreWindowsOnWriteFailure() {
+        // Given
+        aggregator.accept(List.of(event(WINDOW_START, 8.0, 0), event(WINDOW_START.plusMinutes(1), 4.0, 0)));
+        when(rollupRepository.save(any(AnalyticsRollup.class)))
+            .thenThrow(new RuntimeException("database down"))
+            .thenReturn(null);
+
+        // When
+        int failed = aggregator.flushWindowsEndingBefore(WINDOW_START.plusMinutes(2));
+        aggregator.accept(List.of(event(WINDOW_START.plusSeconds(30), 6.0, 0)));
+        int retried = aggregator.flushWindowsEndingBefore(WINDOW_START.plusMinutes(2));
+
+        // Then
+        assertThat(failed).isZero();
+        assertThat(retried).isEqualTo(2);
+        assertThat(aggregator.getPendingWindows()).isZero();
+        List<AnalyticsRollup> rollups = savedRollups();
+        assertThat(rollups).hasSize(3);
+        assertThat(rollups.get(1).getEventCount() + rollups.get(2).getEventCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should add late events to the row already written for the window")
+    void shouldUpsertLateEvents() {
+        // Given - linha gravada antes com uma média 9.0
+        aggregator.accept(List.of(event(WINDOW_START, 9.0, 0)));
+        aggregator.flushAll();
+        AnalyticsRollup written = savedRollups().get(0);
+        when(rollupRepository.findByWindowStartAndSource(WINDOW_START, "replica-a")).thenReturn(Optional.of(written));
+        clearInvocations(rollupRepository);
+
+        // When - evento atrasado da mesma janela
+        aggregator.accept(List.of(event(WINDOW_START.plusSeconds(10), 3.0, 0)));
+        aggregator.flushAll();
+
+        // Then
+        AnalyticsRollup updated = savedRollups().get(0);
+        assertThat(updated.getSource()).isEqualTo("replica-a");
+        assertThat(updated.getEventCount()).isEqualTo(2);
+        assertThat(updated.getMeanAverage()).isEqualTo(6.0);
+        assertThat(updated.getP50Average()).isEqualTo(3.0);
+        assertThat(updated.getP99Average()).isEqualTo(9.0);
+    }
+
+    @Test
+    @DisplayName("Should re-derive percentiles when combining rows of different sources")
+    void shouldCombineSources() {
+        // Given
+        aggregator.accept(List.of(event(WINDOW_START, 2.0, 0), event(WINDOW_START, 4.0, 0)));
+        aggregator.flushAll();
+        AnalyticsAggregator other = new AnalyticsAggregator(rollupRepository, 60, "replica-b");
+        other.accept(List.of(event(WINDOW_START, 8.0, 0), event(WINDOW_START, 10.0, 600)));
+        other.flushAll();
+
+        // When
+        AnalyticsRollup combined = AnalyticsAggregator.combine(savedRollups());
+
+        // Then
+        assertThat(combined.getEventCount()).isEqualTo(4);
+        assertThat(combined.getMeanAverage()).isEqualTo(6.0);
+        assertThat(combined.getP50Average()).isEqualTo(4.0);
+        assertThat(combined.getP90Average()).isEqualTo(10.0);
+        assertThat(combined.getCredits500Plus()).isEqualTo(1);
+        assertThat(combined.getWindowStart()).isEqualTo(WINDOW_START);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive window size")
+    void shouldRejectInvalidWindow() {
+        assertThatThrownBy(() -> new AnalyticsAggregator(rollupRepository, 0, "replica-a"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.subscription.infrastructure.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para o AdaptiveConcurrencyLimiter.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ *
+ * <h2>Cenários testados:</h2>
+ * <ul>
+ *   <li>Recusa imediata com o limite ocupado</li>
+ *   <li>Aumento aditivo com chamadas rápidas e limite em uso</li>
+ *   <li>Redução multiplicativa com chamadas lentas ou com erro</li>
+ *   <li>Faixa min/max e métricas</li>
+ *   <li>Capacidade ociosa para trabalho de baixa prioridade</li>
+ * </ul>
+ */
+@DisplayName("AdaptiveConcurrencyLimiter Unit Tests - @Rickelme")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration FAST = Duration.ofSeconds(1);
+    private static final Duration SLOW = Duration.ofSeconds(31);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(true, initial, min, max, 0.5, 30, 2, meterRegistry);
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquire(AdaptiveConcurrencyLimiter limiter, int permits) {
+        List<AdaptiveConcurrencyLimiter.Permit> acquired = new ArrayList<>();
+        for (int i = 0; i < permits; i++) {
+            acquired.add(limiter.acquire());
+        }
+        return acquired;
+    }
+
+    @Nested
+    @DisplayName("Admission")
+    class Admission {
+
+        @Test
+        @DisplayName("Should reject immediately once in-flight calls reach the limit")
+        void shouldRejectAtLimit() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 8);
+            acquire(limiter, 2);
+
+            // When / Then
+            assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(LlmSaturatedException.class)
+                .hasMessage("LLM is saturated (2 calls in flight)")
+                .satisfies(e -> assertThat(((LlmSaturatedException) e).getRetryAfterSeconds()).isEqualTo(2));
+            assertThat(limiter.getInFlight()).isEqualTo(2);
+            assertThat(meterRegistry.counter("recommendation.llm.limiter.rejected").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should admit again after a permit is released")
+        void shouldAdmitAfterRelease() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1);
+            limiter.acquire().release(FAST);
+
+            // When / Then
+            assertThat(limiter.acquire()).isNotNull();
+            assertThat(limiter.getInFlight()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should ignore a second release of the same permit")
+        void shouldReleaseOnlyOnce() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 2);
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+            limiter.acquire();
+
+            // When
+            permit.release(FAST);
+            permit.drop();
+
+            // Then
+            assertThat(limiter.getInFlight()).isEqualTo(1);
+            assertThat(limiter.getLimit()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should never reject nor adapt when disabled")
+        void shouldNotLimitWhenDisabled() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(false, 1, 1, 1, 0.5, 30, 2, meterRegistry);
+
+            // When
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 5);
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::drop);
+
+            // Then
+            assertThat(limiter.getLimit()).isEqualTo(1);
+            assertThat(limiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should report idle capacity only while less than half the limit is in use")
+        void shouldReportIdleCapacity() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 4);
+            AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+
+            // When / Then
+            assertThat(limiter.hasIdleCapacity()).isTrue();
+            limiter.acquire();
+            assertThat(limiter.hasIdleCapacity()).isFalse();
+            first.release(FAST);
+            assertThat(limiter.hasIdleCapacity()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("AIMD")
+    class Aimd {
+
+        @Test
+        @DisplayName("Should add one when a fast call completes with the limit in use")
+        void shouldIncreaseOnFastCall() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 8);
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(limiter, 2);
+
+            // When
+            permits.get(0).release(FAST);
+
+            // Then
+            assertThat(limiter.getLimit()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should not grow while most of the limit is idle")
+        void shouldNotIncreaseWhenUnderused() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 8);
+
+            // When
+            limiter.acquire().release(FAST);
+
+            // Then
+            assertThat(limiter.getLimit()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should cut the limit when a call exceeds the latency threshold")
+        void shouldDecreaseOnSlowCall() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 8);
+
+            // When
+            limiter.acquire().release(SLOW);
+
+            // Then
+            assertThat(limiter.getLimit()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should cut the limit when a call fails")
+        void shouldDecreaseOnDrop() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(8, 1, 8);
+
+            // When
+            limiter.acquire().drop();
+
+            // Then
+            assertThat(limiter.getLimit()).isEqualTo(4);
+            assertThat(limiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should stay within min and max limits")
+        void shouldStayWithinBounds() {
+            // Given
+            AdaptiveConcurrencyLimiter limiter = limiter(2, 2, 3);
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                limiter.acquire().drop();
+            }
+            int floor = limiter.getLimit();
+            for (int i = 0; i < 5; i++) {
+                acquire(limiter, 2).forEach(permit -> permit.release(FAST));
+            }
+
+            // Then
+            assertThat(floor).isEqualTo(2);
+            assertThat(limiter.getLimit()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid bounds")
+        void shouldRejectInvalidBounds() {
+            assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(true, 10, 1, 5, 0.9, 30, 2, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(true, 2, 1, 5, 1.0, 30, 2, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose limit and in-flight gauges")
+    void shouldExposeGauges() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 8);
+
+        // When
+        acquire(limiter, 3);
+
+        // Then
+        assertThat(meterRegistry.get("recommendation.llm.limiter.limit").gauge().value()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("recommendation.llm.limiter.in-flight").gauge().value()).isEqualTo(3.0);
+    }
+}
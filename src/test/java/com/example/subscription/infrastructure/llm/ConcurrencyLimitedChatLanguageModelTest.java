@@ -0,0 +1,212 @@
+package com.example.subscription.infrastructure.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para os modelos limitados pelo AdaptiveConcurrencyLimiter.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ */
+@DisplayName("ConcurrencyLimitedChatLanguageModel Unit Tests - @Rickelme")
+class ConcurrencyLimitedChatLanguageModelTest {
+
+    private final AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter(true, 4, 1, 8, 0.5, 30, 2, new SimpleMeterRegistry());
+
+    @Nested
+    @DisplayName("Blocking")
+    class Blocking {
+
+        @Test
+        @DisplayName("Should hold a permit only while the model answers")
+        void shouldHoldPermitDuringCall() {
+            // Given
+            AtomicInteger inFlightDuringCall = new AtomicInteger();
+            ChatLanguageModel model = new ConcurrencyLimitedChatLanguageModel(messages -> {
+                inFlightDuringCall.set(limiter.getInFlight());
+                return Response.from(AiMessage.from("1. Java"));
+            }, limiter);
+
+            // When
+            String answer = model.generate("prompt");
+
+            // Then
+            assertThat(answer).isEqualTo("1. Java");
+            assertThat(inFlightDuringCall.get()).isEqualTo(1);
+            assertThat(limiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should release the permit and lower the limit when the model fails")
+        void shouldDropOnFailure() {
+            // Given
+            ChatLanguageModel model = new ConcurrencyLimitedChatLanguageModel(messages -> {
+                throw new IllegalStateException("Ollama offline");
+            }, limiter);
+
+            // When / Then
+            assertThatThrownBy(() -> model.generate("prompt")).hasMessage("Ollama offline");
+            assertThat(limiter.getInFlight()).isZero();
+            assertThat(limiter.getLimit()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should release the permit when the model throws an Error")
+        void shouldDropOnError() {
+            // Given
+            ChatLanguageModel model = new ConcurrencyLimitedChatLanguageModel(messages -> {
+                throw new OutOfMemoryError("simulated");
+            }, limiter);
+
+            // When / Then
+            assertThatThrownBy(() -> model.generate("prompt")).isInstanceOf(OutOfMemoryError.class);
+            assertThat(limiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not call the model when saturated")
+        void shouldNotCallModelWhenSaturated() {
+            // Given
+            AtomicInteger calls = new AtomicInteger();
+            ChatLanguageModel model = new ConcurrencyLimitedChatLanguageModel(messages -> {
+                calls.incrementAndGet();
+                return Response.from(AiMessage.from("unused"));
+            }, limiter);
+            for (int i = 0; i < 4; i++) {
+                limiter.acquire();
+            }
+
+            // When / Then
+            assertThatThrownBy(() -> model.generate("prompt")).isInstanceOf(LlmSaturatedException.class);
+            assertThat(calls.get()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming")
+    class Streaming {
+
+        private final List<String> tokens = new ArrayList<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private final StreamingResponseHandler<AiMessage> handler = new StreamingResponseHandler<>() {
+            @Override
+            public void onNext(String token) {
+                tokens.add(token);
+            }
+
+            @Override
+            public void onComplete(Response<AiMessage> response) {
+                tokens.add("<done>");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+            }
+        };
+
+        @Test
+        @DisplayName("Should hold the permit until the stream completes")
+        void shouldReleaseOnComplete() {
+            // Given
+            AtomicReference<StreamingResponseHandler<AiMessage>> pending = new AtomicReference<>();
+            StreamingChatLanguageModel model =
+                new ConcurrencyLimitedStreamingChatLanguageModel((messages, h) -> pending.set(h), limiter);
+
+            // When
+            model.generate("prompt", handler);
+            pending.get().onNext("1.");
+            int inFlightMidStream = limiter.getInFlight();
+            pending.get().onComplete(Response.from(AiMessage.from("1.")));
+
+            // Then
+            assertThat(inFlightMidStream).isEqualTo(1);
+            assertThat(tokens).containsExactly("1.", "<done>");
+            assertThat(limiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should release the permit when the stream fails")
+        void shouldDropOnError() {
+            // Given
+            StreamingChatLanguageModel model = new ConcurrencyLimitedStreamingChatLanguageModel(
+                (messages, h) -> h.onError(new IllegalStateException("Ollama offline")), limiter);
+
+            // When
+            model.generate("prompt", handler);
+
+            // Then
+            assertThat(error.get()).hasMessage("Ollama offline");
+            assertThat(limiter.getInFlight()).isZero();
+            assertThat(limiter.getLimit()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should judge a long stream by time to first token")
+        void shouldUseTimeToFirstToken() throws InterruptedException {
+            // Given - latência alvo de 1s e limite 1 (em uso durante o stream)
+            AdaptiveConcurrencyLimiter strictLimiter =
+                new AdaptiveConcurrencyLimiter(true, 1, 1, 8, 0.5, 1, 2, new SimpleMeterRegistry());
+            AtomicReference<StreamingResponseHandler<AiMessage>> pending = new AtomicReference<>();
+            StreamingChatLanguageModel model =
+                new ConcurrencyLimitedStreamingChatLanguageModel((messages, h) -> pending.set(h), strictLimiter);
+
+            // When - primeiro token imediato, fim do stream depois da latência alvo
+            model.generate("prompt", handler);
+            pending.get().onNext("1.");
+            Thread.sleep(1100);
+            pending.get().onComplete(Response.from(AiMessage.from("1. Java")));
+
+            // Then - chamada rápida: aumento aditivo em vez de redução
+            assertThat(strictLimiter.getInFlight()).isZero();
+            assertThat(strictLimiter.getLimit()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should release the permit when the delegate throws an Error")
+        void shouldDropOnDelegateError() {
+            // Given
+            StreamingChatLanguageModel model = new ConcurrencyLimitedStreamingChatLanguageModel(
+                (messages, h) -> {
+                    throw new StackOverflowError("simulated");
+                }, limiter);
+
+            // When / Then
+            assertThatThrownBy(() -> model.generate("prompt", handler)).isInstanceOf(StackOverflowError.class);
+            assertThat(limiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should throw before any callback when saturated")
+        void shouldThrowWhenSaturated() {
+            // Given
+            StreamingChatLanguageModel model = new ConcurrencyLimitedStreamingChatLanguageModel(
+                (messages, h) -> h.onNext("unused"), limiter);
+            for (int i = 0; i < 4; i++) {
+                limiter.acquire();
+            }
+
+            // When / Then
+            assertThatThrownBy(() -> model.generate("prompt", handler)).isInstanceOf(LlmSaturatedException.class);
+            assertThat(tokens).isEmpty();
+        }
+    }
+}
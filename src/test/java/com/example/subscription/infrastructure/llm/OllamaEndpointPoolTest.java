@@ -0,0 +1,273 @@
+package com.example.subscription.infrastructure.llm;
+
+import com.sun.net.httpserver.HttpServer;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.ollama.OllamaChatModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para o OllamaEndpointPool e o RoutingChatLanguageModel.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ *
+ * <h2>Cenários testados:</h2>
+ * <ul>
+ *   <li>Roteamento por menos requisições em andamento</li>
+ *   <li>Ejeção e retorno pelo health probe (stub HTTP no lugar do Ollama)</li>
+ *   <li>Todos os servidores ejetados: roteia entre todos</li>
+ *   <li>Latência por servidor nas métricas</li>
+ * </ul>
+ */
+@DisplayName("OllamaEndpointPool Unit Tests - @Rickelme")
+class OllamaEndpointPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    /**
+     * Stub do Ollama: {@code /api/tags} responde {@code tagsStatus} e
+     * {@code /api/chat} responde {@code answer}.
+     */
+    private static final class OllamaStub {
+        private final HttpServer server;
+        private final AtomicInteger tagsStatus = new AtomicInteger(200);
+        private final AtomicInteger chats = new AtomicInteger();
+
+        private OllamaStub(String answer) throws IOException {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/tags", exchange -> {
+                byte[] body = "{\"models\":[]}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(tagsStatus.get(), body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.createContext("/api/chat", exchange -> {
+                chats.incrementAndGet();
+                exchange.getRequestBody().readAllBytes();
+                byte[] body = ("{\"model\":\"test-model\",\"message\":{\"role\":\"assistant\",\"content\":\""
+                        + answer + "\"},\"done\":true}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+        }
+
+        private String baseUrl() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+    }
+
+    private OllamaStub stub(String answer) throws IOException {
+        OllamaStub stub = new OllamaStub(answer);
+        servers.add(stub.server);
+        return stub;
+    }
+
+    private OllamaEndpoint endpoint(OllamaStub stub) {
+        ChatLanguageModel chat = OllamaChatModel.builder()
+                .baseUrl(stub.baseUrl())
+                .modelName("test-model")
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        return new OllamaEndpoint(stub.baseUrl(), chat, null);
+    }
+
+    private OllamaEndpoint fakeEndpoint(String baseUrl) {
+        return new OllamaEndpoint(baseUrl, messages -> Response.from(AiMessage.from(baseUrl)), null);
+    }
+
+    private OllamaEndpointPool pool(OllamaEndpoint... endpoints) {
+        return new OllamaEndpointPool(List.of(endpoints), Duration.ofSeconds(1), meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("Least outstanding routing")
+    class LeastOutstanding {
+
+        @Test
+        @DisplayName("Should route to the endpoint with fewest outstanding requests")
+        void shouldPickLeastOutstanding() {
+            // Given
+            OllamaEndpoint busy = fakeEndpoint("http://ia-1");
+            OllamaEndpoint idle = fakeEndpoint("http://ia-2");
+            OllamaEndpointPool pool = pool(busy, idle);
+            busy.begin();
+            busy.begin();
+            idle.begin();
+
+            // When / Then
+            for (int i = 0; i < 3; i++) {
+                assertThat(pool.acquire()).isSameAs(idle);
+                idle.end();
+            }
+        }
+
+        @Test
+        @DisplayName("Should spread calls across idle endpoints")
+        void shouldAlternateOnTies() {
+            // Given
+            OllamaEndpoint first = fakeEndpoint("http://ia-1");
+            OllamaEndpoint second = fakeEndpoint("http://ia-2");
+            OllamaEndpointPool pool = pool(first, second);
+
+            // When
+            pool.acquire();
+            pool.acquire();
+
+            // Then
+            assertThat(first.getOutstanding()).isEqualTo(1);
+            assertThat(second.getOutstanding()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should send real Ollama calls to both stubs and record per-endpoint latency")
+        void shouldRouteThroughStubs() throws IOException {
+            // Given
+            OllamaStub first = stub("Spring Boot");
+            OllamaStub second = stub("Spring Boot");
+            OllamaEndpointPool pool = pool(endpoint(first), endpoint(second));
+            ChatLanguageModel model = new RoutingChatLanguageModel(pool);
+
+            // When
+            List<String> answers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                answers.add(model.generate("prompt"));
+            }
+
+            // Then
+            assertThat(answers).containsOnly("Spring Boot");
+            assertThat(first.chats.get()).isEqualTo(2);
+            assertThat(second.chats.get()).isEqualTo(2);
+            assertThat(meterRegistry.get("recommendation.llm.endpoint")
+                .tags("endpoint", first.baseUrl(), "outcome", "success").timer().count()).isEqualTo(2);
+            assertThat(pool.getEndpoints()).allMatch(endpoint -> endpoint.getOutstanding() == 0);
+        }
+
+        @Test
+        @DisplayName("Should release the endpoint and record an error when the call fails")
+        void shouldReleaseOnFailure() {
+            // Given
+            OllamaEndpoint failing = new OllamaEndpoint("http://ia-1", messages -> {
+                throw new IllegalStateException("Ollama offline");
+            }, null);
+            ChatLanguageModel model = new RoutingChatLanguageModel(pool(failing));
+
+            // When / Then
+            assertThatThrownBy(() -> model.generate("prompt")).hasMessage("Ollama offline");
+            assertThat(failing.getOutstanding()).isZero();
+            assertThat(meterRegistry.get("recommendation.llm.endpoint")
+                .tags("endpoint", "http://ia-1", "outcome", "error").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should fail when no endpoint is configured")
+        void shouldFailWhenEmpty() {
+            assertThatThrownBy(() -> pool().acquire()).isInstanceOf(NoSuchElementException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Health probe")
+    class HealthProbe {
+
+        @Test
+        @DisplayName("Should eject an endpoint that fails the probe and bring it back once it passes")
+        void shouldEjectAndRestore() throws IOException {
+            // Given
+            OllamaStub healthy = stub("ok");
+            OllamaStub flaky = stub("ok");
+            OllamaEndpoint healthyEndpoint = endpoint(healthy);
+            OllamaEndpoint flakyEndpoint = endpoint(flaky);
+            OllamaEndpointPool pool = pool(healthyEndpoint, flakyEndpoint);
+            flaky.tagsStatus.set(500);
+
+            // When
+            pool.probeAll().join();
+
+            // Then
+            assertThat(flakyEndpoint.isHealthy()).isFalse();
+            assertThat(flakyEndpoint.getLastProbeAt()).isNotNull();
+            assertThat(meterRegistry.get("recommendation.llm.endpoint.healthy")
+                .tag("endpoint", flaky.baseUrl()).gauge().value()).isZero();
+            for (int i = 0; i < 3; i++) {
+                assertThat(pool.acquire()).isSameAs(healthyEndpoint);
+            }
+
+            // When - volta a responder
+            flaky.tagsStatus.set(200);
+            pool.probeAll().join();
+
+            // Then
+            assertThat(flakyEndpoint.isHealthy()).isTrue();
+            assertThat(pool.acquire()).isSameAs(flakyEndpoint);
+        }
+
+        @Test
+        @DisplayName("Should eject an endpoint that does not answer")
+        void shouldEjectUnreachableEndpoint() throws IOException {
+            // Given
+            OllamaStub stopped = stub("ok");
+            OllamaEndpoint endpoint = endpoint(stopped);
+            OllamaEndpointPool pool = pool(endpoint);
+            stopped.server.stop(0);
+
+            // When
+            long start = System.nanoTime();
+            pool.probeAll().join();
+
+            // Then
+            assertThat(endpoint.isHealthy()).isFalse();
+            assertThat(pool.isAvailable()).isFalse();
+            assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(5);
+        }
+
+        @Test
+        @DisplayName("Should keep routing across all endpoints when every probe fails")
+        void shouldRouteAcrossAllWhenAllEjected() throws IOException {
+            // Given
+            OllamaStub first = stub("ok");
+            OllamaStub second = stub("ok");
+            OllamaEndpointPool pool = pool(endpoint(first), endpoint(second));
+            first.tagsStatus.set(503);
+            second.tagsStatus.set(503);
+            pool.probeAll().join();
+
+            // When
+            OllamaEndpoint selected = pool.acquire();
+
+            // Then
+            assertThat(pool.isAvailable()).isFalse();
+            assertThat(selected).isIn(pool.getEndpoints());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.subscription.infrastructure.llm;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para o RoutingStreamingChatLanguageModel.
+ *
+ * <h2>Responsável:</h2>
+ * <p>@author Rickelme</p>
+ */
+@DisplayName("RoutingStreamingChatLanguageModel Unit Tests - @Rickelme")
+class RoutingStreamingChatLanguageModelTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> tokens = new ArrayList<>();
+
+    private final StreamingResponseHandler<AiMessage> handler = new StreamingResponseHandler<>() {
+        @Override
+        public void onNext(String token) {
+            tokens.add(token);
+        }
+
+        @Override
+        public void onComplete(Response<AiMessage> response) {
+            tokens.add("<done>");
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            tokens.add("<error>");
+        }
+    };
+
+    @Test
+    @DisplayName("Should keep the endpoint busy until the stream completes")
+    void shouldCountStreamAsOutstanding() {
+        // Given
+        AtomicReference<StreamingResponseHandler<AiMessage>> pending = new AtomicReference<>();
+        OllamaEndpoint streaming = new OllamaEndpoint("http://ia-1", null, (messages, h) -> pending.set(h));
+        OllamaEndpoint idle = new OllamaEndpoint("http://ia-2", null, (messages, h) -> pending.set(h));
+        OllamaEndpointPool pool = new OllamaEndpointPool(List.of(streaming, idle), Duration.ofSeconds(1), meterRegistry);
+        StreamingChatLanguageModel model = new RoutingStreamingChatLanguageModel(pool);
+
+        // When
+        model.generate("prompt", handler);
+        OllamaEndpoint busy = streaming.getOutstanding() == 1 ? streaming : idle;
+        OllamaEndpoint next = pool.acquire();
+        pending.get().onNext("1.");
+        pending.get().onComplete(Response.from(AiMessage.from("1.")));
+
+        // Then
+        assertThat(next).isNotSameAs(busy);
+        assertThat(busy.getOutstanding()).isZero();
+        assertThat(tokens).containsExactly("1.", "<done>");
+        assertThat(meterRegistry.get("recommendation.llm.endpoint")
+            .tags("endpoint", busy.getBaseUrl(), "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the endpoint once when the stream fails")
+    void shouldReleaseOnError() {
+        // Given
+        OllamaEndpoint endpoint = new OllamaEndpoint("http://ia-1", null, (messages, h) -> {
+            h.onError(new IllegalStateException("Ollama offline"));
+            h.onError(new IllegalStateException("again"));
+        });
+        OllamaEndpointPool pool = new OllamaEndpointPool(List.of(endpoint), Duration.ofSeconds(1), meterRegistry);
+
+        // When
+        new RoutingStreamingChatLanguageModel(pool).generate("prompt", handler);
+
+        // Then
+        assertThat(endpoint.getOutstanding()).isZero();
+        assertThat(meterRegistry.get("recommendation.llm.endpoint")
+            .tags("endpoint", "http://ia-1", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+}
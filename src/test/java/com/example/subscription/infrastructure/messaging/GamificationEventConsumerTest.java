@@ -1,14 +1,22 @@
 package com.example.subscription.infrastructure.messaging;
 
+import com.example.subscription.application.service.RecommendationPrecomputeService;
 import com.example.subscription.domain.event.CourseCompletedEvent;
+import com.example.subscription.infrastructure.analytics.AnalyticsAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.verify;
 
 /**
  * Testes unitários para o GamificationEventConsumer.
@@ -21,6 +29,7 @@ import static org.assertj.core.api.Assertions.*;
  *   <li>Processamento de eventos de conclusão de curso</li>
  *   <li>Processamento de notificações</li>
  *   <li>Processamento de analytics</li>
+ *   <li>Agendamento do pré-cálculo de recomendações</li>
  *   <li>Tratamento de eventos com certificado</li>
  *   <li>Tratamento de eventos de milestone</li>
  * </ul>
@@ -37,6 +46,15 @@ import static org.assertj.core.api.Assertions.*;
 @DisplayName("GamificationEventConsumer Tests - @Guilherme")
 class GamificationEventConsumerTest {
 
+    @Mock
+    private AnalyticsAggregator analyticsAggregator;
+
+    @Mock
+    private RecommendationPrecomputeService recommendationPrecomputeService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private GamificationEventConsumer consumer;
 
@@ -241,6 +259,36 @@ class GamificationEventConsumerTest {
                 .doesNotThrowAnyException();
         }
 
+        @Test
+        @DisplayName("Should fold a received analytics batch into the aggregator")
+        void shouldProcessAnalyticsBatch() {
+            // Given
+            List<CourseCompletedEvent> events = List.of(createEventWithCertificate(), createFailedEvent());
+
+            // When
+            consumer.processAnalyticsBatch(events);
+
+            // Then
+            verify(analyticsAggregator).accept(events);
+            assertThat(meterRegistry.get("gamification.consumer.handle")
+                .tags("listener", "analytics", "outcome", "success").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("gamification.consumer.batch.size").summary().totalAmount())
+                .isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should delegate single analytics event to aggregator")
+        void shouldDelegateSingleAnalyticsEventToAggregator() {
+            // Given
+            CourseCompletedEvent event = createFailedEvent();
+
+            // When
+            consumer.processAnalytics(event);
+
+            // Then
+            verify(analyticsAggregator).accept(List.of(event));
+        }
+
         @Test
         @DisplayName("Should process analytics for passed event")
         void shouldProcessAnalyticsForPassedEvent() {
@@ -275,6 +323,26 @@ class GamificationEventConsumerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Process Recommendation")
+    class ProcessRecommendation {
+
+        @Test
+        @DisplayName("Should schedule the student's recommendation precompute")
+        void shouldSchedulePrecompute() {
+            // Given
+            CourseCompletedEvent event = createFailedEvent();
+
+            // When
+            consumer.processRecommendation(event);
+
+            // Then
+            verify(recommendationPrecomputeService).onCourseCompleted(3L);
+            assertThat(meterRegistry.get("gamification.consumer.handle")
+                .tags("listener", "recommendation", "outcome", "success").timer().count()).isEqualTo(1);
+        }
+    }
+
     @Nested
     @DisplayName("Event Processing Integration")
     class EventProcessingIntegration {
@@ -1,6 +1,9 @@
 package com.example.subscription.infrastructure.messaging;
 
 import com.example.subscription.domain.event.CourseCompletedEvent;
+import com.example.subscription.infrastructure.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,10 +13,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +45,7 @@ import static org.mockito.Mockito.*;
  *   <li>Publicação de notificações para alunos aprovados</li>
  *   <li>Publicação de analytics para todos os eventos</li>
  *   <li>Tratamento de erros de publicação</li>
+ *   <li>Gravação na outbox e envio adiado para após o commit</li>
  * </ul>
  * 
  * <h2>Arquitetura:</h2>
@@ -46,6 +59,15 @@ class GamificationEventPublisherTest {
     @Mock
     private RabbitTemplate rabbitTemplate;
 
+    @Mock
+    private OutboxEventRepository outboxRepository;
+
+    @Mock
+    private PublisherConfirmTracker confirmTracker;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private GamificationEventPublisher publisher;
 
@@ -66,6 +88,7 @@ class GamificationEventPublisherTest {
         // Configurar valores via reflection para simular @Value
         ReflectionTestUtils.setField(publisher, "exchangeName", EXCHANGE_NAME);
         ReflectionTestUtils.setField(publisher, "courseCompletedRoutingKey", COURSE_COMPLETED_ROUTING_KEY);
+        ReflectionTestUtils.setField(publisher, "courseCompletedEventRoutingKey", "event.course.completed");
     }
 
     private CourseCompletedEvent createPassedEvent() {
@@ -109,6 +132,9 @@ class GamificationEventPublisherTest {
                 eq(COURSE_COMPLETED_ROUTING_KEY),
                 eq(event)
             );
+            assertThat(meterRegistry.get("gamification.publisher.send")
+                .tags("routing.key", COURSE_COMPLETED_ROUTING_KEY, "outcome", "success").timer().count())
+                .isEqualTo(1);
         }
 
         @Test
@@ -315,5 +341,262 @@ class GamificationEventPublisherTest {
             assertThat(capturedEvent.passed()).isEqualTo(event.passed());
         }
     }
-}
 
+    @Nested
+    @DisplayName("Publish Course Completed Batch")
+    class PublishCourseCompletedBatch {
+
+        @Test
+        @DisplayName("Should publish every event of the batch on a single channel")
+        @SuppressWarnings("unchecked")
+        void shouldPublishBatchOnSingleChannel() {
+            // Given - invoke executa o callback com o próprio template
+            when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+                .thenAnswer(invocation -> ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0))
+                    .doInRabbit(rabbitTemplate));
+
+            // When
+            publisher.publishCourseCompletedBatch(List.of(createPassedEvent(), createFailedEvent()));
+
+            // Then - aprovado: 3 mensagens, reprovado: 2 mensagens
+            verify(rabbitTemplate, times(1)).invoke(any(RabbitOperations.OperationsCallback.class));
+            verify(rabbitTemplate, times(5)).convertAndSend(anyString(), anyString(), any(CourseCompletedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should not open a channel for an empty batch")
+        @SuppressWarnings("unchecked")
+        void shouldSkipEmptyBatch() {
+            // When
+            publisher.publishCourseCompletedBatch(List.of());
+
+            // Then
+            verify(rabbitTemplate, never()).invoke(any(RabbitOperations.OperationsCallback.class));
+        }
+
+        @Test
+        @DisplayName("Should handle broker failure without throwing")
+        @SuppressWarnings("unchecked")
+        void shouldHandleBrokerFailure() {
+            // Given
+            when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+                .thenThrow(new AmqpException("Connection refused"));
+
+            // When/Then
+            assertThatCode(() -> publisher.publishCourseCompletedBatch(List.of(createPassedEvent())))
+                .doesNotThrowAnyException();
+        }
+    }
+
+    @Nested
+    @DisplayName("Transactional Outbox")
+    class TransactionalOutbox {
+
+        @BeforeEach
+        void enableOutbox() {
+            ReflectionTestUtils.setField(publisher, "outboxEnabled", true);
+            when(rabbitTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter());
+        }
+
+        @Test
+        @DisplayName("Should write one outbox row per routed message instead of sending")
+        @SuppressWarnings("unchecked")
+        void shouldWriteOutboxRows() {
+            // When
+            publisher.publishCourseCompleted(createPassedEvent());
+
+            // Then
+            ArgumentCaptor<List<OutboxEvent>> rows = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository).saveAll(rows.capture());
+            assertThat(rows.getValue())
+                .extracting(OutboxEvent::getRoutingKey)
+                .containsExactly(COURSE_COMPLETED_ROUTING_KEY, "notification.course.completed", "analytics.gamification");
+            assertThat(rows.getValue()).allSatisfy(row -> {
+                assertThat(row.getExchange()).isEqualTo(EXCHANGE_NAME);
+                assertThat(row.getPayload()).contains("\"studentName\":\"João Silva\"");
+                assertThat(row.getPayloadType()).isEqualTo(CourseCompletedEvent.class.getName());
+            });
+            verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should write the whole batch with a single saveAll")
+        @SuppressWarnings("unchecked")
+        void shouldWriteBatchRows() {
+            // When
+            publisher.publishCourseCompletedBatch(List.of(createPassedEvent(), createFailedEvent()));
+
+            // Then - aprovado: 3 linhas, reprovado: 2 linhas
+            ArgumentCaptor<List<OutboxEvent>> rows = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository, times(1)).saveAll(rows.capture());
+            assertThat(rows.getValue()).hasSize(5);
+            verify(rabbitTemplate, never()).invoke(any(RabbitOperations.OperationsCallback.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Direct Publishing Inside Transaction")
+    class DirectPublishingInsideTransaction {
+
+        @BeforeEach
+        void beginSynchronization() {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+
+        @AfterEach
+        void clearSynchronization() {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        @Test
+        @DisplayName("Should defer sending until the transaction commits")
+        void shouldDeferUntilCommit() {
+            // When
+            publisher.publishCourseCompleted(createPassedEvent());
+
+            // Then - nada enviado antes do commit
+            verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(CourseCompletedEvent.class));
+
+            // When - commit
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Then
+            verify(rabbitTemplate, times(3)).convertAndSend(anyString(), anyString(), any(CourseCompletedEvent.class));
+            verifyNoInteractions(outboxRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Publisher Confirms")
+    class PublisherConfirms {
+
+        @BeforeEach
+        void enableConfirms() {
+            ReflectionTestUtils.setField(publisher, "confirmsEnabled", true);
+            when(rabbitTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter());
+        }
+
+        @Test
+        @DisplayName("Should track every routed message through the confirm tracker")
+        void shouldTrackEveryMessage() {
+            // Given
+            when(confirmTracker.send(any(RabbitOperations.class), anyString(), anyString(), any(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+            // When
+            publisher.publishCourseCompleted(createPassedEvent());
+
+            // Then
+            verify(confirmTracker).send(eq(rabbitTemplate), eq(EXCHANGE_NAME), eq(COURSE_COMPLETED_ROUTING_KEY), any(Message.class));
+            verify(confirmTracker).send(eq(rabbitTemplate), eq(EXCHANGE_NAME), eq("notification.course.completed"), any(Message.class));
+            verify(confirmTracker).send(eq(rabbitTemplate), eq(EXCHANGE_NAME), eq("analytics.gamification"), any(Message.class));
+            verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should not throw when the broker never confirms")
+        void shouldNotThrowOnNack() {
+            // Given
+            when(confirmTracker.send(any(RabbitOperations.class), anyString(), anyString(), any(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+            // When / Then
+            assertThatCode(() -> publisher.publishCourseCompleted(createFailedEvent()))
+                .doesNotThrowAnyException();
+            verify(confirmTracker, times(2)).send(any(RabbitOperations.class), anyString(), anyString(), any(Message.class));
+        }
+
+        @Test
+        @DisplayName("Should handle immediate send failure without throwing")
+        void shouldHandleSendFailure() {
+            // Given
+            when(confirmTracker.send(any(RabbitOperations.class), anyString(), anyString(), any(Message.class)))
+                .thenThrow(new AmqpException("Connection refused"));
+
+            // When / Then
+            assertThatCode(() -> publisher.publishCourseCompleted(createPassedEvent()))
+                .doesNotThrowAnyException();
+        }
+    }
+
+    @Nested
+    @DisplayName("Single Routed Message")
+    class SingleRoutedMessage {
+
+        @BeforeEach
+        void enableSingleMessage() {
+            ReflectionTestUtils.setField(publisher, "singleMessageEnabled", true);
+            when(rabbitTemplate.getMessageConverter()).thenReturn(new Jackson2JsonMessageConverter());
+        }
+
+        @Test
+        @DisplayName("Should send one message with passed routing key")
+        void shouldSendOneMessageForPassed() {
+            // When
+            publisher.publishCourseCompleted(createPassedEvent());
+
+            // Then
+            verify(rabbitTemplate, times(1)).send(eq(EXCHANGE_NAME), eq("event.course.completed.passed"), any(Message.class));
+            verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should send one message with failed routing key")
+        void shouldSendOneMessageForFailed() {
+            // When
+            publisher.publishCourseCompleted(createFailedEvent());
+
+            // Then
+            ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+            verify(rabbitTemplate, times(1)).send(eq(EXCHANGE_NAME), eq("event.course.completed.failed"), message.capture());
+            CourseCompletedEvent converted =
+                (CourseCompletedEvent) new Jackson2JsonMessageConverter().fromMessage(message.getValue());
+            assertThat(converted.studentId()).isEqualTo(2L);
+            assertThat(converted.passed()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should write a single outbox row per event")
+        @SuppressWarnings("unchecked")
+        void shouldWriteSingleOutboxRow() {
+            // Given
+            ReflectionTestUtils.setField(publisher, "outboxEnabled", true);
+
+            // When
+            publisher.publishCourseCompletedBatch(List.of(createPassedEvent(), createFailedEvent()));
+
+            // Then
+            ArgumentCaptor<List<OutboxEvent>> rows = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository).saveAll(rows.capture());
+            assertThat(rows.getValue()).extracting(OutboxEvent::getRoutingKey)
+                .containsExactly("event.course.completed.passed", "event.course.completed.failed");
+        }
+
+        @Test
+        @DisplayName("Should track a single confirm per event")
+        void shouldTrackSingleConfirm() {
+            // Given
+            ReflectionTestUtils.setField(publisher, "confirmsEnabled", true);
+            when(confirmTracker.send(any(RabbitOperations.class), anyString(), anyString(), any(Message.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+            // When
+            publisher.publishCourseCompleted(createPassedEvent());
+
+            // Then
+            verify(confirmTracker, times(1)).send(any(RabbitOperations.class), anyString(), anyString(), any(Message.class));
+        }
+
+        @Test
+        @DisplayName("Should handle broker failure without throwing")
+        void shouldHandleBrokerFailure() {
+            // Given
+            doThrow(new AmqpException("Connection refused"))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+
+            // When / Then
+            assertThatCode(() -> publisher.publishCourseCompleted(createPassedEvent()))
+                .doesNotThrowAnyException();
+        }
+    }
+}
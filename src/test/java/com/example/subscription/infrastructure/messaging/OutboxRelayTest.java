@@ -0,0 +1,240 @@
+package com.example.subscription.infrastructure.messaging;
+
+import com.example.subscription.domain.event.CourseCompletedEvent;
+import com.example.subscription.infrastructure.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do OutboxRelay.
+ *
+ * <h2>Cenários testados:</h2>
+ * <ul>
+ *   <li>Remoção das linhas confirmadas (ack)</li>
+ *   <li>Permanência das linhas com nack ou broker indisponível</li>
+ *   <li>Timeout de confirmação</li>
+ *   <li>Drenagem de vários lotes cheios, limitada por ciclo</li>
+ *   <li>Estacionamento após {@code max-attempts} recusas do broker</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxRepository;
+
+    @Mock
+    private PublisherConfirmTracker confirmTracker;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, confirmTracker, transactionTemplate, meterRegistry, 2, 100, 3, 3);
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private OutboxEvent row(long id) {
+        CourseCompletedEvent event = CourseCompletedEvent.of(id, "Ana", 1, 3, 8.0, true);
+        Message message = new Jackson2JsonMessageConverter().toMessage(event, new MessageProperties());
+        OutboxEvent row = OutboxEvent.of("gamification.events", "course.completed", message);
+        ReflectionTestUtils.setField(row, "id", id);
+        return row;
+    }
+
+    /**
+     * Simula o resultado final (após reenvios) de cada mensagem enviada.
+     */
+    private void brokerConfirms(boolean... acks) {
+        int[] call = {0};
+        when(confirmTracker.send(anyString(), anyString(), any(Message.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(acks[call[0]++]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> deletedRows() {
+        ArgumentCaptor<Iterable<OutboxEvent>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(outboxRepository, atLeastOnce()).deleteAllInBatch(captor.capture());
+        List<OutboxEvent> deleted = new ArrayList<>();
+        captor.getAllValues().forEach(batch -> batch.forEach(deleted::add));
+        return deleted;
+    }
+
+    @Test
+    @DisplayName("Should delete acked rows and keep nacked ones")
+    void shouldDeleteAckedRowsOnly() {
+        // Given
+        OutboxEvent acked = row(1L);
+        OutboxEvent nacked = row(2L);
+        when(outboxRepository.findByParkedAtIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(acked, nacked));
+        brokerConfirms(true, false);
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertThat(relayed).isEqualTo(1);
+        assertThat(deletedRows()).containsExactly(acked);
+        assertThat(nacked.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should send the stored JSON body with exchange and routing key")
+    void shouldSendStoredMessage() {
+        // Given
+        when(outboxRepository.findByParkedAtIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(row(7L)));
+        brokerConfirms(true);
+
+        // When
+        relay.relayBatch();
+
+        // Then
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(confirmTracker).send(eq("gamification.events"), eq("course.completed"), message.capture());
+        Object converted = new Jackson2JsonMessageConverter().fromMessage(message.getValue());
+        assertThat(converted).isInstanceOf(CourseCompletedEvent.class);
+        assertThat(((CourseCompletedEvent) converted).studentId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should keep every row when the broker is unavailable")
+    void shouldKeepRowsWhenBrokerDown() {
+        // Given
+        OutboxEvent first = row(1L);
+        OutboxEvent second = row(2L);
+        when(outboxRepository.findByParkedAtIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(first, second));
+        when(confirmTracker.send(anyString(), anyString(), any(Message.class)))
+            .thenThrow(new AmqpConnectException(new ConnectException("Connection refused")));
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertThat(relayed).isZero();
+        assertThat(deletedRows()).isEmpty();
+        // Queda do broker não conta como recusa
+        assertThat(first.getAttempts()).isZero();
+        assertThat(second.getAttempts()).isZero();
+        assertThat(first.isParked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should treat unconfirmed rows as failed after timeout")
+    void shouldTimeoutWithoutConfirm() {
+        // Given - broker nunca confirma
+        OutboxEvent pending = row(1L);
+        when(outboxRepository.findByParkedAtIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(pending));
+        when(confirmTracker.send(anyString(), anyString(), any(Message.class))).thenReturn(new CompletableFuture<>());
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertThat(relayed).isZero();
+        assertThat(pending.getAttempts()).isZero();
+        assertThat(pending.isParked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should park a row once the broker rejected it max-attempts times")
+    void shouldParkAfterMaxAttempts() {
+        // Given - mensagem sem rota: confirm sempre false
+        OutboxEvent unroutable = row(1L);
+        when(outboxRepository.findByParkedAtIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(unroutable));
+        when(confirmTracker.send(anyString(), anyString(), any(Message.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(false));
+
+        // When
+        relay.relayBatch();
+        relay.relayBatch();
+        boolean parkedBeforeCap = unroutable.isParked();
+        relay.relayBatch();
+
+        // Then
+        assertThat(parkedBeforeCap).isFalse();
+        assertThat(unroutable.isParked()).isTrue();
+        assertThat(unroutable.getParkedAt()).isNotNull();
+        assertThat(unroutable.getAttempts()).isEqualTo(3);
+        assertThat(meterRegistry.counter("gamification.outbox.parked").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop draining after max-batches-per-run full batches")
+    void shouldCapBatchesPerRun() {
+        // Given - outbox sempre com lote cheio
+        when(outboxRepository.findByParkedAtIsNullOrderByIdAsc(any(Limit.class)))
+            .thenAnswer(invocation -> List.of(row(1L), row(2L)));
+        when(confirmTracker.send(anyString(), anyString(), any(Message.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(true));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should keep draining while batches are full")
+    void shouldDrainFullBatches() {
+        // Given - batch-size 2: lote cheio, depois lote parcial
+        when(outboxRepository.findByParkedAtIsNullOrderByIdAsc(any(Limit.class)))
+            .thenReturn(List.of(row(1L), row(2L)))
+            .thenReturn(List.of(row(3L)));
+        brokerConfirms(true, true, true);
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(transactionTemplate, times(2)).execute(any());
+        assertThat(deletedRows()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when outbox is empty")
+    void shouldDoNothingWhenEmpty() {
+        // Given
+        when(outboxRepository.findByParkedAtIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of());
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(confirmTracker, never()).send(anyString(), anyString(), any(Message.class));
+        verify(outboxRepository, never()).deleteAllInBatch(any());
+    }
+}
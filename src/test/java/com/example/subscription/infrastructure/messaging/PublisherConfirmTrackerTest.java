@@ -0,0 +1,222 @@
+package com.example.subscription.infrastructure.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do PublisherConfirmTracker.
+ *
+ * <h2>Cenários testados:</h2>
+ * <ul>
+ *   <li>Ack, nack com reenvio, nack esgotado e mensagem sem rota</li>
+ *   <li>Pipelining: vários envios antes de qualquer confirm</li>
+ *   <li>Contadores e gauge de mensagens em voo</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PublisherConfirmTracker Tests")
+class PublisherConfirmTrackerTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PublisherConfirmTracker tracker;
+    private final List<CorrelationData> sent = new ArrayList<>();
+    private final Message message = new Message("{}".getBytes(), new MessageProperties());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new PublisherConfirmTracker(rabbitTemplate, meterRegistry, 2);
+        lenient().when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        lenient().when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        lenient().doAnswer(invocation -> {
+            synchronized (sent) {
+                sent.add(invocation.getArgument(3));
+                sent.notifyAll();
+            }
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.shutdown();
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private void confirm(int index, boolean ack) {
+        sent.get(index).getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+    }
+
+    /**
+     * Aguarda o reenvio (feito em thread própria) chegar ao template.
+     */
+    private void awaitSends(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        synchronized (sent) {
+            while (sent.size() < expected && System.currentTimeMillis() < deadline) {
+                sent.wait(50);
+            }
+        }
+        assertThat(sent).hasSize(expected);
+    }
+
+    @Test
+    @DisplayName("Should complete with true on ack")
+    void shouldCompleteOnAck() throws Exception {
+        // When
+        CompletableFuture<Boolean> result = tracker.send("ex", "rk", message);
+
+        // Then - aguardando confirm
+        assertThat(result).isNotDone();
+        assertThat(tracker.getInFlight()).isEqualTo(1);
+        assertThat(meterRegistry.get("gamification.publisher.in-flight").gauge().value()).isEqualTo(1.0);
+
+        // When
+        confirm(0, true);
+
+        // Then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(tracker.getInFlight()).isZero();
+        assertThat(count("gamification.publisher.confirmed")).isEqualTo(1);
+        assertThat(meterRegistry.get("gamification.publisher.send")
+            .tags("routing.key", "rk", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gamification.publisher.confirm")
+            .tags("routing.key", "rk", "result", "ack").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should pipeline many sends before any confirm arrives")
+    void shouldPipelineSends() throws Exception {
+        // When
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(tracker.send("ex", "rk", message));
+        }
+
+        // Then
+        assertThat(sent).hasSize(10);
+        assertThat(tracker.getInFlight()).isEqualTo(10);
+
+        for (int i = 0; i < 10; i++) {
+            confirm(i, true);
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+        assertThat(results).allSatisfy(result -> assertThat(result.join()).isTrue());
+        assertThat(tracker.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should resend after nack and complete with true on later ack")
+    void shouldResendAfterNack() throws Exception {
+        // Given
+        CompletableFuture<Boolean> result = tracker.send("ex", "rk", message);
+
+        // When
+        confirm(0, false);
+        awaitSends(2);
+        confirm(1, true);
+
+        // Then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(count("gamification.publisher.nacked")).isEqualTo(1);
+        assertThat(count("gamification.publisher.resent")).isEqualTo(1);
+        assertThat(count("gamification.publisher.confirmed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should complete with false when resends are exhausted")
+    void shouldFailWhenResendsExhausted() throws Exception {
+        // Given - max-resends = 2
+        CompletableFuture<Boolean> result = tracker.send("ex", "rk", message);
+
+        // When
+        confirm(0, false);
+        awaitSends(2);
+        confirm(1, false);
+        awaitSends(3);
+        confirm(2, false);
+
+        // Then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(count("gamification.publisher.nacked")).isEqualTo(3);
+        assertThat(count("gamification.publisher.resent")).isEqualTo(2);
+        assertThat(tracker.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not resend returned (unroutable) messages")
+    void shouldNotResendReturnedMessages() throws Exception {
+        // Given
+        CompletableFuture<Boolean> result = tracker.send("ex", "rk", message);
+
+        // When
+        sent.get(0).setReturned(new ReturnedMessage(message, 312, "NO_ROUTE", "ex", "rk"));
+        confirm(0, true);
+
+        // Then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(count("gamification.publisher.returned")).isEqualTo(1);
+        assertThat(count("gamification.publisher.resent")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should treat plain send as confirmed when confirms are disabled")
+    void shouldSendWithoutConfirms() throws Exception {
+        // Given
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+
+        // When
+        CompletableFuture<Boolean> result = tracker.send("ex", "rk", message);
+
+        // Then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isTrue();
+        verify(rabbitTemplate).send("ex", "rk", message);
+        assertThat(tracker.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should propagate immediate send failures without leaking in-flight count")
+    void shouldPropagateSendFailure() {
+        // Given
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+            .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // When / Then
+        assertThatThrownBy(() -> tracker.send("ex", "rk", message))
+            .isInstanceOf(AmqpConnectException.class);
+        assertThat(tracker.getInFlight()).isZero();
+    }
+}
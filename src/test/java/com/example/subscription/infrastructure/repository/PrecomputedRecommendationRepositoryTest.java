@@ -0,0 +1,116 @@
+package com.example.subscription.infrastructure.repository;
+
+import com.example.subscription.infrastructure.recommendation.PrecomputedRecommendation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Teste de Repository das recomendações pré-calculadas (INSERT sem merge e
+ * UPDATEs parciais).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("PrecomputedRecommendation Repository Tests")
+class PrecomputedRecommendationRepositoryTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private PrecomputedRecommendationRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private PrecomputedRecommendation reload(Long studentId) {
+        entityManager.flush();
+        entityManager.clear();
+        return repository.findById(studentId).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should mark only the stale flag, keeping text and generation time")
+    void shouldMarkStale() {
+        // Given
+        repository.save(PrecomputedRecommendation.of(1L, "Java Avançado", GENERATED_AT, false));
+        entityManager.flush();
+
+        // When
+        int updated = repository.markStale(1L);
+
+        // Then
+        PrecomputedRecommendation row = reload(1L);
+        assertThat(updated).isEqualTo(1);
+        assertThat(row.isStale()).isTrue();
+        assertThat(row.getRecommendations()).isEqualTo("Java Avançado");
+        assertThat(row.getGeneratedAt()).isEqualTo(GENERATED_AT);
+    }
+
+    @Test
+    @DisplayName("Should replace the text and clear stale on refresh")
+    void shouldRefresh() {
+        // Given
+        repository.save(PrecomputedRecommendation.of(1L, "antiga", GENERATED_AT, true));
+        entityManager.flush();
+
+        // When
+        int updated = repository.refresh(1L, "nova", GENERATED_AT.plusHours(1));
+
+        // Then
+        PrecomputedRecommendation row = reload(1L);
+        assertThat(updated).isEqualTo(1);
+        assertThat(row.getRecommendations()).isEqualTo("nova");
+        assertThat(row.getGeneratedAt()).isEqualTo(GENERATED_AT.plusHours(1));
+        assertThat(row.isStale()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report no rows when the student has no recommendation yet")
+    void shouldReportMissingRow() {
+        assertThat(repository.markStale(99L)).isZero();
+        assertThat(repository.refresh(99L, "nova", GENERATED_AT)).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // cada save no próprio commit, como no serviço
+    @DisplayName("Should refuse a first-read insert over an existing row instead of overwriting it")
+    void shouldNotOverwriteExistingRowOnInsert() {
+        // Given - worker gravou a regeneração enquanto a primeira leitura gerava
+        repository.save(PrecomputedRecommendation.of(1L, "regenerada", GENERATED_AT.plusHours(1), false));
+
+        try {
+            // When / Then
+            assertThatThrownBy(() -> repository.save(
+                    PrecomputedRecommendation.of(1L, "do perfil anterior", GENERATED_AT, false)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+            PrecomputedRecommendation row = repository.findById(1L).orElseThrow();
+            assertThat(row.getRecommendations()).isEqualTo("regenerada");
+            assertThat(row.getGeneratedAt()).isEqualTo(GENERATED_AT.plusHours(1));
+        } finally {
+            repository.deleteAll();
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat loaded rows as existing")
+    void shouldTreatLoadedRowsAsExisting() {
+        // Given
+        PrecomputedRecommendation inserted = repository.save(PrecomputedRecommendation.of(1L, "texto", GENERATED_AT, false));
+
+        // Then
+        assertThat(inserted.isNew()).isFalse();
+        assertThat(reload(1L).isNew()).isFalse();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.subscription.infrastructure.repository;
+
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Teste do StudentJdbcRepository (leitura via cursor JDBC e incremento atômico).
+ * Usa @DataJpaTest para compartilhar a transação com o TestEntityManager.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(StudentJdbcRepository.class)
+@DisplayName("Student JDBC Repository Tests")
+class StudentJdbcRepositoryTest {
+
+    @Autowired
+    private StudentJdbcRepository jdbcRepository;
+
+    @Autowired
+    private StudentRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should visit every student ordered by ID")
+    void shouldVisitEveryStudentOrderedById() {
+        // Given
+        Student ana = new Student("Ana", 3);
+        ana.completeCourse(8.0);
+        entityManager.persist(ana);
+        entityManager.persist(new Student("Bruno"));
+        entityManager.flush();
+
+        // When
+        List<Student> visited = new ArrayList<>();
+        jdbcRepository.forEachStudent(visited::add);
+
+        // Then
+        assertThat(visited).extracting(Student::getName).containsExactly("Ana", "Bruno");
+        assertThat(visited.get(0).getId()).isEqualTo(ana.getId());
+        assertThat(visited.get(0).getCompletedCourses()).isEqualTo(1);
+        assertThat(visited.get(0).getCredits()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should not invoke consumer when table is empty")
+    void shouldNotInvokeConsumerWhenEmpty() {
+        // When
+        List<Student> visited = new ArrayList<>();
+        jdbcRepository.forEachStudent(visited::add);
+
+        // Then
+        assertThat(visited).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should increment completion and return updated row in one statement")
+    void shouldIncrementCompletionAndReturnUpdatedRow() {
+        // Given
+        Student ana = new Student("Ana", 2);
+        ana.changeCreditStrategy(StrategyType.PREMIUM);
+        entityManager.persistAndFlush(ana);
+
+        // When
+        Optional<Student> updated = jdbcRepository.incrementCompletion(ana.getId(), 3);
+
+        // Then
+        assertThat(updated).isPresent();
+        assertThat(updated.get().getId()).isEqualTo(ana.getId());
+        assertThat(updated.get().getName()).isEqualTo("Ana");
+        assertThat(updated.get().getCompletedCourses()).isEqualTo(1);
+        assertThat(updated.get().getCredits()).isEqualTo(5);
+        assertThat(updated.get().getCreditStrategy()).isEqualTo(StrategyType.PREMIUM);
+    }
+
+    @Test
+    @DisplayName("Should return empty when incrementing unknown student")
+    void shouldReturnEmptyForUnknownStudent() {
+        // When
+        Optional<Student> updated = jdbcRepository.incrementCompletion(999_999L, 3);
+
+        // Then
+        assertThat(updated).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should not lose updates under concurrent increments")
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        // Given - commit real, fora da transação do teste
+        Long id = repository.save(new Student("Concorrente")).getId();
+        int threads = 8;
+        int incrementsPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // When
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < incrementsPerThread; i++) {
+                        jdbcRepository.incrementCompletion(id, 3);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            // Then
+            Student result = repository.findById(id).orElseThrow();
+            assertThat(result.getCompletedCourses()).isEqualTo(threads * incrementsPerThread);
+            assertThat(result.getCredits()).isEqualTo(threads * incrementsPerThread * 3);
+        } finally {
+            executor.shutdown();
+            repository.deleteById(id);
+        }
+    }
+}
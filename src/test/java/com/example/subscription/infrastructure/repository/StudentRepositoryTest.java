@@ -1,13 +1,16 @@
 package com.example.subscription.infrastructure.repository;
 
 import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.valueobject.Credits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -194,6 +197,24 @@ class StudentRepositoryTest {
         assertThat(found.get().getName()).isEqualTo("Diana Prince");
     }
 
+    @Test
+    @DisplayName("Should page students by ID cursor (keyset)")
+    void shouldPageStudentsByIdCursor() {
+        // Given
+        Long first = entityManager.persist(new Student("Alice")).getId();
+        Long second = entityManager.persist(new Student("Bob")).getId();
+        Long third = entityManager.persist(new Student("Charlie")).getId();
+        entityManager.flush();
+        
+        // When
+        List<Student> firstPage = repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2));
+        List<Student> secondPage = repository.findByIdGreaterThanOrderByIdAsc(second, Limit.of(2));
+        
+        // Then
+        assertThat(firstPage).extracting(Student::getId).containsExactly(first, second);
+        assertThat(secondPage).extracting(Student::getId).containsExactly(third);
+    }
+
     @Test
     @DisplayName("Should return empty when name not found")
     void shouldReturnEmptyWhenNameNotFound() {
@@ -405,4 +426,50 @@ class StudentRepositoryTest {
         assertThat(saved).hasSize(3);
         assertThat(repository.count()).isEqualTo(3);
     }
-}
\ No newline at end of file
+
+    // ========== CREDITS COMPARTILHADOS (FLYWEIGHT) ==========
+
+    @Test
+    @DisplayName("Should hydrate credits as the shared instance")
+    void shouldHydrateCreditsAsSharedInstance() {
+        // Given
+        Student saved = repository.save(new Student("Flyweight", 10));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Student found = repository.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertThat(ReflectionTestUtils.getField(found, "credits")).isSameAs(Credits.of(10));
+    }
+
+    @Test
+    @DisplayName("Should not mutate shared credits when merging a detached student")
+    void shouldNotMutateSharedCreditsOnMerge() {
+        // Given - estudante gerenciado com a instância compartilhada de 10 créditos
+        Student saved = repository.save(new Student("Merge", 10));
+        entityManager.flush();
+        entityManager.clear();
+        Student managed = repository.findById(saved.getId()).orElseThrow();
+        managed.setCredits(10); // operações de domínio atribuem a instância compartilhada
+
+        Student detached = Student.builder()
+            .id(managed.getId())
+            .name(managed.getName())
+            .completedCourses(managed.getCompletedCourses())
+            .credits(Credits.of(25))
+            .version(managed.getVersion())
+            .build();
+
+        // When
+        repository.save(detached);
+        entityManager.flush();
+
+        // Then
+        assertThat(Credits.of(10).getAmount()).isEqualTo(10);
+        assertThat(managed.getCredits()).isEqualTo(25);
+        entityManager.clear();
+        assertThat(repository.findById(saved.getId()).orElseThrow().getCredits()).isEqualTo(25);
+    }
+}
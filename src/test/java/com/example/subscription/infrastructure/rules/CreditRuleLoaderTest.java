@@ -0,0 +1,130 @@
+package com.example.subscription.infrastructure.rules;
+
+import com.example.subscription.domain.strategy.CreditRuleEngine;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
+import com.example.subscription.domain.valueobject.CourseAverage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CreditRuleLoader Tests")
+class CreditRuleLoaderTest {
+
+    private static final String BASE_RULES = """
+        passing-grade-threshold=7.0
+        tiers.STANDARD=7.01=3
+        tiers.PREMIUM=9.00=5,8.00=4,7.01=3
+        """;
+
+    @TempDir
+    Path dir;
+
+    private final CreditRuleEngine engine = new CreditRuleEngine();
+
+    private CreditRuleLoader loaderFor(Path file) {
+        return new CreditRuleLoader(engine, new DefaultResourceLoader(), file.toUri().toString());
+    }
+
+    private int standardCredits(double average) {
+        return engine.current().strategy(StrategyType.STANDARD).calculateCredits(CourseAverage.of(average));
+    }
+
+    @Test
+    @DisplayName("Should do nothing without location")
+    void shouldDoNothingWithoutLocation() {
+        CreditRuleLoader loader = new CreditRuleLoader(engine, new DefaultResourceLoader(), "");
+
+        loader.load();
+
+        assertThat(loader.reloadIfChanged()).isFalse();
+        assertThat(engine.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should load rules on startup and reload only when content changes")
+    void shouldReloadWhenContentChanges() throws IOException {
+        Path file = Files.writeString(dir.resolve("credit-rules.properties"), BASE_RULES);
+        CreditRuleLoader loader = loaderFor(file);
+
+        loader.load();
+        assertThat(standardCredits(8.0)).isEqualTo(3);
+        assertThat(loader.reloadIfChanged()).isFalse();
+
+        Files.writeString(file, BASE_RULES.replace("tiers.STANDARD=7.01=3", "tiers.STANDARD=7.01=6"));
+
+        assertThat(loader.reloadIfChanged()).isTrue();
+        assertThat(standardCredits(8.0)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should keep current rules when reload fails")
+    void shouldKeepRulesWhenReloadFails() throws IOException {
+        Path file = Files.writeString(dir.resolve("credit-rules.properties"), BASE_RULES);
+        CreditRuleLoader loader = loaderFor(file);
+        loader.load();
+        var loaded = engine.current();
+
+        Files.writeString(file, "passing-grade-threshold=7.0\n");
+        assertThat(loader.reloadIfChanged()).isFalse();
+
+        Files.delete(file);
+        assertThat(loader.reloadIfChanged()).isFalse();
+
+        assertThat(engine.current()).isSameAs(loaded);
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    @DisplayName("Should log each distinct reload failure at ERROR only once")
+    void shouldLogEachFailureOnce(CapturedOutput output) throws IOException {
+        Path file = Files.writeString(dir.resolve("credit-rules.properties"), BASE_RULES);
+        CreditRuleLoader loader = loaderFor(file);
+        loader.load();
+
+        Files.writeString(file, "passing-grade-threshold=7.0\n");
+        loader.reloadIfChanged();
+        loader.reloadIfChanged();
+        loader.reloadIfChanged();
+        assertThat(errorCount(output)).isEqualTo(1);
+
+        Files.writeString(file, "passing-grade-threshold=6.0\n");
+        loader.reloadIfChanged();
+        loader.reloadIfChanged();
+        assertThat(errorCount(output)).isEqualTo(2);
+
+        Files.writeString(file, BASE_RULES);
+        assertThat(loader.reloadIfChanged()).isFalse();
+        Files.writeString(file, "passing-grade-threshold=6.0\n");
+        loader.reloadIfChanged();
+        assertThat(errorCount(output)).isEqualTo(3);
+    }
+
+    private static long errorCount(CapturedOutput output) {
+        return output.getOut().lines()
+            .filter(line -> line.contains("ERROR") && line.contains("recarregadas"))
+            .count();
+    }
+
+    @Test
+    @DisplayName("Should fail fast on invalid rules at startup")
+    void shouldFailFastOnStartup() throws IOException {
+        Path file = Files.writeString(dir.resolve("credit-rules.properties"), "tiers.STANDARD=7.01=3\n");
+
+        assertThatThrownBy(() -> loaderFor(file).load())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> loaderFor(dir.resolve("missing.properties")).load())
+            .isInstanceOf(UncheckedIOException.class);
+        assertThat(engine.current()).isNull();
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.subscription.integration;
 
+import com.example.subscription.application.dto.CourseCompletionBatchRequestDTO;
 import com.example.subscription.application.dto.CourseCompletionRequestDTO;
+import com.example.subscription.application.dto.CreditAdjustmentRequestDTO;
+import com.example.subscription.application.dto.CreditStrategyRequestDTO;
 import com.example.subscription.application.dto.StudentDTO;
 import com.example.subscription.domain.entity.Student;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
 import com.example.subscription.infrastructure.repository.StudentRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +20,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -215,4 +221,84 @@ class GamificationIntegrationTest {
         assertThat(updated.getCompletedCourses()).isEqualTo(5);
         assertThat(updated.getCredits()).isEqualTo(15); // 5 × 3
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should complete a batch of courses - Full Integration")
+    void shouldCompleteBatchOfCoursesFullIntegration() throws Exception {
+        // Given
+        Long anaId = studentRepository.save(new Student("Ana", 0)).getId();
+        Long bobId = studentRepository.save(new Student("Bob", 1)).getId();
+        CourseCompletionBatchRequestDTO request = new CourseCompletionBatchRequestDTO(List.of(
+            new CourseCompletionBatchRequestDTO.Item(anaId, 8.0),
+            new CourseCompletionBatchRequestDTO.Item(bobId, 6.0),
+            new CourseCompletionBatchRequestDTO.Item(anaId, 9.5),
+            new CourseCompletionBatchRequestDTO.Item(999_999L, 9.0)
+        ));
+
+        // When
+        mockMvc.perform(post("/gamification/course-completions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[2].student.credits").value(6))
+                .andExpect(jsonPath("$[3].status").value("NOT_FOUND"));
+
+        // Then
+        Student ana = studentRepository.findById(anaId).orElseThrow();
+        Student bob = studentRepository.findById(bobId).orElseThrow();
+        assertThat(ana.getCompletedCourses()).isEqualTo(2);
+        assertThat(ana.getCredits()).isEqualTo(6);
+        assertThat(bob.getCompletedCourses()).isEqualTo(1);
+        assertThat(bob.getCredits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should adjust credits and bump optimistic version - Full Integration")
+    void shouldAdjustCreditsAndBumpVersionFullIntegration() throws Exception {
+        // Given
+        Long studentId = studentRepository.saveAndFlush(new Student("Helena", 2)).getId();
+        long initialVersion = studentRepository.findById(studentId).orElseThrow().getVersion();
+
+        // When
+        mockMvc.perform(post("/gamification/students/{id}/credits", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreditAdjustmentRequestDTO(10))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.credits").value(12));
+
+        mockMvc.perform(post("/gamification/students/{id}/credits/deduct", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreditAdjustmentRequestDTO(20))))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        studentRepository.flush();
+        Student updated = studentRepository.findById(studentId).orElseThrow();
+        assertThat(updated.getCredits()).isEqualTo(12);
+        assertThat(updated.getVersion()).isGreaterThan(initialVersion);
+    }
+
+    @Test
+    @DisplayName("Should award premium credits after plan change - Full Integration")
+    void shouldAwardPremiumCreditsAfterPlanChangeFullIntegration() throws Exception {
+        // Given
+        Long studentId = studentRepository.saveAndFlush(new Student("Igor", 0)).getId();
+
+        // When
+        mockMvc.perform(put("/gamification/students/{id}/credit-strategy", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreditStrategyRequestDTO(StrategyType.PREMIUM))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/gamification/students/{id}/complete-course", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CourseCompletionRequestDTO(9.5))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.credits").value(5));
+
+        // Then
+        studentRepository.flush();
+        assertThat(studentRepository.findCreditStrategyById(studentId)).contains(StrategyType.PREMIUM);
+    }
+}
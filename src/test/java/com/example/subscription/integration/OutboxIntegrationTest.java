@@ -0,0 +1,109 @@
+package com.example.subscription.integration;
+
+import com.example.subscription.application.dto.CourseCompletionRequestDTO;
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.infrastructure.messaging.OutboxEvent;
+import com.example.subscription.infrastructure.messaging.OutboxRelay;
+import com.example.subscription.infrastructure.repository.OutboxEventRepository;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Teste de integração da outbox transacional (H2, sem RabbitMQ).
+ *
+ * <p>O relay agendado roda com intervalo longo para não competir com o teste;
+ * o broker fica indisponível, então as linhas devem permanecer na outbox.</p>
+ *
+ * @author Rickelme
+ */
+@SpringBootTest(properties = {
+    "gamification.outbox.enabled=true",
+    "gamification.outbox.relay-interval-ms=3600000",
+    "gamification.outbox.confirm-timeout-ms=100"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Integration Tests - Transactional Outbox")
+class OutboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAllInBatch();
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should write outbox rows in the same transaction as the completion")
+    void shouldWriteOutboxRowsWithCompletion() throws Exception {
+        // Given
+        Long studentId = studentRepository.save(new Student("Ana", 0)).getId();
+
+        // When
+        mockMvc.perform(post("/gamification/students/{id}/complete-course", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CourseCompletionRequestDTO(9.0))))
+                .andExpect(status().isOk());
+
+        // Then
+        List<OutboxEvent> rows = outboxRepository.findAll();
+        assertThat(rows).extracting(OutboxEvent::getRoutingKey)
+            .containsExactlyInAnyOrder("course.completed", "notification.course.completed", "analytics.gamification");
+        assertThat(rows).allSatisfy(row ->
+            assertThat(row.getPayload()).contains("\"studentId\":" + studentId));
+    }
+
+    @Test
+    @DisplayName("Should keep rows in the outbox while the broker is unavailable")
+    void shouldKeepRowsWhenBrokerUnavailable() throws Exception {
+        // Given
+        Long studentId = studentRepository.save(new Student("Bruno", 0)).getId();
+        mockMvc.perform(post("/gamification/students/{id}/complete-course", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CourseCompletionRequestDTO(5.0))))
+                .andExpect(status().isOk());
+
+        // When
+        outboxRelay.relay();
+
+        // Then - reprovado: course.completed + analytics
+        List<OutboxEvent> rows = outboxRepository.findAll();
+        assertThat(rows).hasSize(2);
+        // Broker fora do ar não conta como recusa: as linhas seguem na fila do relay
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.getAttempts()).isZero();
+            assertThat(row.isParked()).isFalse();
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.subscription.integration;
+
+import com.example.subscription.application.dto.CourseCompletionRequestDTO;
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração do endpoint /actuator/prometheus.
+ *
+ * <p>Exportadores de métricas ficam desligados em testes por padrão;
+ * {@link AutoConfigureObservability} liga o registry Prometheus.</p>
+ */
+@SpringBootTest(properties = {
+    "management.endpoints.web.exposure.include=prometheus",
+    "management.metrics.distribution.percentiles-histogram.gamification=true",
+    "management.metrics.distribution.percentiles-histogram.students.read=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Integration Tests - Prometheus Metrics")
+class PrometheusMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should expose hot path timers with histogram buckets")
+    void shouldExposeHotPathTimers() throws Exception {
+        // Given
+        Long studentId = studentRepository.saveAndFlush(new Student("Julia", 0)).getId();
+
+        mockMvc.perform(post("/gamification/students/{id}/complete-course", studentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CourseCompletionRequestDTO(8.5))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/students/{id}", studentId))
+                .andExpect(status().isOk());
+
+        // When / Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                    "gamification_completion_seconds_bucket{mode=\"entity\",outcome=\"success\"")))
+                .andExpect(content().string(containsString(
+                    "students_read_seconds_count{operation=\"by-id\"} 1")));
+    }
+}
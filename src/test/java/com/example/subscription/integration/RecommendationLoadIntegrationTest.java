@@ -0,0 +1,201 @@
+package com.example.subscription.integration;
+
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga: recomendações lentas não esgotam as threads do Tomcat.
+ *
+ * <p>O Tomcat sobe com {@value #TOMCAT_THREADS} threads e o LLM fica preso
+ * até o fim do teste. Com a chamada ao LLM na thread da requisição, as
+ * {@value #SLOW_CALLS} recomendações ocupariam todas as threads e
+ * {@code GET /students} ficaria na fila de conexões.</p>
+ *
+ * <p>Os jobs de recomendação respondem 202 sem esperar o LLM e, com workers
+ * e fila ocupados, 429.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:recommendation-load",
+    "server.tomcat.threads.max=" + RecommendationLoadIntegrationTest.TOMCAT_THREADS,
+    "server.tomcat.threads.min-spare=1",
+    "recommendation.executor.pool-size=8",
+    "recommendation.jobs.workers=" + RecommendationLoadIntegrationTest.JOB_WORKERS,
+    "recommendation.jobs.queue-capacity=" + RecommendationLoadIntegrationTest.JOB_QUEUE
+})
+@ActiveProfiles("test")
+@DisplayName("Integration Tests - Recommendation Load")
+class RecommendationLoadIntegrationTest {
+
+    static final int TOMCAT_THREADS = 4;
+    static final int SLOW_CALLS = 6;
+
+    static final int JOB_WORKERS = 2;
+    static final int JOB_QUEUE = 2;
+
+    private static volatile CountDownLatch llmRelease;
+    private static final AtomicInteger llmInFlight = new AtomicInteger();
+
+    @TestConfiguration
+    static class SlowLlmConfig {
+
+        /**
+         * LLM que só responde quando o teste libera.
+         */
+        @Bean
+        @Primary
+        ChatLanguageModel slowChatLanguageModel() {
+            return messages -> {
+                llmInFlight.incrementAndGet();
+                try {
+                    llmRelease.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    llmInFlight.decrementAndGet();
+                }
+                return Response.from(AiMessage.from("Spring Boot Avançado"));
+            };
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void holdLlm() {
+        llmRelease = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void releaseLlm() {
+        llmRelease.countDown();
+    }
+
+    @Test
+    @DisplayName("Should serve /students while slow LLM calls outnumber Tomcat threads")
+    void shouldServeStudentsWhileLlmIsSlow() throws Exception {
+        // Given
+        Long studentId = studentRepository.save(new Student("Carga", 0)).getId();
+        List<CompletableFuture<HttpResponse<String>>> recommendations = new ArrayList<>();
+        for (int i = 0; i < SLOW_CALLS; i++) {
+            recommendations.add(client.sendAsync(
+                request("/recommendations/students/" + studentId, Duration.ofSeconds(30)),
+                HttpResponse.BodyHandlers.ofString()));
+        }
+        awaitLlmInFlight(SLOW_CALLS);
+
+        // When
+        HttpResponse<String> students = client.send(
+            request("/students", Duration.ofSeconds(5)), HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(SLOW_CALLS).isGreaterThan(TOMCAT_THREADS);
+        assertThat(students.statusCode()).isEqualTo(200);
+        assertThat(students.body()).contains("Carga");
+
+        llmRelease.countDown();
+        for (CompletableFuture<HttpResponse<String>> recommendation : recommendations) {
+            HttpResponse<String> response = recommendation.get(10, TimeUnit.SECONDS);
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains("Spring Boot Avançado");
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept jobs immediately and answer 429 once workers and queue are full")
+    void shouldApplyBackpressureToJobs() throws Exception {
+        // Given - workers presos no LLM e fila cheia
+        Long studentId = studentRepository.save(new Student("Fila", 0)).getId();
+        List<String> locations = new ArrayList<>();
+        for (int i = 0; i < JOB_WORKERS + JOB_QUEUE; i++) {
+            HttpResponse<String> accepted = client.send(
+                post("/recommendations/students/" + studentId + "/jobs"), HttpResponse.BodyHandlers.ofString());
+            assertThat(accepted.statusCode()).isEqualTo(202);
+            locations.add(accepted.headers().firstValue("Location").orElseThrow());
+            if (i < JOB_WORKERS) {
+                awaitLlmInFlight(i + 1);
+            }
+        }
+
+        // When
+        HttpResponse<String> rejected = client.send(
+            post("/recommendations/students/" + studentId + "/jobs"), HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(rejected.statusCode()).isEqualTo(429);
+        assertThat(rejected.headers().firstValue("Retry-After")).isPresent();
+
+        llmRelease.countDown();
+        for (String location : locations) {
+            assertThat(awaitJob(location)).contains("\"status\":\"COMPLETED\"", "Spring Boot Avançado");
+        }
+    }
+
+    private void awaitLlmInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (llmInFlight.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(llmInFlight.get()).isEqualTo(expected);
+    }
+
+    private String awaitJob(String location) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String body;
+        do {
+            body = client.send(request(location, Duration.ofSeconds(5)), HttpResponse.BodyHandlers.ofString()).body();
+            if (!body.contains("\"status\":\"PENDING\"") && !body.contains("\"status\":\"RUNNING\"")) {
+                return body;
+            }
+            Thread.sleep(20);
+        } while (System.nanoTime() < deadline);
+        return body;
+    }
+
+    private HttpRequest post(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(Duration.ofSeconds(5))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+    }
+
+    private HttpRequest request(String path, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(timeout)
+            .GET()
+            .build();
+    }
+}
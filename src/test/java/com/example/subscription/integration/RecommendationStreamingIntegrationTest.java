@@ -0,0 +1,110 @@
+package com.example.subscription.integration;
+
+import com.example.subscription.config.FakeStreamingChatModel;
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streaming SSE ponta a ponta: o primeiro token chega antes do fim da geração.
+ *
+ * <p>O modelo falso produz {@value #TOKENS} tokens a cada
+ * {@value #INTERVAL_MS} ms; a resposta completa leva mais de um segundo,
+ * mas o primeiro evento precisa chegar bem antes disso.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:recommendation-stream"
+})
+@ActiveProfiles("test")
+@DisplayName("Integration Tests - Recommendation Streaming")
+class RecommendationStreamingIntegrationTest {
+
+    static final int TOKENS = 6;
+    static final long INTERVAL_MS = 250;
+
+    @TestConfiguration
+    static class FakeStreamingConfig {
+
+        @Bean
+        @Primary
+        StreamingChatLanguageModel fakeStreamingChatLanguageModel() {
+            List<String> tokens = new ArrayList<>();
+            for (int i = 1; i <= TOKENS; i++) {
+                tokens.add("curso-" + i + " ");
+            }
+            return new FakeStreamingChatModel(tokens, Duration.ofMillis(INTERVAL_MS));
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    @DisplayName("Should deliver the first token long before the full answer")
+    void shouldDeliverFirstTokenBeforeFullAnswer() throws Exception {
+        // Given
+        Long studentId = studentRepository.save(new Student("Stream", 0)).getId();
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/recommendations/students/" + studentId + "/stream"))
+            .header("Accept", "text/event-stream")
+            .timeout(Duration.ofSeconds(10))
+            .GET()
+            .build();
+
+        // When
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient()
+            .send(request, HttpResponse.BodyHandlers.ofInputStream());
+        List<String> events = new ArrayList<>();
+        long firstTokenMillis = -1;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("data:")) {
+                    if (firstTokenMillis < 0) {
+                        firstTokenMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                    events.add(line);
+                }
+            }
+        }
+        long totalMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+            type -> assertThat(type).startsWith("text/event-stream"));
+        assertThat(events).hasSize(TOKENS + 1);
+        assertThat(events.get(0)).isEqualTo("data:{\"token\":\"curso-1 \"}");
+        assertThat(events.get(TOKENS)).contains("curso-1 curso-2", "\"studentId\":" + studentId);
+        assertThat(totalMillis).isGreaterThanOrEqualTo((TOKENS - 1) * INTERVAL_MS);
+        assertThat(firstTokenMillis).isLessThan(INTERVAL_MS * 2);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.subscription.integration;
+
+import com.example.subscription.config.CacheConfig;
+import com.example.subscription.domain.entity.Student;
+import com.example.subscription.infrastructure.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração do cache de GET /students/{id}.
+ *
+ * <p>Roda com {@code students.cache.enabled=true}; a transação do teste
+ * nunca commita, então cobre a remoção imediata feita nas escritas.</p>
+ */
+@SpringBootTest(properties = "students.cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Integration Tests - Student Cache")
+class StudentCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.STUDENTS).clear();
+    }
+
+    private double cacheGets(String result) {
+        var counter = meterRegistry.find("cache.gets")
+            .tags("cache", CacheConfig.STUDENTS, "result", result)
+            .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache")
+    void shouldServeRepeatedReadsFromCache() throws Exception {
+        // Given
+        Student student = studentRepository.save(new Student("Cache Hit", 4));
+        double hitsBefore = cacheGets("hit");
+
+        // When
+        mockMvc.perform(get("/students/{id}", student.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/students/{id}", student.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.credits").value(4));
+
+        // Then
+        assertThat(cacheGets("hit") - hitsBefore).isEqualTo(1);
+        assertThat(cacheManager.getCache(CacheConfig.STUDENTS).get(student.getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should return fresh data after course completion")
+    void shouldReturnFreshDataAfterCompletion() throws Exception {
+        // Given
+        Student student = studentRepository.save(new Student("Cache Evict", 0));
+        mockMvc.perform(get("/students/{id}", student.getId()))
+            .andExpect(jsonPath("$.completedCourses").value(0));
+
+        // When
+        mockMvc.perform(post("/gamification/students/{id}/complete-course", student.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"average\": 8.0}"))
+            .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/students/{id}", student.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.completedCourses").value(1))
+            .andExpect(jsonPath("$.credits").value(3));
+    }
+
+    @Test
+    @DisplayName("Should not cache missing students")
+    void shouldNotCacheMissingStudents() throws Exception {
+        // When
+        mockMvc.perform(get("/students/{id}", 999_999L)).andExpect(status().isNotFound());
+
+        // Then
+        assertThat(cacheManager.getCache(CacheConfig.STUDENTS).get(999_999L)).isNull();
+    }
+}
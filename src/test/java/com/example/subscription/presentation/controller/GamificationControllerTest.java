@@ -1,8 +1,13 @@
 package com.example.subscription.presentation.controller;
 
+import com.example.subscription.application.dto.CourseCompletionBatchRequestDTO;
 import com.example.subscription.application.dto.CourseCompletionRequestDTO;
+import com.example.subscription.application.dto.CourseCompletionResultDTO;
+import com.example.subscription.application.dto.CreditAdjustmentRequestDTO;
+import com.example.subscription.application.dto.CreditStrategyRequestDTO;
 import com.example.subscription.application.dto.StudentDTO;
 import com.example.subscription.application.service.GamificationService;
+import com.example.subscription.domain.strategy.CreditStrategyFactory.StrategyType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,14 +15,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -130,4 +141,138 @@ class GamificationControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.credits").value(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /gamification/course-completions/batch - Per-item results")
+    void shouldCompleteBatchAndReturnPerItemResults() throws Exception {
+        // Given
+        CourseCompletionBatchRequestDTO request = new CourseCompletionBatchRequestDTO(List.of(
+            new CourseCompletionBatchRequestDTO.Item(1L, 9.0),
+            new CourseCompletionBatchRequestDTO.Item(2L, 8.0)
+        ));
+        when(service.completeCourses(anyList())).thenReturn(List.of(
+            CourseCompletionResultDTO.completed(new StudentDTO(1L, "Ana", 1, 3)),
+            CourseCompletionResultDTO.notFound(2L)
+        ));
+
+        // When / Then
+        mockMvc.perform(post("/gamification/course-completions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].status").value("COMPLETED"))
+            .andExpect(jsonPath("$[0].student.credits").value(3))
+            .andExpect(jsonPath("$[1].status").value("NOT_FOUND"))
+            .andExpect(jsonPath("$[1].message").value("Student not found: 2"));
+    }
+
+    @Test
+    @DisplayName("POST /gamification/course-completions/batch - Empty batch")
+    void shouldRejectEmptyBatch() throws Exception {
+        // Given
+        CourseCompletionBatchRequestDTO request = new CourseCompletionBatchRequestDTO(List.of());
+
+        // When / Then
+        mockMvc.perform(post("/gamification/course-completions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+        verify(service, never()).completeCourses(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /gamification/course-completions/batch - Item without studentId")
+    void shouldRejectItemWithoutStudentId() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/gamification/course-completions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"completions\": [{\"average\": 8.0}]}"))
+            .andExpect(status().isBadRequest());
+        verify(service, never()).completeCourses(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /gamification/students/{id}/credits - Success")
+    void shouldAddCredits() throws Exception {
+        // Given
+        when(service.addCredits(eq(1L), any(CreditAdjustmentRequestDTO.class)))
+            .thenReturn(new StudentDTO(1L, "Ana", 0, 8));
+
+        // When / Then
+        mockMvc.perform(post("/gamification/students/1/credits")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreditAdjustmentRequestDTO(5))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.credits").value(8));
+    }
+
+    @Test
+    @DisplayName("POST /gamification/students/{id}/credits - Non-positive amount")
+    void shouldRejectNonPositiveAmount() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/gamification/students/1/credits")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreditAdjustmentRequestDTO(0))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Validation Error"));
+    }
+
+    @Test
+    @DisplayName("POST /gamification/students/{id}/credits/deduct - Insufficient credits")
+    void shouldReturn400WhenDeductingAboveBalance() throws Exception {
+        // Given
+        when(service.deductCredits(eq(1L), any(CreditAdjustmentRequestDTO.class)))
+            .thenThrow(new IllegalArgumentException("Insufficient credits: has 1, needs 5"));
+
+        // When / Then
+        mockMvc.perform(post("/gamification/students/1/credits/deduct")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreditAdjustmentRequestDTO(5))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Insufficient credits: has 1, needs 5"));
+    }
+
+    @Test
+    @DisplayName("POST /gamification/students/{id}/complete-course - Persistent conflict")
+    void shouldReturn409WhenRetriesExhausted() throws Exception {
+        // Given
+        CourseCompletionRequestDTO request = new CourseCompletionRequestDTO();
+        request.setAverage(9.0);
+        when(service.completeCourse(eq(1L), any(CourseCompletionRequestDTO.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Object.class, 1L));
+
+        // When / Then
+        mockMvc.perform(post("/gamification/students/1/complete-course")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.error").value("Conflict"));
+    }
+
+    @Test
+    @DisplayName("PUT /gamification/students/{id}/credit-strategy - Success")
+    void shouldChangeCreditStrategy() throws Exception {
+        // Given
+        when(service.changeCreditStrategy(1L, StrategyType.PREMIUM))
+            .thenReturn(new StudentDTO(1L, "Ana", 0, 0));
+
+        // When / Then
+        mockMvc.perform(put("/gamification/students/1/credit-strategy")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CreditStrategyRequestDTO(StrategyType.PREMIUM))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(1));
+        verify(service).changeCreditStrategy(1L, StrategyType.PREMIUM);
+    }
+
+    @Test
+    @DisplayName("PUT /gamification/students/{id}/credit-strategy - Missing plan")
+    void shouldReturn400WhenCreditStrategyMissing() throws Exception {
+        mockMvc.perform(put("/gamification/students/1/credit-strategy")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isBadRequest());
+        verify(service, never()).changeCreditStrategy(any(), any());
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.subscription.presentation.controller;
 
+import com.example.subscription.application.service.RecommendationQueueFullException;
+import com.example.subscription.infrastructure.llm.LlmSaturatedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -29,6 +32,9 @@ import static org.mockito.Mockito.when;
  *   <li>IllegalArgumentException → 400 Bad Request</li>
  *   <li>NoSuchElementException → 404 Not Found</li>
  *   <li>MethodArgumentNotValidException → 400 Validation Error</li>
+ *   <li>TaskRejectedException → 503 Service Unavailable</li>
+ *   <li>RecommendationQueueFullException → 429 Too Many Requests</li>
+ *   <li>LlmSaturatedException → 503 Service Unavailable</li>
  *   <li>Exception genérica → 500 Internal Server Error</li>
  * </ul>
  */
@@ -192,6 +198,72 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("TaskRejectedException Handling")
+    class TaskRejectedExceptionHandling {
+
+        @Test
+        @DisplayName("Should return 503 Service Unavailable when an executor is saturated")
+        void shouldReturnServiceUnavailableForTaskRejected() {
+            // Given
+            TaskRejectedException exception = new TaskRejectedException("Executor did not accept task");
+
+            // When
+            ResponseEntity<Map<String, Object>> response = exceptionHandler.handleTaskRejected(exception);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().get("status")).isEqualTo(503);
+            assertThat(response.getBody().get("message")).isEqualTo("Server is busy, please retry later");
+        }
+    }
+
+    @Nested
+    @DisplayName("RecommendationQueueFullException Handling")
+    class RecommendationQueueFullExceptionHandling {
+
+        @Test
+        @DisplayName("Should return 429 Too Many Requests with Retry-After")
+        void shouldReturnTooManyRequestsWithRetryAfter() {
+            // Given
+            RecommendationQueueFullException exception = new RecommendationQueueFullException(50, 5);
+
+            // When
+            ResponseEntity<Map<String, Object>> response = exceptionHandler.handleQueueFull(exception);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+            assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("5");
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().get("status")).isEqualTo(429);
+            assertThat(response.getBody().get("error")).isEqualTo("Too Many Requests");
+        }
+    }
+
+    @Nested
+    @DisplayName("LlmSaturatedException Handling")
+    class LlmSaturatedExceptionHandling {
+
+        @Test
+        @DisplayName("Should return 503 Service Unavailable with Retry-After")
+        void shouldReturnServiceUnavailableWithRetryAfter() {
+            // Given
+            LlmSaturatedException exception = new LlmSaturatedException(4, 2);
+
+            // When
+            ResponseEntity<Map<String, Object>> response = exceptionHandler.handleLlmSaturated(exception);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("2");
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().get("status")).isEqualTo(503);
+            assertThat(response.getBody().get("message"))
+                .isEqualTo("Recommendation service is at capacity, please retry later");
+        }
+    }
+
     @Nested
     @DisplayName("Generic Exception Handling")
     class GenericExceptionHandling {
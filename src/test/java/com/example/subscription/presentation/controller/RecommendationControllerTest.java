@@ -1,23 +1,56 @@
 package com.example.subscription.presentation.controller;
 
+import com.example.subscription.application.dto.RecommendationJobDTO;
 import com.example.subscription.application.service.CourseRecommendationService;
+import com.example.subscription.application.service.RecommendationJobService;
+import com.example.subscription.application.service.RecommendationPrecomputeService;
+import com.example.subscription.application.service.RecommendationQueueFullException;
+import com.example.subscription.config.ThreadingConfig;
+import com.example.subscription.infrastructure.llm.LlmSaturatedException;
+import com.example.subscription.infrastructure.llm.OllamaEndpoint;
+import com.example.subscription.infrastructure.llm.OllamaEndpointPool;
+import com.example.subscription.infrastructure.recommendation.PrecomputedRecommendation;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.output.Response;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,13 +63,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 
  * <h2>Cenários testados:</h2>
  * <ul>
- *   <li>GET /recommendations/students/{id} - Recomendações básicas</li>
+ *   <li>GET /recommendations/students/{id} - Recomendações básicas (pré-calculadas, com generatedAt/stale)</li>
  *   <li>POST /recommendations/students/{id} - Recomendações com contexto</li>
- *   <li>GET /recommendations/health - Health check</li>
+ *   <li>GET /recommendations/health - Health check (UP/DOWN/DISABLED pelo health probe)</li>
  *   <li>Tratamento de erros (404, etc.)</li>
+ *   <li>Execução no recommendationExecutor (requisição assíncrona)</li>
+ *   <li>Jobs de recomendação (202, polling, 429)</li>
+ *   <li>Streaming de tokens via SSE</li>
  * </ul>
  */
 @WebMvcTest(RecommendationController.class)
+@Import(ThreadingConfig.class)
 @DisplayName("RecommendationController Unit Tests - @Guilherme")
 class RecommendationControllerTest {
 
@@ -49,6 +86,36 @@ class RecommendationControllerTest {
     @MockBean
     private CourseRecommendationService recommendationService;
 
+    @MockBean
+    private RecommendationJobService jobService;
+
+    @MockBean
+    private OllamaEndpointPool ollamaEndpointPool;
+
+    @MockBean
+    private RecommendationPrecomputeService precomputeService;
+
+    /**
+     * Sem linha pré-calculada: o GET gera na hora pelo CourseRecommendationService.
+     */
+    @BeforeEach
+    void generateLiveByDefault() {
+        when(precomputeService.getRecommendation(anyLong())).thenAnswer(invocation -> {
+            Long studentId = invocation.getArgument(0);
+            return PrecomputedRecommendation.of(studentId,
+                    recommendationService.recommendCoursesForStudent(studentId), LocalDateTime.now(), false);
+        });
+    }
+
+    /**
+     * Executa a requisição e, se ela foi para o executor, o despacho assíncrono.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
     @Nested
     @DisplayName("GET /recommendations/students/{id}")
     class GetRecommendations {
@@ -66,7 +133,7 @@ class RecommendationControllerTest {
                     .thenReturn(expectedRecommendations);
 
             // When / Then
-            mockMvc.perform(get("/recommendations/students/{id}", studentId)
+            perform(get("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.studentId", is(1)))
@@ -82,7 +149,7 @@ class RecommendationControllerTest {
                     .thenThrow(new NoSuchElementException("Student not found: " + studentId));
 
             // When / Then
-            mockMvc.perform(get("/recommendations/students/{id}", studentId)
+            perform(get("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isNotFound());
         }
@@ -96,12 +163,40 @@ class RecommendationControllerTest {
                     .thenReturn("");
 
             // When / Then
-            mockMvc.perform(get("/recommendations/students/{id}", studentId)
+            perform(get("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.studentId", is(1)))
                     .andExpect(jsonPath("$.recommendations", is("")));
         }
+
+        @Test
+        @DisplayName("Should expose generatedAt and stale of a precomputed recommendation")
+        void shouldExposeStalenessMetadata() throws Exception {
+            // Given
+            when(precomputeService.getRecommendation(1L)).thenReturn(PrecomputedRecommendation.of(
+                    1L, "Spring Boot Avançado", LocalDateTime.of(2024, 1, 1, 12, 0), true));
+
+            // When / Then
+            perform(get("/recommendations/students/{id}", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.recommendations", is("Spring Boot Avançado")))
+                    .andExpect(jsonPath("$.generatedAt", is("2024-01-01T12:00:00")))
+                    .andExpect(jsonPath("$.stale", is(true)));
+        }
+
+        @Test
+        @DisplayName("Should mark freshly generated recommendations as not stale")
+        void shouldMarkFreshRecommendationsAsNotStale() throws Exception {
+            // Given
+            when(recommendationService.recommendCoursesForStudent(1L)).thenReturn("Python Avançado");
+
+            // When / Then
+            perform(get("/recommendations/students/{id}", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.stale", is(false)))
+                    .andExpect(jsonPath("$.generatedAt").exists());
+        }
     }
 
     @Nested
@@ -122,7 +217,7 @@ class RecommendationControllerTest {
                     .thenReturn(expectedRecommendations);
 
             // When / Then
-            mockMvc.perform(post("/recommendations/students/{id}", studentId)
+            perform(post("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON)
                     .content("{\"context\": \"" + context + "\"}"))
                     .andExpect(status().isOk())
@@ -139,7 +234,7 @@ class RecommendationControllerTest {
                     .thenThrow(new NoSuchElementException("Student not found: " + studentId));
 
             // When / Then
-            mockMvc.perform(post("/recommendations/students/{id}", studentId)
+            perform(post("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON)
                     .content("{\"context\": \"Any context\"}"))
                     .andExpect(status().isNotFound());
@@ -156,7 +251,7 @@ class RecommendationControllerTest {
                     .thenReturn(expectedRecommendations);
 
             // When / Then
-            mockMvc.perform(post("/recommendations/students/{id}", studentId)
+            perform(post("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON)
                     .content("{\"context\": null}"))
                     .andExpect(status().isOk())
@@ -174,7 +269,7 @@ class RecommendationControllerTest {
                     .thenReturn(expectedRecommendations);
 
             // When / Then
-            mockMvc.perform(post("/recommendations/students/{id}", studentId)
+            perform(post("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON)
                     .content("{\"context\": \"\"}"))
                     .andExpect(status().isOk())
@@ -186,14 +281,57 @@ class RecommendationControllerTest {
     @DisplayName("GET /recommendations/health")
     class HealthCheck {
 
+        private OllamaEndpoint endpoint(String baseUrl, boolean healthy) {
+            OllamaEndpoint endpoint = mock(OllamaEndpoint.class);
+            when(endpoint.getBaseUrl()).thenReturn(baseUrl);
+            when(endpoint.isHealthy()).thenReturn(healthy);
+            when(endpoint.getLastProbeAt()).thenReturn(Instant.parse("2024-01-15T10:30:00Z"));
+            return endpoint;
+        }
+
         @Test
-        @DisplayName("Should return health status when Ollama is available")
+        @DisplayName("Should return UP with per-endpoint status when an Ollama endpoint is healthy")
         void shouldReturnHealthStatusWhenOllamaIsAvailable() throws Exception {
+            // Given
+            List<OllamaEndpoint> endpoints = List.of(endpoint("http://ia-1:11434", true), endpoint("http://ia-2:11434", false));
+            when(ollamaEndpointPool.getEndpoints()).thenReturn(endpoints);
+            when(ollamaEndpointPool.isAvailable()).thenReturn(true);
+
             // When / Then
             mockMvc.perform(get("/recommendations/health")
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
-                    .andExpect(content().string("Ollama service is available"));
+                    .andExpect(jsonPath("$.status", is("UP")))
+                    .andExpect(jsonPath("$.endpoints[0].baseUrl", is("http://ia-1:11434")))
+                    .andExpect(jsonPath("$.endpoints[0].healthy", is(true)))
+                    .andExpect(jsonPath("$.endpoints[1].healthy", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 503 DOWN when every endpoint failed the probe")
+        void shouldReturnDownWhenAllEjected() throws Exception {
+            // Given
+            List<OllamaEndpoint> endpoints = List.of(endpoint("http://ia-1:11434", false));
+            when(ollamaEndpointPool.getEndpoints()).thenReturn(endpoints);
+            when(ollamaEndpointPool.isAvailable()).thenReturn(false);
+
+            // When / Then
+            mockMvc.perform(get("/recommendations/health"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.status", is("DOWN")));
+        }
+
+        @Test
+        @DisplayName("Should return 200 DISABLED when no Ollama endpoint is configured")
+        void shouldReturnDisabledWithoutEndpoints() throws Exception {
+            // Given
+            when(ollamaEndpointPool.getEndpoints()).thenReturn(List.of());
+
+            // When / Then
+            mockMvc.perform(get("/recommendations/health"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status", is("DISABLED")))
+                    .andExpect(jsonPath("$.endpoints", hasSize(0)));
         }
     }
 
@@ -212,7 +350,7 @@ class RecommendationControllerTest {
                     .thenReturn(recommendations);
 
             // When / Then
-            mockMvc.perform(get("/recommendations/students/{id}", studentId)
+            perform(get("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.studentId", is(42)))
@@ -220,6 +358,249 @@ class RecommendationControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /recommendations/students/{id}/stream")
+    class StreamRecommendations {
+
+        @SuppressWarnings("unchecked")
+        private void streamTokens(String context, String... parts) {
+            doAnswer(invocation -> {
+                StreamingResponseHandler<AiMessage> handler = invocation.getArgument(2);
+                for (String part : parts) {
+                    handler.onNext(part);
+                }
+                handler.onComplete(Response.from(AiMessage.from(String.join("", parts))));
+                return null;
+            }).when(recommendationService).streamRecommendations(eq(1L),
+                    context == null ? isNull() : eq(context), any(StreamingResponseHandler.class));
+        }
+
+        @Test
+        @DisplayName("Should send token events followed by a done event")
+        void shouldStreamTokensAsServerSentEvents() throws Exception {
+            // Given
+            streamTokens(null, "1. Java", "\n2. Spring");
+
+            // When
+            MvcResult result = mockMvc.perform(get("/recommendations/students/{id}/stream", 1L)
+                    .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(content().string(containsString("event:token\ndata:{\"token\":\"1. Java\"}")))
+                    .andExpect(content().string(containsString("data:{\"token\":\"\\n2. Spring\"}")))
+                    .andExpect(content().string(containsString(
+                            "event:done\ndata:{\"studentId\":1,\"recommendations\":\"1. Java\\n2. Spring\",\"generatedAt\":")))
+                    .andExpect(content().string(containsString("\"stale\":false}")));
+        }
+
+        @Test
+        @DisplayName("Should pass the optional context query parameter")
+        void shouldPassContext() throws Exception {
+            // Given
+            streamTokens("backend", "Spring");
+
+            // When
+            MvcResult result = mockMvc.perform(get("/recommendations/students/{id}/stream", 1L)
+                    .param("context", "backend"))
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(content().string(containsString("data:{\"token\":\"Spring\"}")));
+        }
+
+        @Test
+        @DisplayName("Should send an error event when the model fails mid-stream")
+        @SuppressWarnings("unchecked")
+        void shouldSendErrorEvent() throws Exception {
+            // Given
+            doAnswer(invocation -> {
+                StreamingResponseHandler<AiMessage> handler = invocation.getArgument(2);
+                handler.onNext("1.");
+                handler.onError(new RuntimeException("Ollama offline"));
+                return null;
+            }).when(recommendationService).streamRecommendations(eq(1L), isNull(), any(StreamingResponseHandler.class));
+
+            // When
+            MvcResult result = mockMvc.perform(get("/recommendations/students/{id}/stream", 1L)).andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(content().string(containsString("event:error\ndata:Recommendation generation failed")))
+                    .andExpect(content().string(not(containsString("Ollama offline"))));
+        }
+
+        @Test
+        @DisplayName("Should return 404 before streaming when student not found")
+        @SuppressWarnings("unchecked")
+        void shouldReturn404WhenStudentNotFound() throws Exception {
+            // Given
+            doThrow(new NoSuchElementException("Student not found: 999"))
+                    .when(recommendationService).streamRecommendations(eq(999L), isNull(), any(StreamingResponseHandler.class));
+
+            // When / Then
+            mockMvc.perform(get("/recommendations/students/{id}/stream", 999L)
+                    .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should return 503 before streaming when the LLM is saturated")
+        @SuppressWarnings("unchecked")
+        void shouldReturn503WhenLlmSaturated() throws Exception {
+            // Given
+            doThrow(new LlmSaturatedException(4, 2))
+                    .when(recommendationService).streamRecommendations(eq(1L), isNull(), any(StreamingResponseHandler.class));
+
+            // When / Then
+            mockMvc.perform(get("/recommendations/students/{id}/stream", 1L)
+                    .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Recommendation Jobs")
+    class RecommendationJobs {
+
+        @Test
+        @DisplayName("Should return 202 with the job id and location")
+        void shouldAcceptJob() throws Exception {
+            // Given
+            when(jobService.submit(1L, null)).thenReturn(RecommendationJobDTO.pending("job-1", 1L));
+
+            // When / Then
+            mockMvc.perform(post("/recommendations/students/{id}/jobs", 1L))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/recommendations/jobs/job-1"))
+                    .andExpect(jsonPath("$.jobId", is("job-1")))
+                    .andExpect(jsonPath("$.status", is("PENDING")));
+        }
+
+        @Test
+        @DisplayName("Should pass the optional context to the job")
+        void shouldPassContextToJob() throws Exception {
+            // Given
+            when(jobService.submit(1L, "backend")).thenReturn(RecommendationJobDTO.pending("job-2", 1L));
+
+            // When / Then
+            mockMvc.perform(post("/recommendations/students/{id}/jobs", 1L)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new RecommendationController.ContextRequest("backend"))))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.jobId", is("job-2")));
+        }
+
+        @Test
+        @DisplayName("Should return 429 with Retry-After when the queue is full")
+        void shouldReturn429WhenQueueIsFull() throws Exception {
+            // Given
+            when(jobService.submit(1L, null)).thenThrow(new RecommendationQueueFullException(50, 5));
+
+            // When / Then
+            mockMvc.perform(post("/recommendations/students/{id}/jobs", 1L))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "5"));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when submitting for an unknown student")
+        void shouldReturn404ForUnknownStudent() throws Exception {
+            // Given
+            when(jobService.submit(999L, null)).thenThrow(new NoSuchElementException("Student not found: 999"));
+
+            // When / Then
+            mockMvc.perform(post("/recommendations/students/{id}/jobs", 999L))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should return the job result when completed")
+        void shouldReturnCompletedJob() throws Exception {
+            // Given
+            when(jobService.find("job-1"))
+                    .thenReturn(Optional.of(RecommendationJobDTO.pending("job-1", 1L).completed("1. Java")));
+
+            // When / Then
+            mockMvc.perform(get("/recommendations/jobs/{jobId}", "job-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status", is("COMPLETED")))
+                    .andExpect(jsonPath("$.recommendations", is("1. Java")));
+        }
+
+        @Test
+        @DisplayName("Should return 404 for unknown or expired jobs")
+        void shouldReturn404ForUnknownJob() throws Exception {
+            // Given
+            when(jobService.find("missing")).thenReturn(Optional.empty());
+
+            // When / Then
+            mockMvc.perform(get("/recommendations/jobs/{jobId}", "missing"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Threading")
+    class Threading {
+
+        @Test
+        @DisplayName("Should release the request thread and call the LLM on the recommendation executor")
+        void shouldCallServiceOnRecommendationExecutor() throws Exception {
+            // Given
+            AtomicReference<String> serviceThread = new AtomicReference<>();
+            when(recommendationService.recommendCoursesForStudent(1L)).thenAnswer(invocation -> {
+                serviceThread.set(Thread.currentThread().getName());
+                return "ok";
+            });
+
+            // When
+            MvcResult result = mockMvc.perform(get("/recommendations/students/{id}", 1L))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.recommendations", is("ok")));
+            assertThat(serviceThread.get()).startsWith("recommendation-");
+        }
+
+        @Test
+        @DisplayName("Should return 503 when the recommendation executor rejects the call")
+        void shouldReturn503WhenExecutorRejects() throws Exception {
+            // Given
+            when(recommendationService.recommendCoursesForStudent(1L))
+                    .thenThrow(new TaskRejectedException("queue full"));
+
+            // When / Then
+            perform(get("/recommendations/students/{id}", 1L))
+                    .andExpect(status().isServiceUnavailable());
+        }
+
+        @Test
+        @DisplayName("Should return 503 with Retry-After when the LLM limiter is saturated")
+        void shouldReturn503WhenLlmSaturated() throws Exception {
+            // Given
+            when(recommendationService.recommendCoursesWithContext(1L, "backend"))
+                    .thenThrow(new LlmSaturatedException(4, 2));
+
+            // When / Then
+            perform(post("/recommendations/students/{id}", 1L)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"context\":\"backend\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andExpect(jsonPath("$.message", is("Recommendation service is at capacity, please retry later")));
+        }
+    }
+
     @Nested
     @DisplayName("Error Handling")
     class ErrorHandling {
@@ -233,7 +614,7 @@ class RecommendationControllerTest {
                     .thenThrow(new RuntimeException("Ollama service unavailable"));
 
             // When / Then
-            mockMvc.perform(get("/recommendations/students/{id}", studentId)
+            perform(get("/recommendations/students/{id}", studentId)
                     .contentType(MediaType.APPLICATION_JSON))
                     .andExpect(status().isInternalServerError());
         }
@@ -1,6 +1,7 @@
 package com.example.subscription.presentation.controller;
 
 import com.example.subscription.application.dto.StudentDTO;
+import com.example.subscription.application.dto.StudentPageDTO;
 import com.example.subscription.application.service.StudentService;
 
 import org.junit.jupiter.api.DisplayName;
@@ -10,16 +11,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(StudentController.class) // Testa apenas a camada Web para este Controller
@@ -44,7 +54,8 @@ class StudentControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1))) // Verifica se a lista tem 1 elemento
-                .andExpect(jsonPath("$[0].name", is("Test User"))); // Verifica o nome
+                .andExpect(jsonPath("$[0].name", is("Test User"))) // Verifica o nome
+                .andExpect(header().doesNotExist("X-Next-Cursor")); // Sem paginação
     }
 
     @Test
@@ -110,4 +121,68 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$.id", is(10)))
                 .andExpect(jsonPath("$.name", is("Novo Aluno")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /students?after=&limit= should return page and next cursor header")
+    void whenGetStudentsWithCursor_shouldReturnPageAndNextCursor() throws Exception {
+        // Arrange
+        List<StudentDTO> students = List.of(
+            new StudentDTO(11L, "Aluno 11", 0, 0),
+            new StudentDTO(12L, "Aluno 12", 0, 0)
+        );
+        when(studentService.getStudentsPage(10L, 2)).thenReturn(new StudentPageDTO(students, 12L));
+
+        // Act & Assert
+        mockMvc.perform(get("/students")
+                .param("after", "10")
+                .param("limit", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is(12)))
+                .andExpect(header().string("X-Next-Cursor", "12"));
+    }
+
+    @Test
+    @DisplayName("GET /students?after= should use default page size")
+    void whenGetStudentsWithCursorOnly_shouldUseDefaultLimit() throws Exception {
+        // Arrange
+        when(studentService.getStudentsPage(10L, StudentController.DEFAULT_PAGE_LIMIT))
+            .thenReturn(new StudentPageDTO(List.of(new StudentDTO(11L, "Aluno 11", 0, 0)), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/students")
+                .param("after", "10")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        verify(studentService, never()).getAllStudents();
+    }
+
+    @Test
+    @DisplayName("GET /students/stream should write one JSON object per line")
+    @SuppressWarnings("unchecked")
+    void whenStreamStudents_shouldReturnNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<StudentDTO> consumer = invocation.getArgument(0);
+            consumer.accept(new StudentDTO(1L, "Ana", 1, 3));
+            consumer.accept(new StudentDTO(2L, "Bruno", 0, 0));
+            return null;
+        }).when(studentService).streamAllStudents(any(Consumer.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/students/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                    "{\"id\":1,\"name\":\"Ana\",\"completedCourses\":1,\"credits\":3}\n"
+                    + "{\"id\":2,\"name\":\"Bruno\",\"completedCourses\":0,\"credits\":0}\n"));
+    }
+}